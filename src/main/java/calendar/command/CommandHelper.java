@@ -3,8 +3,12 @@ package calendar.command;
 import calendar.model.CalendarInterface;
 import calendar.model.CalendarManager;
 import calendar.model.CalendarModelInterface;
+import calendar.model.EventSeries;
 import calendar.view.ViewInterface;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Helper class providing common functionality for command implementations.
@@ -63,4 +67,51 @@ public class CommandHelper {
     }
     return currentCal;
   }
+
+  /**
+   * Resolves the calendars named by a --calendars option.
+   *
+   * @param manager       the calendar manager
+   * @param calendarNames comma-separated calendar names, "all", or null for the
+   *                      current calendar only
+   * @param currentCal    the current calendar
+   * @return the selected calendars
+   * @throws IllegalArgumentException if a named calendar does not exist
+   */
+  public static List<CalendarInterface> selectCalendars(CalendarManager manager,
+                                                        String calendarNames,
+                                                        CalendarInterface currentCal) {
+    if (calendarNames == null) {
+      return Collections.singletonList(currentCal);
+    }
+    if (calendarNames.equalsIgnoreCase("all")) {
+      return manager.getAllCalendars();
+    }
+    List<CalendarInterface> calendars = new ArrayList<>();
+    for (String name : calendarNames.split(",")) {
+      CalendarInterface calendar = manager.getCalendar(name.trim());
+      if (calendar == null) {
+        throw new IllegalArgumentException("Calendar '" + name.trim() + "' not found");
+      }
+      calendars.add(calendar);
+    }
+    return calendars;
+  }
+
+  /**
+   * Sizes a series before it is created, from its recurrence alone.
+   *
+   * @param series the series to check
+   * @return a summary such as "(12 occurrences, last on 2025-08-25)"
+   * @throws IllegalArgumentException if the series would have no occurrences
+   */
+  public static String describeSeries(EventSeries series) {
+    int count = series.getOccurrenceCount();
+    if (count == 0) {
+      throw new IllegalArgumentException("the series has no occurrences: none of its "
+          + "weekdays falls between its start and end");
+    }
+    return "(" + count + (count == 1 ? " occurrence" : " occurrences") + ", last on "
+        + series.getLastOccurrenceDate() + ")";
+  }
 }
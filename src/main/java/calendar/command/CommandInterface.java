@@ -11,6 +11,10 @@ import java.io.IOException;
  * Updated to work with CalendarManager instead of CalendarModelInterface.
  * Commands can access the current calendar model via manager.getCurrentCalendar().getModel().
  * Calendar management commands work directly with the CalendarManager.
+ *
+ * <p>Clients that may run concurrently execute commands through a
+ * {@link CommandSession}, which supplies a per-session manager and view and records
+ * metrics.
  */
 public interface CommandInterface {
 
@@ -23,5 +27,23 @@ public interface CommandInterface {
    * @throws IOException if I/O fails
    */
   boolean execute(CalendarManager manager, ViewInterface view) throws IOException;
-}
 
+  /**
+   * Executes the command in a session and records it in the session's metrics.
+   *
+   * @param session the session supplying the manager and view
+   * @return true if succeeded, false otherwise
+   * @throws IOException if I/O fails
+   */
+  default boolean execute(CommandSession session) throws IOException {
+    long start = System.nanoTime();
+    boolean result = false;
+    try {
+      result = execute(session.getManager(), session.getView());
+      return result;
+    } finally {
+      session.getMetrics().record(getClass().getSimpleName(), result,
+          System.nanoTime() - start);
+    }
+  }
+}
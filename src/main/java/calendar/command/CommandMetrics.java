@@ -0,0 +1,88 @@
+package calendar.command;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the commands run in a {@link CommandSession} and the time they took.
+ *
+ * <p>DESIGN RATIONALE:
+ * - One instance per session, so sessions never contend on shared counters
+ * - Counters are LongAdders, so a monitoring thread can read them while the
+ *   session's own thread keeps recording
+ * - Counts are kept per command class as well as in total, so a slow or failing
+ *   kind of command stands out
+ */
+public final class CommandMetrics {
+  private final LongAdder executed;
+  private final LongAdder unsuccessful;
+  private final LongAdder totalNanos;
+  private final Map<String, LongAdder> perCommand;
+
+  /**
+   * Creates metrics with every count at zero.
+   */
+  public CommandMetrics() {
+    this.executed = new LongAdder();
+    this.unsuccessful = new LongAdder();
+    this.totalNanos = new LongAdder();
+    this.perCommand = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Records one command execution.
+   *
+   * @param command    the name of the command
+   * @param successful false if the command failed, threw, or ended the session
+   * @param nanos      how long it ran, in nanoseconds
+   */
+  void record(String command, boolean successful, long nanos) {
+    executed.increment();
+    if (!successful) {
+      unsuccessful.increment();
+    }
+    totalNanos.add(nanos);
+    perCommand.computeIfAbsent(command, k -> new LongAdder()).increment();
+  }
+
+  /**
+   * Gets the number of commands executed.
+   *
+   * @return the command count
+   */
+  public long getExecutedCount() {
+    return executed.sum();
+  }
+
+  /**
+   * Gets the number of commands that failed, threw, or ended the session.
+   *
+   * @return the unsuccessful command count
+   */
+  public long getUnsuccessfulCount() {
+    return unsuccessful.sum();
+  }
+
+  /**
+   * Gets the time spent executing commands.
+   *
+   * @return the total execution time
+   */
+  public Duration getTotalTime() {
+    return Duration.ofNanos(totalNanos.sum());
+  }
+
+  /**
+   * Gets the number of executions of each kind of command.
+   *
+   * @return command names mapped to counts, sorted by name
+   */
+  public Map<String, Long> getCountsByCommand() {
+    Map<String, Long> counts = new TreeMap<>();
+    perCommand.forEach((command, count) -> counts.put(command, count.sum()));
+    return counts;
+  }
+}
@@ -16,10 +16,17 @@ import calendar.command.matchers.EditEventsCommandMatcher;
 import calendar.command.matchers.EditSeriesCommandMatcher;
 import calendar.command.matchers.ExitCommandMatcher;
 import calendar.command.matchers.ExportCommandMatcher;
+import calendar.command.matchers.FindSlotCommandMatcher;
+import calendar.command.matchers.HistoryCommandMatcher;
+import calendar.command.matchers.ImportCommandMatcher;
+import calendar.command.matchers.OpenArchiveCommandMatcher;
 import calendar.command.matchers.PrintAllEventsCommandMatcher;
 import calendar.command.matchers.PrintEventsOnCommandMatcher;
 import calendar.command.matchers.PrintEventsRangeCommandMatcher;
+import calendar.command.matchers.SearchCommandMatcher;
+import calendar.command.matchers.ShowConflictsCommandMatcher;
 import calendar.command.matchers.ShowStatusCommandMatcher;
+import calendar.command.matchers.TransactionCommandMatcher;
 import calendar.command.matchers.UseCalendarCommandMatcher;
 import java.util.Arrays;
 import java.util.List;
@@ -42,6 +49,9 @@ public class CommandParser {
   public CommandParser() {
     this.matchers = Arrays.asList(
         new ExitCommandMatcher(),
+        new TransactionCommandMatcher(),
+        new HistoryCommandMatcher(),
+        new OpenArchiveCommandMatcher(),
         new CreateCalendarCommandMatcher(),
         new EditCalendarCommandMatcher(),
         new UseCalendarCommandMatcher(),
@@ -52,10 +62,14 @@ public class CommandParser {
         new PrintEventsOnCommandMatcher(),
         new PrintEventsRangeCommandMatcher(),
         new ShowStatusCommandMatcher(),
+        new ShowConflictsCommandMatcher(),
+        new SearchCommandMatcher(),
+        new FindSlotCommandMatcher(),
         new EditEventCommandMatcher(),
         new EditEventsCommandMatcher(),
         new EditSeriesCommandMatcher(),
         new ExportCommandMatcher(),
+        new ImportCommandMatcher(),
         new CreateEventSeriesFromToForCommandMatcher(),
         new CreateEventSeriesFromToUntilCommandMatcher(),
         new CreateAllDayEventSeriesForCommandMatcher(),
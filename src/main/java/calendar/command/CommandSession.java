@@ -0,0 +1,75 @@
+package calendar.command;
+
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.view.ViewInterface;
+import java.util.Objects;
+
+/**
+ * The context one client runs commands in: its current calendar, where its output
+ * goes, and its command metrics. Pass it to
+ * {@link CommandInterface#execute(CommandSession)}.
+ *
+ * <p>DESIGN RATIONALE:
+ * - The current calendar lives in the session's own manager (see
+ *   {@link CalendarManager#openSession()}), so concurrent clients of one shared
+ *   manager never overwrite each other's context and share no mutable field
+ * - Commands keep their (manager, view) signature; the session supplies both, so
+ *   existing commands work unchanged
+ *
+ * <p>Example usage:
+ *
+ * <pre>
+ * CommandSession session = CommandSession.open(sharedManager, view);
+ * parser.parse("use calendar --name Work").execute(session);
+ * </pre>
+ */
+public final class CommandSession {
+  private final CalendarManager manager;
+  private final ViewInterface view;
+  private final CommandMetrics metrics;
+
+  /**
+   * Creates a session that uses a manager as it is, including its current calendar.
+   *
+   * @param manager the manager commands run against
+   * @param view    the view for the session's output
+   */
+  public CommandSession(CalendarManager manager, ViewInterface view) {
+    this.manager = Objects.requireNonNull(manager, "Manager cannot be null");
+    this.view = Objects.requireNonNull(view, "View cannot be null");
+    this.metrics = new CommandMetrics();
+  }
+
+  /**
+   * Opens a new session on a shared manager, with no current calendar.
+   *
+   * @param shared the manager shared by all sessions
+   * @param view   the view for the session's output
+   * @return a session with its own current calendar
+   */
+  public static CommandSession open(CalendarManager shared, ViewInterface view) {
+    return new CommandSession(shared.openSession(), view);
+  }
+
+  public CalendarManager getManager() {
+    return manager;
+  }
+
+  public ViewInterface getView() {
+    return view;
+  }
+
+  public CommandMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Gets the session's current calendar.
+   *
+   * @return the current calendar, or null if none is in use
+   */
+  public CalendarInterface getCurrentCalendar() {
+    return manager.getCurrentCalendar();
+  }
+}
@@ -1,18 +1,16 @@
 package calendar.command;
 
+import calendar.model.BulkInsertResult;
 import calendar.model.CalendarInterface;
 import calendar.model.CalendarManager;
-import calendar.model.CalendarModelInterface;
-import calendar.model.EventInterface;
+import calendar.model.CopyEngine;
 import calendar.util.DateTimeParser;
-import calendar.util.TimezoneUtils;
 import calendar.view.ViewInterface;
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 
 /**
  * Command to copy all events on a specific day to a target calendar.
@@ -28,6 +26,10 @@ import java.util.List;
  * - Maintains event durations
  * - Creates new events (new IDs) in target calendar
  * - Handles conflicts by skipping events that can't be created
+ * - Delegates to {@link CopyEngine}, which reads the day from the start-time index
+ *   and inserts the copies as one batch
+ * - Holds the source calendar's read lock and the target's write lock for the whole
+ *   copy, taken in the manager's global lock order
  */
 public class CopyEventsOnDayCommand implements CommandInterface {
   private final String sourceDate;
@@ -75,71 +77,22 @@ public class CopyEventsOnDayCommand implements CommandInterface {
       return false;
     }
 
-    
-    List<EventInterface> allEvents = sourceCalendar.getModel().getAllEvents();
-    List<EventInterface> eventsOnDay = new ArrayList<>();
-    for (EventInterface event : allEvents) {
-      if (event.getStartDateTime().toLocalDate().equals(sourceLocalDate)) {
-        eventsOnDay.add(event);
-      }
-    }
-
-    if (eventsOnDay.isEmpty()) {
+    long dayOffset = ChronoUnit.DAYS.between(sourceLocalDate, targetLocalDate);
+    // Stored first: a read-locked model cannot store the occurrences it reaches.
+    sourceCalendar.getModel().materializeThrough(sourceLocalDate.plusDays(1).atStartOfDay());
+    BulkInsertResult result = manager.withCalendars(
+        Collections.singletonList(sourceCalendar), Collections.singletonList(targetCalendar),
+        () -> CopyEngine.copy(sourceCalendar, sourceLocalDate.atStartOfDay(),
+            sourceLocalDate.plusDays(1).atStartOfDay(), targetCalendar, dayOffset, false));
+
+    int copiedCount = result.getInserted().size();
+    int failedCount = result.getConflicts().size();
+    if (copiedCount + failedCount == 0) {
       view.displayMessage("No events found on " + sourceDate + " in calendar '"
           + sourceCalendar.getName() + "'.");
       return false;
     }
 
-    
-    int copiedCount = 0;
-    int failedCount = 0;
-
-    for (EventInterface sourceEvent : eventsOnDay) {
-      
-      LocalDateTime sourceStart = sourceEvent.getStartDateTime();
-      LocalDateTime sourceEnd = sourceEvent.getEndDateTime();
-
-      
-      LocalDateTime targetStart = TimezoneUtils.convertTimezone(
-          sourceStart,
-          sourceCalendar.getTimezone(),
-          targetCalendar.getTimezone()
-      );
-
-      LocalDateTime targetEnd = TimezoneUtils.convertTimezone(
-          sourceEnd,
-          sourceCalendar.getTimezone(),
-          targetCalendar.getTimezone()
-      );
-
-      
-      int daysDiff = (int) java.time.temporal.ChronoUnit.DAYS.between(
-          sourceStart.toLocalDate(),
-          targetLocalDate
-      );
-
-      targetStart = targetStart.plusDays(daysDiff);
-      targetEnd = targetEnd.plusDays(daysDiff);
-
-      
-      calendar.model.Event newEvent = new calendar.model.Event(
-          sourceEvent.getSubject(),
-          targetStart,
-          targetEnd,
-          sourceEvent.getDescription().orElse(null),
-          sourceEvent.getLocation().orElse(null),
-          sourceEvent.isPrivate(),
-          java.util.UUID.randomUUID(),  
-          null  
-      );
-
-      if (targetCalendar.getModel().createEvent(newEvent)) {
-        copiedCount++;
-      } else {
-        failedCount++;
-      }
-    }
-
     view.displayMessage("Copied " + copiedCount + " event(s) from " + sourceDate
         + " in '" + sourceCalendar.getName() + "' to " + targetDate + " in '"
         + targetCalendarName + "'."
@@ -1,21 +1,16 @@
 package calendar.command;
 
+import calendar.model.BulkInsertResult;
 import calendar.model.CalendarInterface;
 import calendar.model.CalendarManager;
-import calendar.model.CalendarModelInterface;
-import calendar.model.EventInterface;
+import calendar.model.CopyEngine;
 import calendar.util.DateTimeParser;
-import calendar.util.TimezoneUtils;
 import calendar.view.ViewInterface;
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 
 /**
  * Command to copy all events within a date range to a target calendar.
@@ -32,6 +27,10 @@ import java.util.UUID;
  * - Preserves series relationships in target calendar
  * - Handles timezone conversion
  * - Creates new series IDs for copied series events
+ * - Delegates to {@link CopyEngine}, which reads the range from the start-time index
+ *   and inserts the copies as one batch
+ * - Holds the source calendar's read lock and the target's write lock for the whole
+ *   copy, taken in the manager's global lock order
  * - Maintains event durations and relationships
  */
 public class CopyEventsRangeCommand implements CommandInterface {
@@ -91,86 +90,22 @@ public class CopyEventsRangeCommand implements CommandInterface {
       return false;
     }
 
-    
-    List<EventInterface> allEvents = sourceCalendar.getModel().getAllEvents();
-    List<EventInterface> eventsInRange = new ArrayList<>();
-
-    for (EventInterface event : allEvents) {
-      LocalDate eventDate = event.getStartDateTime().toLocalDate();
-      
-      if (!eventDate.isBefore(sourceStart) && !eventDate.isAfter(sourceEnd)) {
-        eventsInRange.add(event);
-      }
-    }
-
-    if (eventsInRange.isEmpty()) {
+    long dayOffset = ChronoUnit.DAYS.between(sourceStart, targetStart);
+    // Stored first: a read-locked model cannot store the occurrences it reaches.
+    sourceCalendar.getModel().materializeThrough(sourceEnd.plusDays(1).atStartOfDay());
+    BulkInsertResult result = manager.withCalendars(
+        Collections.singletonList(sourceCalendar), Collections.singletonList(targetCalendar),
+        () -> CopyEngine.copy(sourceCalendar, sourceStart.atStartOfDay(),
+            sourceEnd.plusDays(1).atStartOfDay(), targetCalendar, dayOffset, true));
+
+    int copiedCount = result.getInserted().size();
+    int failedCount = result.getConflicts().size();
+    if (copiedCount + failedCount == 0) {
       view.displayMessage("No events found between " + startDate + " and " + endDate
           + " in calendar '" + sourceCalendar.getName() + "'.");
       return false;
     }
 
-    
-    Map<UUID, UUID> seriesIdMap = new HashMap<>();
-
-    
-    long dayOffset = java.time.temporal.ChronoUnit.DAYS.between(sourceStart, targetStart);
-
-    
-    int copiedCount = 0;
-    int failedCount = 0;
-
-    for (EventInterface sourceEvent : eventsInRange) {
-      
-      LocalDateTime sourceStartTime = sourceEvent.getStartDateTime();
-      LocalDateTime sourceEndTime = sourceEvent.getEndDateTime();
-
-      LocalDateTime targetStartTime = TimezoneUtils.convertTimezone(
-          sourceStartTime,
-          sourceCalendar.getTimezone(),
-          targetCalendar.getTimezone()
-      );
-
-      LocalDateTime targetEndTime = TimezoneUtils.convertTimezone(
-          sourceEndTime,
-          sourceCalendar.getTimezone(),
-          targetCalendar.getTimezone()
-      );
-
-      
-      targetStartTime = targetStartTime.plusDays(dayOffset);
-      targetEndTime = targetEndTime.plusDays(dayOffset);
-
-      
-      UUID newSeriesId = null;
-      if (sourceEvent.getSeriesId().isPresent()) {
-        UUID oldSeriesId = sourceEvent.getSeriesId().get();
-        if (seriesIdMap.containsKey(oldSeriesId)) {
-          newSeriesId = seriesIdMap.get(oldSeriesId);
-        } else {
-          newSeriesId = UUID.randomUUID();
-          seriesIdMap.put(oldSeriesId, newSeriesId);
-        }
-      }
-
-      
-      calendar.model.Event newEvent = new calendar.model.Event(
-          sourceEvent.getSubject(),
-          targetStartTime,
-          targetEndTime,
-          sourceEvent.getDescription().orElse(null),
-          sourceEvent.getLocation().orElse(null),
-          sourceEvent.isPrivate(),
-          UUID.randomUUID(),  
-          newSeriesId         
-      );
-
-      if (targetCalendar.getModel().createEvent(newEvent)) {
-        copiedCount++;
-      } else {
-        failedCount++;
-      }
-    }
-
     view.displayMessage("Copied " + copiedCount + " event(s) from " + startDate + " to "
         + endDate + " in '" + sourceCalendar.getName() + "' to target starting at "
         + targetStartDate + " in '" + targetCalendarName + "'."
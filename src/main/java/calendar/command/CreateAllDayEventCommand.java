@@ -58,7 +58,8 @@ public class CreateAllDayEventCommand extends BaseCommand {
     if (ok) {
       view.displayMessage("Created all-day event: " + subject);
     } else {
-      view.displayError("Duplicate event: " + subject);
+      view.displayError((model.isRejectingOverlaps() ? "Duplicate or overlapping event: "
+          : "Duplicate event: ") + subject);
     }
     return ok;
   }
@@ -91,12 +91,15 @@ public class CreateAllDayEventSeriesCommand extends BaseCommand {
     
     EventSeries series = new EventSeries(seriesId, template, dayOfWeekSet,
         endDate, occurrencesCount, usesEndDate);
+    String size = CommandHelper.describeSeries(series);
 
     boolean ok = model.createEventSeries(series);
     if (ok) {
-      view.displayMessage("Created all-day event series: " + subject);
+      view.displayMessage("Created all-day event series: " + subject + " " + size);
     } else {
-      view.displayError("Failed to create series: duplicate events detected");
+      view.displayError("Failed to create series: "
+          + (model.isRejectingOverlaps() ? "duplicate or overlapping" : "duplicate")
+          + " events detected");
     }
     return ok;
   }
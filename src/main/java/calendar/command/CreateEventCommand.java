@@ -54,7 +54,8 @@ public class CreateEventCommand extends BaseCommand {
     if (ok) {
       view.displayMessage("Created event: " + subject);
     } else {
-      view.displayError("Duplicate event: " + subject);
+      view.displayError((model.isRejectingOverlaps() ? "Duplicate or overlapping event: "
+          : "Duplicate event: ") + subject);
     }
     return ok;
   }
@@ -93,12 +93,15 @@ public class CreateEventSeriesFromToCommand extends BaseCommand {
     
     EventSeries series = new EventSeries(seriesId, template, dayOfWeekSet,
         endDate, occurrencesCount, usesEndDate);
+    String size = CommandHelper.describeSeries(series);
 
     boolean ok = model.createEventSeries(series);
     if (ok) {
-      view.displayMessage("Created event series: " + subject);
+      view.displayMessage("Created event series: " + subject + " " + size);
     } else {
-      view.displayError("Failed to create series: duplicate events detected");
+      view.displayError("Failed to create series: "
+          + (model.isRejectingOverlaps() ? "duplicate or overlapping" : "duplicate")
+          + " events detected");
     }
     return ok;
   }
@@ -4,6 +4,7 @@ import calendar.model.CalendarManager;
 import calendar.model.CalendarModelInterface;
 import calendar.view.ViewInterface;
 import java.io.IOException;
+import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
 import java.time.zone.ZoneRulesException;
@@ -16,6 +17,10 @@ import java.time.zone.ZoneRulesException;
  * <p>Supported properties:
  * - name: Changes the calendar's name (must be unique)
  * - timezone: Changes the calendar's timezone (must be valid IANA format)
+ * - overlaps: "reject" refuses new events that overlap existing ones, "allow"
+ *   (the default) accepts them
+ * - horizon: how many months ahead series occurrences are stored (12 by default);
+ *   later ones are stored when first reached
  *
  * <p>DESIGN RATIONALE:
  * - Validates property names before attempting modifications
@@ -33,7 +38,8 @@ public class EditCalendarCommand extends BaseCommand {
    * Creates a command to edit a calendar property.
    *
    * @param calendarName the name of the calendar to edit
-   * @param property the property to modify ("name" or "timezone")
+   * @param property the property to modify ("name", "timezone", "overlaps" or
+   *                 "horizon")
    * @param newValue the new value for the property
    */
   public EditCalendarCommand(String calendarName, String property, String newValue) {
@@ -82,9 +88,45 @@ public class EditCalendarCommand extends BaseCommand {
         }
         break;
 
+      case "overlaps":
+        if (!newValue.equalsIgnoreCase("allow") && !newValue.equalsIgnoreCase("reject")) {
+          view.displayError("Invalid value '" + newValue + "'. Use 'allow' or 'reject'.");
+          break;
+        }
+        success = manager.editCalendarOverlapPolicy(calendarName,
+            newValue.equalsIgnoreCase("reject"));
+        if (success) {
+          view.displayMessage("Calendar '" + calendarName + "' now "
+              + newValue.toLowerCase() + "s overlapping events.");
+        } else {
+          view.displayError("Calendar '" + calendarName + "' not found.");
+        }
+        break;
+
+      case "horizon":
+        int months;
+        try {
+          months = Integer.parseInt(newValue);
+        } catch (NumberFormatException e) {
+          months = 0;
+        }
+        if (months < 1) {
+          view.displayError("Invalid value '" + newValue
+              + "'. Use a positive number of months.");
+          break;
+        }
+        success = manager.editCalendarSeriesHorizon(calendarName, Period.ofMonths(months));
+        if (success) {
+          view.displayMessage("Calendar '" + calendarName + "' now stores series "
+              + months + " month(s) ahead.");
+        } else {
+          view.displayError("Calendar '" + calendarName + "' not found.");
+        }
+        break;
+
       default:
         view.displayError("Unknown property '" + property + "'. "
-            + "Valid properties are 'name' and 'timezone'.");
+            + "Valid properties are 'name', 'timezone', 'overlaps' and 'horizon'.");
         break;
     }
 
@@ -1,41 +1,81 @@
 package calendar.command;
 
+import calendar.model.ArchivedCalendarModel;
 import calendar.model.CalendarInterface;
 import calendar.model.CalendarManager;
 import calendar.model.CalendarModelInterface;
+import calendar.model.EventDelta;
+import calendar.model.EventInterface;
 import calendar.util.CsvExporter;
+import calendar.util.GzipCompressor;
 import calendar.util.IcalExporter;
 import calendar.view.ViewInterface;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Command to export calendar to CSV or iCal file.
- * Format: export cal fileName.csv or export cal fileName.ical
+ * Format: export cal fileName.csv or export cal fileName.ical, optionally followed
+ * by --since checkpoint
  *
  * <p>The export format is automatically detected by the file extension:
  * - .csv: Exports to CSV format
  * - .ical or .ics: Exports to iCalendar format (RFC 5545)
+ * - .calarc: Writes a binary calendar archive, which "create calendar --archive"
+ *   opens as a read-only calendar (see {@link ArchivedCalendarModel})
+ * - .csv.gz, .ical.gz or .ics.gz: Exports to CSV or iCalendar, gzip-compressed in
+ *   blocks on several cores (see {@link GzipCompressor}); the message reports the
+ *   compression ratio and throughput
+ *
+ * <p>Every export reports a checkpoint. Given --since with an earlier checkpoint,
+ * only the events added, changed and removed after it are written, as a delta file.
  *
  * <p>DESIGN RATIONALE:
  * - Auto-detection by extension provides better user experience
  * - Supports multiple export formats without changing command syntax
  * - Displays absolute path so user knows where file is saved
  * - Platform-independent path handling
+ * - A full export reads the events and the checkpoint under one read lock, so the
+ *   next delta neither misses nor repeats a change made during the export
+ * - The text is streamed into the file (through the compressor, for .gz) as it is
+ *   formatted, so an export never holds the whole file in memory
  */
 public class ExportCommand extends BaseCommand {
+  private static final int WRITE_BUFFER_CHARS = 1 << 16;
+
   private final String fileName;
+  private final String since;
 
   /**
-   * Creates an ExportCommand.
+   * Creates an ExportCommand that exports every event.
    *
-   * @param fileName the name of the file to create (.csv or .ical)
+   * @param fileName the name of the file to create (.csv or .ical, either optionally
+   *                 followed by .gz, or .calarc)
    */
   public ExportCommand(String fileName) {
+    this(fileName, null);
+  }
+
+  /**
+   * Creates an ExportCommand.
+   *
+   * @param fileName the name of the file to create (.csv or .ical, either optionally
+   *                 followed by .gz, or .calarc)
+   * @param since    the checkpoint to export changes since, or null for every event
+   */
+  public ExportCommand(String fileName, String since) {
     this.fileName = fileName;
+    this.since = since;
   }
 
   @Override
@@ -63,25 +103,99 @@ public class ExportCommand extends BaseCommand {
     }
 
     String lowerFileName = fileName.toLowerCase();
+    boolean compressed = lowerFileName.endsWith(".gz");
+    String format = compressed
+        ? lowerFileName.substring(0, lowerFileName.length() - ".gz".length()) : lowerFileName;
+    boolean csv = format.endsWith(".csv");
+    boolean archive = !compressed && format.endsWith(".calarc");
+    if (!csv && !archive && !format.endsWith(".ical") && !format.endsWith(".ics")) {
+      view.displayError("Unsupported file format. Use .csv, .ical or .calarc extension, "
+          + "or .csv.gz or .ical.gz to compress.");
+      return false;
+    }
+    if (archive && since != null) {
+      view.displayError("Changes since a checkpoint cannot be archived. "
+          + "Use .csv or .ical extension.");
+      return false;
+    }
 
-    if (lowerFileName.endsWith(".csv")) {
-      String csvContent = CsvExporter.toCsv(model.getAllEvents());
-      Files.writeString(filePath, csvContent);
-      view.displayMessage("Calendar exported to: " + filePath);
+    if (since != null) {
+      EventDelta delta = model.getChangesSince(Long.parseLong(since));
+      String written = write(filePath, compressed, out -> {
+        if (csv) {
+          CsvExporter.writeCsvDelta(delta, out);
+        } else {
+          IcalExporter.writeIcalDelta(delta, currentCal.getName(), currentCal.getTimezone(),
+              out);
+        }
+      });
+      view.displayMessage("Changes since checkpoint " + since + " exported to: " + filePath
+          + " (" + delta.getAdded().size() + " added, " + delta.getChanged().size()
+          + " changed, " + delta.getRemoved().size() + " removed; checkpoint "
+          + delta.getCheckpoint() + written + ")");
       return true;
-    } else if (lowerFileName.endsWith(".ical") || lowerFileName.endsWith(".ics")) {
-      String icalContent = IcalExporter.toIcal(
-          model.getAllEvents(),
-          currentCal.getName(),
-          currentCal.getTimezone()
-      );
-      Files.writeString(filePath, icalContent);
-      view.displayMessage("Calendar exported to: " + filePath);
+    }
+
+    long[] checkpoint = new long[1];
+    List<EventInterface> events = manager.withCalendars(
+        Collections.singletonList(currentCal), Collections.emptyList(), () -> {
+          checkpoint[0] = model.getCheckpoint();
+          return model.getAllEvents();
+        });
+    if (archive) {
+      ArchivedCalendarModel.write(events, currentCal.getTimezone(), filePath);
+      view.displayMessage("Calendar archived to: " + filePath + " (" + events.size()
+          + " events, checkpoint " + checkpoint[0] + ")");
       return true;
-    } else {
-      view.displayError("Unsupported file format. Use .csv or .ical extension.");
-      return false;
     }
+    String written = write(filePath, compressed, out -> {
+      if (csv) {
+        CsvExporter.writeCsv(events, out);
+      } else {
+        IcalExporter.writeIcal(events, currentCal.getName(), currentCal.getTimezone(), out);
+      }
+    });
+    view.displayMessage("Calendar exported to: " + filePath + " (checkpoint "
+        + checkpoint[0] + written + ")");
+    return true;
+  }
+
+  /**
+   * Writes exported text as an exporter produces it.
+   */
+  private interface Exporter {
+    void writeTo(Appendable out) throws IOException;
   }
-}
 
+  /**
+   * Streams the exported text into the file, gzip-compressed if asked, so the text
+   * is never held in memory whole.
+   *
+   * @param filePath   the file to write
+   * @param compressed whether to compress it
+   * @param exporter   writes the exported text
+   * @return how the text was compressed, to append to the message, or an empty
+   *         string if it was not
+   * @throws IOException if the file cannot be written
+   */
+  private static String write(Path filePath, boolean compressed, Exporter exporter)
+      throws IOException {
+    if (!compressed) {
+      try (Writer out = Files.newBufferedWriter(filePath)) {
+        exporter.writeTo(out);
+      }
+      return "";
+    }
+    long started = System.nanoTime();
+    GzipCompressor gzip = new GzipCompressor(Files.newOutputStream(filePath));
+    try (Writer out = new BufferedWriter(
+        new OutputStreamWriter(gzip, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS)) {
+      exporter.writeTo(out);
+    }
+    double seconds = Math.max(1, System.nanoTime() - started) / 1e9;
+    long in = gzip.getBytesIn();
+    long size = gzip.getBytesOut();
+    return String.format(Locale.ROOT, "; %d bytes compressed to %d, ratio %.1f:1, %.1f MB/s",
+        in, size, (double) in / size, in / seconds / 1e6);
+  }
+}
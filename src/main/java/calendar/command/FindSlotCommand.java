@@ -0,0 +1,105 @@
+package calendar.command;
+
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.model.SlotSearch;
+import calendar.util.DateTimeParser;
+import calendar.view.ViewInterface;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Command to find free slots shared by one or more calendars.
+ * Format: find slot --duration &lt;minutes&gt; between &lt;dateStringTtimeString&gt; and
+ *         &lt;dateStringTtimeString&gt; [--calendars &lt;name,name,...|all&gt;]
+ *         [--hours &lt;HH:mm&gt;-&lt;HH:mm&gt;] [--count &lt;N&gt;]
+ *
+ * <p>Times, working hours and the slots printed are in the current calendar's
+ * timezone. Without --calendars only the current calendar is searched; without
+ * --count the first slot is returned.
+ */
+public class FindSlotCommand extends BaseCommand {
+  private final String minutes;
+  private final String windowStart;
+  private final String windowEnd;
+  private final String calendarNames;
+  private final String hours;
+  private final String count;
+
+  /**
+   * Creates a FindSlotCommand.
+   *
+   * @param minutes       the slot length in minutes
+   * @param windowStart   the start of the search window
+   * @param windowEnd     the end of the search window
+   * @param calendarNames comma-separated calendar names, "all", or null for the
+   *                      current one
+   * @param hours         working hours as HH:mm-HH:mm, or null for any time of day
+   * @param count         the number of slots to return, or null for one
+   */
+  public FindSlotCommand(String minutes, String windowStart, String windowEnd,
+                         String calendarNames, String hours, String count) {
+    this.minutes = minutes;
+    this.windowStart = windowStart;
+    this.windowEnd = windowEnd;
+    this.calendarNames = calendarNames;
+    this.hours = hours;
+    this.count = count;
+  }
+
+  @Override
+  protected String getOperationName() {
+    return "find slot";
+  }
+
+  @Override
+  protected boolean doExecute(CalendarManager manager, ViewInterface view)
+      throws IOException, DateTimeParseException, IllegalArgumentException {
+    CalendarInterface currentCal = CommandHelper.getCurrentCalendar(manager, view);
+    if (currentCal == null) {
+      return false;
+    }
+    ZoneId zone = currentCal.getTimezone();
+
+    List<CalendarInterface> calendars =
+        CommandHelper.selectCalendars(manager, calendarNames, currentCal);
+
+    Duration duration = Duration.ofMinutes(Long.parseLong(minutes));
+    Instant from = DateTimeParser.parseDateTime(windowStart).atZone(zone).toInstant();
+    Instant to = DateTimeParser.parseDateTime(windowEnd).atZone(zone).toInstant();
+    SlotSearch.Builder builder = SlotSearch.builder()
+        .calendars(calendars)
+        .duration(duration)
+        .window(from, to);
+    if (hours != null) {
+      String[] range = hours.split("-", 2);
+      if (range.length != 2) {
+        throw new IllegalArgumentException("Working hours must be HH:mm-HH:mm");
+      }
+      builder.workingHours(DateTimeParser.parseTime(range[0]),
+          DateTimeParser.parseTime(range[1]), zone);
+    }
+    if (count != null) {
+      builder.count(Integer.parseInt(count));
+    }
+
+    List<Instant> slots = manager.findFreeSlots(builder.build());
+    if (slots.isEmpty()) {
+      view.displayMessage("No free slot found");
+      return true;
+    }
+    for (Instant slot : slots) {
+      LocalDateTime start = LocalDateTime.ofInstant(slot, zone);
+      LocalDateTime end = LocalDateTime.ofInstant(slot.plus(duration), zone);
+      view.displayMessage(start.format(DateTimeParser.DATETIME_FORMATTER) + " to "
+          + end.format(DateTimeParser.DATETIME_FORMATTER));
+    }
+    return true;
+  }
+}
@@ -0,0 +1,72 @@
+package calendar.command;
+
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModelInterface;
+import calendar.view.ViewInterface;
+import java.io.IOException;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Command to undo or redo the last change to the calendar in use.
+ * Format: undo | redo
+ *
+ * <p>Each calendar keeps its own history of event, series and calendar edits; a
+ * committed transaction counts as one change. Undo and redo are not allowed while
+ * a transaction is open.
+ */
+public class HistoryCommand extends BaseCommand {
+  private final String action;
+
+  /**
+   * Creates a HistoryCommand.
+   *
+   * @param action "undo" or "redo"
+   */
+  public HistoryCommand(String action) {
+    this.action = action.toLowerCase(Locale.ROOT);
+  }
+
+  @Override
+  protected String getOperationName() {
+    return action;
+  }
+
+  @Override
+  protected boolean doExecute(CalendarManager manager, ViewInterface view)
+      throws IOException, DateTimeParseException, IllegalArgumentException {
+    if (manager.getTransactionCalendar() != null) {
+      throw new IllegalArgumentException("Commit or roll back the open transaction first");
+    }
+    CalendarInterface calendar = CommandHelper.getCurrentCalendar(manager, view);
+    if (calendar == null) {
+      return false;
+    }
+
+    CalendarModelInterface model = calendar.getModel();
+    boolean done;
+    try {
+      switch (action) {
+        case "undo":
+          done = model.undo();
+          break;
+        case "redo":
+          done = model.redo();
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown history action: " + action);
+      }
+    } catch (IllegalStateException e) {
+      throw new IllegalArgumentException(e.getMessage(), e);
+    }
+
+    if (done) {
+      view.displayMessage((action.equals("undo") ? "Undid" : "Redid")
+          + " last change in calendar '" + calendar.getName() + "'.");
+    } else {
+      view.displayMessage("Nothing to " + action + ".");
+    }
+    return true;
+  }
+}
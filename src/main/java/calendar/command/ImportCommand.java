@@ -0,0 +1,194 @@
+package calendar.command;
+
+import calendar.model.BulkInsertResult;
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import calendar.util.IcalImporter;
+import calendar.view.ViewInterface;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Command to import an iCalendar file into the current calendar.
+ * Format: import cal fileName.ics (or fileName.ics.gz, as a compressed export writes)
+ *
+ * <p>The file is streamed through {@link IcalImporter}, so feeds of any size can be
+ * imported without loading them into memory. Recurring events are created as
+ * series; events that would duplicate existing ones are skipped and counted.
+ *
+ * <p>DESIGN RATIONALE:
+ * - Mirrors ExportCommand so that exported .ics/.ical files can be loaded back
+ * - Date-times are converted into the current calendar's timezone
+ * - A partial import is still reported, with the number of skipped components and
+ *   of those imported only in part, and the importer's reasons for each, up to
+ *   {@link #SHOWN_WARNINGS} of them
+ * - Series are collected and created in batches, so the occurrences of large
+ *   recurring feeds are generated in parallel
+ */
+public class ImportCommand extends BaseCommand {
+  private static final int SHOWN_WARNINGS = 20;
+
+  private final String fileName;
+
+  /**
+   * Creates an ImportCommand.
+   *
+   * @param fileName the name of the file to read (.ics or .ical, optionally followed
+   *                 by .gz)
+   */
+  public ImportCommand(String fileName) {
+    this.fileName = fileName;
+  }
+
+  @Override
+  protected String getOperationName() {
+    return "import calendar";
+  }
+
+  @Override
+  protected boolean doExecute(CalendarManager manager, ViewInterface view)
+      throws IOException, DateTimeParseException, IllegalArgumentException {
+    CalendarInterface currentCal = CommandHelper.getCurrentCalendar(manager, view);
+    if (currentCal == null) {
+      return false;
+    }
+
+    String lowerFileName = fileName.toLowerCase();
+    boolean compressed = lowerFileName.endsWith(".gz");
+    String format = compressed
+        ? lowerFileName.substring(0, lowerFileName.length() - ".gz".length()) : lowerFileName;
+    if (!format.endsWith(".ics") && !format.endsWith(".ical")) {
+      view.displayError("Unsupported file format. Use .ics or .ical extension, "
+          + "optionally followed by .gz.");
+      return false;
+    }
+
+    Path filePath = Paths.get(fileName).toAbsolutePath().normalize();
+    if (!Files.isRegularFile(filePath)) {
+      view.displayError("File not found: " + filePath);
+      return false;
+    }
+
+    CalendarModelInterface model = currentCal.getModel();
+    ImportListener listener = new ImportListener(model);
+    try (Reader reader = compressed
+        ? new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(Files.newInputStream(filePath)), StandardCharsets.UTF_8))
+        : Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+      new IcalImporter(currentCal.getTimezone()).parse(reader, listener);
+    }
+    listener.flushSeries();
+
+    for (String warning : listener.shownWarnings) {
+      view.displayMessage("Warning: " + warning);
+    }
+    if (listener.warnings > listener.shownWarnings.size()) {
+      view.displayMessage("... and " + (listener.warnings - listener.shownWarnings.size())
+          + " more warning(s)");
+    }
+
+    int skipped = listener.duplicates + listener.skipped;
+    List<String> counts = new ArrayList<>();
+    if (listener.partial > 0) {
+      counts.add(listener.partial + " imported partially");
+    }
+    if (skipped > 0) {
+      counts.add(skipped + " skipped");
+    }
+    view.displayMessage("Imported " + listener.events + " event(s) and " + listener.series
+        + " series from: " + filePath
+        + (counts.isEmpty() ? "" : " (" + String.join(", ", counts) + ")"));
+    return true;
+  }
+
+  /**
+   * Adds imported components to the model as they are parsed.
+   */
+  private static final class ImportListener implements IcalImporter.Listener {
+    private static final int SERIES_BATCH_SIZE = 256;
+
+    private final CalendarModelInterface model;
+    private final List<EventSeries> pendingSeries;
+    private final List<String> shownWarnings;
+    private int events;
+    private int series;
+    private int duplicates;
+    private int skipped;
+    private int partial;
+    private int warnings;
+
+    private ImportListener(CalendarModelInterface model) {
+      this.model = model;
+      this.pendingSeries = new ArrayList<>();
+      this.shownWarnings = new ArrayList<>();
+    }
+
+    @Override
+    public void onEvent(EventInterface event) {
+      if (model.createEvent(event)) {
+        events++;
+      } else {
+        duplicates++;
+      }
+    }
+
+    @Override
+    public void onSeries(EventSeries eventSeries) {
+      pendingSeries.add(eventSeries);
+      if (pendingSeries.size() >= SERIES_BATCH_SIZE) {
+        flushSeries();
+      }
+    }
+
+    /**
+     * Creates the series collected so far in one batch.
+     */
+    private void flushSeries() {
+      if (pendingSeries.isEmpty()) {
+        return;
+      }
+      BulkInsertResult result = model.createEventSeriesBatch(pendingSeries);
+      Set<UUID> skipped = new HashSet<>();
+      for (EventInterface occurrence : result.getConflicts()) {
+        occurrence.getSeriesId().ifPresent(skipped::add);
+      }
+      series += pendingSeries.size() - skipped.size();
+      duplicates += skipped.size();
+      pendingSeries.clear();
+    }
+
+    @Override
+    public void onWarning(String message) {
+      skipped++;
+      warn(message);
+    }
+
+    @Override
+    public void onPartial(String message) {
+      partial++;
+      warn(message);
+    }
+
+    private void warn(String message) {
+      if (warnings++ < SHOWN_WARNINGS) {
+        shownWarnings.add(message);
+      }
+    }
+  }
+}
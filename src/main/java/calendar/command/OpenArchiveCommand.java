@@ -0,0 +1,65 @@
+package calendar.command;
+
+import calendar.model.CalendarManager;
+import calendar.view.ViewInterface;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Command to open a calendar archive, written by exporting to a .calarc file, as a
+ * new read-only calendar.
+ * Format: create calendar --name &lt;calName&gt; --archive &lt;file&gt;
+ *
+ * <p>DESIGN RATIONALE:
+ * - The archive is mapped rather than loaded, so opening it is quick whatever its
+ *   size, and its events are read as they are queried
+ * - The calendar takes the timezone the archive was written in
+ * - Any change to its events fails with a read-only error
+ * - Extends BaseCommand for consistent error handling
+ */
+public class OpenArchiveCommand extends BaseCommand {
+  private final String name;
+  private final String fileName;
+
+  /**
+   * Creates a command to open a calendar archive.
+   *
+   * @param name     the unique name for the calendar
+   * @param fileName the archive file (.calarc)
+   */
+  public OpenArchiveCommand(String name, String fileName) {
+    this.name = name;
+    this.fileName = fileName;
+  }
+
+  @Override
+  protected String getOperationName() {
+    return "open archive";
+  }
+
+  @Override
+  protected boolean doExecute(CalendarManager manager, ViewInterface view)
+      throws IOException, DateTimeParseException, IllegalArgumentException {
+    if (!fileName.toLowerCase().endsWith(".calarc")) {
+      view.displayError("Unsupported file format. Use .calarc extension.");
+      return false;
+    }
+
+    Path filePath = Paths.get(fileName).toAbsolutePath().normalize();
+    if (!Files.isRegularFile(filePath)) {
+      view.displayError("File not found: " + filePath);
+      return false;
+    }
+
+    if (!manager.openArchive(name, filePath)) {
+      view.displayError("Calendar '" + name + "' already exists.");
+      return false;
+    }
+    view.displayMessage("Calendar '" + name + "' opened read-only from archive: " + filePath
+        + " (timezone " + manager.getCalendar(name).getTimezone() + ").");
+    return true;
+  }
+}
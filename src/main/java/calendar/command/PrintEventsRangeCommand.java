@@ -1,5 +1,6 @@
 package calendar.command;
 
+import calendar.model.CalendarEvent;
 import calendar.model.CalendarInterface;
 import calendar.model.CalendarManager;
 import calendar.model.CalendarModelInterface;
@@ -8,25 +9,48 @@ import calendar.util.DateTimeParser;
 import calendar.view.ViewInterface;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Command to print events in a date/time range.
+ * Format: print events from &lt;dateStringTtimeString&gt; to &lt;dateStringTtimeString&gt;
+ *         [--calendars &lt;name,name,...|all&gt;]
+ *
+ * <p>With --calendars the selected calendars are queried in parallel and their events
+ * are printed together, in start order and tagged with their calendar. Times are in
+ * the current calendar's timezone.
  */
 public class PrintEventsRangeCommand extends BaseCommand {
   private final String startString;
   private final String endString;
+  private final String calendarNames;
 
   /**
-   * Creates a PrintEventsRangeCommand.
+   * Creates a PrintEventsRangeCommand for the current calendar.
    *
    * @param startString the start datetime string
    * @param endString   the end datetime string
    */
   public PrintEventsRangeCommand(String startString, String endString) {
+    this(startString, endString, null);
+  }
+
+  /**
+   * Creates a PrintEventsRangeCommand.
+   *
+   * @param startString   the start datetime string
+   * @param endString     the end datetime string
+   * @param calendarNames comma-separated calendar names, "all", or null for the
+   *                      current calendar only
+   */
+  public PrintEventsRangeCommand(String startString, String endString,
+                                 String calendarNames) {
     this.startString = startString;
     this.endString = endString;
+    this.calendarNames = calendarNames;
   }
 
   @Override
@@ -45,6 +69,15 @@ public class PrintEventsRangeCommand extends BaseCommand {
 
     LocalDateTime start = DateTimeParser.parseDateTime(startString);
     LocalDateTime end = DateTimeParser.parseDateTime(endString);
+    if (calendarNames != null) {
+      ZoneId zone = currentCal.getTimezone();
+      List<CalendarEvent> events = manager.getEventsInRange(
+          CommandHelper.selectCalendars(manager, calendarNames, currentCal),
+          start.atZone(zone).toInstant(), end.atZone(zone).toInstant());
+      view.displayCalendarEvents(events.stream().map(e -> e.inZone(zone))
+          .collect(Collectors.toList()));
+      return true;
+    }
     List<EventInterface> events = model.getEventsInRange(start, end);
     view.displayEvents(events);
     return true;
@@ -0,0 +1,107 @@
+package calendar.command;
+
+import calendar.model.CalendarEvent;
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EventInterface;
+import calendar.util.DateTimeParser;
+import calendar.view.ViewInterface;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Command to find events in the current calendar by keyword.
+ * Format: search &lt;words&gt; [between &lt;dateStringTtimeString&gt; and
+ *         &lt;dateStringTtimeString&gt;] [--calendars &lt;name,name,...|all&gt;]
+ *
+ * <p>Words match the subject, description and location, ignoring case. A word
+ * ending in '*' is a prefix; an event must match every word. With --calendars the
+ * selected calendars are searched in parallel and the matches are printed together,
+ * in start order and tagged with their calendar.
+ */
+public class SearchCommand extends BaseCommand {
+  private final String query;
+  private final String startString;
+  private final String endString;
+  private final String calendarNames;
+
+  /**
+   * Creates a SearchCommand for the current calendar.
+   *
+   * @param query       the query words
+   * @param startString the start datetime string, or null to search all events
+   * @param endString   the end datetime string, or null to search all events
+   */
+  public SearchCommand(String query, String startString, String endString) {
+    this(query, startString, endString, null);
+  }
+
+  /**
+   * Creates a SearchCommand.
+   *
+   * @param query         the query words
+   * @param startString   the start datetime string, or null to search all events
+   * @param endString     the end datetime string, or null to search all events
+   * @param calendarNames comma-separated calendar names, "all", or null for the
+   *                      current calendar only
+   */
+  public SearchCommand(String query, String startString, String endString,
+                       String calendarNames) {
+    this.query = query;
+    this.startString = startString;
+    this.endString = endString;
+    this.calendarNames = calendarNames;
+  }
+
+  @Override
+  protected String getOperationName() {
+    return "search";
+  }
+
+  @Override
+  protected boolean doExecute(CalendarManager manager, ViewInterface view)
+      throws IOException, DateTimeParseException, IllegalArgumentException {
+    CalendarInterface currentCal = CommandHelper.getCurrentCalendar(manager, view);
+    if (currentCal == null) {
+      return false;
+    }
+    if (calendarNames != null) {
+      return searchCalendars(manager, view, currentCal);
+    }
+    CalendarModelInterface model = currentCal.getModel();
+
+    List<EventInterface> events;
+    if (startString == null) {
+      events = model.search(query);
+    } else {
+      LocalDateTime start = DateTimeParser.parseDateTime(startString);
+      LocalDateTime end = DateTimeParser.parseDateTime(endString);
+      events = model.search(query, start, end);
+    }
+    view.displayEvents(events);
+    return true;
+  }
+
+  private boolean searchCalendars(CalendarManager manager, ViewInterface view,
+                                  CalendarInterface currentCal) throws IOException {
+    ZoneId zone = currentCal.getTimezone();
+    List<CalendarInterface> calendars =
+        CommandHelper.selectCalendars(manager, calendarNames, currentCal);
+    List<CalendarEvent> events;
+    if (startString == null) {
+      events = manager.search(calendars, query);
+    } else {
+      events = manager.search(calendars, query,
+          DateTimeParser.parseDateTime(startString).atZone(zone).toInstant(),
+          DateTimeParser.parseDateTime(endString).atZone(zone).toInstant());
+    }
+    view.displayCalendarEvents(events.stream().map(e -> e.inZone(zone))
+        .collect(Collectors.toList()));
+    return true;
+  }
+}
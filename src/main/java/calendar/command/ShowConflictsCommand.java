@@ -0,0 +1,66 @@
+package calendar.command;
+
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EventInterface;
+import calendar.util.DateTimeParser;
+import calendar.view.ViewInterface;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Command to list groups of overlapping events in the current calendar.
+ * Format: show conflicts [between &lt;dateStringTtimeString&gt; and
+ *         &lt;dateStringTtimeString&gt;]
+ */
+public class ShowConflictsCommand extends BaseCommand {
+  private final String startString;
+  private final String endString;
+
+  /**
+   * Creates a ShowConflictsCommand.
+   *
+   * @param startString the start datetime string, or null for the whole calendar
+   * @param endString   the end datetime string, or null for the whole calendar
+   */
+  public ShowConflictsCommand(String startString, String endString) {
+    this.startString = startString;
+    this.endString = endString;
+  }
+
+  @Override
+  protected String getOperationName() {
+    return "show conflicts";
+  }
+
+  @Override
+  protected boolean doExecute(CalendarManager manager, ViewInterface view)
+      throws IOException, DateTimeParseException, IllegalArgumentException {
+    CalendarModelInterface model = CommandHelper.getCurrentModel(manager, view);
+    if (model == null) {
+      return false;
+    }
+
+    List<List<EventInterface>> conflicts;
+    if (startString == null) {
+      conflicts = model.findConflicts();
+    } else {
+      LocalDateTime start = DateTimeParser.parseDateTime(startString);
+      LocalDateTime end = DateTimeParser.parseDateTime(endString);
+      conflicts = model.findConflicts(start, end);
+    }
+
+    if (conflicts.isEmpty()) {
+      view.displayMessage("No conflicts");
+      return true;
+    }
+    for (int i = 0; i < conflicts.size(); i++) {
+      view.displayMessage("Conflict " + (i + 1) + ": " + conflicts.get(i).size()
+          + " overlapping events");
+      view.displayEvents(conflicts.get(i));
+    }
+    return true;
+  }
+}
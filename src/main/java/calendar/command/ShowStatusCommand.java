@@ -8,20 +8,39 @@ import calendar.view.ViewInterface;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 
 /**
  * Command to show busy status at a specific date/time.
+ * Format: show status on &lt;dateStringTtimeString&gt; [--calendars &lt;name,name,...|all&gt;]
+ *
+ * <p>With --calendars the selected calendars are checked in parallel and the busy
+ * ones are named, e.g. "busy: Work, Team". The time is in the current calendar's
+ * timezone.
  */
 public class ShowStatusCommand extends BaseCommand {
   private final String dateTimeString;
+  private final String calendarNames;
 
   /**
-   * Creates a ShowStatusCommand.
+   * Creates a ShowStatusCommand for the current calendar.
    *
    * @param dateTimeString the datetime string
    */
   public ShowStatusCommand(String dateTimeString) {
+    this(dateTimeString, null);
+  }
+
+  /**
+   * Creates a ShowStatusCommand.
+   *
+   * @param dateTimeString the datetime string
+   * @param calendarNames  comma-separated calendar names, "all", or null for the
+   *                       current calendar only
+   */
+  public ShowStatusCommand(String dateTimeString, String calendarNames) {
     this.dateTimeString = dateTimeString;
+    this.calendarNames = calendarNames;
   }
 
   @Override
@@ -39,6 +58,13 @@ public class ShowStatusCommand extends BaseCommand {
     CalendarModelInterface model = currentCal.getModel();
 
     LocalDateTime dateTime = DateTimeParser.parseDateTime(dateTimeString);
+    if (calendarNames != null) {
+      List<String> busy = manager.getBusyCalendars(
+          CommandHelper.selectCalendars(manager, calendarNames, currentCal),
+          dateTime.atZone(currentCal.getTimezone()).toInstant());
+      view.displayMessage(busy.isEmpty() ? "available" : "busy: " + String.join(", ", busy));
+      return true;
+    }
     boolean isBusy = model.isBusy(dateTime);
     String status = isBusy ? "busy" : "available";
     view.displayMessage(status);
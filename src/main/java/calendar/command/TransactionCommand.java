@@ -0,0 +1,72 @@
+package calendar.command;
+
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.view.ViewInterface;
+import java.io.IOException;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Command to begin, commit or roll back a transaction.
+ * Format: begin | commit | rollback
+ *
+ * <p>A transaction covers the events and series of the calendar in use when it
+ * began. Its changes are kept together by commit or undone together by rollback;
+ * other sessions see none of them until it ends. A script that stops with a
+ * transaction still open has it rolled back.
+ */
+public class TransactionCommand extends BaseCommand {
+  private final String action;
+
+  /**
+   * Creates a TransactionCommand.
+   *
+   * @param action "begin", "commit" or "rollback"
+   */
+  public TransactionCommand(String action) {
+    this.action = action.toLowerCase(Locale.ROOT);
+  }
+
+  @Override
+  protected String getOperationName() {
+    return action;
+  }
+
+  @Override
+  protected boolean doExecute(CalendarManager manager, ViewInterface view)
+      throws IOException, DateTimeParseException, IllegalArgumentException {
+    CalendarInterface open = manager.getTransactionCalendar();
+    switch (action) {
+      case "begin":
+        if (open != null) {
+          throw new IllegalArgumentException("A transaction is already open on calendar '"
+              + open.getName() + "'");
+        }
+        if (CommandHelper.getCurrentCalendar(manager, view) == null) {
+          return false;
+        }
+        view.displayMessage("Transaction started on calendar '"
+            + manager.beginTransaction().getName() + "'.");
+        return true;
+      case "commit":
+        requireOpen(open);
+        manager.commitTransaction();
+        view.displayMessage("Transaction committed.");
+        return true;
+      case "rollback":
+        requireOpen(open);
+        manager.rollbackTransaction();
+        view.displayMessage("Transaction rolled back.");
+        return true;
+      default:
+        throw new IllegalArgumentException("Unknown transaction action: " + action);
+    }
+  }
+
+  private static void requireOpen(CalendarInterface open) {
+    if (open == null) {
+      throw new IllegalArgumentException("No transaction is open");
+    }
+  }
+}
@@ -8,17 +8,19 @@ import java.util.regex.Pattern;
 
 /**
  * Matches "export cal" commands.
+ * Format: export cal &lt;file&gt; [--since &lt;checkpoint&gt;]
  */
 public class ExportCommandMatcher implements CommandMatcher {
   private static final Pattern PATTERN =
-      Pattern.compile("^\\s*export\\s+cal\\s+(.+?)\\s*$", Pattern.CASE_INSENSITIVE);
+      Pattern.compile("^\\s*export\\s+cal\\s+(.+?)(?:\\s+--since\\s+(\\d+))?\\s*$",
+          Pattern.CASE_INSENSITIVE);
 
   @Override
   public CommandInterface tryMatch(String input) {
     Matcher matcher = PATTERN.matcher(input);
     if (matcher.matches()) {
       String fileName = matcher.group(1).trim();
-      return new ExportCommand(fileName);
+      return new ExportCommand(fileName, matcher.group(2));
     }
     return null;
   }
@@ -0,0 +1,37 @@
+package calendar.command.matchers;
+
+import calendar.command.CommandInterface;
+import calendar.command.CommandMatcher;
+import calendar.command.FindSlotCommand;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches commands to find free slots.
+ * Format: find slot --duration &lt;minutes&gt; between &lt;dateStringTtimeString&gt; and
+ *         &lt;dateStringTtimeString&gt; [--calendars &lt;name,name,...|all&gt;]
+ *         [--hours &lt;HH:mm&gt;-&lt;HH:mm&gt;] [--count &lt;N&gt;]
+ *
+ * <p>Examples:
+ * - find slot --duration 30 between 2025-06-02T00:00 and 2025-06-07T00:00
+ * - find slot --duration 60 between 2025-06-02T00:00 and 2025-06-30T00:00
+ *   --calendars Work,Home --hours 09:00-17:00 --count 3
+ */
+public class FindSlotCommandMatcher implements CommandMatcher {
+  private static final Pattern PATTERN = Pattern.compile(
+      "^\\s*find\\s+slot\\s+--duration\\s+(\\d{1,6})\\s+between\\s+(\\S+)\\s+and\\s+(\\S+)"
+          + "(?:\\s+--calendars\\s+(\\S+))?(?:\\s+--hours\\s+(\\S+))?"
+          + "(?:\\s+--count\\s+(\\d{1,6}))?\\s*$",
+      Pattern.CASE_INSENSITIVE
+  );
+
+  @Override
+  public CommandInterface tryMatch(String input) {
+    Matcher matcher = PATTERN.matcher(input);
+    if (!matcher.matches()) {
+      return null;
+    }
+    return new FindSlotCommand(matcher.group(1), matcher.group(2), matcher.group(3),
+        matcher.group(4), matcher.group(5), matcher.group(6));
+  }
+}
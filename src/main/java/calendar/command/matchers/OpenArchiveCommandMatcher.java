@@ -0,0 +1,28 @@
+package calendar.command.matchers;
+
+import calendar.command.CommandInterface;
+import calendar.command.CommandMatcher;
+import calendar.command.OpenArchiveCommand;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches commands to open a calendar archive as a new calendar.
+ * Format: create calendar --name &lt;calName&gt; --archive &lt;file&gt;
+ */
+public class OpenArchiveCommandMatcher implements CommandMatcher {
+  private static final Pattern PATTERN = Pattern.compile(
+      "^\\s*create\\s+calendar\\s+--name\\s+(\\S+)\\s+--archive\\s+(.+?)\\s*$",
+      Pattern.CASE_INSENSITIVE
+  );
+
+  @Override
+  public CommandInterface tryMatch(String input) {
+    Matcher matcher = PATTERN.matcher(input);
+    if (!matcher.matches()) {
+      return null;
+    }
+
+    return new OpenArchiveCommand(matcher.group(1), matcher.group(2));
+  }
+}
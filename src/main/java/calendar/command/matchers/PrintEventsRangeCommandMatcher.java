@@ -8,17 +8,21 @@ import java.util.regex.Pattern;
 
 /**
  * Matches "print events from...to" commands.
+ * Format: print events from &lt;dateStringTtimeString&gt; to &lt;dateStringTtimeString&gt;
+ *         [--calendars &lt;name,name,...|all&gt;]
  */
 public class PrintEventsRangeCommandMatcher implements CommandMatcher {
   private static final Pattern PATTERN =
-      Pattern.compile("^\\s*print\\s+events\\s+from\\s+(\\S+)\\s+to\\s+(\\S+)\\s*$",
+      Pattern.compile("^\\s*print\\s+events\\s+from\\s+(\\S+)\\s+to\\s+(\\S+)"
+          + "(?:\\s+--calendars\\s+(\\S+))?\\s*$",
           Pattern.CASE_INSENSITIVE);
 
   @Override
   public CommandInterface tryMatch(String input) {
     Matcher matcher = PATTERN.matcher(input);
     if (matcher.matches()) {
-      return new PrintEventsRangeCommand(matcher.group(1), matcher.group(2));
+      return new PrintEventsRangeCommand(matcher.group(1), matcher.group(2),
+          matcher.group(3));
     }
     return null;
   }
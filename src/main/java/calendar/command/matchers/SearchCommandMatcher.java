@@ -0,0 +1,35 @@
+package calendar.command.matchers;
+
+import calendar.command.CommandInterface;
+import calendar.command.CommandMatcher;
+import calendar.command.SearchCommand;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches keyword search commands.
+ * Format: search &lt;words&gt; [between &lt;dateStringTtimeString&gt; and
+ *         &lt;dateStringTtimeString&gt;] [--calendars &lt;name,name,...|all&gt;]
+ *
+ * <p>Examples:
+ * - search standup
+ * - search "room 4*" between 2025-06-01T00:00 and 2025-07-01T00:00
+ * - search offsite --calendars all
+ */
+public class SearchCommandMatcher implements CommandMatcher {
+  private static final Pattern PATTERN = Pattern.compile(
+      "^\\s*search\\s+(?:\"([^\"]+)\"|(.+?))"
+          + "(?:\\s+between\\s+(\\S+)\\s+and\\s+(\\S+))?"
+          + "(?:\\s+--calendars\\s+(\\S+))?\\s*$",
+      Pattern.CASE_INSENSITIVE);
+
+  @Override
+  public CommandInterface tryMatch(String input) {
+    Matcher matcher = PATTERN.matcher(input);
+    if (!matcher.matches()) {
+      return null;
+    }
+    String query = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+    return new SearchCommand(query, matcher.group(3), matcher.group(4), matcher.group(5));
+  }
+}
@@ -0,0 +1,27 @@
+package calendar.command.matchers;
+
+import calendar.command.CommandInterface;
+import calendar.command.CommandMatcher;
+import calendar.command.ShowConflictsCommand;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches "show conflicts" commands, with an optional window.
+ * Format: show conflicts [between &lt;dateStringTtimeString&gt; and
+ *         &lt;dateStringTtimeString&gt;]
+ */
+public class ShowConflictsCommandMatcher implements CommandMatcher {
+  private static final Pattern PATTERN = Pattern.compile(
+      "^\\s*show\\s+conflicts(?:\\s+between\\s+(\\S+)\\s+and\\s+(\\S+))?\\s*$",
+      Pattern.CASE_INSENSITIVE);
+
+  @Override
+  public CommandInterface tryMatch(String input) {
+    Matcher matcher = PATTERN.matcher(input);
+    if (matcher.matches()) {
+      return new ShowConflictsCommand(matcher.group(1), matcher.group(2));
+    }
+    return null;
+  }
+}
@@ -8,16 +8,18 @@ import java.util.regex.Pattern;
 
 /**
  * Matches "show status on" commands.
+ * Format: show status on &lt;dateStringTtimeString&gt; [--calendars &lt;name,name,...|all&gt;]
  */
 public class ShowStatusCommandMatcher implements CommandMatcher {
   private static final Pattern PATTERN =
-      Pattern.compile("^\\s*show\\s+status\\s+on\\s+(\\S+)\\s*$", Pattern.CASE_INSENSITIVE);
+      Pattern.compile("^\\s*show\\s+status\\s+on\\s+(\\S+)(?:\\s+--calendars\\s+(\\S+))?\\s*$",
+          Pattern.CASE_INSENSITIVE);
 
   @Override
   public CommandInterface tryMatch(String input) {
     Matcher matcher = PATTERN.matcher(input);
     if (matcher.matches()) {
-      return new ShowStatusCommand(matcher.group(1));
+      return new ShowStatusCommand(matcher.group(1), matcher.group(2));
     }
     return null;
   }
@@ -2,6 +2,7 @@ package calendar.controller;
 
 import calendar.command.CommandInterface;
 import calendar.command.CommandParser;
+import calendar.command.CommandSession;
 import calendar.exceptions.InvalidCommandException;
 import calendar.model.CalendarManager;
 import calendar.view.ViewInterface;
@@ -33,7 +34,7 @@ import java.util.Scanner;
  * delegates to the appropriate calendar based on user context.
  */
 public class Controller implements ControllerInterface {
-  private final CalendarManager manager;
+  private final CommandSession session;
   private final ViewInterface view;
   private final CommandParser parser;
   private final Readable input;
@@ -51,7 +52,7 @@ public class Controller implements ControllerInterface {
    */
   public Controller(CalendarManager manager, ViewInterface view,
       CommandParser parser, Readable input, boolean interactive) {
-    this.manager = manager;
+    this.session = new CommandSession(manager, view);
     this.view = view;
     this.parser = parser;
     this.input = input;
@@ -74,7 +75,7 @@ public class Controller implements ControllerInterface {
 
         try {
           CommandInterface cmd = parser.parse(line);
-          boolean shouldContinue = cmd.execute(manager, view);
+          boolean shouldContinue = cmd.execute(session);
           if (!shouldContinue) {
             exitFound = true;
             break;
@@ -100,9 +101,15 @@ public class Controller implements ControllerInterface {
         }
       }
 
+      CalendarManager manager = session.getManager();
+      if (manager.getTransactionCalendar() != null) {
+        manager.rollbackTransaction();
+        view.displayMessage("Uncommitted transaction rolled back.");
+      }
+
       if (!interactive && !exitFound) {
         view.displayError("Error: Commands file must end with 'exit' command");
       }
     }
   }
-}
\ No newline at end of file
+}
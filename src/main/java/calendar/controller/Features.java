@@ -142,4 +142,14 @@ public interface Features {
   void editSeriesFromDate(String seriesId, LocalDate fromDate,
       String newSubject, LocalDateTime newStart, LocalDateTime newEnd,
       String newLocation, String newDescription, Boolean newIsPrivate);
+
+  /**
+   * Undoes the last change to the current calendar.
+   */
+  void undo();
+
+  /**
+   * Redoes the last undone change to the current calendar.
+   */
+  void redo();
 }
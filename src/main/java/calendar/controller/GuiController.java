@@ -432,6 +432,43 @@ public class GuiController implements Features {
 
   
 
+  @Override
+  public void undo() {
+    replayHistory(true);
+  }
+
+  @Override
+  public void redo() {
+    replayHistory(false);
+  }
+
+  /**
+   * Undoes or redoes the last change to the current calendar and refreshes the view.
+   *
+   * @param undo true to undo, false to redo
+   */
+  private void replayHistory(boolean undo) {
+    CalendarModelInterface model = getCurrentModel();
+    if (model == null) {
+      view.showError(UIMessages.ERROR_NO_CALENDAR);
+      return;
+    }
+
+    try {
+      boolean done = undo ? model.undo() : model.redo();
+      if (!done) {
+        view.showMessage(undo ? UIMessages.INFO_NOTHING_TO_UNDO
+            : UIMessages.INFO_NOTHING_TO_REDO);
+        return;
+      }
+      refreshCalendarList();
+      refreshView();
+      refreshEventsForSelectedDay();
+    } catch (IllegalStateException e) {
+      view.showError(UIMessages.formatHistoryFailed(undo ? "undo" : "redo", e.getMessage()));
+    }
+  }
+
   /**
    * Gets the current calendar's model.
    *
@@ -0,0 +1,819 @@
+package calendar.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * A read-only calendar model backed by a calendar archive file, which is mapped into
+ * memory rather than loaded: queries binary-search the file's time columns and
+ * decode only the events they return.
+ *
+ * <p>An archive (big-endian) holds, after a 32-byte header of magic number,
+ * version, event count, block size, block count, string count and zone:
+ * - the events' columns, sorted by start then end: start and end seconds (UTC),
+ *   event and series IDs, subject, description and location string numbers
+ *   (-1 for none) and flags (private, in a series)
+ * - a block index: for every block of {@link #BLOCK_SIZE} events, its first start,
+ *   its latest end and the latest end of it and every block before it
+ * - a string table: the offset of each distinct string, then their UTF-8 bytes
+ *
+ * <p>DESIGN RATIONALE:
+ * - Fixed-width columns are found by arithmetic, so opening an archive reads only
+ *   its header, and the operating system pages in what queries touch
+ * - The running latest end is non-decreasing, so a binary search finds the first
+ *   block that can hold an event overlapping a window; blocks whose own latest end
+ *   is before the window are then skipped whole
+ * - Strings are stored once, so keyword search tokenizes each distinct string once
+ *   and then matches events by their string numbers
+ * - Series rules are not archived; occurrences keep their series ID
+ * - The zone is the one thing that changes, so the model is safe to share between
+ *   threads without a lock
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - data is a read-only mapping of a whole archive whose header was validated
+ * - the column offsets follow from count, blockCount and strings as laid out above
+ */
+public final class ArchivedCalendarModel implements CalendarModelInterface {
+  private static final int MAGIC = 0x43414C41;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 32;
+  private static final int BLOCK_SIZE = 256;
+  private static final int ROW_BYTES = 61;
+  private static final int NONE = -1;
+  private static final int PRIVATE = 1;
+  private static final int IN_SERIES = 2;
+  private static final long CHECKPOINT = 1;
+  private static final String READ_ONLY = "Archived calendars are read-only";
+
+  private final ByteBuffer data;
+  private final int count;
+  private final int blockCount;
+  private final int strings;
+  private final int startsAt;
+  private final int endsAt;
+  private final int idsAt;
+  private final int seriesAt;
+  private final int subjectsAt;
+  private final int descriptionsAt;
+  private final int locationsAt;
+  private final int flagsAt;
+  private final int blocksAt;
+  private final int offsetsAt;
+  private final int bytesAt;
+  private final SubmissionPublisher<CalendarChange> publisher;
+  private volatile ZoneId zone;
+
+  private ArchivedCalendarModel(ByteBuffer data) throws IOException {
+    this.data = data;
+    if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+      throw new IOException("Not a calendar archive");
+    }
+    if (data.getInt(4) != VERSION) {
+      throw new IOException("Unsupported calendar archive version " + data.getInt(4));
+    }
+    this.count = data.getInt(8);
+    this.blockCount = data.getInt(16);
+    this.strings = data.getInt(20);
+    if (count < 0 || strings < 0 || data.getInt(12) != BLOCK_SIZE
+        || blockCount != (count + BLOCK_SIZE - 1) / BLOCK_SIZE) {
+      throw new IOException("Corrupt calendar archive header");
+    }
+
+    long at = HEADER_BYTES;
+    this.startsAt = (int) at;
+    this.endsAt = (int) (at += 8L * count);
+    this.idsAt = (int) (at += 8L * count);
+    this.seriesAt = (int) (at += 16L * count);
+    this.subjectsAt = (int) (at += 16L * count);
+    this.descriptionsAt = (int) (at += 4L * count);
+    this.locationsAt = (int) (at += 4L * count);
+    this.flagsAt = (int) (at += 4L * count);
+    this.blocksAt = (int) (at = align(at + count));
+    this.offsetsAt = (int) (at += 24L * blockCount);
+    this.bytesAt = (int) (at += 4L * (strings + 1));
+    if (at > data.capacity() || bytesAt + (long) data.getInt(bytesAt - 4) > data.capacity()) {
+      throw new IOException("Truncated calendar archive");
+    }
+    int zoneString = data.getInt(24);
+    if (zoneString < 0 || zoneString >= strings) {
+      throw new IOException("Corrupt calendar archive header");
+    }
+    this.zone = ZoneId.of(string(zoneString));
+    this.publisher = new SubmissionPublisher<>();
+    publisher.close();
+  }
+
+  private static long align(long offset) {
+    return (offset + 7) & ~7L;
+  }
+
+  /**
+   * Opens an archive written by {@link #write}. The file is mapped read-only and
+   * closed again; the mapping stays valid until the model is garbage collected.
+   *
+   * @param file the archive file
+   * @return a model over the archive, in the zone it was written in
+   * @throws IOException if the file cannot be read or is not a calendar archive
+   */
+  public static ArchivedCalendarModel open(Path file) throws IOException {
+    Objects.requireNonNull(file, "File cannot be null");
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Calendar archive is too large to map");
+      }
+      return new ArchivedCalendarModel(
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Writes events to an archive file, replacing the file if it exists.
+   *
+   * @param events the events, with local date-times in the zone
+   * @param zone   the zone of the events' date-times, kept as the archive's zone
+   * @param file   the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(List<EventInterface> events, ZoneId zone, Path file)
+      throws IOException {
+    Objects.requireNonNull(events, "Events cannot be null");
+    Objects.requireNonNull(zone, "Zone cannot be null");
+    Objects.requireNonNull(file, "File cannot be null");
+
+    int n = events.size();
+    long[] starts = new long[n];
+    long[] ends = new long[n];
+    Integer[] order = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      EventInterface event = events.get(i);
+      starts[i] = event.getStartDateTime().atZone(zone).toEpochSecond();
+      ends[i] = event.getEndDateTime().atZone(zone).toEpochSecond();
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.<Integer>comparingLong(i -> starts[i])
+        .thenComparingLong(i -> ends[i]));
+
+    Map<String, Integer> table = new LinkedHashMap<>();
+    int zoneString = intern(table, zone.getId());
+    int blockCount = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(n);
+      out.writeInt(BLOCK_SIZE);
+      out.writeInt(blockCount);
+      // The string count is only known once every string is interned; the table is
+      // built from the events before any column that refers to it is written.
+      for (Integer i : order) {
+        EventInterface event = events.get(i);
+        intern(table, event.getSubject());
+        event.getDescription().ifPresent(text -> intern(table, text));
+        event.getLocation().ifPresent(text -> intern(table, text));
+      }
+      out.writeInt(table.size());
+      out.writeInt(zoneString);
+      out.writeInt(0);
+
+      for (Integer i : order) {
+        out.writeLong(starts[i]);
+      }
+      for (Integer i : order) {
+        out.writeLong(ends[i]);
+      }
+      for (Integer i : order) {
+        UUID id = events.get(i).getId();
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+      }
+      for (Integer i : order) {
+        UUID seriesId = events.get(i).getSeriesId().orElse(new UUID(0L, 0L));
+        out.writeLong(seriesId.getMostSignificantBits());
+        out.writeLong(seriesId.getLeastSignificantBits());
+      }
+      for (Integer i : order) {
+        out.writeInt(table.get(events.get(i).getSubject()));
+      }
+      for (Integer i : order) {
+        out.writeInt(events.get(i).getDescription().map(table::get).orElse(NONE));
+      }
+      for (Integer i : order) {
+        out.writeInt(events.get(i).getLocation().map(table::get).orElse(NONE));
+      }
+      for (Integer i : order) {
+        EventInterface event = events.get(i);
+        out.writeByte((event.isPrivate() ? PRIVATE : 0)
+            | (event.getSeriesId().isPresent() ? IN_SERIES : 0));
+      }
+      long rowsEnd = HEADER_BYTES + (long) ROW_BYTES * n;
+      for (long at = rowsEnd; at < align(rowsEnd); at++) {
+        out.writeByte(0);
+      }
+
+      long runningEnd = Long.MIN_VALUE;
+      for (int block = 0; block < blockCount; block++) {
+        int from = block * BLOCK_SIZE;
+        long blockEnd = Long.MIN_VALUE;
+        for (int i = from; i < Math.min(n, from + BLOCK_SIZE); i++) {
+          blockEnd = Math.max(blockEnd, ends[order[i]]);
+        }
+        runningEnd = Math.max(runningEnd, blockEnd);
+        out.writeLong(starts[order[from]]);
+        out.writeLong(blockEnd);
+        out.writeLong(runningEnd);
+      }
+
+      List<byte[]> encoded = new ArrayList<>(table.size());
+      int offset = 0;
+      for (String text : table.keySet()) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        encoded.add(bytes);
+        out.writeInt(offset);
+        offset += bytes.length;
+      }
+      out.writeInt(offset);
+      for (byte[] bytes : encoded) {
+        out.write(bytes);
+      }
+    }
+  }
+
+  private static int intern(Map<String, Integer> table, String text) {
+    return table.computeIfAbsent(text, k -> table.size());
+  }
+
+  private long start(int i) {
+    return data.getLong(startsAt + 8 * i);
+  }
+
+  private long end(int i) {
+    return data.getLong(endsAt + 8 * i);
+  }
+
+  private String string(int index) {
+    int from = data.getInt(offsetsAt + 4 * index);
+    byte[] bytes = new byte[data.getInt(offsetsAt + 4 * (index + 1)) - from];
+    data.get(bytesAt + from, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private UUID id(int i) {
+    return new UUID(data.getLong(idsAt + 16 * i), data.getLong(idsAt + 16 * i + 8));
+  }
+
+  /**
+   * Decodes one event, with local date-times in the current zone.
+   *
+   * @param i the event's row
+   * @return the event
+   */
+  private EventInterface event(int i) {
+    ZoneId current = zone;
+    int description = data.getInt(descriptionsAt + 4 * i);
+    int location = data.getInt(locationsAt + 4 * i);
+    byte flags = data.get(flagsAt + i);
+    return new Event(string(data.getInt(subjectsAt + 4 * i)),
+        LocalDateTime.ofInstant(Instant.ofEpochSecond(start(i)), current),
+        LocalDateTime.ofInstant(Instant.ofEpochSecond(end(i)), current),
+        description == NONE ? null : string(description),
+        location == NONE ? null : string(location),
+        (flags & PRIVATE) != 0,
+        id(i),
+        (flags & IN_SERIES) != 0
+            ? new UUID(data.getLong(seriesAt + 16 * i), data.getLong(seriesAt + 16 * i + 8))
+            : null);
+  }
+
+  private List<EventInterface> events(int from, int to) {
+    List<EventInterface> result = new ArrayList<>(Math.max(0, to - from));
+    for (int i = from; i < to; i++) {
+      result.add(event(i));
+    }
+    return result;
+  }
+
+  /**
+   * Finds the first row whose start is at or after an instant.
+   *
+   * @param second the instant in epoch seconds
+   * @return the row, or the event count if every event starts before it
+   */
+  private int firstStartingAt(long second) {
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (start(mid) < second) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Finds the events that start at or before one instant and end at or after
+   * another, through the block index.
+   *
+   * @param fromSecond the earliest end, in epoch seconds
+   * @param toSecond   the latest start, in epoch seconds
+   * @return the rows, in start order
+   */
+  private List<Integer> touching(long fromSecond, long toSecond) {
+    List<Integer> rows = new ArrayList<>();
+    int high = toSecond == Long.MAX_VALUE ? count : firstStartingAt(toSecond + 1);
+    int low = 0;
+    int lastBlock = blockCount;
+    while (low < lastBlock) {
+      int mid = (low + lastBlock) >>> 1;
+      if (data.getLong(blocksAt + 24 * mid + 16) < fromSecond) {
+        low = mid + 1;
+      } else {
+        lastBlock = mid;
+      }
+    }
+    for (int block = low; block * BLOCK_SIZE < high; block++) {
+      if (data.getLong(blocksAt + 24 * block + 8) < fromSecond) {
+        continue;
+      }
+      for (int i = block * BLOCK_SIZE; i < Math.min(high, (block + 1) * BLOCK_SIZE); i++) {
+        if (end(i) >= fromSecond) {
+          rows.add(i);
+        }
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * Finds the events that overlap a window, i.e. start before its end and end after
+   * its start.
+   */
+  private List<Integer> overlapping(long fromSecond, long toSecond) {
+    List<Integer> rows = touching(fromSecond, toSecond);
+    rows.removeIf(i -> start(i) >= toSecond || end(i) <= fromSecond);
+    return rows;
+  }
+
+  private long epochSecond(LocalDateTime local) {
+    return local.atZone(zone).toEpochSecond();
+  }
+
+  private List<EventInterface> events(List<Integer> rows) {
+    List<EventInterface> result = new ArrayList<>(rows.size());
+    for (int i : rows) {
+      result.add(event(i));
+    }
+    return result;
+  }
+
+  @Override
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  @Override
+  public void setZone(ZoneId zone) {
+    this.zone = Objects.requireNonNull(zone, "Zone cannot be null");
+  }
+
+  @Override
+  public boolean isRejectingOverlaps() {
+    return false;
+  }
+
+  @Override
+  public void setRejectOverlaps(boolean reject) {
+    throw new IllegalArgumentException(READ_ONLY);
+  }
+
+  /**
+   * {@inheritDoc} An archive holds every occurrence, so it has no horizon beyond the
+   * longest series.
+   */
+  @Override
+  public Period getSeriesHorizon() {
+    return Period.ofYears(EventSeries.MAX_YEARS);
+  }
+
+  @Override
+  public void setSeriesHorizon(Period horizon) {
+    throw new IllegalArgumentException(READ_ONLY);
+  }
+
+  @Override
+  public boolean isMaterializedThrough(LocalDateTime dateTime) {
+    Objects.requireNonNull(dateTime, "Date-time cannot be null");
+    return true;
+  }
+
+  @Override
+  public void materializeThrough(LocalDateTime dateTime) {
+    Objects.requireNonNull(dateTime, "Date-time cannot be null");
+  }
+
+  @Override
+  public void beginTransaction() {
+    throw new IllegalArgumentException(READ_ONLY);
+  }
+
+  @Override
+  public void commitTransaction() {
+    throw new IllegalStateException("No transaction is open");
+  }
+
+  @Override
+  public void rollbackTransaction() {
+    throw new IllegalStateException("No transaction is open");
+  }
+
+  @Override
+  public boolean isInTransaction() {
+    return false;
+  }
+
+  @Override
+  public boolean undo() {
+    return false;
+  }
+
+  @Override
+  public boolean redo() {
+    return false;
+  }
+
+  /**
+   * {@inheritDoc} An archive keeps no history, so calendar renames and timezone
+   * changes made on it cannot be undone.
+   */
+  @Override
+  public void recordUndoable(Runnable undo, Runnable redo) {
+    Objects.requireNonNull(undo, "Undo cannot be null");
+    Objects.requireNonNull(redo, "Redo cannot be null");
+  }
+
+  /**
+   * {@inheritDoc} An archive never changes, so its publisher is closed.
+   */
+  @Override
+  public Flow.Publisher<CalendarChange> getChangePublisher() {
+    return publisher;
+  }
+
+  @Override
+  public boolean createEvent(EventInterface event) {
+    throw new IllegalArgumentException(READ_ONLY);
+  }
+
+  @Override
+  public boolean createEventSeries(EventSeries series) {
+    throw new IllegalArgumentException(READ_ONLY);
+  }
+
+  @Override
+  public BulkInsertResult createEventSeriesBatch(List<EventSeries> batch) {
+    throw new IllegalArgumentException(READ_ONLY);
+  }
+
+  @Override
+  public boolean editEvent(UUID eventId, EditSpec spec) {
+    throw new IllegalArgumentException(READ_ONLY);
+  }
+
+  @Override
+  public boolean editSeriesFrom(UUID seriesId, LocalDate fromDate, EditSpec spec) {
+    throw new IllegalArgumentException(READ_ONLY);
+  }
+
+  @Override
+  public boolean editEntireSeries(UUID seriesId, EditSpec spec) {
+    throw new IllegalArgumentException(READ_ONLY);
+  }
+
+  @Override
+  public List<EventInterface> getEventsOnDate(LocalDate date) {
+    Objects.requireNonNull(date, "Date cannot be null");
+
+    List<EventInterface> result = new ArrayList<>();
+    for (int i : touching(epochSecond(date.atStartOfDay()),
+        epochSecond(date.plusDays(1).atStartOfDay()))) {
+      EventInterface e = event(i);
+      if (!date.isBefore(e.getStartDateTime().toLocalDate())
+          && !date.isAfter(e.getEndDateTime().toLocalDate())) {
+        result.add(e);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<EventInterface> getEventsInRange(LocalDateTime startDateTime,
+      LocalDateTime endDateTime) {
+    Objects.requireNonNull(startDateTime, "Start date-time cannot be null");
+    Objects.requireNonNull(endDateTime, "End date-time cannot be null");
+
+    return events(overlapping(epochSecond(startDateTime), epochSecond(endDateTime)));
+  }
+
+  @Override
+  public List<EventInterface> getEventsStartingIn(LocalDateTime from, LocalDateTime to) {
+    Objects.requireNonNull(from, "Start date-time cannot be null");
+    Objects.requireNonNull(to, "End date-time cannot be null");
+
+    return events(firstStartingAt(epochSecond(from)), firstStartingAt(epochSecond(to)));
+  }
+
+  /**
+   * {@inheritDoc} Series rules are not archived, so this always returns null.
+   */
+  @Override
+  public EventSeries getSeries(UUID seriesId) {
+    Objects.requireNonNull(seriesId, "Series ID cannot be null");
+    return null;
+  }
+
+  @Override
+  public BulkInsertResult createEvents(List<EventInterface> events, List<EventSeries> series) {
+    throw new IllegalArgumentException(READ_ONLY);
+  }
+
+  @Override
+  public List<EventInterface> getAllEvents() {
+    return events(0, count);
+  }
+
+  /**
+   * {@inheritDoc} An archive is written in one step, so its checkpoint is fixed.
+   */
+  @Override
+  public long getCheckpoint() {
+    return CHECKPOINT;
+  }
+
+  @Override
+  public EventDelta getChangesSince(long checkpoint) {
+    if (checkpoint < 0 || checkpoint > CHECKPOINT) {
+      throw new IllegalArgumentException("Unknown checkpoint: " + checkpoint);
+    }
+    List<EventInterface> added =
+        checkpoint < CHECKPOINT ? getAllEvents() : new ArrayList<>();
+    return new EventDelta(checkpoint, CHECKPOINT, added, new ArrayList<>(),
+        new ArrayList<>());
+  }
+
+  @Override
+  public long[] getBusyIntervals(Instant from, Instant to) {
+    Objects.requireNonNull(from, "Start instant cannot be null");
+    Objects.requireNonNull(to, "End instant cannot be null");
+
+    long fromSecond = from.getEpochSecond();
+    long toSecond = to.getEpochSecond();
+    long[] merged = new long[16];
+    int n = 0;
+    for (int i : touching(fromSecond, toSecond)) {
+      long start = Math.max(start(i), fromSecond);
+      long end = Math.min(end(i), toSecond);
+      if (end <= start) {
+        continue;
+      }
+      if (n > 0 && start <= merged[n - 1]) {
+        merged[n - 1] = Math.max(merged[n - 1], end);
+      } else {
+        if (n == merged.length) {
+          merged = Arrays.copyOf(merged, n * 2);
+        }
+        merged[n++] = start;
+        merged[n++] = end;
+      }
+    }
+    return Arrays.copyOf(merged, n);
+  }
+
+  @Override
+  public List<List<EventInterface>> findConflicts() {
+    List<Integer> all = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      all.add(i);
+    }
+    return clusters(all);
+  }
+
+  @Override
+  public List<List<EventInterface>> findConflicts(LocalDateTime from, LocalDateTime to) {
+    Objects.requireNonNull(from, "Start date-time cannot be null");
+    Objects.requireNonNull(to, "End date-time cannot be null");
+
+    return clusters(overlapping(epochSecond(from), epochSecond(to)));
+  }
+
+  /**
+   * Groups events into clusters of overlapping events, as
+   * {@link CalendarModel#findConflicts()} does, decoding only the clustered ones.
+   *
+   * @param rows rows in start order
+   * @return the clusters with at least two events, each in chronological order
+   */
+  private List<List<EventInterface>> clusters(List<Integer> rows) {
+    List<List<EventInterface>> result = new ArrayList<>();
+    int clusterFrom = 0;
+    long clusterEnd = Long.MIN_VALUE;
+    for (int k = 0; k <= rows.size(); k++) {
+      if (k == rows.size() || start(rows.get(k)) >= clusterEnd) {
+        if (k - clusterFrom > 1) {
+          result.add(events(rows.subList(clusterFrom, k)));
+        }
+        clusterFrom = k;
+      }
+      if (k < rows.size()) {
+        clusterEnd = Math.max(clusterEnd, end(rows.get(k)));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<EventInterface> search(String query) {
+    Objects.requireNonNull(query, "Query cannot be null");
+
+    return events(matching(query, 0, count));
+  }
+
+  @Override
+  public List<EventInterface> search(String query, LocalDateTime from, LocalDateTime to) {
+    Objects.requireNonNull(query, "Query cannot be null");
+    Objects.requireNonNull(from, "Start date-time cannot be null");
+    Objects.requireNonNull(to, "End date-time cannot be null");
+
+    long fromSecond = epochSecond(from);
+    long toSecond = epochSecond(to);
+    List<Integer> rows = matching(query, 0, firstStartingAt(toSecond));
+    rows.removeIf(i -> end(i) <= fromSecond);
+    return events(rows);
+  }
+
+  /**
+   * Finds the events among some rows whose subject, description or location
+   * contain every query word, with the syntax of {@link TextIndex#search(String)}.
+   * Each distinct string is tokenized once, into the set of strings that contain
+   * each query term.
+   *
+   * @param query the query words
+   * @param from  the first row to consider
+   * @param to    the row after the last to consider
+   * @return the matching rows, in start order (none for a query with no words)
+   */
+  private List<Integer> matching(String query, int from, int to) {
+    List<String> terms = new ArrayList<>();
+    List<Boolean> prefixes = new ArrayList<>();
+    for (String word : query.trim().split("\\s+")) {
+      List<String> wordTerms = new ArrayList<>(TextIndex.terms(word));
+      for (int i = 0; i < wordTerms.size(); i++) {
+        terms.add(wordTerms.get(i));
+        prefixes.add(word.endsWith("*") && i == wordTerms.size() - 1);
+      }
+    }
+    List<Integer> rows = new ArrayList<>();
+    if (terms.isEmpty()) {
+      return rows;
+    }
+
+    List<BitSet> containing = new ArrayList<>(terms.size());
+    for (int t = 0; t < terms.size(); t++) {
+      containing.add(new BitSet(strings));
+    }
+    for (int s = 0; s < strings; s++) {
+      Set<String> stringTerms = TextIndex.terms(string(s));
+      for (int t = 0; t < terms.size(); t++) {
+        if (contains(stringTerms, terms.get(t), prefixes.get(t))) {
+          containing.get(t).set(s);
+        }
+      }
+    }
+
+    for (int i = from; i < to; i++) {
+      int subject = data.getInt(subjectsAt + 4 * i);
+      int description = data.getInt(descriptionsAt + 4 * i);
+      int location = data.getInt(locationsAt + 4 * i);
+      boolean all = true;
+      for (BitSet holders : containing) {
+        if (!holders.get(subject) && !(description != NONE && holders.get(description))
+            && !(location != NONE && holders.get(location))) {
+          all = false;
+          break;
+        }
+      }
+      if (all) {
+        rows.add(i);
+      }
+    }
+    return rows;
+  }
+
+  private static boolean contains(Set<String> stringTerms, String term, boolean prefix) {
+    if (!prefix) {
+      return stringTerms.contains(term);
+    }
+    for (String candidate : stringTerms) {
+      if (candidate.startsWith(term)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    Objects.requireNonNull(dateTime, "Date-time cannot be null");
+
+    long second = epochSecond(dateTime);
+    int high = firstStartingAt(second + 1);
+    for (int block = (high - 1) / BLOCK_SIZE; block >= 0 && high > 0; block--) {
+      if (data.getLong(blocksAt + 24 * block + 16) <= second) {
+        return false;
+      }
+      if (data.getLong(blocksAt + 24 * block + 8) <= second) {
+        continue;
+      }
+      for (int i = Math.min(high, (block + 1) * BLOCK_SIZE) - 1; i >= block * BLOCK_SIZE;
+           i--) {
+        if (end(i) > second) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * {@inheritDoc} The ID column is scanned, so this takes time linear in the size
+   * of the archive.
+   */
+  @Override
+  public EventInterface findEventById(UUID eventId) {
+    Objects.requireNonNull(eventId, "Event ID cannot be null");
+
+    long most = eventId.getMostSignificantBits();
+    long least = eventId.getLeastSignificantBits();
+    for (int i = 0; i < count; i++) {
+      if (data.getLong(idsAt + 16 * i) == most && data.getLong(idsAt + 16 * i + 8) == least) {
+        return event(i);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public EventInterface findEventByProperties(String subject, LocalDateTime startDateTime,
+      LocalDateTime endDateTime) {
+    Objects.requireNonNull(subject, "Subject cannot be null");
+    Objects.requireNonNull(startDateTime, "Start date-time cannot be null");
+    Objects.requireNonNull(endDateTime, "End date-time cannot be null");
+
+    if (subject.trim().isEmpty() || !endDateTime.isAfter(startDateTime)) {
+      return null;
+    }
+    long start = epochSecond(startDateTime);
+    long end = epochSecond(endDateTime);
+    for (int i = firstStartingAt(start); i < count && start(i) == start; i++) {
+      if (end(i) == end && string(data.getInt(subjectsAt + 4 * i)).equals(subject)) {
+        return event(i);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets the number of archived events.
+   *
+   * @return the event count
+   */
+  public int size() {
+    return count;
+  }
+}
@@ -0,0 +1,51 @@
+package calendar.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The outcome of adding a batch of events with
+ * {@link CalendarModelInterface#createEvents(List, List)}, or a batch of series with
+ * {@link CalendarModelInterface#createEventSeriesBatch(List)}.
+ *
+ * <p>DESIGN RATIONALE:
+ * - A batch is not all-or-nothing: conflicting events are skipped so the rest can
+ *   still be added, and the conflicts are returned so callers can report them
+ * - Immutable so it can be handed to views without copying
+ */
+public final class BulkInsertResult {
+  private final List<EventInterface> inserted;
+  private final List<EventInterface> conflicts;
+
+  /**
+   * Creates a result.
+   *
+   * @param inserted  the events that were added
+   * @param conflicts the events that were skipped because they conflicted
+   */
+  public BulkInsertResult(List<EventInterface> inserted, List<EventInterface> conflicts) {
+    this.inserted = Collections.unmodifiableList(
+        Objects.requireNonNull(inserted, "Inserted events cannot be null"));
+    this.conflicts = Collections.unmodifiableList(
+        Objects.requireNonNull(conflicts, "Conflicts cannot be null"));
+  }
+
+  /**
+   * Gets the events that were added.
+   *
+   * @return the added events, in batch order
+   */
+  public List<EventInterface> getInserted() {
+    return inserted;
+  }
+
+  /**
+   * Gets the events that were skipped because they conflicted.
+   *
+   * @return the conflicting events, in batch order
+   */
+  public List<EventInterface> getConflicts() {
+    return conflicts;
+  }
+}
@@ -0,0 +1,268 @@
+package calendar.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+
+/**
+ * The union of the spans of a calendar's events, as sorted, disjoint intervals,
+ * kept up to date as events are added and removed, for point availability checks.
+ *
+ * <p>DESIGN RATIONALE:
+ * - Intervals are held in chunks of at most {@link #CHUNK} start/end pairs, with
+ *   the first start of every chunk in one array. A check is two binary searches
+ *   and allocates nothing
+ * - A change rebuilds only the chunks holding the intervals it affects, and shifts
+ *   the chunk table, so it costs O(CHUNK + chunks) rather than a pass over every
+ *   event; a chunk that grows too large is split in halves, and one that shrinks
+ *   below half is merged with its successor
+ * - Adding a span merges it with the intervals it overlaps or touches. Removing one
+ *   recomputes only the interval that contained it, from the events that start
+ *   inside that interval: no other event can reach into it
+ * - Writers must be exclusive; readers may share it while nobody writes, which the
+ *   calendar's lock ensures
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - the intervals of chunks[0..chunkCount), in order, are ascending, non-empty, and
+ *   neither overlap nor touch
+ * - every chunk in use holds 1 to CHUNK intervals, sizes[c] of them, and
+ *   firsts[c] == chunks[c][0]
+ */
+final class BusyIntervals {
+  private static final int CHUNK = 256;
+
+  private long[][] chunks;
+  private int[] sizes;
+  private long[] firsts;
+  private int chunkCount;
+
+  // The affected range found by locate(): from (fromChunk, fromIndex) inclusive to
+  // (toChunk, toIndex) exclusive.
+  private int fromChunk;
+  private int fromIndex;
+  private int toChunk;
+  private int toIndex;
+
+  /**
+   * Creates an empty set of intervals.
+   */
+  BusyIntervals() {
+    this.chunks = new long[4][];
+    this.sizes = new int[4];
+    this.firsts = new long[4];
+    this.chunkCount = 0;
+  }
+
+  /**
+   * Checks whether an instant lies in one of the intervals.
+   *
+   * @param second the instant, in epoch seconds
+   * @return true if an interval starts at or before it and ends after it
+   */
+  boolean covers(long second) {
+    int c = lastChunkStartingAtOrBefore(second);
+    if (c < 0) {
+      return false;
+    }
+    long[] chunk = chunks[c];
+    int low = 0;
+    int high = sizes[c];
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (chunk[2 * mid] <= second) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low > 0 && second < chunk[2 * low - 1];
+  }
+
+  /**
+   * Adds a span to the union.
+   *
+   * @param start the start, in epoch seconds
+   * @param end   the end, exclusive
+   */
+  void add(long start, long end) {
+    if (end <= start) {
+      return;
+    }
+    locate(start, end);
+    if (fromChunk != toChunk || fromIndex != toIndex) {
+      start = Math.min(start, chunks[fromChunk][2 * fromIndex]);
+      int lastChunk = toIndex == 0 ? toChunk - 1 : toChunk;
+      int lastIndex = toIndex == 0 ? sizes[lastChunk] - 1 : toIndex - 1;
+      end = Math.max(end, chunks[lastChunk][2 * lastIndex + 1]);
+    }
+    splice(new long[] {start, end}, 1);
+  }
+
+  /**
+   * Removes a span from the union, once its event is gone from the start index.
+   *
+   * @param start   the start, in epoch seconds
+   * @param end     the end, exclusive
+   * @param byStart the remaining events, by start instant
+   */
+  void remove(long start, long end, NavigableMap<Long, List<StoredEvent>> byStart) {
+    if (end <= start) {
+      return;
+    }
+    locate(start, start);
+    if (fromChunk == toChunk && fromIndex == toIndex) {
+      return;
+    }
+    long intervalStart = chunks[fromChunk][2 * fromIndex];
+    long intervalEnd = chunks[fromChunk][2 * fromIndex + 1];
+
+    long[] merged = new long[16];
+    int n = 0;
+    for (List<StoredEvent> bucket
+        : byStart.subMap(intervalStart, true, intervalEnd, false).values()) {
+      for (StoredEvent stored : bucket) {
+        long from = stored.startSecond();
+        long to = stored.endSecond();
+        if (to <= from) {
+          continue;
+        }
+        if (n > 0 && from <= merged[2 * n - 1]) {
+          merged[2 * n - 1] = Math.max(merged[2 * n - 1], to);
+        } else {
+          if (2 * n == merged.length) {
+            merged = Arrays.copyOf(merged, 4 * n);
+          }
+          merged[2 * n] = from;
+          merged[2 * n + 1] = to;
+          n++;
+        }
+      }
+    }
+    splice(merged, n);
+  }
+
+  private int lastChunkStartingAtOrBefore(long second) {
+    int low = 0;
+    int high = chunkCount;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (firsts[mid] <= second) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low - 1;
+  }
+
+  /**
+   * Finds the intervals that overlap or touch [lo, hi]: those ending at or after lo
+   * and starting at or before hi. If there are none, the range is empty and marks
+   * where an interval in [lo, hi] would go.
+   */
+  private void locate(long lo, long hi) {
+    int c = Math.max(0, lastChunkStartingAtOrBefore(lo));
+    int i = 0;
+    if (chunkCount > 0) {
+      long[] chunk = chunks[c];
+      int high = sizes[c];
+      while (i < high) {
+        int mid = (i + high) >>> 1;
+        if (chunk[2 * mid + 1] < lo) {
+          i = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      if (i == sizes[c] && c + 1 < chunkCount) {
+        c++;
+        i = 0;
+      }
+    }
+    fromChunk = c;
+    fromIndex = i;
+    while (chunkCount > 0) {
+      if (i == sizes[c]) {
+        if (c + 1 < chunkCount && firsts[c + 1] <= hi) {
+          c++;
+          i = 0;
+        } else {
+          break;
+        }
+      } else if (chunks[c][2 * i] <= hi) {
+        i++;
+      } else {
+        break;
+      }
+    }
+    toChunk = c;
+    toIndex = i;
+  }
+
+  /**
+   * Replaces the intervals found by {@link #locate} with new ones, which must fit
+   * in their place.
+   *
+   * @param pairs the new intervals, as start/end pairs
+   * @param n     the number of new intervals
+   */
+  private void splice(long[] pairs, int n) {
+    int lastChunk = Math.min(toChunk, chunkCount - 1);
+    int prefix = chunkCount == 0 ? 0 : fromIndex;
+    int suffix = chunkCount == 0 ? 0 : sizes[lastChunk] - toIndex;
+    int total = prefix + n + suffix;
+    // Merge a small result with the next chunk, so chunks do not dwindle.
+    int extra = total < CHUNK / 2 && lastChunk + 1 < chunkCount ? sizes[lastChunk + 1] : 0;
+
+    long[] merged = new long[2 * (total + extra)];
+    if (prefix > 0) {
+      System.arraycopy(chunks[fromChunk], 0, merged, 0, 2 * prefix);
+    }
+    System.arraycopy(pairs, 0, merged, 2 * prefix, 2 * n);
+    if (suffix > 0) {
+      System.arraycopy(chunks[lastChunk], 2 * toIndex, merged, 2 * (prefix + n), 2 * suffix);
+    }
+    if (extra > 0) {
+      System.arraycopy(chunks[lastChunk + 1], 0, merged, 2 * total, 2 * extra);
+      lastChunk++;
+      total += extra;
+    }
+
+    int pieces = (total + CHUNK - 1) / CHUNK;
+    int replaced = chunkCount == 0 ? 0 : lastChunk - fromChunk + 1;
+    shiftChunks(fromChunk + replaced, pieces - replaced);
+    for (int p = 0; p < pieces; p++) {
+      int from = (int) ((long) total * p / pieces);
+      int to = (int) ((long) total * (p + 1) / pieces);
+      chunks[fromChunk + p] = Arrays.copyOfRange(merged, 2 * from, 2 * to);
+      sizes[fromChunk + p] = to - from;
+      firsts[fromChunk + p] = merged[2 * from];
+    }
+  }
+
+  /**
+   * Moves the chunks from an index on by a number of slots.
+   *
+   * @param from  the first chunk to move
+   * @param delta the number of slots to move them by (negative to close a gap)
+   */
+  private void shiftChunks(int from, int delta) {
+    if (delta == 0) {
+      return;
+    }
+    int count = chunkCount + delta;
+    if (count > chunks.length) {
+      int capacity = Math.max(count, 2 * chunks.length);
+      chunks = Arrays.copyOf(chunks, capacity);
+      sizes = Arrays.copyOf(sizes, capacity);
+      firsts = Arrays.copyOf(firsts, capacity);
+    }
+    System.arraycopy(chunks, from, chunks, from + delta, chunkCount - from);
+    System.arraycopy(sizes, from, sizes, from + delta, chunkCount - from);
+    System.arraycopy(firsts, from, firsts, from + delta, chunkCount - from);
+    if (delta < 0) {
+      Arrays.fill(chunks, count, chunkCount, null);
+    }
+    chunkCount = count;
+  }
+}
@@ -1,9 +1,6 @@
 package calendar.model;
 
-import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.util.List;
 import java.util.Objects;
 
 /**
@@ -25,8 +22,8 @@ import java.util.Objects;
  * - model must not be null
  */
 public class Calendar implements CalendarInterface {
-  private String name;
-  private ZoneId timezone;
+  private volatile String name;
+  private volatile ZoneId timezone;
   private final CalendarModelInterface model;
 
   /**
@@ -52,6 +49,7 @@ public class Calendar implements CalendarInterface {
     this.name = name;
     this.timezone = timezone;
     this.model = model;
+    model.setZone(timezone);
   }
 
   /**
@@ -89,14 +87,15 @@ public class Calendar implements CalendarInterface {
   }
 
   /**
-   * Sets the timezone of this calendar and converts all event times.
-   * Event times are adjusted so they represent the same instant in the new
-   * timezone.
+   * Sets the timezone of this calendar.
+   * Events keep the instant at which they occur, so their local times change.
    *
    * <p>For example, if an event is at 10:00 AM in America/New_York and the
    * timezone is changed to Europe/Paris, the event will be at 4:00 PM Paris time
    * (the same instant in time).
    *
+   * <p>The model stores events by instant, so this does not rewrite any event.
+   *
    * @param timezone the new timezone for this calendar
    * @throws IllegalArgumentException if timezone is null
    */
@@ -109,35 +108,10 @@ public class Calendar implements CalendarInterface {
       return;
     }
 
-    ZoneId oldTimezone = this.timezone;
-    convertEventTimes(oldTimezone, timezone);
-
+    model.setZone(timezone);
     this.timezone = timezone;
   }
 
-  /**
-   * Converts all event times from one timezone to another.
-   *
-   * @param fromZone the original timezone
-   * @param toZone   the new timezone
-   */
-  private void convertEventTimes(ZoneId fromZone, ZoneId toZone) {
-    List<EventInterface> events = model.getAllEvents();
-    for (EventInterface event : events) {
-      LocalDateTime oldStart = event.getStartDateTime();
-      LocalDateTime oldEnd = event.getEndDateTime();
-
-      ZonedDateTime zonedStart = oldStart.atZone(fromZone);
-      LocalDateTime newStart = zonedStart.withZoneSameInstant(toZone).toLocalDateTime();
-
-      ZonedDateTime zonedEnd = oldEnd.atZone(fromZone);
-      LocalDateTime newEnd = zonedEnd.withZoneSameInstant(toZone).toLocalDateTime();
-
-      EditSpec spec = new EditSpec(null, newStart, newEnd, null, null, null);
-      model.editEvent(event.getId(), spec);
-    }
-  }
-
   /**
    * Gets the calendar model that manages events for this calendar.
    *
@@ -0,0 +1,158 @@
+package calendar.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A change published to subscribers of a calendar model
+ * ({@link CalendarModelInterface#getChangePublisher()}) or of a calendar manager
+ * ({@link CalendarManager#getChangePublisher()}).
+ *
+ * <p>DESIGN RATIONALE:
+ * - One immutable type for every kind of change, so a subscriber can watch both
+ *   streams with one handler and changes can cross threads without copying
+ * - Event changes carry the model's checkpoint before and after the change. A
+ *   subscriber that falls too far behind misses changes rather than stalling the
+ *   model; it sees a gap between checkpoints and catches up with
+ *   {@link CalendarModelInterface#getChangesSince(long)}
+ * - Undo, redo and rollback are published as {@link Kind#RESTORED} without the
+ *   events: the checkpoints say which changes to fetch
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - kind and events are never null
+ * - calendarName, previousValue and newValue are set only for calendar changes
+ */
+public final class CalendarChange {
+
+  /**
+   * The kinds of change.
+   */
+  public enum Kind {
+    /** Events were created, singly, as a series or in a batch. */
+    CREATED,
+    /** A single event was edited. */
+    EDITED,
+    /** Some or all events of a series were edited. */
+    SERIES_EDITED,
+    /** Changes were undone, redone or rolled back. */
+    RESTORED,
+    /** A calendar was renamed. */
+    CALENDAR_RENAMED,
+    /** A calendar's timezone was changed. */
+    CALENDAR_RETIMEZONED
+  }
+
+  private final Kind kind;
+  private final List<EventInterface> events;
+  private final long previousCheckpoint;
+  private final long checkpoint;
+  private final String calendarName;
+  private final String previousValue;
+  private final String newValue;
+
+  private CalendarChange(Kind kind, List<EventInterface> events, long previousCheckpoint,
+      long checkpoint, String calendarName, String previousValue, String newValue) {
+    this.kind = Objects.requireNonNull(kind, "Kind cannot be null");
+    this.events = Collections.unmodifiableList(
+        Objects.requireNonNull(events, "Events cannot be null"));
+    this.previousCheckpoint = previousCheckpoint;
+    this.checkpoint = checkpoint;
+    this.calendarName = calendarName;
+    this.previousValue = previousValue;
+    this.newValue = newValue;
+  }
+
+  /**
+   * Creates a change to the events of a model.
+   *
+   * @param kind               CREATED, EDITED, SERIES_EDITED or RESTORED
+   * @param events             the events in their new version
+   * @param previousCheckpoint the model's checkpoint before the change
+   * @param checkpoint         the model's checkpoint after the change
+   * @return the change
+   */
+  static CalendarChange ofEvents(Kind kind, List<EventInterface> events,
+      long previousCheckpoint, long checkpoint) {
+    return new CalendarChange(kind, events, previousCheckpoint, checkpoint, null, null, null);
+  }
+
+  /**
+   * Creates a change to a calendar's properties.
+   *
+   * @param kind          CALENDAR_RENAMED or CALENDAR_RETIMEZONED
+   * @param calendarName  the calendar's name after the change
+   * @param previousValue the previous name or zone ID
+   * @param newValue      the new name or zone ID
+   * @return the change
+   */
+  static CalendarChange ofCalendar(Kind kind, String calendarName, String previousValue,
+      String newValue) {
+    return new CalendarChange(kind, Collections.emptyList(), 0, 0, calendarName,
+        previousValue, newValue);
+  }
+
+  /**
+   * Gets the kind of change.
+   *
+   * @return the kind
+   */
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * Gets the created or edited events, in their new version and in the model's
+   * zone at the time of the change.
+   *
+   * @return the events; empty for RESTORED and calendar changes
+   */
+  public List<EventInterface> getEvents() {
+    return events;
+  }
+
+  /**
+   * Gets the model's checkpoint before an event change.
+   *
+   * @return the earlier checkpoint; 0 for calendar changes
+   */
+  public long getPreviousCheckpoint() {
+    return previousCheckpoint;
+  }
+
+  /**
+   * Gets the model's checkpoint after an event change.
+   *
+   * @return the checkpoint covering this change; 0 for calendar changes
+   */
+  public long getCheckpoint() {
+    return checkpoint;
+  }
+
+  /**
+   * Gets the name of the changed calendar, after the change.
+   *
+   * @return the calendar name, or null for event changes
+   */
+  public String getCalendarName() {
+    return calendarName;
+  }
+
+  /**
+   * Gets the calendar's previous name or zone ID.
+   *
+   * @return the previous value, or null for event changes
+   */
+  public String getPreviousValue() {
+    return previousValue;
+  }
+
+  /**
+   * Gets the calendar's new name or zone ID.
+   *
+   * @return the new value, or null for event changes
+   */
+  public String getNewValue() {
+    return newValue;
+  }
+}
@@ -0,0 +1,96 @@
+package calendar.model;
+
+import calendar.util.ZoneConverter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * An event found by a query that spans several calendars, tagged with the calendar
+ * it belongs to.
+ *
+ * <p>DESIGN RATIONALE:
+ * - Calendars may be in different zones, so results are ordered by the absolute
+ *   start and end instants rather than by local date-times
+ * - The event keeps the local times of its own calendar; {@link #inZone(ZoneId)}
+ *   re-expresses it for display in another zone
+ * - Immutable so merged result lists can be shared between threads
+ */
+public final class CalendarEvent {
+
+  /**
+   * Orders results by start instant, then end instant, then calendar name.
+   */
+  public static final Comparator<CalendarEvent> BY_START =
+      Comparator.comparing(CalendarEvent::getStart)
+          .thenComparing(CalendarEvent::getEnd)
+          .thenComparing(CalendarEvent::getCalendarName);
+
+  private final String calendarName;
+  private final ZoneId zone;
+  private final EventInterface event;
+  private final Instant start;
+  private final Instant end;
+
+  /**
+   * Creates a result for an event of a calendar.
+   *
+   * @param calendarName the name of the calendar the event belongs to
+   * @param zone         the zone the event's local date-times are in
+   * @param event        the event
+   */
+  public CalendarEvent(String calendarName, ZoneId zone, EventInterface event) {
+    this.calendarName = Objects.requireNonNull(calendarName, "Calendar name cannot be null");
+    this.zone = Objects.requireNonNull(zone, "Zone cannot be null");
+    this.event = Objects.requireNonNull(event, "Event cannot be null");
+    this.start = event.getStartDateTime().atZone(zone).toInstant();
+    this.end = event.getEndDateTime().atZone(zone).toInstant();
+  }
+
+  private CalendarEvent(String calendarName, ZoneId zone, EventInterface event,
+                        Instant start, Instant end) {
+    this.calendarName = calendarName;
+    this.zone = zone;
+    this.event = event;
+    this.start = start;
+    this.end = end;
+  }
+
+  public String getCalendarName() {
+    return calendarName;
+  }
+
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  public EventInterface getEvent() {
+    return event;
+  }
+
+  public Instant getStart() {
+    return start;
+  }
+
+  public Instant getEnd() {
+    return end;
+  }
+
+  /**
+   * Re-expresses the event's date-times in another zone, keeping the same instants.
+   *
+   * @param target the zone to display the event in
+   * @return this result if target is already its zone, otherwise a converted copy
+   */
+  public CalendarEvent inZone(ZoneId target) {
+    if (zone.equals(target)) {
+      return this;
+    }
+    ZoneConverter converter = ZoneConverter.of(zone, target);
+    EventInterface converted = event.withModifications(null,
+        converter.convert(event.getStartDateTime()),
+        converter.convert(event.getEndDateTime()), null, null, null, null);
+    return new CalendarEvent(calendarName, target, converted, start, end);
+  }
+}
@@ -1,36 +1,145 @@
 package calendar.model;
 
+import calendar.model.CalendarChange.Kind;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.Period;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Manages multiple calendars and tracks the currently active calendar.
  * Ensures calendar names are unique (case-insensitive).
  *
  * <p>DESIGN RATIONALE:
- * - Uses HashMap for O(1) calendar lookups by name
- * - Case-insensitive name matching prevents duplicate calendars with different cases
+ * - Calendars are keyed by their lower-cased name, so lookups and the uniqueness
+ *   check are O(1) and ignore case alike
+ * - The map is a ConcurrentHashMap: creation claims a name atomically with
+ *   putIfAbsent, and a rename claims the new name before releasing the old one, so
+ *   server threads never see a calendar missing or a name taken twice
+ * - Each calendar's model is guarded by its own read-write lock (see
+ *   {@link ConcurrentCalendarModel}), so work on different calendars runs in
+ *   parallel; {@link #withCalendars} takes several of those locks in one global
+ *   order for operations that span calendars, such as copies. Archived calendars
+ *   never change, so they have no lock
+ * - A transaction holds its calendar's lock outside that order, so while it is open
+ *   its session can use no other calendar (see {@link ConcurrentCalendarModel})
+ * - Every calendar is registered with {@link SeriesExtender}, which rolls its
+ *   stored series occurrences forward as time passes
+ * - The current calendar is per session: {@link #openSession()} returns a manager
+ *   that shares the calendars but tracks its own current calendar, so clients of a
+ *   server do not switch each other's calendar
+ * - An open transaction is also per session and stays on the calendar it began on,
+ *   even if the session switches calendars. It holds that calendar's write lock,
+ *   which belongs to a thread, so it must end on the thread that began it; the
+ *   session remembers that thread and refuses to end the transaction elsewhere
+ * - Renames and timezone changes are recorded in the calendar's own undo history,
+ *   so undo walks back calendar and event edits in the order they were made, and a
+ *   rollback of the calendar's open transaction reverts them too
+ * - Renames and timezone changes are published to subscribers of the manager, and
+ *   event changes to subscribers of each calendar's model; publishing never blocks
  * - Tracks current calendar to support context-dependent operations
  * - Provides methods for CRUD operations on calendars
+ * - Queries over several calendars fan out one task per calendar on the common
+ *   fork-join pool, each under its own calendar's read lock, and merge the
+ *   per-calendar results, which are already in start order, in one pass
  *
  * <p>REPRESENTATION INVARIANTS:
  * - All calendar names in the map are unique (case-insensitive)
  * - If currentCalendar is not null, it must exist in the calendars map
- * - Map keys are calendar names (as stored in Calendar objects)
+ * - Each map key is key(name) of the name stored in its Calendar, except while a
+ *   rename is in progress, when the calendar is briefly under both names
  */
 public class CalendarManager {
-  private final Map<String, CalendarInterface> calendars;
-  private CalendarInterface currentCalendar;
+  private final ConcurrentMap<String, CalendarInterface> calendars;
+  private volatile CalendarInterface currentCalendar;
+  private CalendarInterface transactionCalendar;
+  private Thread transactionThread;
+  private final SubmissionPublisher<CalendarChange> publisher;
 
   /**
    * Creates a new CalendarManager with no calendars.
    */
   public CalendarManager() {
-    this.calendars = new HashMap<>();
+    this(new ConcurrentHashMap<>(), new SubmissionPublisher<>());
+  }
+
+  /**
+   * Creates a session over an existing set of calendars.
+   *
+   * @param calendars the shared calendars map
+   * @param publisher the shared publisher of calendar changes
+   */
+  private CalendarManager(ConcurrentMap<String, CalendarInterface> calendars,
+      SubmissionPublisher<CalendarChange> publisher) {
+    this.calendars = calendars;
+    this.publisher = publisher;
     this.currentCalendar = null;
+    this.transactionCalendar = null;
+    this.transactionThread = null;
+  }
+
+  /**
+   * Opens a session: a manager that shares this manager's calendars, so creations,
+   * renames and events are seen by both, but has its own current calendar (none at
+   * first). Give each concurrent client its own session.
+   *
+   * <p>A session may move between threads as long as it is used by one at a time,
+   * except while it has a transaction open: the transaction locks its calendar to
+   * the thread that began it, so it must be committed or rolled back on that thread.
+   *
+   * @return a new session over the same calendars
+   */
+  public CalendarManager openSession() {
+    return new CalendarManager(calendars, publisher);
+  }
+
+  /**
+   * Gets the publisher of calendar renames and timezone changes, made through this
+   * manager or any of its sessions (including by undo and redo). Subscribers are
+   * called on the common fork-join pool; one that falls a full buffer behind
+   * misses changes. Event changes are published by each calendar's model.
+   *
+   * @return the change publisher
+   */
+  public Flow.Publisher<CalendarChange> getChangePublisher() {
+    return publisher;
+  }
+
+  private void publish(Kind kind, String calendarName, String previous, String current) {
+    if (publisher.hasSubscribers()) {
+      publisher.offer(CalendarChange.ofCalendar(kind, calendarName, previous, current),
+          (subscriber, dropped) -> false);
+    }
+  }
+
+  /**
+   * Normalizes a calendar name into its map key.
+   *
+   * @param name the calendar name
+   * @return the case-insensitive key for the name
+   */
+  private static String key(String name) {
+    return name.toLowerCase(Locale.ROOT);
   }
 
   /**
@@ -50,19 +159,43 @@ public class CalendarManager {
       throw new IllegalArgumentException("Calendar timezone cannot be null");
     }
 
-    
-    if (calendarExists(name)) {
+    CalendarModelInterface model = new ConcurrentCalendarModel(new CalendarModel(timezone));
+    Calendar calendar = new Calendar(name, timezone, model);
+    if (calendars.putIfAbsent(key(name), calendar) != null) {
       return false;
     }
-
-    CalendarModelInterface model = new CalendarModel();
-    Calendar calendar = new Calendar(name, timezone, model);
-    calendars.put(name, calendar);
+    SeriesExtender.register(model);
     return true;
   }
 
   /**
-   * Gets a calendar by name (case-sensitive).
+   * Opens a calendar archive as a new, read-only calendar in the zone it was
+   * written in. Its events are read from the mapped file as they are queried.
+   *
+   * @param name the unique name for the calendar
+   * @param file the archive file, as written by {@link ArchivedCalendarModel#write}
+   * @return true if calendar was created, false if name already exists
+   * @throws IllegalArgumentException if name is null/empty or file is null
+   * @throws IOException if the file cannot be read or is not a calendar archive
+   */
+  public boolean openArchive(String name, Path file) throws IOException {
+    if (name == null || name.trim().isEmpty()) {
+      throw new IllegalArgumentException("Calendar name cannot be null or empty");
+    }
+    if (file == null) {
+      throw new IllegalArgumentException("Archive file cannot be null");
+    }
+    if (calendars.containsKey(key(name))) {
+      return false;
+    }
+
+    ArchivedCalendarModel model = ArchivedCalendarModel.open(file);
+    Calendar calendar = new Calendar(name, model.getZone(), model);
+    return calendars.putIfAbsent(key(name), calendar) == null;
+  }
+
+  /**
+   * Gets a calendar by name (case-insensitive).
    *
    * @param name the name of the calendar to retrieve
    * @return the calendar with the specified name, or null if not found
@@ -71,7 +204,7 @@ public class CalendarManager {
     if (name == null) {
       return null;
     }
-    return calendars.get(name);
+    return calendars.get(key(name));
   }
 
   /**
@@ -98,9 +231,89 @@ public class CalendarManager {
     return currentCalendar;
   }
 
+  /**
+   * Opens a transaction on the current calendar (see
+   * {@link CalendarModelInterface#beginTransaction()}).
+   *
+   * @return the calendar the transaction is on
+   * @throws IllegalStateException if no calendar is in use or this session already
+   *                               has an open transaction
+   */
+  public CalendarInterface beginTransaction() {
+    if (transactionCalendar != null) {
+      throw new IllegalStateException("A transaction is already open on calendar '"
+          + transactionCalendar.getName() + "'");
+    }
+    CalendarInterface calendar = currentCalendar;
+    if (calendar == null) {
+      throw new IllegalStateException("No calendar is currently in use");
+    }
+    calendar.getModel().beginTransaction();
+    transactionCalendar = calendar;
+    transactionThread = Thread.currentThread();
+    return calendar;
+  }
+
+  /**
+   * Commits this session's open transaction.
+   *
+   * @throws IllegalStateException if this session has no open transaction, or it was
+   *                               begun on another thread
+   */
+  public void commitTransaction() {
+    endTransaction(CalendarModelInterface::commitTransaction);
+  }
+
+  /**
+   * Rolls back this session's open transaction.
+   *
+   * @throws IllegalStateException if this session has no open transaction, or it was
+   *                               begun on another thread
+   */
+  public void rollbackTransaction() {
+    endTransaction(CalendarModelInterface::rollbackTransaction);
+  }
+
+  /**
+   * Gets the calendar this session's open transaction is on.
+   *
+   * @return the calendar, or null if no transaction is open
+   */
+  public CalendarInterface getTransactionCalendar() {
+    return transactionCalendar;
+  }
+
+  /**
+   * Ends this session's transaction. The session forgets the transaction once the
+   * model has ended it, even if ending failed part way, and not before, so a
+   * refused attempt leaves it open to be ended properly.
+   *
+   * @param end commits or rolls back the model's transaction
+   */
+  private void endTransaction(Consumer<CalendarModelInterface> end) {
+    CalendarInterface calendar = transactionCalendar;
+    if (calendar == null) {
+      throw new IllegalStateException("No transaction is open");
+    }
+    if (transactionThread != Thread.currentThread()) {
+      throw new IllegalStateException("The transaction on calendar '" + calendar.getName()
+          + "' must end on the thread that began it");
+    }
+    CalendarModelInterface model = calendar.getModel();
+    try {
+      end.accept(model);
+    } finally {
+      if (!model.isInTransaction()) {
+        transactionCalendar = null;
+        transactionThread = null;
+      }
+    }
+  }
+
   /**
    * Edits the name of an existing calendar.
-   * The new name must be unique (case-insensitive).
+   * The new name must be unique (case-insensitive); changing only the case of a
+   * name is allowed.
    *
    * @param oldName the current name of the calendar
    * @param newName the new name for the calendar
@@ -117,17 +330,46 @@ public class CalendarManager {
       return false;
     }
 
-    if (!oldName.equals(newName) && calendarExists(newName)) {
+    String previous = calendar.getName();
+    if (!rename(calendar, newName)) {
       return false;
     }
+    publish(Kind.CALENDAR_RENAMED, newName, previous, newName);
+    // Recorded outside rename's monitor: the model's lock is never taken while
+    // holding it, so it can be taken the other way round when the rename is undone.
+    calendar.getModel().recordUndoable(() -> renameBack(calendar, previous),
+        () -> renameBack(calendar, newName));
+    return true;
+  }
 
-    calendars.remove(oldName);
-    calendar.setName(newName);
-    calendars.put(newName, calendar);
-
+  private boolean rename(CalendarInterface calendar, String newName) {
+    // Renames of one calendar are serialized; renames of different calendars only
+    // meet in the map, where putIfAbsent decides who gets a contested name.
+    synchronized (calendar) {
+      String oldKey = key(calendar.getName());
+      String newKey = key(newName);
+      if (calendars.get(oldKey) != calendar) {
+        return false;
+      }
+      if (!newKey.equals(oldKey) && calendars.putIfAbsent(newKey, calendar) != null) {
+        return false;
+      }
+      calendar.setName(newName);
+      if (!newKey.equals(oldKey)) {
+        calendars.remove(oldKey, calendar);
+      }
+    }
     return true;
   }
 
+  private void renameBack(CalendarInterface calendar, String name) {
+    String previous = calendar.getName();
+    if (!rename(calendar, name)) {
+      throw new IllegalStateException("Calendar name '" + name + "' is taken");
+    }
+    publish(Kind.CALENDAR_RENAMED, name, previous, name);
+  }
+
   /**
    * Edits the timezone of an existing calendar.
    *
@@ -146,7 +388,57 @@ public class CalendarManager {
       return false;
     }
 
+    ZoneId previous = calendar.getTimezone();
+    if (!previous.equals(timezone)) {
+      retimezone(calendar, timezone);
+      calendar.getModel().recordUndoable(() -> retimezone(calendar, previous),
+          () -> retimezone(calendar, timezone));
+    }
+    return true;
+  }
+
+  private void retimezone(CalendarInterface calendar, ZoneId timezone) {
+    ZoneId previous = calendar.getTimezone();
     calendar.setTimezone(timezone);
+    publish(Kind.CALENDAR_RETIMEZONED, calendar.getName(), previous.getId(), timezone.getId());
+  }
+
+  /**
+   * Sets whether a calendar rejects new events that overlap existing ones.
+   *
+   * @param name           the name of the calendar
+   * @param rejectOverlaps true to reject overlapping events, false to allow them
+   * @return true if successful, false if calendar doesn't exist
+   */
+  public boolean editCalendarOverlapPolicy(String name, boolean rejectOverlaps) {
+    CalendarInterface calendar = getCalendar(name);
+    if (calendar == null) {
+      return false;
+    }
+
+    calendar.getModel().setRejectOverlaps(rejectOverlaps);
+    return true;
+  }
+
+  /**
+   * Sets how far ahead of the current date a calendar stores series occurrences.
+   *
+   * @param name    the name of the calendar
+   * @param horizon the new horizon
+   * @return true if successful, false if calendar doesn't exist
+   * @throws IllegalArgumentException if horizon is null, zero or negative
+   */
+  public boolean editCalendarSeriesHorizon(String name, Period horizon) {
+    if (horizon == null) {
+      throw new IllegalArgumentException("Series horizon cannot be null");
+    }
+
+    CalendarInterface calendar = getCalendar(name);
+    if (calendar == null) {
+      return false;
+    }
+
+    calendar.getModel().setSeriesHorizon(horizon);
     return true;
   }
 
@@ -160,16 +452,292 @@ public class CalendarManager {
   }
 
   /**
-   * Checks if a calendar with the given name exists (case-insensitive).
+   * Runs an action while holding the locks of several calendars, so it sees and
+   * changes them atomically with respect to other threads. Locks are taken in one
+   * global order, so two actions over overlapping calendars cannot deadlock. A
+   * calendar that is both read and written is locked for writing. A calendar only
+   * read cannot store series occurrences past its horizon, so callers store them
+   * first with {@link CalendarModelInterface#materializeThrough}. A transaction's
+   * lock is held outside that order, so inside a transaction only its own calendar
+   * can be locked.
    *
-   * @param name the name to check
-   * @return true if a calendar with this name exists (case-insensitive), false otherwise
+   * @param reading the calendars the action only reads
+   * @param writing the calendars the action changes
+   * @param action  the action to run
+   * @param <T>     the result type
+   * @return the action's result
+   * @throws IllegalArgumentException if an argument is null, or this thread has a
+   *                                  transaction open on a calendar other than these
    */
-  private boolean calendarExists(String name) {
-    if (name == null) {
-      return false;
+  public <T> T withCalendars(Collection<CalendarInterface> reading,
+                             Collection<CalendarInterface> writing, Supplier<T> action) {
+    if (reading == null || writing == null || action == null) {
+      throw new IllegalArgumentException("Calendars and action cannot be null");
+    }
+    TreeMap<ConcurrentCalendarModel, Lock> locks =
+        new TreeMap<>(Comparator.comparingLong(ConcurrentCalendarModel::order));
+    for (CalendarInterface calendar : reading) {
+      ConcurrentCalendarModel model = guarded(calendar);
+      if (model != null) {
+        locks.put(model, model.lock().readLock());
+      }
+    }
+    for (CalendarInterface calendar : writing) {
+      ConcurrentCalendarModel model = guarded(calendar);
+      if (model != null) {
+        locks.put(model, model.lock().writeLock());
+      }
+    }
+
+    // Checked before taking any lock, so a refused action holds nothing.
+    for (ConcurrentCalendarModel model : locks.keySet()) {
+      model.requireNoOtherTransaction();
+    }
+
+    List<Lock> held = new ArrayList<>(locks.size());
+    try {
+      for (Lock lock : locks.values()) {
+        lock.lock();
+        held.add(lock);
+      }
+      return action.get();
+    } finally {
+      for (int i = held.size() - 1; i >= 0; i--) {
+        held.get(i).unlock();
+      }
+    }
+  }
+
+  /**
+   * Gets the lock-guarded model of a calendar.
+   *
+   * @param calendar the calendar
+   * @return its model, or null if the calendar was not created by a manager and so
+   *         has no lock
+   */
+  private static ConcurrentCalendarModel guarded(CalendarInterface calendar) {
+    CalendarModelInterface model = calendar.getModel();
+    return model instanceof ConcurrentCalendarModel ? (ConcurrentCalendarModel) model : null;
+  }
+
+  /**
+   * Computes when a set of calendars is free or busy over a window, e.g. 15-minute
+   * slots over a quarter. Each calendar supplies its merged busy intervals from its
+   * time index, and those sorted lists are merged in one pass.
+   *
+   * @param selected    the calendars to combine
+   * @param from        the start of the window
+   * @param to          the end of the window
+   * @param granularity the slot length of the busy bitmap (at least one second)
+   * @return the merged busy intervals and the slot bitmap
+   * @throws IllegalArgumentException if an argument is null, the window is empty or
+   *                                  the granularity is shorter than a second
+   */
+  public FreeBusy freeBusy(Collection<CalendarInterface> selected, Instant from, Instant to,
+                           Duration granularity) {
+    if (selected == null || from == null || to == null || granularity == null) {
+      throw new IllegalArgumentException("Calendars, window and granularity cannot be null");
+    }
+    if (!to.isAfter(from)) {
+      throw new IllegalArgumentException("Window end must be after window start");
+    }
+    long granularitySeconds = granularity.getSeconds();
+    if (granularitySeconds < 1) {
+      throw new IllegalArgumentException("Granularity must be at least one second");
+    }
+    long fromSecond = from.getEpochSecond();
+    long toSecond = to.getEpochSecond();
+    if ((toSecond - fromSecond) / granularitySeconds >= Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Too many slots for the window and granularity");
+    }
+
+    return new FreeBusy(fromSecond, toSecond, granularitySeconds,
+        mergedBusy(selected, from, to));
+  }
+
+  /**
+   * Finds the first free slots shared by a set of calendars, in one sweep over their
+   * merged busy intervals.
+   *
+   * @param search the calendars, slot length, window, working hours and slot count
+   * @return the start instants of up to the requested number of slots, in
+   *         chronological order; each slot lasts the requested duration
+   * @throws IllegalArgumentException if search is null
+   */
+  public List<Instant> findFreeSlots(SlotSearch search) {
+    if (search == null) {
+      throw new IllegalArgumentException("Slot search cannot be null");
+    }
+    return search.sweep(mergedBusy(search.getCalendars(), search.getFrom(), search.getTo()));
+  }
+
+  /**
+   * Lists the events of several calendars that overlap a window, querying the
+   * calendars in parallel.
+   *
+   * @param selected the calendars to query
+   * @param from     the start of the window
+   * @param to       the end of the window
+   * @return the events tagged with their calendar, ordered by start instant
+   * @throws IllegalArgumentException if an argument is null or the window is empty
+   */
+  public List<CalendarEvent> getEventsInRange(Collection<CalendarInterface> selected,
+                                              Instant from, Instant to) {
+    if (selected == null || from == null || to == null) {
+      throw new IllegalArgumentException("Calendars and window cannot be null");
+    }
+    if (!to.isAfter(from)) {
+      throw new IllegalArgumentException("Window end must be after window start");
+    }
+    return fanOut(selected, calendar -> {
+      ZoneId zone = calendar.getTimezone();
+      return calendar.getModel().getEventsInRange(LocalDateTime.ofInstant(from, zone),
+          LocalDateTime.ofInstant(to, zone));
+    });
+  }
+
+  /**
+   * Searches several calendars by keyword in parallel. See
+   * {@link CalendarModelInterface#search(String)} for the query syntax.
+   *
+   * @param selected the calendars to search
+   * @param query    the query words
+   * @return the matching events tagged with their calendar, ordered by start instant
+   * @throws IllegalArgumentException if an argument is null
+   */
+  public List<CalendarEvent> search(Collection<CalendarInterface> selected, String query) {
+    if (selected == null || query == null) {
+      throw new IllegalArgumentException("Calendars and query cannot be null");
+    }
+    return fanOut(selected, calendar -> calendar.getModel().search(query));
+  }
+
+  /**
+   * Searches several calendars by keyword in parallel, keeping only events that
+   * overlap a window.
+   *
+   * @param selected the calendars to search
+   * @param query    the query words
+   * @param from     the start of the window
+   * @param to       the end of the window
+   * @return the matching events tagged with their calendar, ordered by start instant
+   * @throws IllegalArgumentException if an argument is null
+   */
+  public List<CalendarEvent> search(Collection<CalendarInterface> selected, String query,
+                                    Instant from, Instant to) {
+    if (selected == null || query == null || from == null || to == null) {
+      throw new IllegalArgumentException("Calendars, query and window cannot be null");
+    }
+    return fanOut(selected, calendar -> {
+      ZoneId zone = calendar.getTimezone();
+      return calendar.getModel().search(query, LocalDateTime.ofInstant(from, zone),
+          LocalDateTime.ofInstant(to, zone));
+    });
+  }
+
+  /**
+   * Finds which of several calendars are busy at an instant, checking them in
+   * parallel.
+   *
+   * @param selected the calendars to check
+   * @param at       the instant to check
+   * @return the names of the busy calendars, in the order they were given
+   * @throws IllegalArgumentException if an argument is null
+   */
+  public List<String> getBusyCalendars(Collection<CalendarInterface> selected, Instant at) {
+    if (selected == null || at == null) {
+      throw new IllegalArgumentException("Calendars and instant cannot be null");
+    }
+    return stream(selected).distinct()
+        .filter(calendar -> calendar.getModel().isBusy(
+            LocalDateTime.ofInstant(at, calendar.getTimezone())))
+        .map(CalendarInterface::getName)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Runs a query on each calendar in parallel and merges the results by start
+   * instant. Each task takes only its own calendar's read lock, through the model's
+   * lock wrapper, so the tasks never contend with each other and writers to those
+   * calendars wait only for the query on their calendar.
+   *
+   * @param selected the calendars to query
+   * @param query    the per-calendar query, returning events in local start order
+   * @return the merged results
+   */
+  private List<CalendarEvent> fanOut(Collection<CalendarInterface> selected,
+      Function<CalendarInterface, List<EventInterface>> query) {
+    List<List<CalendarEvent>> perCalendar = stream(selected).distinct()
+        .map(calendar -> tag(calendar, query.apply(calendar)))
+        .collect(Collectors.toList());
+    return mergeByStart(perCalendar);
+  }
+
+  /**
+   * Streams calendars to query, in parallel unless this session has a transaction
+   * open: its calendar is locked to this thread, so a task on another thread would
+   * wait for it forever, and only this thread refuses the other calendars.
+   *
+   * @param selected the calendars
+   * @return a stream over them
+   */
+  private Stream<CalendarInterface> stream(Collection<CalendarInterface> selected) {
+    return transactionCalendar == null ? selected.parallelStream() : selected.stream();
+  }
+
+  private static List<CalendarEvent> tag(CalendarInterface calendar,
+                                         List<EventInterface> events) {
+    List<CalendarEvent> tagged = new ArrayList<>(events.size());
+    for (EventInterface event : events) {
+      tagged.add(new CalendarEvent(calendar.getName(), calendar.getTimezone(), event));
+    }
+    // Local start order can differ from instant order around a DST fall-back.
+    tagged.sort(CalendarEvent.BY_START);
+    return tagged;
+  }
+
+  /**
+   * Merges lists that are each ordered by start instant (k-way merge).
+   *
+   * @param lists the sorted lists
+   * @return one list ordered by {@link CalendarEvent#BY_START}
+   */
+  private static List<CalendarEvent> mergeByStart(List<List<CalendarEvent>> lists) {
+    int total = 0;
+    PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, lists.size()),
+        (a, b) -> CalendarEvent.BY_START.compare(lists.get(a[0]).get(a[1]),
+            lists.get(b[0]).get(b[1])));
+    for (int i = 0; i < lists.size(); i++) {
+      total += lists.get(i).size();
+      if (!lists.get(i).isEmpty()) {
+        heads.add(new int[] {i, 0});
+      }
+    }
+    List<CalendarEvent> merged = new ArrayList<>(total);
+    while (!heads.isEmpty()) {
+      int[] head = heads.poll();
+      List<CalendarEvent> list = lists.get(head[0]);
+      merged.add(list.get(head[1]));
+      if (++head[1] < list.size()) {
+        heads.add(head);
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Merges the busy intervals of several calendars within a window.
+   *
+   * @param selected the calendars
+   * @param from     the start of the window
+   * @param to       the end of the window
+   * @return the merged intervals as start/end pairs of epoch seconds
+   */
+  private long[] mergedBusy(Collection<CalendarInterface> selected, Instant from, Instant to) {
+    List<long[]> intervals = new ArrayList<>(selected.size());
+    for (CalendarInterface calendar : selected) {
+      intervals.add(calendar.getModel().getBusyIntervals(from, to));
     }
-    return calendars.keySet().stream()
-        .anyMatch(key -> key.equalsIgnoreCase(name));
+    return FreeBusy.merge(intervals);
   }
 }
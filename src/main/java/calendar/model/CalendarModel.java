@@ -1,99 +1,938 @@
 package calendar.model;
 
-import java.time.DayOfWeek;
+import calendar.model.CalendarChange.Kind;
+import calendar.util.ZoneConverter;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
- * Implementation of a calendar model.
+ * Implementation of a calendar model: stores events and series, enforces their
+ * uniqueness and answers queries. It does no I/O or command parsing.
  *
- * <p>This model stores events and series, validates uniqueness,
- * and provides query operations. It does not perform any I/O
- * or command parsing - that is handled by other components.
+ * <p>DESIGN RATIONALE:
+ * - Events are stored by instant, in canonical UTC form (see {@link EventStore});
+ *   local date-times are a view in the model's zone, so a zone change touches no
+ *   event and stays correct across DST transitions
+ * - Every change goes through a few primitives (store, unstore, replace,
+ *   putSeries) that record it with its inverse. The changes of one public operation
+ *   form a step, which undo, redo, rollback and the change feed work on, so no
+ *   operation copies the model
+ * - A series is a rule ({@link EventSeries}); edits to the series revise its
+ *   templates, and the stored occurrences without edits of their own follow it
+ * - Series occurrences are stored through a rolling horizon ahead of today; the
+ *   rules supply later ones when a query or change reaches them, and unbounded
+ *   queries generate them without storing them
+ * - Day and range query results are kept in a small LRU cache, evicted by the
+ *   store as events change
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - every registered series has an entry in seriesConfigs, and an expansion if it
+ *   generates occurrences of its own
+ * - undoSteps holds at most HISTORY_LIMIT steps
  */
 public class CalendarModel implements CalendarModelInterface {
 
   /**
-   * Maximum number of years to generate series events into the future.
-   * Prevents infinite loops for series with no end date or far-future end dates.
+   * Maximum number of steps kept for undo.
+   */
+  private static final int HISTORY_LIMIT = 100;
+
+  /**
+   * Maximum number of day and range query results kept in the cache.
    */
-  private static final int SERIES_MAX_YEARS = 10;
+  private static final int QUERY_CACHE_SIZE = 256;
 
-  private final Set<EventInterface> events;
+  /**
+   * ID used for the throwaway events built to look up the business key.
+   */
+  private static final UUID KEY_PROBE_ID = new UUID(0L, 0L);
+
+  /**
+   * How far ahead of the current date series occurrences are stored by default.
+   */
+  private static final Period DEFAULT_SERIES_HORIZON = Period.ofYears(1);
+
+  /**
+   * Stands for an instant after every series occurrence.
+   */
+  private static final long ALL = Long.MAX_VALUE;
+
+  /**
+   * The day number of the first representable date, counted from in occurrence IDs.
+   */
+  private static final long FIRST_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+
+  /**
+   * Bits enough for the day number of any representable date in occurrence IDs.
+   */
+  private static final int DAY_BITS = 40;
+
+  /**
+   * Instants from here on are past the last representable date in any zone.
+   */
+  private static final long LAST_SECOND = Instant.MAX.getEpochSecond() - 2 * 86_400;
+
+  private final EventStore events;
+
+  private final QueryCache cache;
 
   private final Map<UUID, EventSeries> seriesConfigs;
 
+  private ZoneId zone;
+
+  /**
+   * Converts wall-clock times in zone to instants without allocating.
+   */
+  private ZoneConverter toUtc;
+
+  private boolean rejectOverlaps;
+
+  private Period seriesHorizon;
+
+  /**
+   * Every series occurrence that starts at or before this instant, in epoch
+   * seconds, is stored (or was skipped as a duplicate).
+   */
+  private long storedThrough;
+
+  /**
+   * How far the occurrences of each series with a rule to follow are stored.
+   * Series registered with their occurrences given have no entry.
+   */
+  private final Map<UUID, Expansion> expansions;
+
+  /**
+   * Whether the changes being recorded store series occurrences.
+   */
+  private boolean expanding;
+
+  /**
+   * The occurrences of each series rule past its stored ones, generated once per
+   * revision of the rule and of its expansion. Filled by queries, which may run side
+   * by side.
+   */
+  private final Map<UUID, Generated> generated;
+
   /**
-   * Creates a new empty calendar model.
+   * How many queries are running that must not store the occurrences they reach.
+   */
+  private final AtomicInteger readOnly;
+
+  /**
+   * Changes made so far by the operation in progress, oldest first.
+   */
+  private List<Change> pending;
+
+  /**
+   * Changes of the open transaction, oldest first; null when no transaction is open.
+   */
+  private List<Change> transaction;
+
+  /**
+   * Undoable and redoable steps, most recent first; each step is a list of changes.
+   */
+  private final Deque<List<Change>> undoSteps;
+
+  private final Deque<List<Change>> redoSteps;
+
+  /**
+   * Publishes every change; a subscriber whose buffer is full misses changes.
+   */
+  private final SubmissionPublisher<CalendarChange> publisher;
+
+  /**
+   * Changes of the open transaction not yet published, oldest first; null when no
+   * transaction is open.
+   */
+  private List<CalendarChange> unpublished;
+
+  /**
+   * The checkpoint when the open transaction began.
+   */
+  private long transactionStart;
+
+  /**
+   * Creates a new empty calendar model whose local date-times are in UTC.
    */
   public CalendarModel() {
-    this.events = new HashSet<>();
-    this.seriesConfigs = new HashMap<>();
+    this(ZoneOffset.UTC);
+  }
+
+  /**
+   * Creates a new empty calendar model whose local date-times are in the given zone.
+   *
+   * @param zone the zone for local date-times
+   */
+  public CalendarModel(ZoneId zone) {
+    this.zone = Objects.requireNonNull(zone, "Zone cannot be null");
+    this.toUtc = ZoneConverter.of(zone, ZoneOffset.UTC);
+    this.cache = new QueryCache(QUERY_CACHE_SIZE);
+    this.events = new EventStore(cache);
+    this.seriesConfigs = new LinkedHashMap<>();
+    this.expansions = new HashMap<>();
+    this.generated = new ConcurrentHashMap<>();
+    this.readOnly = new AtomicInteger();
+    this.seriesHorizon = DEFAULT_SERIES_HORIZON;
+    this.storedThrough = epochSecond(LocalDateTime.now(zone).plus(seriesHorizon));
+    this.pending = new ArrayList<>();
+    this.undoSteps = new ArrayDeque<>();
+    this.redoSteps = new ArrayDeque<>();
+    this.publisher = new SubmissionPublisher<>();
   }
 
   @Override
-  public boolean createEvent(EventInterface event) {
-    Objects.requireNonNull(event, "Event cannot be null");
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  @Override
+  public void setZone(ZoneId zone) {
+    this.zone = Objects.requireNonNull(zone, "Zone cannot be null");
+    this.toUtc = ZoneConverter.of(zone, ZoneOffset.UTC);
+    cache.clear();
+  }
+
+  @Override
+  public boolean isRejectingOverlaps() {
+    return rejectOverlaps;
+  }
+
+  @Override
+  public void setRejectOverlaps(boolean reject) {
+    this.rejectOverlaps = reject;
+  }
+
+  @Override
+  public Period getSeriesHorizon() {
+    return seriesHorizon;
+  }
+
+  @Override
+  public void setSeriesHorizon(Period horizon) {
+    Objects.requireNonNull(horizon, "Horizon cannot be null");
+    if (horizon.isZero() || horizon.isNegative()) {
+      throw new IllegalArgumentException("Series horizon must be positive");
+    }
+    this.seriesHorizon = horizon;
+    materializeThrough(LocalDateTime.now(zone).plus(horizon));
+  }
+
+  @Override
+  public boolean isMaterializedThrough(LocalDateTime dateTime) {
+    Objects.requireNonNull(dateTime, "Date-time cannot be null");
+
+    if (LocalDateTime.MAX.equals(dateTime)) {
+      for (EventSeries rule : seriesConfigs.values()) {
+        Expansion expansion = expansions.get(rule.getSeriesId());
+        LocalDate last = rule.getLastOccurrenceDate();
+        if (expansion != null && last != null && expansion.through.isBefore(last)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return throughSecond(dateTime) <= storedThrough;
+  }
+
+  @Override
+  public void materializeThrough(LocalDateTime dateTime) {
+    Objects.requireNonNull(dateTime, "Date-time cannot be null");
+
+    ensureThrough(LocalDateTime.MAX.equals(dateTime) ? ALL : throughSecond(dateTime));
+  }
+
+  /**
+   * Runs a query without storing the series occurrences it reaches: they are
+   * generated for it instead, as for queries without a window. For callers that may
+   * only read the model, e.g. while other threads read it too.
+   *
+   * @param query the query
+   * @param <T>   the result type
+   * @return the query result
+   */
+  <T> T withoutStoring(Supplier<T> query) {
+    readOnly.incrementAndGet();
+    try {
+      return query.get();
+    } finally {
+      readOnly.decrementAndGet();
+    }
+  }
+
+  /**
+   * Converts the date-time a query reaches to the instant occurrences must be
+   * stored through, without allocating: the offset table resolves gaps and
+   * overlaps as {@link #epochSecond} does.
+   *
+   * @param dateTime the date-time
+   * @return the instant in epoch seconds
+   */
+  private long throughSecond(LocalDateTime dateTime) {
+    return toUtc.toUtcSecond(dateTime.toEpochSecond(ZoneOffset.UTC));
+  }
+
+  @Override
+  public void beginTransaction() {
+    if (transaction != null) {
+      throw new IllegalStateException("A transaction is already open");
+    }
+    transaction = new ArrayList<>();
+    unpublished = new ArrayList<>();
+    transactionStart = events.sequence();
+    events.deferTextIndex();
+  }
+
+  @Override
+  public void commitTransaction() {
+    requireTransaction();
+    List<Change> step = transaction;
+    List<CalendarChange> changes = unpublished;
+    transaction = null;
+    unpublished = null;
+    events.flushTextIndex();
+    pushUndo(step);
+    for (CalendarChange change : changes) {
+      publisher.offer(change, (subscriber, dropped) -> false);
+    }
+  }
+
+  @Override
+  public void rollbackTransaction() {
+    requireTransaction();
+    List<Change> step = transaction;
+    transaction = null;
+    unpublished = null;
+    long through = retractExpansions();
+    undoAll(step);
+    expandThrough(through);
+    events.flushTextIndex();
+    announce(Kind.RESTORED, transactionStart);
+  }
+
+  @Override
+  public boolean isInTransaction() {
+    return transaction != null;
+  }
+
+  private void requireTransaction() {
+    if (transaction == null) {
+      throw new IllegalStateException("No transaction is open");
+    }
+  }
+
+  @Override
+  public Flow.Publisher<CalendarChange> getChangePublisher() {
+    return publisher;
+  }
+
+  @Override
+  public boolean undo() {
+    requireNoTransaction();
+    List<Change> step = undoSteps.peek();
+    if (step == null) {
+      return false;
+    }
+    long before = events.sequence();
+    long through = retractExpansions();
+    undoAll(step);
+    undoSteps.pop();
+    redoSteps.push(step);
+    expandThrough(through);
+    announce(Kind.RESTORED, before);
+    return true;
+  }
+
+  @Override
+  public boolean redo() {
+    requireNoTransaction();
+    List<Change> step = redoSteps.peek();
+    if (step == null) {
+      return false;
+    }
+    long before = events.sequence();
+    long through = retractExpansions();
+    for (Change change : step) {
+      change.redo.run();
+    }
+    redoSteps.pop();
+    undoSteps.push(step);
+    expandThrough(through);
+    announce(Kind.RESTORED, before);
+    return true;
+  }
+
+  @Override
+  public void recordUndoable(Runnable undo, Runnable redo) {
+    Objects.requireNonNull(undo, "Undo cannot be null");
+    Objects.requireNonNull(redo, "Redo cannot be null");
+    List<Change> step = pending;
+    pending = new ArrayList<>();
+    step.add(new Change(undo, redo, false));
+    if (transaction != null) {
+      transaction.addAll(step);
+    } else {
+      pushUndo(step);
+    }
+  }
+
+  private void requireNoTransaction() {
+    if (transaction != null) {
+      throw new IllegalStateException("Cannot undo or redo while a transaction is open");
+    }
+  }
+
+  private static void undoAll(List<Change> step) {
+    for (int i = step.size() - 1; i >= 0; i--) {
+      step.get(i).undo.run();
+    }
+  }
+
+  /**
+   * Undoes the expansions made since the last step, so that history replays onto
+   * exactly the state it was recorded on.
+   *
+   * @return the instant occurrences were stored through, to expand back to
+   */
+  private long retractExpansions() {
+    long through = storedThrough;
+    undoAll(pending);
+    pending = new ArrayList<>();
+    return through;
+  }
+
+  /**
+   * Makes a new step undoable, forgetting the oldest step beyond the limit and
+   * everything that could be redone.
+   *
+   * @param step the changes of the step, oldest first
+   */
+  private void pushUndo(List<Change> step) {
+    if (step.isEmpty()) {
+      return;
+    }
+    undoSteps.push(step);
+    if (undoSteps.size() > HISTORY_LIMIT) {
+      undoSteps.removeLast();
+    }
+    redoSteps.clear();
+  }
 
-    if (events.contains(event)) {
+  /**
+   * Runs a public operation as one step: whatever changes it makes, even if it
+   * fails part way, are undone and redone together, and announced together.
+   *
+   * @param kind      the kind of change to announce if the step changes events
+   * @param operation the operation
+   * @param <T>       the operation's result type
+   * @return the operation's result
+   */
+  private <T> T step(Kind kind, Supplier<T> operation) {
+    long before = events.sequence();
+    int expansionsBefore = pending.size();
+    try {
+      return operation.get();
+    } finally {
+      // A step that only expanded series leaves the expansions pending, so an undo
+      // never just takes back occurrences nobody asked for.
+      if (changedSince(expansionsBefore)) {
+        List<Change> step = pending;
+        pending = new ArrayList<>();
+        if (transaction != null) {
+          transaction.addAll(step);
+        } else {
+          pushUndo(step);
+        }
+      }
+      announce(kind, before);
+    }
+  }
+
+  private boolean changedSince(int index) {
+    for (int i = index; i < pending.size(); i++) {
+      if (!pending.get(i).expansion) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Publishes the events stored since a checkpoint as one change, or holds the
+   * change back until the open transaction commits. Does nothing if no change was
+   * made or nobody is subscribed.
+   *
+   * @param kind   the kind of change
+   * @param before the checkpoint before the change
+   */
+  private void announce(Kind kind, long before) {
+    long after = events.sequence();
+    if (after == before || !publisher.hasSubscribers()) {
+      return;
+    }
+    Map<UUID, EventInterface> changed = new LinkedHashMap<>();
+    if (kind != Kind.RESTORED) {
+      for (UUID eventId : events.revisedAfter(before).values()) {
+        StoredEvent stored = events.byId(eventId);
+        if (stored != null) {
+          changed.put(eventId, stored.view(zone));
+        }
+      }
+      // Stored occurrences that follow a revised rule changed without a number.
+      for (EventStore.SeriesRevision revision : events.seriesRevisedAfter(before).values()) {
+        for (StoredEvent stored : events.following(revision.seriesId(), revision.from(), null)) {
+          changed.putIfAbsent(stored.canonical().getId(), stored.view(zone));
+        }
+      }
+    }
+    CalendarChange change = CalendarChange.ofEvents(kind, new ArrayList<>(changed.values()),
+        before, after);
+    if (unpublished != null) {
+      unpublished.add(change);
+    } else {
+      publisher.offer(change, (subscriber, dropped) -> false);
+    }
+  }
+
+  /**
+   * Adds an event to the store, recording the change. An occurrence stored by the
+   * horizon takes no sequence number: its rule generated it before.
+   *
+   * @param stored the event to add
+   * @return true if added, false if its key or ID is taken
+   */
+  private boolean store(StoredEvent stored) {
+    boolean revised = !expanding;
+    if (!events.add(stored, revised)) {
       return false;
     }
+    record(() -> events.remove(stored, revised), () -> events.add(stored, revised));
+    return true;
+  }
+
+  /**
+   * Removes an event from the store, recording the change.
+   *
+   * @param stored the event to remove
+   */
+  private void unstore(StoredEvent stored) {
+    if (events.remove(stored)) {
+      record(() -> events.add(stored), () -> events.remove(stored));
+    }
+  }
 
-    events.add(event);
+  /**
+   * Replaces events with new versions of themselves, recording the change once for
+   * the whole batch.
+   *
+   * @param current      the stored events
+   * @param replacements their new versions, in the same order
+   * @return true if replaced, false if a new version would duplicate another event
+   */
+  private boolean replace(List<StoredEvent> current, List<StoredEvent> replacements) {
+    if (!events.replace(current, replacements)) {
+      return false;
+    }
+    record(() -> events.replace(replacements, current, false),
+        () -> events.replace(current, replacements, false));
     return true;
   }
 
+  /**
+   * Registers a series configuration, recording the change. The store numbers it,
+   * so the occurrences it changes, stored or not, show in later deltas.
+   *
+   * @param series the configuration
+   * @param from   the first date whose occurrences it changes, or null for all
+   */
+  private void putSeries(EventSeries series, LocalDate from) {
+    UUID seriesId = series.getSeriesId();
+    EventSeries previous = seriesConfigs.get(seriesId);
+    restoreSeries(seriesId, series, from);
+    record(() -> restoreSeries(seriesId, previous, from),
+        () -> restoreSeries(seriesId, series, from));
+  }
+
+  /**
+   * Puts a series configuration back, or removes it.
+   *
+   * @param seriesId the series ID
+   * @param series   the configuration, or null to remove it
+   * @param from     the first date whose occurrences change, or null for all
+   */
+  private void restoreSeries(UUID seriesId, EventSeries series, LocalDate from) {
+    if (series != null) {
+      seriesConfigs.put(seriesId, series);
+      events.rule(series);
+      events.reviseSeries(seriesId, from, null, null);
+      return;
+    }
+    EventSeries removed = seriesConfigs.remove(seriesId);
+    generated.remove(seriesId);
+    Expansion expansion = expansions.get(seriesId);
+    events.reviseSeries(seriesId, from, removed, expansion == null ? null : expansion.zone);
+  }
+
+  /**
+   * Registers how far a new series' occurrences are stored, recording the change.
+   *
+   * @param seriesId  the series ID
+   * @param expansion the zone and last date of its stored occurrences
+   */
+  private void putExpansion(UUID seriesId, Expansion expansion) {
+    Expansion previous = expansions.put(seriesId, expansion);
+    record(() -> {
+      if (previous == null) {
+        expansions.remove(seriesId);
+      } else {
+        expansions.put(seriesId, previous);
+      }
+    }, () -> expansions.put(seriesId, expansion));
+  }
+
+  private void record(Runnable undo, Runnable redo) {
+    pending.add(new Change(undo, redo, expanding));
+  }
+
+  /**
+   * Makes sure every series occurrence that starts at or before an instant is
+   * stored, unless the running query must not store them.
+   *
+   * @param second the instant in epoch seconds, or {@link #ALL} for every occurrence
+   */
+  private void ensureThrough(long second) {
+    if ((second != ALL && second <= storedThrough) || readOnly.get() > 0) {
+      return;
+    }
+    expandThrough(second);
+  }
+
+  /**
+   * Stores the occurrences of every series rule that start at or before an instant
+   * and are not stored yet. An occurrence whose key is taken, or that overlaps a
+   * stored event when overlaps are rejected, is skipped: it would have been refused
+   * had it been stored with its series.
+   *
+   * @param second the instant in epoch seconds, or {@link #ALL} for every occurrence
+   */
+  private void expandThrough(long second) {
+    Map<UUID, Expansion> previous = new HashMap<>();
+    long previousThrough = storedThrough;
+    expanding = true;
+    try {
+      for (EventSeries rule : seriesConfigs.values()) {
+        Expansion expansion = expansions.get(rule.getSeriesId());
+        if (expansion != null && expand(rule, expansion,
+            second == ALL ? LocalDate.MAX : dateAt(second, expansion.zone))) {
+          previous.put(rule.getSeriesId(), expansion);
+        }
+      }
+      if (second != ALL && second > storedThrough) {
+        storedThrough = second;
+      }
+      recordExpansions(previous, previousThrough);
+    } finally {
+      expanding = false;
+    }
+  }
+
+  /**
+   * Stores the occurrences of one series rule through a date, e.g. before its
+   * occurrences are split off the series.
+   *
+   * @param rule    the series rule
+   * @param through the last date to store, in the zone the series was created in
+   */
+  private void expandSeries(EventSeries rule, LocalDate through) {
+    Expansion expansion = expansions.get(rule.getSeriesId());
+    expanding = true;
+    try {
+      if (expansion != null && expand(rule, expansion, through)) {
+        recordExpansions(Collections.singletonMap(rule.getSeriesId(), expansion),
+            storedThrough);
+      }
+    } finally {
+      expanding = false;
+    }
+  }
+
+  /**
+   * Stores the occurrences of a series rule after its stored ones, through a date
+   * in the zone the series was created in.
+   *
+   * @param rule      the series rule
+   * @param expansion how far its occurrences are stored
+   * @param through   the last date to store
+   * @return true if the rule had occurrences left to store
+   */
+  private boolean expand(EventSeries rule, Expansion expansion, LocalDate through) {
+    LocalDate last = rule.getLastOccurrenceDate();
+    if (last == null || !expansion.through.isBefore(last)
+        || !through.isAfter(expansion.through)) {
+      return false;
+    }
+    SeriesRule shared = events.rule(rule);
+    for (EventInterface occurrence : generateOccurrences(rule, expansion.through, through)) {
+      StoredEvent stored = new StoredEvent(shared,
+          occurrence.getStartDateTime().toLocalDate(), toCanonical(occurrence, expansion.zone));
+      if (!(rejectOverlaps && overlapsStored(stored))) {
+        store(stored);
+      }
+    }
+    expansions.put(rule.getSeriesId(), new Expansion(expansion.zone, through));
+    return true;
+  }
+
+  /**
+   * Records how far series were expanded, as one change.
+   *
+   * @param previous        the expansions before, of the series expanded
+   * @param previousThrough the instant occurrences were stored through before
+   */
+  private void recordExpansions(Map<UUID, Expansion> previous, long previousThrough) {
+    if (previous.isEmpty() && previousThrough == storedThrough) {
+      return;
+    }
+    Map<UUID, Expansion> next = new HashMap<>();
+    for (UUID seriesId : previous.keySet()) {
+      next.put(seriesId, expansions.get(seriesId));
+    }
+    long nextThrough = storedThrough;
+    record(() -> {
+      expansions.putAll(previous);
+      storedThrough = previousThrough;
+    }, () -> {
+      expansions.putAll(next);
+      storedThrough = nextThrough;
+    });
+  }
+
+  /**
+   * Stores the occurrences of the existing series through at least one horizon past
+   * the start of each new series, so the new series' stored occurrences are checked
+   * against them.
+   *
+   * @param batch the new series
+   * @return the last date, in the model's zone, to store the new series through
+   */
+  private LocalDate throughForNewSeries(List<EventSeries> batch) {
+    long second = storedThrough;
+    for (EventSeries series : batch) {
+      Objects.requireNonNull(series, "Series cannot be null");
+      LocalDate start = series.getTemplate().getStartDateTime().toLocalDate();
+      second = Math.max(second,
+          epochSecond(start.plus(seriesHorizon).plusDays(1).atStartOfDay()) - 1);
+    }
+    ensureThrough(second);
+    return dateAt(storedThrough, zone);
+  }
+
+  private static LocalDate dateAt(long second, ZoneId zone) {
+    return second >= LAST_SECOND ? LocalDate.MAX
+        : LocalDateTime.ofInstant(Instant.ofEpochSecond(second), zone).toLocalDate();
+  }
+
+  @Override
+  public boolean createEvent(EventInterface event) {
+    Objects.requireNonNull(event, "Event cannot be null");
+
+    requireExistingTimes(event);
+
+    return step(Kind.CREATED, () -> {
+      StoredEvent stored = new StoredEvent(toCanonical(event));
+      ensureThrough(stored.endSecond());
+      if (rejectOverlaps && overlapsStored(stored)) {
+        return false;
+      }
+      return store(stored);
+    });
+  }
+
   @Override
   public boolean createEventSeries(EventSeries series) {
     Objects.requireNonNull(series, "Series cannot be null");
 
-    List<EventInterface> occurrences = generateOccurrences(series);
+    return step(Kind.CREATED, () -> {
+      LocalDate through = throughForNewSeries(Collections.singletonList(series));
+      return storeSeries(series, generateOccurrences(series, null, through), through);
+    });
+  }
+
+  @Override
+  public BulkInsertResult createEventSeriesBatch(List<EventSeries> batch) {
+    Objects.requireNonNull(batch, "Series cannot be null");
+
+    return step(Kind.CREATED, () -> {
+      LocalDate through = throughForNewSeries(batch);
+      // Expansion only reads the series, so independent series expand side by side
+      // on the common fork-join pool; only the merge below touches the model.
+      List<List<EventInterface>> expanded = batch.parallelStream()
+          .map(series -> generateOccurrences(series, null, through))
+          .collect(Collectors.toList());
+
+      List<EventInterface> inserted = new ArrayList<>();
+      List<EventInterface> conflicts = new ArrayList<>();
+      for (int i = 0; i < batch.size(); i++) {
+        List<EventInterface> occurrences = expanded.get(i);
+        if (storeSeries(batch.get(i), occurrences, through)) {
+          inserted.addAll(occurrences);
+        } else {
+          conflicts.addAll(occurrences);
+        }
+      }
+      return new BulkInsertResult(inserted, conflicts);
+    });
+  }
+
+  /**
+   * Adds the occurrences of a series and registers it, unless an occurrence
+   * duplicates a stored event (or overlaps one, when overlaps are rejected).
+   *
+   * @param series      the series configuration
+   * @param occurrences its occurrences through a date, in chronological order
+   * @param through     that date; later occurrences are stored as they are reached
+   * @return true if added, false if nothing was added
+   */
+  private boolean storeSeries(EventSeries series, List<EventInterface> occurrences,
+                              LocalDate through) {
+    List<StoredEvent> toAdd = new ArrayList<>(occurrences.size());
+    SeriesRule shared = events.rule(series);
 
     for (EventInterface occurrence : occurrences) {
-      if (events.contains(occurrence)) {
+      EventInterface canonical = toCanonical(occurrence);
+      if (events.containsKey(canonical)) {
+        return false;
+      }
+      StoredEvent stored = new StoredEvent(shared, occurrence.getStartDateTime().toLocalDate(),
+          canonical);
+      if (rejectOverlaps && (overlapsStored(stored) || (!toAdd.isEmpty()
+          && toAdd.get(toAdd.size() - 1).endSecond() > stored.startSecond()))) {
         return false;
       }
+      toAdd.add(stored);
     }
 
-    for (EventInterface occurrence : occurrences) {
-      events.add(occurrence);
+    for (StoredEvent stored : toAdd) {
+      store(stored);
     }
 
-    seriesConfigs.put(series.getSeriesId(), series);
+    // The expansion goes first, so undoing the series still finds its zone.
+    putExpansion(series.getSeriesId(), new Expansion(zone, through));
+    putSeries(series, null);
 
     return true;
   }
 
+  @Override
+  public BulkInsertResult createEvents(List<EventInterface> batch, List<EventSeries> series) {
+    Objects.requireNonNull(batch, "Events cannot be null");
+    Objects.requireNonNull(series, "Series cannot be null");
+
+    return step(Kind.CREATED, () -> {
+      List<StoredEvent> candidates = new ArrayList<>(batch.size());
+      long lastEnd = Long.MIN_VALUE;
+      for (EventInterface event : batch) {
+        StoredEvent stored = new StoredEvent(toCanonical(event));
+        candidates.add(stored);
+        lastEnd = Math.max(lastEnd, stored.endSecond());
+      }
+      ensureThrough(lastEnd);
+
+      List<EventInterface> inserted = new ArrayList<>(batch.size());
+      List<EventInterface> conflicts = new ArrayList<>();
+      Set<UUID> insertedSeries = new HashSet<>();
+      for (int i = 0; i < batch.size(); i++) {
+        EventInterface event = batch.get(i);
+        StoredEvent stored = candidates.get(i);
+        if (!(rejectOverlaps && overlapsStored(stored)) && store(stored)) {
+          inserted.add(event);
+          event.getSeriesId().ifPresent(insertedSeries::add);
+        } else {
+          conflicts.add(event);
+        }
+      }
+
+      for (EventSeries config : series) {
+        if (insertedSeries.contains(config.getSeriesId())) {
+          putSeries(config, null);
+        }
+      }
+
+      return new BulkInsertResult(inserted, conflicts);
+    });
+  }
+
+  @Override
+  public EventSeries getSeries(UUID seriesId) {
+    Objects.requireNonNull(seriesId, "Series ID cannot be null");
+
+    EventSeries rule = seriesConfigs.get(seriesId);
+    // A rule whose occurrences were all split off only generates events of their own.
+    return rule == null || rule.isDetachedEntirely() ? null : rule;
+  }
+
   @Override
   public boolean editEvent(UUID eventId, EditSpec spec) {
     Objects.requireNonNull(eventId, "Event ID cannot be null");
     Objects.requireNonNull(spec, "Edit specification cannot be null");
 
-    EventInterface event = findEventById(eventId);
-    if (event == null) {
-      return false;
-    }
+    return step(Kind.EDITED, () -> {
+      StoredEvent stored = events.byId(eventId);
+      if (stored == null) {
+        // An occurrence past the stored ones, e.g. found by an unbounded query.
+        StoredEvent unstored = unstoredById(eventId);
+        if (unstored == null) {
+          return false;
+        }
+        ensureThrough(unstored.startSecond());
+        stored = events.byId(eventId);
+        if (stored == null) {
+          return false;
+        }
+      }
 
-    EventInterface modified = applyEditSpec(event, spec);
+      EventInterface edited = applyEditSpec(stored.view(zone), spec);
+      requireExistingTimes(edited);
+      EventInterface modified = toCanonical(edited);
+      StoredEvent replacement = new StoredEvent(modified);
+      ensureThrough(replacement.endSecond());
 
-    if (!modified.equals(event) && events.contains(modified)) {
-      return false;
-    }
+      if (wouldCreateDuplicate(stored.canonical(), modified)) {
+        return false;
+      }
 
-    events.remove(event);
-    events.add(modified);
+      unstore(stored);
+      store(replacement);
 
-    return true;
+      return true;
+    });
   }
 
   @Override
@@ -102,7 +941,7 @@ public class CalendarModel implements CalendarModelInterface {
     Objects.requireNonNull(fromDate, "From date cannot be null");
     Objects.requireNonNull(spec, "Edit specification cannot be null");
 
-    return editSeriesInternal(seriesId, spec, fromDate, false);
+    return editSeriesInternal(seriesId, spec, fromDate);
   }
 
   @Override
@@ -110,7 +949,7 @@ public class CalendarModel implements CalendarModelInterface {
     Objects.requireNonNull(seriesId, "Series ID cannot be null");
     Objects.requireNonNull(spec, "Edit specification cannot be null");
 
-    return editSeriesInternal(seriesId, spec, null, true);
+    return editSeriesInternal(seriesId, spec, null);
   }
 
   /**
@@ -121,48 +960,73 @@ public class CalendarModel implements CalendarModelInterface {
    * @param spec               the edit specification
    * @param fromDate           the date to start editing from (null for entire
    *                           series)
-   * @param removeSeriesConfig whether to remove the series config if split
    * @return true if successful, false otherwise
    */
-  private boolean editSeriesInternal(UUID seriesId, EditSpec spec, LocalDate fromDate,
-      boolean removeSeriesConfig) {
-    if (!seriesConfigs.containsKey(seriesId)) {
-      return false;
-    }
+  private boolean editSeriesInternal(UUID seriesId, EditSpec spec, LocalDate fromDate) {
+    return step(Kind.SERIES_EDITED, () -> {
+      EventSeries rule = seriesConfigs.get(seriesId);
+      if (rule == null || rule.isDetachedEntirely()) {
+        return false;
+      }
 
-    List<EventInterface> toEdit = findSeriesEventsToEdit(seriesId, fromDate);
-    if (toEdit.isEmpty()) {
-      return false;
-    }
+      if (fromDate != null) {
+        // The first occurrence edited is stored, so there is one to edit.
+        LocalDate first = rule.nextWeekdayOnOrAfter(fromDate);
+        if (first != null) {
+          expandSeries(rule, first);
+        }
+      }
 
-    boolean mustSplit = spec.getNewStart() != null;
-    List<EventInterface> modifiedEvents = buildModifiedEventsList(toEdit, spec, mustSplit);
-    if (modifiedEvents == null) {
-      return false;
-    }
+      // The stored occurrences that follow the rule change with it. Only those with
+      // edits of their own are rewritten, and the others too when their times move,
+      // as the time index holds them by their times.
+      List<StoredEvent> toEdit = findSeriesEventsToEdit(seriesId, fromDate);
+      List<StoredEvent> following =
+          events.following(seriesId, fromDate, rule.getDetachedFrom());
+      if (toEdit.isEmpty() && following.isEmpty()) {
+        return false;
+      }
+      boolean retimed = spec.getNewStart() != null || spec.getNewEnd() != null;
+      if (retimed) {
+        toEdit.addAll(following);
+      }
 
-    replaceSeriesEvents(toEdit, modifiedEvents);
+      boolean mustSplit = spec.getNewStart() != null;
+      List<StoredEvent> modifiedEvents = buildModifiedEventsList(toEdit, spec, mustSplit);
+      // Templates keep wall-clock times in the zone the series was created in, so a
+      // new start time applies to the occurrences not stored yet in that zone.
+      UnaryOperator<EventInterface> edit =
+          template -> applyEditSpec(template, createAdjustedEditSpec(spec, template));
+      EventSeries revised = mustSplit
+          ? rule.detachedFrom(fromDate, edit) : rule.revisedFrom(fromDate, edit);
 
-    if (mustSplit && removeSeriesConfig) {
-      seriesConfigs.remove(seriesId);
-    }
+      if (!retimed && events.reviseCollides(revised, fromDate, toEdit, modifiedEvents)) {
+        return false;
+      }
+      if (!replace(toEdit, modifiedEvents)) {
+        return false;
+      }
+      putSeries(revised, fromDate);
 
-    return true;
+      return true;
+    });
   }
 
   /**
-   * Finds all events in a series that should be edited.
+   * Finds the events in a series that should be edited and have fields of their
+   * own, as opposed to following the series' rule.
    *
    * @param seriesId the series ID
    * @param fromDate the date to start from (null for all events)
    * @return list of events to edit
    */
-  private List<EventInterface> findSeriesEventsToEdit(UUID seriesId, LocalDate fromDate) {
-    return events.stream()
-        .filter(e -> e.getSeriesId().isPresent())
-        .filter(e -> e.getSeriesId().get().equals(seriesId))
-        .filter(e -> fromDate == null || !e.getStartDateTime().toLocalDate().isBefore(fromDate))
-        .collect(Collectors.toList());
+  private List<StoredEvent> findSeriesEventsToEdit(UUID seriesId, LocalDate fromDate) {
+    List<StoredEvent> members = events.seriesMembers(seriesId);
+    if (fromDate != null) {
+      members.removeIf(
+          e -> e.view(zone).getStartDateTime().toLocalDate().isBefore(fromDate));
+    }
+    return members;
   }
 
   /**
@@ -171,12 +1035,13 @@ public class CalendarModel implements CalendarModelInterface {
    * @param toEdit    the events to edit
    * @param spec      the edit specification
    * @param mustSplit whether to break series link
-   * @return list of modified events, or null if a duplicate would be created
+   * @return list of modified events, in the same order
    */
-  private List<EventInterface> buildModifiedEventsList(List<EventInterface> toEdit,
+  private List<StoredEvent> buildModifiedEventsList(List<StoredEvent> toEdit,
       EditSpec spec, boolean mustSplit) {
-    List<EventInterface> modifiedEvents = new ArrayList<>();
-    for (EventInterface event : toEdit) {
+    List<StoredEvent> modifiedEvents = new ArrayList<>(toEdit.size());
+    for (StoredEvent stored : toEdit) {
+      EventInterface event = stored.view(zone);
       EditSpec eventSpec = createAdjustedEditSpec(spec, event);
       EventInterface modified = applyEditSpec(event, eventSpec);
 
@@ -184,11 +1049,7 @@ public class CalendarModel implements CalendarModelInterface {
         modified = breakSeriesLink(modified);
       }
 
-      if (wouldCreateDuplicate(event, modified)) {
-        return null;
-      }
-
-      modifiedEvents.add(modified);
+      modifiedEvents.add(stored.with(toCanonical(modified)));
     }
     return modifiedEvents;
   }
@@ -239,48 +1100,185 @@ public class CalendarModel implements CalendarModelInterface {
   /**
    * Checks if modifying an event would create a duplicate.
    *
-   * @param original the original event
-   * @param modified the modified event
+   * @param original the original event (canonical form)
+   * @param modified the modified event (canonical form)
    * @return true if modification would create duplicate
    */
   private boolean wouldCreateDuplicate(EventInterface original, EventInterface modified) {
-    return !modified.equals(original) && events.contains(modified);
-  }
-
-  /**
-   * Replaces original events with their modified versions.
-   *
-   * @param originals the original events
-   * @param modified  the modified events
-   */
-  private void replaceSeriesEvents(List<EventInterface> originals,
-      List<EventInterface> modified) {
-    for (int i = 0; i < originals.size(); i++) {
-      events.remove(originals.get(i));
-      events.add(modified.get(i));
-    }
+    return !modified.equals(original) && events.containsKey(modified);
   }
 
   @Override
   public List<EventInterface> getEventsOnDate(LocalDate date) {
     Objects.requireNonNull(date, "Date cannot be null");
 
-    return events.stream()
-        .filter(e -> {
-          LocalDate eventStart = e.getStartDateTime().toLocalDate();
-          LocalDate eventEnd = e.getEndDateTime().toLocalDate();
-          return !date.isBefore(eventStart) && !date.isAfter(eventEnd);
-        })
-        .sorted((e1, e2) -> e1.getStartDateTime().compareTo(e2.getStartDateTime()))
-        .collect(Collectors.toList());
+    long from = epochSecond(date.atStartOfDay());
+    long to = epochSecond(date.plusDays(1).atStartOfDay());
+    ensureThrough(to);
+
+    List<EventInterface> cached = cache.get(QueryCache.Query.ON_DATE, from, to);
+    if (cached != null) {
+      return new ArrayList<>(cached);
+    }
+
+    List<EventInterface> result = new ArrayList<>();
+    for (StoredEvent stored : intersecting(from, to)) {
+      EventInterface e = stored.view(zone);
+      LocalDate eventStart = e.getStartDateTime().toLocalDate();
+      LocalDate eventEnd = e.getEndDateTime().toLocalDate();
+      if (!date.isBefore(eventStart) && !date.isAfter(eventEnd)) {
+        result.add(e);
+      }
+    }
+    if (to <= storedThrough) {
+      cache.put(QueryCache.Query.ON_DATE, from, to,
+          Collections.unmodifiableList(new ArrayList<>(result)));
+    }
+    return result;
   }
 
   @Override
   public List<EventInterface> getAllEvents() {
-    return events.stream()
-        .sorted(Comparator.comparing(EventInterface::getStartDateTime)
-            .thenComparing(EventInterface::getEndDateTime))
-        .collect(Collectors.toList());
+    return views(withUnstored(events.all(), unstoredOccurrences()));
+  }
+
+  @Override
+  public long getCheckpoint() {
+    return events.sequence();
+  }
+
+  @Override
+  public EventDelta getChangesSince(long checkpoint) {
+    if (checkpoint < 0 || checkpoint > events.sequence()) {
+      throw new IllegalArgumentException("Unknown checkpoint: " + checkpoint);
+    }
+    if (checkpoint < events.floor()) {
+      throw new IllegalArgumentException("Checkpoint " + checkpoint
+          + " is older than the oldest one still kept (" + events.floor()
+          + "); export the whole calendar instead");
+    }
+
+    // A change to a series rule stands for each occurrence it may have changed,
+    // stored or not, at the rule's latest change.
+    NavigableMap<Long, UUID> changes = events.revisedAfter(checkpoint);
+    Map<UUID, Long> seriesChanges = new HashMap<>();
+    Map<UUID, LocalDate> seriesFrom = new HashMap<>();
+    Map<UUID, EventStore.SeriesRevision> removals = new HashMap<>();
+    for (Map.Entry<Long, EventStore.SeriesRevision> entry
+        : events.seriesRevisedAfter(checkpoint).entrySet()) {
+      EventStore.SeriesRevision revision = entry.getValue();
+      UUID seriesId = revision.seriesId();
+      Long previous = seriesChanges.put(seriesId, entry.getKey());
+      if (previous != null) {
+        changes.remove(previous);
+      }
+      changes.put(entry.getKey(), seriesId);
+      LocalDate from = revision.from() == null ? LocalDate.MIN : revision.from();
+      seriesFrom.merge(seriesId, from, (a, b) -> a.isBefore(b) ? a : b);
+      if (revision.removed() != null) {
+        removals.put(seriesId, revision);
+      }
+    }
+
+    Set<UUID> ids = new LinkedHashSet<>();
+    Map<UUID, UUID> owners = new HashMap<>();
+    for (Map.Entry<Long, UUID> change : changes.entrySet()) {
+      UUID id = change.getValue();
+      List<UUID> occurrences = change.getKey().equals(seriesChanges.get(id))
+          ? occurrenceIds(id, seriesFrom.get(id), removals.get(id))
+          : Collections.singletonList(id);
+      for (UUID eventId : occurrences) {
+        ids.remove(eventId);
+        ids.add(eventId);
+        if (!eventId.equals(id)) {
+          owners.put(eventId, id);
+        }
+      }
+    }
+
+    List<EventInterface> added = new ArrayList<>();
+    List<EventInterface> changed = new ArrayList<>();
+    List<EventInterface> removed = new ArrayList<>();
+    for (UUID eventId : ids) {
+      UUID owner = owners.containsKey(eventId)
+          ? owners.get(eventId) : ownerOf(eventId, removals.keySet());
+      boolean known = events.knownAt(eventId, checkpoint)
+          || (owner != null && events.seriesKnownAt(owner, checkpoint));
+      StoredEvent current = events.byId(eventId);
+      if (current == null) {
+        current = unstoredById(eventId);
+      }
+      if (current != null) {
+        (known ? changed : added).add(current.view(zone));
+      } else if (known) {
+        StoredEvent last = events.tombstone(eventId);
+        if (last == null && owner != null && !seriesConfigs.containsKey(owner)) {
+          EventStore.SeriesRevision removal = removals.get(owner);
+          last = occurrenceOn(removal.removed(),
+              occurrenceDate(owner, eventId), removal.zone());
+        }
+        if (last != null) {
+          removed.add(last.view(zone));
+        }
+      }
+    }
+    return new EventDelta(checkpoint, events.sequence(), added, changed, removed);
+  }
+
+  /**
+   * Lists the IDs of the occurrences a series rule generates, stored or not, from a
+   * date on. Rules registered with their occurrences given generate none of their
+   * own; their occurrences are numbered in the store as they change.
+   *
+   * @param seriesId the series ID
+   * @param from     the first date
+   * @param removal  the rule's latest removal, if any, for a rule no longer
+   *                 registered
+   * @return the occurrence IDs, in chronological order
+   */
+  private List<UUID> occurrenceIds(UUID seriesId, LocalDate from,
+                                   EventStore.SeriesRevision removal) {
+    EventSeries rule = seriesConfigs.get(seriesId);
+    if (rule == null ? removal == null || removal.zone() == null
+        : !expansions.containsKey(seriesId)) {
+      return Collections.emptyList();
+    }
+    if (rule == null) {
+      rule = removal.removed();
+    }
+    List<UUID> ids = new ArrayList<>();
+    LocalDate first = rule.getTemplate().getStartDateTime().toLocalDate();
+    LocalDate last = rule.getLastOccurrenceDate();
+    if (last == null) {
+      return ids;
+    }
+    for (LocalDate date = rule.nextWeekdayOnOrAfter(from.isBefore(first) ? first : from);
+         date != null && !date.isAfter(last);
+         date = rule.nextWeekdayOnOrAfter(date.plusDays(1))) {
+      ids.add(occurrenceId(seriesId, date));
+    }
+    return ids;
+  }
+
+  /**
+   * Finds the series whose occurrence an event is, by its ID.
+   *
+   * @param eventId the event ID
+   * @param removed IDs of series removed since, to look in as well
+   * @return the series ID, or null if the event is no series occurrence
+   */
+  private UUID ownerOf(UUID eventId, Set<UUID> removed) {
+    for (UUID seriesId : seriesConfigs.keySet()) {
+      if (occurrenceDate(seriesId, eventId) != null) {
+        return seriesId;
+      }
+    }
+    for (UUID seriesId : removed) {
+      if (occurrenceDate(seriesId, eventId) != null) {
+        return seriesId;
+      }
+    }
+    return null;
   }
 
   @Override
@@ -289,108 +1287,573 @@ public class CalendarModel implements CalendarModelInterface {
     Objects.requireNonNull(startDateTime, "Start date-time cannot be null");
     Objects.requireNonNull(endDateTime, "End date-time cannot be null");
 
-    return events.stream()
-        .filter(e -> e.getStartDateTime().isBefore(endDateTime)
-            && e.getEndDateTime().isAfter(startDateTime))
-        .sorted((e1, e2) -> e1.getStartDateTime().compareTo(e2.getStartDateTime()))
-        .collect(Collectors.toList());
+    long from = epochSecond(startDateTime);
+    long to = epochSecond(endDateTime);
+    ensureThrough(to);
+    List<EventInterface> cached = cache.get(QueryCache.Query.IN_RANGE, from, to);
+    if (cached != null) {
+      return new ArrayList<>(cached);
+    }
+
+    List<EventInterface> result = new ArrayList<>();
+    for (StoredEvent stored : intersecting(from, to)) {
+      EventInterface e = stored.view(zone);
+      if (e.getStartDateTime().isBefore(endDateTime)
+          && e.getEndDateTime().isAfter(startDateTime)) {
+        result.add(e);
+      }
+    }
+    if (to <= storedThrough) {
+      cache.put(QueryCache.Query.IN_RANGE, from, to,
+          Collections.unmodifiableList(new ArrayList<>(result)));
+    }
+    return result;
+  }
+
+  @Override
+  public List<EventInterface> getEventsStartingIn(LocalDateTime from, LocalDateTime to) {
+    Objects.requireNonNull(from, "Start date-time cannot be null");
+    Objects.requireNonNull(to, "End date-time cannot be null");
+
+    long fromSecond = epochSecond(from);
+    long toSecond = epochSecond(to);
+    ensureThrough(toSecond);
+    List<StoredEvent> starting = events.startingBetween(fromSecond, toSecond);
+    if (toSecond > storedThrough) {
+      List<StoredEvent> unstored = unstoredBetween(fromSecond, toSecond);
+      unstored.removeIf(e -> e.startSecond() < fromSecond || e.startSecond() >= toSecond);
+      starting = withUnstored(starting, unstored);
+    }
+    return views(starting);
+  }
+
+  @Override
+  public long[] getBusyIntervals(Instant from, Instant to) {
+    Objects.requireNonNull(from, "Start instant cannot be null");
+    Objects.requireNonNull(to, "End instant cannot be null");
+
+    long fromSecond = from.getEpochSecond();
+    long toSecond = to.getEpochSecond();
+    ensureThrough(toSecond);
+    long[] merged = new long[16];
+    int n = 0;
+    for (StoredEvent stored : intersecting(fromSecond, toSecond)) {
+      long start = Math.max(stored.startSecond(), fromSecond);
+      long end = Math.min(stored.endSecond(), toSecond);
+      if (end <= start) {
+        continue;
+      }
+      if (n > 0 && start <= merged[n - 1]) {
+        merged[n - 1] = Math.max(merged[n - 1], end);
+      } else {
+        if (n == merged.length) {
+          merged = Arrays.copyOf(merged, n * 2);
+        }
+        merged[n++] = start;
+        merged[n++] = end;
+      }
+    }
+    return Arrays.copyOf(merged, n);
+  }
+
+  @Override
+  public List<EventInterface> search(String query) {
+    Objects.requireNonNull(query, "Query cannot be null");
+
+    List<StoredEvent> unstored = unstoredOccurrences();
+    unstored.removeIf(e -> !TextIndex.matches(query, e.canonical()));
+    return views(withUnstored(events.search(query), unstored));
+  }
+
+  @Override
+  public List<EventInterface> search(String query, LocalDateTime from, LocalDateTime to) {
+    Objects.requireNonNull(query, "Query cannot be null");
+    Objects.requireNonNull(from, "Start date-time cannot be null");
+    Objects.requireNonNull(to, "End date-time cannot be null");
+
+    long fromSecond = epochSecond(from);
+    long toSecond = epochSecond(to);
+    ensureThrough(toSecond);
+    List<StoredEvent> matches = events.search(query);
+    if (toSecond > storedThrough) {
+      List<StoredEvent> unstored = unstoredBetween(fromSecond, toSecond);
+      unstored.removeIf(e -> !TextIndex.matches(query, e.canonical()));
+      matches = withUnstored(matches, unstored);
+    }
+    matches.removeIf(e -> e.startSecond() >= toSecond || e.endSecond() <= fromSecond);
+    return views(matches);
+  }
+
+  @Override
+  public List<List<EventInterface>> findConflicts() {
+    return clusters(withUnstored(events.all(), unstoredOccurrences()));
+  }
+
+  @Override
+  public List<List<EventInterface>> findConflicts(LocalDateTime from, LocalDateTime to) {
+    Objects.requireNonNull(from, "Start date-time cannot be null");
+    Objects.requireNonNull(to, "End date-time cannot be null");
+
+    long fromSecond = epochSecond(from);
+    long toSecond = epochSecond(to);
+    ensureThrough(toSecond);
+    List<StoredEvent> window = intersecting(fromSecond, toSecond);
+    window.removeIf(e -> e.startSecond() >= toSecond || e.endSecond() <= fromSecond);
+    return clusters(window);
+  }
+
+  /**
+   * Groups events into clusters of overlapping events with a sweep over their
+   * start order: an event joins the current cluster when it starts before the
+   * latest end seen in that cluster. Events that only touch do not overlap.
+   *
+   * @param sorted events ordered by start
+   * @return the clusters with at least two events, each in chronological order
+   */
+  private List<List<EventInterface>> clusters(List<StoredEvent> sorted) {
+    List<List<EventInterface>> result = new ArrayList<>();
+    List<StoredEvent> cluster = new ArrayList<>();
+    long clusterEnd = Long.MIN_VALUE;
+    for (StoredEvent stored : sorted) {
+      if (stored.startSecond() >= clusterEnd) {
+        if (cluster.size() > 1) {
+          result.add(views(cluster));
+        }
+        cluster = new ArrayList<>();
+      }
+      cluster.add(stored);
+      clusterEnd = Math.max(clusterEnd, stored.endSecond());
+    }
+    if (cluster.size() > 1) {
+      result.add(views(cluster));
+    }
+    return result;
+  }
+
+  /**
+   * Checks through the time index whether an event overlaps a stored event.
+   *
+   * @param candidate the event to check
+   * @return true if some stored event shares part of its time span
+   */
+  private boolean overlapsStored(StoredEvent candidate) {
+    for (StoredEvent stored : events.intersecting(candidate.startSecond(),
+        candidate.endSecond())) {
+      if (stored.startSecond() < candidate.endSecond()
+          && candidate.startSecond() < stored.endSecond()) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
   public boolean isBusy(LocalDateTime dateTime) {
     Objects.requireNonNull(dateTime, "Date-time cannot be null");
 
-    return events.stream()
-        .anyMatch(e -> !e.getStartDateTime().isAfter(dateTime)
-            && e.getEndDateTime().isAfter(dateTime));
+    // A precomputed offset table converts the time, and the store's merged busy
+    // intervals answer by binary search, so the check allocates nothing.
+    long second = toUtc.toUtcSecond(dateTime.toEpochSecond(ZoneOffset.UTC));
+    ensureThrough(second);
+    if (events.isBusyAt(second)) {
+      return true;
+    }
+    if (second <= storedThrough) {
+      return false;
+    }
+    for (StoredEvent unstored : unstoredBetween(second, second)) {
+      if (unstored.startSecond() <= second && second < unstored.endSecond()) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
   public EventInterface findEventById(UUID eventId) {
     Objects.requireNonNull(eventId, "Event ID cannot be null");
 
-    return events.stream()
-        .filter(e -> e.getId().equals(eventId))
-        .findFirst()
-        .orElse(null);
+    StoredEvent stored = events.byId(eventId);
+    if (stored == null) {
+      stored = unstoredById(eventId);
+    }
+    return stored == null ? null : stored.view(zone);
   }
 
-  @Override
-  public EventInterface findEventByProperties(String subject, LocalDateTime startDateTime,
-      LocalDateTime endDateTime) {
-    Objects.requireNonNull(subject, "Subject cannot be null");
-    Objects.requireNonNull(startDateTime, "Start date-time cannot be null");
-    Objects.requireNonNull(endDateTime, "End date-time cannot be null");
-
-    return events.stream()
-        .filter(e -> e.getSubject().equals(subject.trim()))
-        .filter(e -> e.getStartDateTime().equals(startDateTime))
-        .filter(e -> e.getEndDateTime().equals(endDateTime))
-        .findFirst()
-        .orElse(null);
+  /**
+   * Generates, without storing them, the occurrences of every series rule past its
+   * stored ones, so queries without a window see every occurrence while the store
+   * keeps to its horizon. An occurrence whose key is taken, or that overlaps a
+   * stored event when overlaps are rejected, is left out, as it would be when
+   * stored; unstored occurrences of different series are not checked against each
+   * other.
+   *
+   * @return the occurrences, ordered by start, then end
+   */
+  private List<StoredEvent> unstoredOccurrences() {
+    List<StoredEvent> result = new ArrayList<>();
+    Set<EventInterface> keys = new HashSet<>();
+    for (EventSeries rule : seriesConfigs.values()) {
+      Generated past = generated(rule);
+      if (past != null) {
+        for (StoredEvent unstored : past.occurrences) {
+          if (isKept(unstored, keys)) {
+            result.add(unstored);
+          }
+        }
+      }
+    }
+    result.sort(EventStore.BY_START);
+    return result;
   }
 
   /**
-   * Generates all occurrences for an event series.
+   * Generates, without storing them, the series occurrences past the stored ones
+   * that may intersect the closed interval [fromSecond, toSecond], for queries that
+   * reach past the stored occurrences without storing them. The same occurrences
+   * are left out as by {@link #unstoredOccurrences}.
    *
-   * @param series the series configuration
-   * @return list of all event occurrences
+   * @param fromSecond the lower bound, in epoch seconds
+   * @param toSecond   the upper bound, in epoch seconds
+   * @return the occurrences, ordered by start, then end
    */
-  private List<EventInterface> generateOccurrences(EventSeries series) {
-    List<EventInterface> occurrences = new ArrayList<>();
-
-    LocalDateTime startTime = series.getTemplate().getStartDateTime();
-    LocalDateTime endTime = series.getTemplate().getEndDateTime();
+  private List<StoredEvent> unstoredBetween(long fromSecond, long toSecond) {
+    List<StoredEvent> result = new ArrayList<>();
+    Set<EventInterface> keys = new HashSet<>();
+    for (EventSeries rule : seriesConfigs.values()) {
+      Generated past = generated(rule);
+      if (past == null) {
+        continue;
+      }
+      List<StoredEvent> occurrences = past.occurrences;
+      // Binary search for the first occurrence that may still be running at fromSecond.
+      long earliest = fromSecond - past.longest;
+      int low = 0;
+      int high = occurrences.size();
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (occurrences.get(mid).startSecond() < earliest) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      for (int i = low; i < occurrences.size(); i++) {
+        StoredEvent unstored = occurrences.get(i);
+        if (unstored.startSecond() > toSecond) {
+          break;
+        }
+        if (unstored.endSecond() >= fromSecond && isKept(unstored, keys)) {
+          result.add(unstored);
+        }
+      }
+    }
+    result.sort(EventStore.BY_START);
+    return result;
+  }
 
-    LocalDate templateDate = startTime.toLocalDate();
-    int startHour = startTime.getHour();
-    int startMinute = startTime.getMinute();
+  /**
+   * Checks whether an occurrence past the stored ones would be stored when reached:
+   * its key is free, among the stored events and the occurrences already kept, and
+   * it overlaps no stored event when overlaps are rejected.
+   *
+   * @param unstored the occurrence
+   * @param keys     the keys of the occurrences already kept; the occurrence's key
+   *                 is added if it is kept
+   * @return true if kept
+   */
+  private boolean isKept(StoredEvent unstored, Set<EventInterface> keys) {
+    return !events.containsKey(unstored.canonical())
+        && !(rejectOverlaps && overlapsStored(unstored))
+        && keys.add(unstored.canonical());
+  }
 
-    int durationMinutes = (int) java.time.Duration.between(startTime, endTime).toMinutes();
+  /**
+   * Gets the occurrences of a series rule past its stored ones, generating them only
+   * when the rule or its expansion changed since they were last generated.
+   *
+   * @param rule the series rule
+   * @return the occurrences, or null if the rule has none left to store
+   */
+  private Generated generated(EventSeries rule) {
+    Expansion expansion = expansions.get(rule.getSeriesId());
+    LocalDate last = rule.getLastOccurrenceDate();
+    if (expansion == null || last == null || !expansion.through.isBefore(last)) {
+      return null;
+    }
+    Generated past = generated.get(rule.getSeriesId());
+    if (past != null && past.rule == rule && past.expansion == expansion) {
+      return past;
+    }
+    List<StoredEvent> occurrences = new ArrayList<>();
+    long longest = 0;
+    for (EventInterface occurrence : generateOccurrences(rule, expansion.through, last)) {
+      StoredEvent unstored = new StoredEvent(toCanonical(occurrence, expansion.zone));
+      occurrences.add(unstored);
+      longest = Math.max(longest, unstored.endSecond() - unstored.startSecond());
+    }
+    occurrences.sort(EventStore.BY_START);
+    past = new Generated(rule, expansion, Collections.unmodifiableList(occurrences), longest);
+    generated.put(rule.getSeriesId(), past);
+    return past;
+  }
 
-    LocalDate currentDate = templateDate;
-    Set<DayOfWeek> weekdays = series.getWeekdays();
-    int occurrenceCount = 0;
+  /**
+   * Gets the events that may intersect the closed interval [fromSecond, toSecond],
+   * with the series occurrences past the stored ones that a query not storing them
+   * reaches.
+   *
+   * @param fromSecond the lower bound, in epoch seconds
+   * @param toSecond   the upper bound, in epoch seconds
+   * @return the events ordered by start, then end
+   */
+  private List<StoredEvent> intersecting(long fromSecond, long toSecond) {
+    List<StoredEvent> stored = events.intersecting(fromSecond, toSecond);
+    if (toSecond <= storedThrough) {
+      return stored;
+    }
+    return withUnstored(stored, unstoredBetween(fromSecond, toSecond));
+  }
 
-    while (true) {
+  /**
+   * Finds a series occurrence past the stored ones by its ID, which gives away its
+   * series and date.
+   *
+   * @param eventId the event ID
+   * @return the occurrence, unstored, or null if no rule generates it
+   */
+  private StoredEvent unstoredById(UUID eventId) {
+    for (EventSeries rule : seriesConfigs.values()) {
+      LocalDate date = occurrenceDate(rule.getSeriesId(), eventId);
+      if (date == null) {
+        continue;
+      }
+      Expansion expansion = expansions.get(rule.getSeriesId());
+      if (expansion == null || !date.isAfter(expansion.through)) {
+        return null;
+      }
+      StoredEvent unstored = occurrenceOn(rule, date, expansion.zone);
+      return unstored != null && isKept(unstored, new HashSet<>()) ? unstored : null;
+    }
+    return null;
+  }
 
-      if (weekdays.contains(currentDate.getDayOfWeek())) {
-        LocalDateTime eventStart = LocalDateTime.of(currentDate,
-            java.time.LocalTime.of(startHour, startMinute));
-        LocalDateTime eventEnd = eventStart.plusMinutes(durationMinutes);
+  /**
+   * Generates the occurrence of a series rule on a date.
+   *
+   * @param rule   the series rule
+   * @param date   the date
+   * @param inZone the zone the rule's local times are in
+   * @return the occurrence, or null if the rule has none on that date
+   */
+  private static StoredEvent occurrenceOn(EventSeries rule, LocalDate date, ZoneId inZone) {
+    List<EventInterface> occurrences = generateOccurrences(rule, date.minusDays(1), date);
+    return occurrences.isEmpty() ? null
+        : new StoredEvent(toCanonical(occurrences.get(0), inZone));
+  }
 
-        EventInterface occurrence = new Event(
-            series.getTemplate().getSubject(),
-            eventStart,
-            eventEnd,
-            series.getTemplate().getDescription().orElse(null),
-            series.getTemplate().getLocation().orElse(null),
-            series.getTemplate().isPrivate(),
-            UUID.randomUUID(),
-            series.getSeriesId());
+  /**
+   * Merges stored events with unstored occurrences.
+   *
+   * @param stored   stored events, ordered by start, then end
+   * @param unstored unstored occurrences, in the same order
+   * @return both, in the same order; stored before unstored on a tie
+   */
+  private static List<StoredEvent> withUnstored(List<StoredEvent> stored,
+                                                List<StoredEvent> unstored) {
+    if (unstored.isEmpty()) {
+      return stored;
+    }
+    List<StoredEvent> result = new ArrayList<>(stored.size() + unstored.size());
+    int i = 0;
+    for (StoredEvent next : unstored) {
+      while (i < stored.size() && EventStore.BY_START.compare(stored.get(i), next) <= 0) {
+        result.add(stored.get(i++));
+      }
+      result.add(next);
+    }
+    result.addAll(stored.subList(i, stored.size()));
+    return result;
+  }
 
-        occurrences.add(occurrence);
-        occurrenceCount++;
+  @Override
+  public EventInterface findEventByProperties(String subject, LocalDateTime startDateTime,
+      LocalDateTime endDateTime) {
+    Objects.requireNonNull(subject, "Subject cannot be null");
+    Objects.requireNonNull(startDateTime, "Start date-time cannot be null");
+    Objects.requireNonNull(endDateTime, "End date-time cannot be null");
 
-        if (series.getOccurrences() != null && occurrenceCount >= series.getOccurrences()) {
-          break;
+    if (subject.trim().isEmpty() || !endDateTime.isAfter(startDateTime)) {
+      return null;
+    }
+    long second = epochSecond(startDateTime);
+    ensureThrough(second);
+    EventInterface key = new Event(subject, StoredEvent.toUtc(startDateTime, zone),
+        StoredEvent.toUtc(endDateTime, zone), null, null, false, KEY_PROBE_ID, null);
+    StoredEvent stored = events.byKey(key);
+    if (stored == null && second > storedThrough) {
+      for (StoredEvent unstored : unstoredBetween(second, second)) {
+        if (key.equals(unstored.canonical())) {
+          stored = unstored;
         }
       }
+    }
+    return stored == null ? null : stored.view(zone);
+  }
+
+  /**
+   * Converts an event with local date-times in the model's zone to canonical form.
+   *
+   * @param event the event in local time
+   * @return the event with UTC date-times
+   */
+  private EventInterface toCanonical(EventInterface event) {
+    return toCanonical(event, zone);
+  }
 
-      if (series.usesEndDate() && currentDate.isAfter(series.getEndDate())) {
-        break;
+  /**
+   * Checks that an event's date-times exist in the model's zone. A local time the
+   * clocks skip would otherwise be moved forward by the length of the gap when the
+   * event is converted to UTC, without the user being told.
+   *
+   * @param event the event in local time
+   * @throws IllegalArgumentException if its start or end falls in a gap
+   */
+  private void requireExistingTimes(EventInterface event) {
+    for (LocalDateTime local : List.of(event.getStartDateTime(), event.getEndDateTime())) {
+      if (zone.getRules().getValidOffsets(local).isEmpty()) {
+        throw new IllegalArgumentException(local + " does not exist in " + zone
+            + ": the clocks go forward past it");
       }
+    }
+  }
+
+  /**
+   * Converts an event with local date-times in a zone to canonical form. A time in
+   * a daylight-saving gap is moved forward by the length of the gap.
+   *
+   * @param event  the event in local time
+   * @param inZone the zone of its date-times
+   * @return the event with UTC date-times
+   */
+  private static EventInterface toCanonical(EventInterface event, ZoneId inZone) {
+    if (ZoneOffset.UTC.equals(inZone)) {
+      return event;
+    }
+    return event.withModifications(null,
+        StoredEvent.toUtc(event.getStartDateTime(), inZone),
+        StoredEvent.toUtc(event.getEndDateTime(), inZone),
+        null, null, null, null);
+  }
 
-      currentDate = currentDate.plusDays(1);
+  /**
+   * Converts a local date-time in the model's zone to an instant.
+   *
+   * @param local the local date-time
+   * @return the instant in epoch seconds
+   */
+  private long epochSecond(LocalDateTime local) {
+    return local.atZone(zone).toEpochSecond();
+  }
 
-      if (currentDate.isAfter(templateDate.plusYears(SERIES_MAX_YEARS))) {
-        break;
-      }
+  /**
+   * Gets the views of stored events in the model's zone.
+   *
+   * @param stored the stored events
+   * @return their views, in the same order
+   */
+  private List<EventInterface> views(List<StoredEvent> stored) {
+    List<EventInterface> result = new ArrayList<>(stored.size());
+    for (StoredEvent e : stored) {
+      result.add(e.view(zone));
+    }
+    return result;
+  }
+
+  /**
+   * Generates the occurrences of a series on the dates after one date, through
+   * another, each following the template in effect on its date; those from where
+   * occurrences were split off the series have no series ID. Matching dates are
+   * found by jumping along the series' weekday mask rather than testing every day,
+   * into a list sized in closed form beforehand.
+   *
+   * @param series  the series rule
+   * @param after   the last date already generated, or null to start at the first
+   * @param through the last date to generate
+   * @return the occurrences, in chronological order
+   */
+  private static List<EventInterface> generateOccurrences(EventSeries series, LocalDate after,
+                                                          LocalDate through) {
+    LocalDate first = series.getTemplate().getStartDateTime().toLocalDate();
+    LocalDate from = after == null || after.isBefore(first) ? first : after.plusDays(1);
+    LocalDate lastDate = series.getLastOccurrenceDate();
+    if (lastDate == null) {
+      return new ArrayList<>(0);
+    }
+    if (through.isBefore(lastDate)) {
+      lastDate = through;
+    }
+    List<EventInterface> occurrences = new ArrayList<>(
+        (int) Weekday.countBetween(series.getWeekdayMask(), from, lastDate));
+    LocalDate detached = series.getDetachedFrom();
+
+    for (LocalDate date = series.nextWeekdayOnOrAfter(from);
+         date != null && !date.isAfter(lastDate);
+         date = series.nextWeekdayOnOrAfter(date.plusDays(1))) {
+      EventInterface template = series.getTemplateOn(date);
+      LocalDateTime startTime = template.getStartDateTime();
+      LocalDateTime eventStart = LocalDateTime.of(date,
+          LocalTime.of(startTime.getHour(), startTime.getMinute()));
+      long durationMinutes =
+          Duration.between(startTime, template.getEndDateTime()).toMinutes();
+      occurrences.add(new Event(
+          template.getSubject(),
+          eventStart,
+          eventStart.plusMinutes(durationMinutes),
+          template.getDescription().orElse(null),
+          template.getLocation().orElse(null),
+          template.isPrivate(),
+          occurrenceId(series.getSeriesId(), date),
+          detached != null && !date.isBefore(detached) ? null : series.getSeriesId()));
     }
 
     return occurrences;
   }
 
+  /**
+   * Derives the ID of a series occurrence from its series and date, so that an
+   * occurrence generated again gets the same ID, and the series and date can be
+   * read back from it: the series ID with the day number, shifted left and with the
+   * lowest bit set, folded into its low bits.
+   *
+   * @param seriesId the series ID
+   * @param date     the occurrence date
+   * @return the occurrence ID
+   */
+  private static UUID occurrenceId(UUID seriesId, LocalDate date) {
+    long day = date.toEpochDay() - FIRST_EPOCH_DAY;
+    return new UUID(seriesId.getMostSignificantBits(),
+        seriesId.getLeastSignificantBits() ^ (day << 1 | 1));
+  }
+
+  /**
+   * Reads the date back from the ID of a series occurrence.
+   *
+   * @param seriesId the series ID
+   * @param eventId  the event ID
+   * @return the occurrence date, or null if the event is no occurrence of the series
+   */
+  private static LocalDate occurrenceDate(UUID seriesId, UUID eventId) {
+    if (seriesId.getMostSignificantBits() != eventId.getMostSignificantBits()) {
+      return null;
+    }
+    long bits = seriesId.getLeastSignificantBits() ^ eventId.getLeastSignificantBits();
+    if ((bits & 1) == 0 || bits >>> (DAY_BITS + 1) != 0) {
+      return null;
+    }
+    return LocalDate.ofEpochDay((bits >>> 1) + FIRST_EPOCH_DAY);
+  }
+
   /**
    * Applies an edit specification to an event.
    *
@@ -437,4 +1900,52 @@ public class CalendarModel implements CalendarModelInterface {
         newSubject, newStart, newEnd, newDescription, newLocation, newIsPrivate,
         event.getSeriesId().orElse(null));
   }
+
+  /**
+   * One recorded change: how to revert it and how to make it again.
+   */
+  private static final class Change {
+    private final Runnable undo;
+    private final Runnable redo;
+    private final boolean expansion;
+
+    private Change(Runnable undo, Runnable redo, boolean expansion) {
+      this.undo = undo;
+      this.redo = redo;
+      this.expansion = expansion;
+    }
+  }
+
+  /**
+   * The occurrences of a series rule past its stored ones, and the rule and
+   * expansion they were generated from.
+   */
+  private static final class Generated {
+    private final EventSeries rule;
+    private final Expansion expansion;
+    private final List<StoredEvent> occurrences;
+    private final long longest;
+
+    private Generated(EventSeries rule, Expansion expansion, List<StoredEvent> occurrences,
+                      long longest) {
+      this.rule = rule;
+      this.expansion = expansion;
+      this.occurrences = occurrences;
+      this.longest = longest;
+    }
+  }
+
+  /**
+   * How far the occurrences of a series are stored, and the zone its rule's local
+   * times are in: the zone of the model when the series was created.
+   */
+  private static final class Expansion {
+    private final ZoneId zone;
+    private final LocalDate through;
+
+    private Expansion(ZoneId zone, LocalDate through) {
+      this.zone = zone;
+      this.through = through;
+    }
+  }
 }
\ No newline at end of file
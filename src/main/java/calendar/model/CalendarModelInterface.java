@@ -1,9 +1,13 @@
 package calendar.model;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Flow;
 
 /**
  * Represents the core logic of the calendar application.
@@ -23,12 +27,158 @@ import java.util.UUID;
  */
 public interface CalendarModelInterface {
 
+  /**
+   * Gets the timezone in which this model reads and writes local date-times.
+   *
+   * @return the zone of all local date-times passed to and returned by this model
+   */
+  ZoneId getZone();
+
+  /**
+   * Changes the timezone in which this model reads and writes local date-times.
+   * Events keep the instants at which they occur; only their local date-times,
+   * as seen through this model, change.
+   *
+   * @param zone the new zone
+   */
+  void setZone(ZoneId zone);
+
+  /**
+   * Checks whether the model rejects events that overlap existing ones.
+   *
+   * @return true if overlapping events are rejected on creation
+   */
+  boolean isRejectingOverlaps();
+
+  /**
+   * Sets whether the model rejects events that overlap existing ones. When on,
+   * {@link #createEvent}, {@link #createEventSeries} and {@link #createEvents} also
+   * refuse events that share any part of their time span with a stored event (or, for
+   * a series, with another of its occurrences). Events that only touch do not
+   * overlap. Edits are not checked, and events already stored are left as they are.
+   *
+   * @param reject true to reject overlapping events
+   */
+  void setRejectOverlaps(boolean reject);
+
+  /**
+   * Gets how far ahead of the current date the occurrences of series are stored.
+   * Occurrences further ahead are stored when a query or change first reaches
+   * them, so results are the same as if every occurrence were stored.
+   *
+   * @return the series horizon
+   */
+  Period getSeriesHorizon();
+
+  /**
+   * Sets how far ahead of the current date the occurrences of series are stored,
+   * and stores them that far. Occurrences already stored stay stored.
+   *
+   * @param horizon the new horizon
+   * @throws IllegalArgumentException if the horizon is zero or negative
+   */
+  void setSeriesHorizon(Period horizon);
+
+  /**
+   * Checks whether every series occurrence that starts at or before a date-time
+   * is stored.
+   *
+   * @param dateTime the date-time, or {@link LocalDateTime#MAX} for every occurrence
+   * @return true if nothing needs storing for queries up to that date-time
+   */
+  boolean isMaterializedThrough(LocalDateTime dateTime);
+
+  /**
+   * Stores every series occurrence that starts at or before a date-time. Queries
+   * do this themselves; it is for work that must not change the model while it
+   * reads, and for rolling the stored occurrences forward as time passes.
+   * Storing occurrences is not an undoable step.
+   *
+   * @param dateTime the date-time, or {@link LocalDateTime#MAX} for every occurrence
+   */
+  void materializeThrough(LocalDateTime dateTime);
+
+  /**
+   * Opens a transaction. Changes to events and series, and changes recorded with
+   * {@link #recordUndoable} (such as a calendar rename), made until the transaction
+   * ends can be undone together by {@link #rollbackTransaction()}. Other calendar
+   * properties (zone, overlap policy, series horizon) are not part of a transaction.
+   *
+   * @throws IllegalStateException if a transaction is already open
+   */
+  void beginTransaction();
+
+  /**
+   * Ends the open transaction, keeping its changes.
+   *
+   * @throws IllegalStateException if no transaction is open
+   */
+  void commitTransaction();
+
+  /**
+   * Ends the open transaction, undoing its changes.
+   *
+   * @throws IllegalStateException if no transaction is open
+   */
+  void rollbackTransaction();
+
+  /**
+   * Checks whether a transaction is open.
+   *
+   * @return true if a transaction is open
+   */
+  boolean isInTransaction();
+
+  /**
+   * Undoes the most recent change to events and series. Each create, edit or bulk
+   * insert is one change, and so is a committed transaction. The history is
+   * bounded; the oldest changes are forgotten first.
+   *
+   * @return true if a change was undone, false if there is nothing to undo
+   * @throws IllegalStateException if a transaction is open
+   */
+  boolean undo();
+
+  /**
+   * Redoes the most recently undone change. Any new change clears the redo history.
+   *
+   * @return true if a change was redone, false if there is nothing to redo
+   * @throws IllegalStateException if a transaction is open
+   */
+  boolean redo();
+
+  /**
+   * Records a change made outside the model, such as renaming its calendar, so
+   * that {@link #undo()} and {@link #redo()} interleave it with event changes.
+   * The change must already have been made. While a transaction is open, the change
+   * becomes part of it, so a rollback reverts it and a commit makes it part of the
+   * transaction's single undo step.
+   *
+   * @param undo reverts the change
+   * @param redo makes the change again
+   */
+  void recordUndoable(Runnable undo, Runnable redo);
+
+  /**
+   * Gets the publisher of this model's event changes. Each create or edit is
+   * published once it is made, or once its transaction commits; undo, redo and
+   * rollback are published as {@link CalendarChange.Kind#RESTORED}. Subscribers are
+   * called on the common fork-join pool. Publishing never blocks the model, so a
+   * subscriber that falls a full buffer behind misses changes; it can tell from
+   * the checkpoints and catch up with {@link #getChangesSince(long)}.
+   *
+   * @return the change publisher
+   */
+  Flow.Publisher<CalendarChange> getChangePublisher();
+
   /**
    * Creates a single event in the calendar.
    *
    * @param event the event to create
    * @return true if created successfully, false if duplicate exists
-   * @throws IllegalArgumentException if event is invalid
+   * @throws IllegalArgumentException if event is invalid, or starts or ends at a
+   *                                  local time that the model's zone skips when
+   *                                  its clocks go forward
    *
    *                                  DESIGN CHECK: Single Event Creation
    *                                  This method demonstrates the core single
@@ -41,7 +191,9 @@ public interface CalendarModelInterface {
   boolean createEvent(EventInterface event);
 
   /**
-   * Creates an event series.
+   * Creates an event series. An occurrence whose time does not exist on its date,
+   * because the clocks go forward through it, is moved forward by the length of the
+   * gap, as RFC 5545 prescribes: 02:30 on a spring-forward day becomes 03:30.
    *
    * @param series the series configuration
    * @return true if created successfully, false if any duplicate exists
@@ -59,12 +211,27 @@ public interface CalendarModelInterface {
    */
   boolean createEventSeries(EventSeries series);
 
+  /**
+   * Creates many event series in one call. The occurrences of the series are
+   * generated in parallel, then added in batch order as one change. Each series is
+   * added whole, as by {@link #createEventSeries}, unless one of its occurrences
+   * conflicts with a stored event or with an occurrence of a series added earlier
+   * in the batch; a conflicting series is skipped and reported rather than failing
+   * the batch.
+   *
+   * @param batch the series configurations
+   * @return the occurrences added, and the occurrences of the skipped series
+   */
+  BulkInsertResult createEventSeriesBatch(List<EventSeries> batch);
+
   /**
    * Edits a single event instance.
    *
    * @param eventId the ID of the event to edit
    * @param spec    the edit specification
    * @return true if successful, false if edit would create duplicate
+   * @throws IllegalArgumentException if the edited event would start or end at a
+   *                                  local time that the model's zone skips
    *
    *         DESIGN CHECK: Single Event Editing
    *         This method demonstrates the core logic to modify the property of a
@@ -126,6 +293,39 @@ public interface CalendarModelInterface {
    */
   List<EventInterface> getEventsInRange(LocalDateTime startDateTime, LocalDateTime endDateTime);
 
+  /**
+   * Gets the events that start within a window, using the start-time index rather
+   * than a scan of the calendar.
+   *
+   * @param from the first start to include
+   * @param to   the first start to exclude
+   * @return the events, in chronological order
+   */
+  List<EventInterface> getEventsStartingIn(LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Gets the configuration of a series.
+   *
+   * @param seriesId the series ID
+   * @return the series configuration, or null if the model has none for this ID
+   */
+  EventSeries getSeries(UUID seriesId);
+
+  /**
+   * Adds many events in one call. Each event is added unless it conflicts with an
+   * event already stored or earlier in the batch (same subject, start and end, or
+   * same ID); conflicts are skipped and reported rather than failing the batch.
+   *
+   * <p>Each series configuration is registered when at least one event of its
+   * series was added, so the added occurrences can be edited as a series.
+   * Times the zone skips are moved forward as for {@link #createEventSeries}.
+   *
+   * @param events the events to add, with local date-times in the model's zone
+   * @param series the configurations of the series the events belong to
+   * @return which events were added and which conflicted
+   */
+  BulkInsertResult createEvents(List<EventInterface> events, List<EventSeries> series);
+
   /**
    * Gets all events in the calendar.
    *
@@ -133,6 +333,82 @@ public interface CalendarModelInterface {
    */
   List<EventInterface> getAllEvents();
 
+  /**
+   * Gets the current checkpoint: the model's modification sequence number, which
+   * grows by at least one with every change to an event (including undo, redo and
+   * rollback). Checkpoints are only meaningful for this model instance.
+   *
+   * @return the current checkpoint, 0 for a model never changed
+   */
+  long getCheckpoint();
+
+  /**
+   * Gets the events added, changed and removed after a checkpoint, in the order of
+   * their latest change. An event both added and removed after the checkpoint is
+   * left out. Series occurrences count as events from when their series is created,
+   * whether stored yet or not, so a series edit lists every occurrence it changed.
+   * Only the most recent removals are remembered, so a checkpoint that has fallen
+   * too far behind is no longer honoured; its holder must start again from a full
+   * export.
+   *
+   * @param checkpoint a checkpoint from {@link #getCheckpoint()} or an earlier delta
+   * @return the changes, with the checkpoint to use next time
+   * @throws IllegalArgumentException if the checkpoint is negative, in the future,
+   *                                  or older than the oldest one still honoured
+   */
+  EventDelta getChangesSince(long checkpoint);
+
+  /**
+   * Gets the times within a window when the calendar has at least one event.
+   *
+   * @param from the start of the window
+   * @param to   the end of the window
+   * @return the busy intervals clipped to the window, sorted and merged so that
+   *         none overlap or touch, as start/end pairs of epoch seconds
+   *         ({@code [start0, end0, start1, end1, ...]}, ends exclusive)
+   */
+  long[] getBusyIntervals(Instant from, Instant to);
+
+  /**
+   * Finds every group of overlapping events in the calendar.
+   *
+   * @return the clusters of events whose time spans overlap (directly or through
+   *         other events of the cluster), each with at least two events in
+   *         chronological order; clusters are in chronological order
+   */
+  List<List<EventInterface>> findConflicts();
+
+  /**
+   * Finds the groups of overlapping events among the events that overlap a window.
+   *
+   * @param from the start of the window
+   * @param to   the end of the window
+   * @return the clusters of overlapping events, as for {@link #findConflicts()}
+   */
+  List<List<EventInterface>> findConflicts(LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Finds events by the words of their subject, description and location, using an
+   * index kept up to date on every change. Matching ignores case; a query word
+   * ending in '*' matches any word that starts with it, other words must match a
+   * whole word, and an event must match every query word.
+   *
+   * @param query the query words, separated by whitespace
+   * @return the matching events, in chronological order
+   */
+  List<EventInterface> search(String query);
+
+  /**
+   * Finds events by words, as {@link #search(String)}, among the events that overlap
+   * a window.
+   *
+   * @param query the query words, separated by whitespace
+   * @param from  the start of the window
+   * @param to    the end of the window
+   * @return the matching events, in chronological order
+   */
+  List<EventInterface> search(String query, LocalDateTime from, LocalDateTime to);
+
   /**
    * Checks if user is busy at a specific time.
    *
@@ -0,0 +1,421 @@
+package calendar.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Makes a calendar model safe to share between threads by guarding it with its own
+ * read-write lock. Every calendar created by {@link CalendarManager} is wrapped in
+ * one, so the calendars form independent lock stripes.
+ *
+ * <p>DESIGN RATIONALE:
+ * - One lock per calendar: operations on different calendars never contend, and
+ *   queries on the same calendar run side by side
+ * - Decorator, so {@link CalendarModel} stays single-threaded and simple
+ * - The lock is reentrant, so an operation that holds it (e.g. a copy holding the
+ *   locks of both calendars) can still call the model
+ * - Each lock has a creation sequence number; code that needs several locks takes
+ *   them in ascending order, which rules out deadlock
+ * - Queries that reach series occurrences not stored yet first store them under the
+ *   write lock, then query under the read lock, so the delegate never changes while
+ *   only read-locked. A thread that already holds the read lock (e.g. inside
+ *   {@link CalendarManager#withCalendars}) cannot take the write lock, so its query
+ *   has the delegate generate those occurrences without storing them instead.
+ *   Queries without a window never store, so they only need the read lock
+ * - A transaction keeps the write lock from begin to commit or rollback, so other
+ *   threads see all of its changes or none. It must end on the thread that began it,
+ *   and the lock is released as soon as the delegate's transaction has ended, even
+ *   if ending it failed part way
+ * - A thread with a transaction open may not wait for another calendar's lock: the
+ *   transaction's lock was not taken in the global order, so two transactions each
+ *   waiting for the other's calendar would deadlock. The attempt fails at once
+ *   instead
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - delegate is never null and is only accessed while holding lock, except for
+ *   its change publisher, which is thread-safe
+ * - order is unique among all instances
+ */
+final class ConcurrentCalendarModel implements CalendarModelInterface {
+  private static final AtomicLong SEQUENCE = new AtomicLong();
+
+  /**
+   * How many transactions each thread has open, on any calendar.
+   */
+  private static final ThreadLocal<Integer> TRANSACTIONS = ThreadLocal.withInitial(() -> 0);
+
+  private final CalendarModel delegate;
+  private final ReentrantReadWriteLock lock;
+  private final long order;
+
+  /**
+   * Wraps a model.
+   *
+   * @param delegate the model to guard
+   */
+  ConcurrentCalendarModel(CalendarModel delegate) {
+    this.delegate = delegate;
+    this.lock = new ReentrantReadWriteLock();
+    this.order = SEQUENCE.incrementAndGet();
+  }
+
+  /**
+   * Gets the lock guarding the model.
+   *
+   * @return the read-write lock
+   */
+  ReentrantReadWriteLock lock() {
+    return lock;
+  }
+
+  /**
+   * Gets the position of this model's lock in the global acquisition order.
+   *
+   * @return the lock order, unique per instance
+   */
+  long order() {
+    return order;
+  }
+
+  /**
+   * Checks that this thread may wait for the lock: it must not hold a transaction
+   * open on another calendar.
+   *
+   * @throws IllegalArgumentException if it does
+   */
+  void requireNoOtherTransaction() {
+    if (TRANSACTIONS.get() > 0 && !lock.isWriteLockedByCurrentThread()) {
+      throw new IllegalArgumentException(
+          "Other calendars cannot be used while a transaction is open");
+    }
+  }
+
+  private void lockRead() {
+    requireNoOtherTransaction();
+    lock.readLock().lock();
+  }
+
+  private void lockWrite() {
+    requireNoOtherTransaction();
+    lock.writeLock().lock();
+  }
+
+  private <T> T read(Supplier<T> action) {
+    lockRead();
+    try {
+      return action.get();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private <T> T write(Supplier<T> action) {
+    lockWrite();
+    try {
+      return action.get();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Runs a query under the read lock once every series occurrence it reaches is
+   * stored, storing them under the write lock first if needed. If this thread holds
+   * the read lock outside the query, the query generates them without storing.
+   *
+   * @param until  the latest date-time the query reaches, computed under the lock
+   * @param action the query
+   * @param <T>    the result type
+   * @return the query result
+   */
+  private <T> T readThrough(Supplier<LocalDateTime> until, Supplier<T> action) {
+    while (true) {
+      LocalDateTime through;
+      lockRead();
+      try {
+        through = until.get();
+        if (lock.isWriteLockedByCurrentThread() || delegate.isMaterializedThrough(through)) {
+          return action.get();
+        }
+        if (isReadLockedOutside()) {
+          return delegate.withoutStoring(action);
+        }
+      } finally {
+        lock.readLock().unlock();
+      }
+      materializeThrough(through);
+    }
+  }
+
+  /**
+   * Checks whether this thread holds the read lock outside the current query, and so
+   * cannot take the write lock to store occurrences.
+   *
+   * @return true if it does
+   */
+  private boolean isReadLockedOutside() {
+    return lock.getReadHoldCount() > 1;
+  }
+
+  @Override
+  public ZoneId getZone() {
+    return read(delegate::getZone);
+  }
+
+  @Override
+  public void setZone(ZoneId zone) {
+    write(() -> {
+      delegate.setZone(zone);
+      return null;
+    });
+  }
+
+  @Override
+  public boolean isRejectingOverlaps() {
+    return read(delegate::isRejectingOverlaps);
+  }
+
+  @Override
+  public void setRejectOverlaps(boolean reject) {
+    write(() -> {
+      delegate.setRejectOverlaps(reject);
+      return null;
+    });
+  }
+
+  @Override
+  public Period getSeriesHorizon() {
+    return read(delegate::getSeriesHorizon);
+  }
+
+  @Override
+  public void setSeriesHorizon(Period horizon) {
+    write(() -> {
+      delegate.setSeriesHorizon(horizon);
+      return null;
+    });
+  }
+
+  @Override
+  public boolean isMaterializedThrough(LocalDateTime dateTime) {
+    return read(() -> delegate.isMaterializedThrough(dateTime));
+  }
+
+  @Override
+  public void materializeThrough(LocalDateTime dateTime) {
+    write(() -> {
+      delegate.materializeThrough(dateTime);
+      return null;
+    });
+  }
+
+  @Override
+  public void beginTransaction() {
+    lockWrite();
+    try {
+      delegate.beginTransaction();
+    } catch (RuntimeException e) {
+      lock.writeLock().unlock();
+      throw e;
+    }
+    TRANSACTIONS.set(TRANSACTIONS.get() + 1);
+  }
+
+  @Override
+  public void commitTransaction() {
+    endTransaction(delegate::commitTransaction);
+  }
+
+  @Override
+  public void rollbackTransaction() {
+    endTransaction(delegate::rollbackTransaction);
+  }
+
+  /**
+   * Ends the transaction and releases the write lock taken when it began.
+   *
+   * @param end commits or rolls back the delegate's transaction
+   * @throws IllegalStateException if this thread did not begin the open transaction
+   */
+  private void endTransaction(Runnable end) {
+    if (!lock.isWriteLockedByCurrentThread() || !delegate.isInTransaction()) {
+      throw new IllegalStateException("No transaction is open on this thread");
+    }
+    try {
+      end.run();
+    } finally {
+      if (!delegate.isInTransaction()) {
+        TRANSACTIONS.set(TRANSACTIONS.get() - 1);
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  @Override
+  public boolean isInTransaction() {
+    return read(delegate::isInTransaction);
+  }
+
+  @Override
+  public boolean undo() {
+    return write(delegate::undo);
+  }
+
+  @Override
+  public boolean redo() {
+    return write(delegate::redo);
+  }
+
+  @Override
+  public void recordUndoable(Runnable undo, Runnable redo) {
+    write(() -> {
+      delegate.recordUndoable(undo, redo);
+      return null;
+    });
+  }
+
+  @Override
+  public Flow.Publisher<CalendarChange> getChangePublisher() {
+    return delegate.getChangePublisher();
+  }
+
+  @Override
+  public boolean createEvent(EventInterface event) {
+    return write(() -> delegate.createEvent(event));
+  }
+
+  @Override
+  public boolean createEventSeries(EventSeries series) {
+    return write(() -> delegate.createEventSeries(series));
+  }
+
+  @Override
+  public BulkInsertResult createEventSeriesBatch(List<EventSeries> batch) {
+    return write(() -> delegate.createEventSeriesBatch(batch));
+  }
+
+  @Override
+  public boolean editEvent(UUID eventId, EditSpec spec) {
+    return write(() -> delegate.editEvent(eventId, spec));
+  }
+
+  @Override
+  public boolean editSeriesFrom(UUID seriesId, LocalDate fromDate, EditSpec spec) {
+    return write(() -> delegate.editSeriesFrom(seriesId, fromDate, spec));
+  }
+
+  @Override
+  public boolean editEntireSeries(UUID seriesId, EditSpec spec) {
+    return write(() -> delegate.editEntireSeries(seriesId, spec));
+  }
+
+  @Override
+  public List<EventInterface> getEventsOnDate(LocalDate date) {
+    return readThrough(() -> date.plusDays(1).atStartOfDay(),
+        () -> delegate.getEventsOnDate(date));
+  }
+
+  @Override
+  public List<EventInterface> getEventsInRange(LocalDateTime startDateTime,
+      LocalDateTime endDateTime) {
+    return readThrough(() -> endDateTime,
+        () -> delegate.getEventsInRange(startDateTime, endDateTime));
+  }
+
+  @Override
+  public List<EventInterface> getEventsStartingIn(LocalDateTime from, LocalDateTime to) {
+    return readThrough(() -> to, () -> delegate.getEventsStartingIn(from, to));
+  }
+
+  @Override
+  public EventSeries getSeries(UUID seriesId) {
+    return read(() -> delegate.getSeries(seriesId));
+  }
+
+  @Override
+  public BulkInsertResult createEvents(List<EventInterface> events, List<EventSeries> series) {
+    return write(() -> delegate.createEvents(events, series));
+  }
+
+  @Override
+  public List<EventInterface> getAllEvents() {
+    return read(delegate::getAllEvents);
+  }
+
+  @Override
+  public long getCheckpoint() {
+    return read(delegate::getCheckpoint);
+  }
+
+  @Override
+  public EventDelta getChangesSince(long checkpoint) {
+    return read(() -> delegate.getChangesSince(checkpoint));
+  }
+
+  @Override
+  public long[] getBusyIntervals(Instant from, Instant to) {
+    // A day past the end in local time covers any offset change around it.
+    return readThrough(() -> LocalDateTime.ofInstant(to, delegate.getZone()).plusDays(1),
+        () -> delegate.getBusyIntervals(from, to));
+  }
+
+  @Override
+  public List<List<EventInterface>> findConflicts() {
+    return read(() -> delegate.findConflicts());
+  }
+
+  @Override
+  public List<List<EventInterface>> findConflicts(LocalDateTime from, LocalDateTime to) {
+    return readThrough(() -> to, () -> delegate.findConflicts(from, to));
+  }
+
+  @Override
+  public List<EventInterface> search(String query) {
+    return read(() -> delegate.search(query));
+  }
+
+  @Override
+  public List<EventInterface> search(String query, LocalDateTime from, LocalDateTime to) {
+    return readThrough(() -> to, () -> delegate.search(query, from, to));
+  }
+
+  @Override
+  public boolean isBusy(LocalDateTime dateTime) {
+    // Locked by hand: a capturing lambda would allocate on this hot path.
+    while (true) {
+      lockRead();
+      try {
+        if (lock.isWriteLockedByCurrentThread() || delegate.isMaterializedThrough(dateTime)) {
+          return delegate.isBusy(dateTime);
+        }
+        if (isReadLockedOutside()) {
+          return delegate.withoutStoring(() -> delegate.isBusy(dateTime));
+        }
+      } finally {
+        lock.readLock().unlock();
+      }
+      materializeThrough(dateTime);
+    }
+  }
+
+  @Override
+  public EventInterface findEventById(UUID eventId) {
+    return read(() -> delegate.findEventById(eventId));
+  }
+
+  @Override
+  public EventInterface findEventByProperties(String subject, LocalDateTime startDateTime,
+      LocalDateTime endDateTime) {
+    return readThrough(() -> startDateTime,
+        () -> delegate.findEventByProperties(subject, startDateTime, endDateTime));
+  }
+}
@@ -0,0 +1,154 @@
+package calendar.model;
+
+import calendar.util.ZoneConverter;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Copies the events of one calendar that start within a window into another
+ * calendar, shifted by a number of days.
+ *
+ * <p>DESIGN RATIONALE:
+ * - The window is read with
+ *   {@link CalendarModelInterface#getEventsStartingIn(LocalDateTime, LocalDateTime)},
+ *   which uses the start-time index instead of sorting and filtering every event
+ * - Times keep their absolute moment: they are converted from the source timezone to
+ *   the target timezone with one cached converter, then shifted by the day offset
+ * - The copies go to the target in a single
+ *   {@link CalendarModelInterface#createEvents(List, List)} call, which reports
+ *   conflicts instead of stopping at the first one
+ * - Occurrences of a source series get a new shared series ID, and when the source
+ *   has a configuration for the series a matching one is registered in the target,
+ *   so the copies can still be edited as a series. The configuration is rebuilt
+ *   from the copies, and only registered if it generates exactly those copies: a
+ *   range that skips occurrences (e.g. ones split off or edited on their own) or a
+ *   zone change that moves their times leaves the copies without one
+ */
+public final class CopyEngine {
+
+  /**
+   * Private constructor to prevent instantiation of utility class.
+   */
+  private CopyEngine() {
+    throw new UnsupportedOperationException("Utility class cannot be instantiated");
+  }
+
+  /**
+   * Copies every event of source that starts in [from, to) to target.
+   *
+   * @param source     the calendar to copy from
+   * @param from       the first start to include, in the source timezone
+   * @param to         the first start to exclude, in the source timezone
+   * @param target     the calendar to copy to
+   * @param dayOffset  the number of days to shift each copy by, after converting it
+   *                   to the target timezone
+   * @param keepSeries whether copies stay grouped in series; if false every copy is a
+   *                   standalone event
+   * @return the copies that were added and those that conflicted
+   */
+  public static BulkInsertResult copy(CalendarInterface source, LocalDateTime from,
+                                      LocalDateTime to, CalendarInterface target,
+                                      long dayOffset, boolean keepSeries) {
+    Objects.requireNonNull(source, "Source calendar cannot be null");
+    Objects.requireNonNull(target, "Target calendar cannot be null");
+
+    List<EventInterface> window = source.getModel().getEventsStartingIn(from, to);
+    ZoneConverter converter = ZoneConverter.of(source.getTimezone(), target.getTimezone());
+
+    List<EventInterface> copies = new ArrayList<>(window.size());
+    Map<UUID, UUID> seriesIds = new LinkedHashMap<>();
+    Map<UUID, List<EventInterface>> seriesCopies = new LinkedHashMap<>();
+    for (EventInterface event : window) {
+      UUID sourceSeries = keepSeries ? event.getSeriesId().orElse(null) : null;
+      UUID targetSeries = sourceSeries == null
+          ? null
+          : seriesIds.computeIfAbsent(sourceSeries, k -> UUID.randomUUID());
+
+      EventInterface copy = new Event(
+          event.getSubject(),
+          converter.convert(event.getStartDateTime()).plusDays(dayOffset),
+          converter.convert(event.getEndDateTime()).plusDays(dayOffset),
+          event.getDescription().orElse(null),
+          event.getLocation().orElse(null),
+          event.isPrivate(),
+          UUID.randomUUID(),
+          targetSeries);
+      copies.add(copy);
+      if (sourceSeries != null) {
+        seriesCopies.computeIfAbsent(sourceSeries, k -> new ArrayList<>()).add(copy);
+      }
+    }
+
+    List<EventSeries> configs = new ArrayList<>();
+    for (Map.Entry<UUID, List<EventInterface>> entry : seriesCopies.entrySet()) {
+      if (source.getModel().getSeries(entry.getKey()) != null) {
+        EventSeries config = seriesConfig(seriesIds.get(entry.getKey()), entry.getValue());
+        if (config != null) {
+          configs.add(config);
+        }
+      }
+    }
+
+    return target.getModel().createEvents(copies, configs);
+  }
+
+  /**
+   * Builds the configuration of a copied series from its copied occurrences.
+   *
+   * @param seriesId    the series ID of the copies
+   * @param occurrences the copies, in chronological order
+   * @return a configuration describing exactly those occurrences, or null if no
+   *         configuration does
+   */
+  private static EventSeries seriesConfig(UUID seriesId, List<EventInterface> occurrences) {
+    Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+    EventInterface first = occurrences.get(0);
+    for (EventInterface occurrence : occurrences) {
+      if (!sameShape(first, occurrence)) {
+        return null;
+      }
+      weekdays.add(occurrence.getStartDateTime().getDayOfWeek());
+    }
+
+    EventSeries config = new EventSeries(seriesId, first, weekdays, null,
+        occurrences.size(), false);
+    LocalDate expected = first.getStartDateTime().toLocalDate();
+    for (EventInterface occurrence : occurrences) {
+      if (!occurrence.getStartDateTime().toLocalDate().equals(expected)) {
+        return null;
+      }
+      expected = config.nextWeekdayOnOrAfter(expected.plusDays(1));
+    }
+    return config;
+  }
+
+  /**
+   * Checks whether an occurrence is the one a series with the given first occurrence
+   * would generate on its date.
+   *
+   * @param first      the first occurrence
+   * @param occurrence the occurrence
+   * @return true if all properties other than the date match
+   */
+  private static boolean sameShape(EventInterface first, EventInterface occurrence) {
+    LocalDateTime start = occurrence.getStartDateTime();
+    return first.getSubject().equals(occurrence.getSubject())
+        && first.getStartDateTime().toLocalTime().equals(start.toLocalTime())
+        && Duration.between(first.getStartDateTime(), first.getEndDateTime())
+            .equals(Duration.between(start, occurrence.getEndDateTime()))
+        && start.toLocalDate().equals(occurrence.getEndDateTime().toLocalDate())
+        && first.getDescription().equals(occurrence.getDescription())
+        && first.getLocation().equals(occurrence.getLocation())
+        && first.isPrivate() == occurrence.isPrivate();
+  }
+}
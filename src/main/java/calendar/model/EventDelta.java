@@ -0,0 +1,101 @@
+package calendar.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The changes to a calendar's events between two checkpoints, as returned by
+ * {@link CalendarModelInterface#getChangesSince(long)}.
+ *
+ * <p>DESIGN RATIONALE:
+ * - A checkpoint is a number from the model's modification sequence, so a sync job
+ *   only has to remember the checkpoint of its last export
+ * - Changed events are reported in full, so consumers can apply added and changed
+ *   events alike as upserts keyed by event ID
+ * - Removed events are reported with their last version, so formats that need the
+ *   times or subject of a cancelled event can still write it
+ * - Immutable so it can be handed to exporters without copying
+ */
+public final class EventDelta {
+  private final long since;
+  private final long checkpoint;
+  private final List<EventInterface> added;
+  private final List<EventInterface> changed;
+  private final List<EventInterface> removed;
+
+  /**
+   * Creates a delta.
+   *
+   * @param since      the checkpoint the changes are relative to
+   * @param checkpoint the checkpoint that covers these changes
+   * @param added      the events added since, and still present
+   * @param changed    the events present at since that have changed
+   * @param removed    the events present at since that have been removed
+   */
+  public EventDelta(long since, long checkpoint, List<EventInterface> added,
+      List<EventInterface> changed, List<EventInterface> removed) {
+    this.since = since;
+    this.checkpoint = checkpoint;
+    this.added = Collections.unmodifiableList(
+        Objects.requireNonNull(added, "Added events cannot be null"));
+    this.changed = Collections.unmodifiableList(
+        Objects.requireNonNull(changed, "Changed events cannot be null"));
+    this.removed = Collections.unmodifiableList(
+        Objects.requireNonNull(removed, "Removed events cannot be null"));
+  }
+
+  /**
+   * Gets the checkpoint the changes are relative to.
+   *
+   * @return the earlier checkpoint
+   */
+  public long getSince() {
+    return since;
+  }
+
+  /**
+   * Gets the checkpoint to pass to the next incremental export.
+   *
+   * @return the checkpoint covering these changes
+   */
+  public long getCheckpoint() {
+    return checkpoint;
+  }
+
+  /**
+   * Gets the events added since the earlier checkpoint.
+   *
+   * @return the added events, in their current version
+   */
+  public List<EventInterface> getAdded() {
+    return added;
+  }
+
+  /**
+   * Gets the events that existed at the earlier checkpoint and have changed.
+   *
+   * @return the changed events, in their current version
+   */
+  public List<EventInterface> getChanged() {
+    return changed;
+  }
+
+  /**
+   * Gets the events that existed at the earlier checkpoint and have been removed.
+   *
+   * @return the removed events, in their last version
+   */
+  public List<EventInterface> getRemoved() {
+    return removed;
+  }
+
+  /**
+   * Checks whether nothing has changed.
+   *
+   * @return true if there are no added, changed or removed events
+   */
+  public boolean isEmpty() {
+    return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+  }
+}
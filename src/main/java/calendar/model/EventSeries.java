@@ -2,8 +2,14 @@ package calendar.model;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 /**
  * Represents a recurring event series configuration.
@@ -17,14 +23,32 @@ import java.util.UUID;
  *
  * <p>A series can be defined to repeat for a fixed number of occurrences
  * or until a specific end date.
+ *
+ * <p>The series is also the rule that its occurrences follow after they were
+ * created. Edits to the whole series, or to the series from a date, are recorded
+ * here as revised templates, each in effect from a date; an edit that splits
+ * occurrences off the series (a new start time) is recorded the same way, plus the
+ * date from which the occurrences the rule generates are events of their own.
+ * Later edits to the series leave the split-off templates alone. A revised series
+ * is a new instance: instances never change.
  */
 public class EventSeries {
+
+  /**
+   * Maximum number of years a series runs past its first date. Bounds series with
+   * no end date or a far-future end date.
+   */
+  public static final int MAX_YEARS = 10;
+
   private final UUID seriesId;
   private final EventInterface template;
   private final Set<DayOfWeek> weekdays;
+  private final int weekdayMask;
   private final LocalDate endDate;
   private final Integer occurrences;
   private final boolean usesEndDate;
+  private final NavigableMap<LocalDate, EventInterface> templates;
+  private final LocalDate detachedFrom;
 
   /**
    * Creates a series that repeats until an end date.
@@ -42,9 +66,29 @@ public class EventSeries {
     this.seriesId = seriesId;
     this.template = template;
     this.weekdays = weekdays;
+    this.weekdayMask = Weekday.toMask(weekdays);
     this.endDate = endDate;
     this.occurrences = occurrences;
     this.usesEndDate = usesEndDate;
+    TreeMap<LocalDate, EventInterface> initial = new TreeMap<>();
+    if (template != null) {
+      initial.put(template.getStartDateTime().toLocalDate(), template);
+    }
+    this.templates = Collections.unmodifiableNavigableMap(initial);
+    this.detachedFrom = null;
+  }
+
+  private EventSeries(EventSeries rule, NavigableMap<LocalDate, EventInterface> templates,
+                      LocalDate detachedFrom) {
+    this.seriesId = rule.seriesId;
+    this.template = templates.firstEntry().getValue();
+    this.weekdays = rule.weekdays;
+    this.weekdayMask = rule.weekdayMask;
+    this.endDate = rule.endDate;
+    this.occurrences = rule.occurrences;
+    this.usesEndDate = rule.usesEndDate;
+    this.templates = Collections.unmodifiableNavigableMap(templates);
+    this.detachedFrom = detachedFrom;
   }
 
   /**
@@ -74,6 +118,86 @@ public class EventSeries {
     return weekdays;
   }
 
+  /**
+   * Gets the weekdays this series repeats on as a mask (see {@link Weekday#toMask}).
+   * The mask is taken when the series is created.
+   *
+   * @return the weekday mask
+   */
+  public int getWeekdayMask() {
+    return weekdayMask;
+  }
+
+  /**
+   * Finds the first date on or after a date that falls on one of the series'
+   * weekdays, ignoring the series' start and end.
+   *
+   * @param date the earliest date to consider
+   * @return the matching date, or null if the series has no weekdays
+   */
+  public LocalDate nextWeekdayOnOrAfter(LocalDate date) {
+    int days = Weekday.daysUntilNext(weekdayMask, date.getDayOfWeek());
+    return days < 0 ? null : date.plusDays(days);
+  }
+
+  /**
+   * Counts the occurrences the series generates, without generating them.
+   *
+   * @return the number of occurrences
+   */
+  public int getOccurrenceCount() {
+    return countOccurrences(template.getStartDateTime().toLocalDate(), weekdayMask,
+        usesEndDate ? endDate : null, occurrences);
+  }
+
+  /**
+   * Finds the date of the last occurrence the series generates, without generating
+   * the occurrences.
+   *
+   * @return the date, or null if the series generates none
+   */
+  public LocalDate getLastOccurrenceDate() {
+    return lastOccurrenceDate(template.getStartDateTime().toLocalDate(), weekdayMask,
+        usesEndDate ? endDate : null, occurrences);
+  }
+
+  /**
+   * Counts the occurrences of a series with the given recurrence, in closed form.
+   * For previews and checks made before a series exists.
+   *
+   * @param start       the date of the first template
+   * @param mask        the weekday mask (see {@link Weekday#toMask})
+   * @param endDate     the last date, inclusive, or null
+   * @param occurrences the number of occurrences, or null
+   * @return the number of occurrences, at most those in {@link #MAX_YEARS} years
+   */
+  public static int countOccurrences(LocalDate start, int mask, LocalDate endDate,
+                                     Integer occurrences) {
+    long available = Weekday.countBetween(mask, start, lastDate(start, endDate));
+    return (int) (occurrences == null ? available : Math.min(available, occurrences));
+  }
+
+  /**
+   * Finds the date of the last occurrence of a series with the given recurrence,
+   * in closed form.
+   *
+   * @param start       the date of the first template
+   * @param mask        the weekday mask (see {@link Weekday#toMask})
+   * @param endDate     the last date, inclusive, or null
+   * @param occurrences the number of occurrences, or null
+   * @return the date, or null if there are no occurrences
+   */
+  public static LocalDate lastOccurrenceDate(LocalDate start, int mask, LocalDate endDate,
+                                             Integer occurrences) {
+    return Weekday.nthOnOrAfter(mask, start,
+        countOccurrences(start, mask, endDate, occurrences));
+  }
+
+  private static LocalDate lastDate(LocalDate start, LocalDate endDate) {
+    LocalDate limit = start.plusYears(MAX_YEARS);
+    return endDate != null && endDate.isBefore(limit) ? endDate : limit;
+  }
+
   /**
    * Gets the end date for occurrences (if using end date).
    *
@@ -100,4 +224,111 @@ public class EventSeries {
   public boolean usesEndDate() {
     return usesEndDate;
   }
+
+  /**
+   * Gets the template that occurrences on a date follow, after the edits made to
+   * the series.
+   *
+   * @param date the occurrence date
+   * @return the template in effect on that date (the first template for dates
+   *         before the series starts)
+   */
+  public EventInterface getTemplateOn(LocalDate date) {
+    Map.Entry<LocalDate, EventInterface> entry = templates.floorEntry(date);
+    return entry == null ? template : entry.getValue();
+  }
+
+  /**
+   * Gets the templates with the date each is in effect from; the first is also in
+   * effect before its date.
+   *
+   * @return the templates by date, unmodifiable
+   */
+  NavigableMap<LocalDate, EventInterface> getTemplates() {
+    return templates;
+  }
+
+  /**
+   * Gets the date from which occurrences were split off the series, e.g. by
+   * moving their start time. The rule still generates them, without a series ID.
+   *
+   * @return the first date split off, or null if none is
+   */
+  public LocalDate getDetachedFrom() {
+    return detachedFrom;
+  }
+
+  /**
+   * Checks whether every occurrence was split off the series, so none is left in it.
+   *
+   * @return true if the first occurrence is split off
+   */
+  public boolean isDetachedEntirely() {
+    if (detachedFrom == null) {
+      return false;
+    }
+    LocalDate first = nextWeekdayOnOrAfter(template.getStartDateTime().toLocalDate());
+    return first == null || !detachedFrom.isAfter(first);
+  }
+
+  /**
+   * Records an edit to the occurrences on or after a date that are still in the
+   * series.
+   *
+   * @param from the first date the edit applies to, or null for the whole series
+   * @param edit revises a template
+   * @return the revised series
+   */
+  EventSeries revisedFrom(LocalDate from, UnaryOperator<EventInterface> edit) {
+    return new EventSeries(this, editedBetween(from, detachedFrom, edit), detachedFrom);
+  }
+
+  /**
+   * Records an edit that splits the occurrences on or after a date off the series.
+   * Occurrences split off before keep their templates.
+   *
+   * @param from the first date to split off, or null for the whole series
+   * @param edit revises a template, e.g. moving its start time
+   * @return the revised series
+   */
+  EventSeries detachedFrom(LocalDate from, UnaryOperator<EventInterface> edit) {
+    LocalDate start = from == null || from.isBefore(templates.firstKey())
+        ? templates.firstKey() : from;
+    if (detachedFrom != null && !start.isBefore(detachedFrom)) {
+      return this;
+    }
+    return new EventSeries(this, editedBetween(start, detachedFrom, edit), start);
+  }
+
+  /**
+   * Edits the templates in effect on the dates in [from, to), first adding templates
+   * on both bounds so the dates outside keep the templates they had.
+   *
+   * @param from the first date to edit, or null for the start of the series
+   * @param to   the first date not to edit, or null for no end
+   * @param edit revises a template
+   * @return the edited templates
+   */
+  private TreeMap<LocalDate, EventInterface> editedBetween(LocalDate from, LocalDate to,
+                                                           UnaryOperator<EventInterface> edit) {
+    TreeMap<LocalDate, EventInterface> revised = new TreeMap<>(templates);
+    addBound(revised, from);
+    addBound(revised, to);
+    for (Map.Entry<LocalDate, EventInterface> entry : revised.entrySet()) {
+      if ((from == null || !entry.getKey().isBefore(from))
+          && (to == null || entry.getKey().isBefore(to))) {
+        entry.setValue(edit.apply(entry.getValue()));
+      }
+    }
+    return revised;
+  }
+
+  private void addBound(TreeMap<LocalDate, EventInterface> revised, LocalDate date) {
+    if (date != null && date.isAfter(revised.firstKey()) && !revised.containsKey(date)) {
+      EventInterface base = getTemplateOn(date);
+      long days = ChronoUnit.DAYS.between(base.getStartDateTime().toLocalDate(), date);
+      revised.put(date, base.withModifications(null, base.getStartDateTime().plusDays(days),
+          base.getEndDateTime().plusDays(days), null, null, null, null));
+    }
+  }
 }
@@ -0,0 +1,860 @@
+package calendar.model;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Indexed storage for the events of one {@link CalendarModel}.
+ *
+ * <p>DESIGN RATIONALE:
+ * - byKey enforces the business key (subject + start + end) in O(1), using the
+ *   canonical UTC event whose equals()/hashCode() already follow that key
+ * - byId gives O(1) lookups for edits
+ * - bySeries lists the occurrences of each series without scanning
+ * - byStart is a temporal index ordered by start instant; together with the
+ *   longest duration seen it answers overlap queries by visiting only the events
+ *   whose start lies in [from - longestDuration, to]
+ * - text is an inverted index over subject, description and location words, kept
+ *   in step with the other indexes. During a transaction its maintenance is
+ *   deferred: changes are queued, an add and a remove of the same event cancel
+ *   out, and the queue is applied on commit or before the next search
+ * - Every add and remove takes the next number of a monotonic sequence. revisions
+ *   keeps, per event ID ever stored, the first and latest number and, once the
+ *   event is removed, its last version as a tombstone; byRevision orders the IDs by
+ *   latest number, so the changes since a checkpoint are found without a scan
+ * - Series occurrences that the rolling horizon stores or retracts take no number:
+ *   they were part of the calendar before, as occurrences their rule generates, and
+ *   stay so after. Changes to the rules themselves take numbers of their own, in
+ *   seriesRevisions, with the first date they affect, so the owner can tell which
+ *   occurrences, stored or not, changed
+ * - Only the latest {@link #KEPT_CHANGES} removals and series changes are kept.
+ *   Dropping an older one raises the floor, the oldest sequence number whose
+ *   changes are still all known; the history therefore takes bounded memory however
+ *   long the calendar is used, and a client behind the floor must export afresh
+ * - Every add and remove evicts the cached query results whose window the event's
+ *   span touches (see {@link QueryCache})
+ * - busy holds the union of all event spans as sorted, disjoint intervals, for
+ *   point availability checks by binary search. Every add, remove and change of
+ *   span is spliced into it (see {@link BusyIntervals}), so a check never waits
+ *   for a rebuild
+ * - A batch of new versions (a series edit) replaces the old ones in place: a
+ *   version with the same span takes over its predecessor's byStart slot, and the
+ *   cache is swept once for the batch
+ * - Series occurrences without edits of their own follow their series' shared rule
+ *   in rules (see {@link SeriesRule}), so revising the rule revises them all without
+ *   touching them; it only drops the cached query results. Their subject can change
+ *   under them, so they stay out of byKey, bySeries and text: a key lookup also
+ *   checks the followers that share the key's start, and a search checks each
+ *   rule's templates once
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - every stored event appears exactly once in byId and byStart; one with its own
+ *   fields also in byKey, and under each of its words in text once pendingText has
+ *   been applied; one that follows a rule in that rule's occurrences instead
+ * - events with their own fields and a series ID appear in bySeries under that ID
+ * - no two stored events have the same business key
+ * - followers counts the stored events that follow a rule
+ * - each byStart bucket is ordered by end instant
+ * - every ID in byId has no revision, or one without a tombstone; an ID in
+ *   revisions but not in byId has a tombstone, or was a series occurrence when the
+ *   horizon retracted it
+ * - byRevision maps each revision's latest number to its ID, and nothing else
+ * - removals maps the latest number of each revision with a tombstone to its ID;
+ *   it holds at most KEPT_CHANGES entries, all above floor
+ * - seriesRevisions holds at most KEPT_CHANGES entries, all above floor, and no
+ *   number in it is in byRevision
+ */
+final class EventStore {
+  static final Comparator<StoredEvent> BY_START =
+      Comparator.comparingLong(StoredEvent::startSecond)
+          .thenComparingLong(StoredEvent::endSecond);
+  static final int KEPT_CHANGES = 10_000;
+
+  private final Map<EventInterface, StoredEvent> byKey;
+  private final Map<UUID, StoredEvent> byId;
+  private final Map<UUID, Set<StoredEvent>> bySeries;
+  private final TreeMap<Long, List<StoredEvent>> byStart;
+  private final Map<UUID, SeriesRule> rules;
+  private int followers;
+  private final TextIndex text;
+  private Map<StoredEvent, Boolean> pendingText;
+  private long longestDuration;
+  private final Map<UUID, Revision> revisions;
+  private final TreeMap<Long, UUID> byRevision;
+  private final TreeMap<Long, UUID> removals;
+  private final Map<UUID, Long> seriesFirst;
+  private final TreeMap<Long, SeriesRevision> seriesRevisions;
+  private long sequence;
+  private long floor;
+  private final QueryCache cache;
+  private final BusyIntervals busy;
+
+  /**
+   * Creates an empty store.
+   *
+   * @param cache the query cache to keep in step with the stored events
+   */
+  EventStore(QueryCache cache) {
+    this.byKey = new HashMap<>();
+    this.byId = new HashMap<>();
+    this.bySeries = new HashMap<>();
+    this.byStart = new TreeMap<>();
+    this.rules = new HashMap<>();
+    this.followers = 0;
+    this.text = new TextIndex();
+    this.pendingText = null;
+    this.longestDuration = 0;
+    this.revisions = new HashMap<>();
+    this.byRevision = new TreeMap<>();
+    this.removals = new TreeMap<>();
+    this.seriesFirst = new HashMap<>();
+    this.seriesRevisions = new TreeMap<>();
+    this.sequence = 0;
+    this.floor = 0;
+    this.cache = cache;
+    this.busy = new BusyIntervals();
+  }
+
+  /**
+   * Starts queueing text index changes instead of applying them.
+   */
+  void deferTextIndex() {
+    if (pendingText == null) {
+      pendingText = new HashMap<>();
+    }
+  }
+
+  /**
+   * Applies the queued text index changes and stops queueing.
+   */
+  void flushTextIndex() {
+    applyPendingText();
+    pendingText = null;
+  }
+
+  private void applyPendingText() {
+    if (pendingText == null) {
+      return;
+    }
+    for (Map.Entry<StoredEvent, Boolean> change : pendingText.entrySet()) {
+      if (change.getValue()) {
+        text.add(change.getKey());
+      } else {
+        text.remove(change.getKey());
+      }
+    }
+    pendingText.clear();
+  }
+
+  /**
+   * Adds an event to, or removes it from, the text index, or queues the change.
+   *
+   * @param stored the event
+   * @param add    true to add, false to remove
+   */
+  private void indexText(StoredEvent stored, boolean add) {
+    if (stored.rule() != null) {
+      return;
+    }
+    if (pendingText == null) {
+      if (add) {
+        text.add(stored);
+      } else {
+        text.remove(stored);
+      }
+    } else if (pendingText.remove(stored) == null) {
+      pendingText.put(stored, add);
+    }
+  }
+
+  /**
+   * Adds an event unless one with the same business key or ID is already stored.
+   *
+   * @param stored the event to add
+   * @return true if added
+   */
+  boolean add(StoredEvent stored) {
+    return add(stored, true);
+  }
+
+  /**
+   * Adds an event unless one with the same business key or ID is already stored,
+   * optionally without giving it a sequence number.
+   *
+   * @param stored  the event to add
+   * @param revised false for a series occurrence stored by the horizon, which takes
+   *                a number only if it had been removed
+   * @return true if added
+   */
+  boolean add(StoredEvent stored, boolean revised) {
+    EventInterface canonical = stored.canonical();
+    if (byId.containsKey(canonical.getId()) || byKey(canonical) != null) {
+      return false;
+    }
+    byId.put(canonical.getId(), stored);
+    index(stored);
+
+    insertByStart(stored);
+    indexText(stored, true);
+    longestDuration = Math.max(longestDuration, stored.endSecond() - stored.startSecond());
+    if (revised || tombstone(canonical.getId()) != null) {
+      revise(canonical.getId(), null);
+    }
+    cache.invalidate(stored.startSecond(), stored.endSecond());
+    busy.add(stored.startSecond(), stored.endSecond());
+    return true;
+  }
+
+  /**
+   * Removes an event from every index.
+   *
+   * @param stored the event to remove
+   * @return true if it was stored
+   */
+  boolean remove(StoredEvent stored) {
+    return remove(stored, true);
+  }
+
+  /**
+   * Removes an event from every index, optionally without giving it a sequence
+   * number.
+   *
+   * @param stored  the event to remove
+   * @param revised false for a series occurrence the horizon retracts, which its
+   *                rule still generates
+   * @return true if it was stored
+   */
+  boolean remove(StoredEvent stored, boolean revised) {
+    EventInterface canonical = stored.canonical();
+    if (byId.get(canonical.getId()) != stored) {
+      return false;
+    }
+    byId.remove(canonical.getId());
+    unindex(stored);
+    removeByStart(stored);
+    indexText(stored, false);
+    if (revised) {
+      revise(canonical.getId(), stored.snapshot());
+    }
+    cache.invalidate(stored.startSecond(), stored.endSecond());
+    busy.remove(stored.startSecond(), stored.endSecond(), byStart);
+    return true;
+  }
+
+  /**
+   * Replaces stored events with new versions of themselves (same IDs), e.g. the
+   * occurrences of a series after a series edit. Compared with removing and adding
+   * each event, a version that keeps its span keeps its slot in byStart, each
+   * event takes one sequence number, and the cache is swept once for the batch.
+   * Nothing is replaced unless every new version's business key is free or held
+   * by an event of the batch.
+   *
+   * @param current      the stored events
+   * @param replacements their new versions, in the same order
+   * @return true if replaced, false if a key is taken or an event is not stored
+   */
+  boolean replace(List<StoredEvent> current, List<StoredEvent> replacements) {
+    return replace(current, replacements, true);
+  }
+
+  /**
+   * Replaces stored events with new versions of themselves, optionally without
+   * checking the new versions' keys, e.g. to undo or redo a replacement that was
+   * checked when it was first made.
+   *
+   * @param current      the stored events
+   * @param replacements their new versions, in the same order
+   * @param checked      false to skip the key check
+   * @return true if replaced, false if a key is taken or an event is not stored
+   */
+  boolean replace(List<StoredEvent> current, List<StoredEvent> replacements,
+                  boolean checked) {
+    Set<StoredEvent> batch = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (int i = 0; i < current.size(); i++) {
+      StoredEvent stored = current.get(i);
+      UUID eventId = stored.canonical().getId();
+      if (byId.get(eventId) != stored
+          || !eventId.equals(replacements.get(i).canonical().getId())) {
+        return false;
+      }
+      batch.add(stored);
+    }
+    for (int i = 0; checked && i < replacements.size(); i++) {
+      StoredEvent holder = byKey(replacements.get(i).canonical());
+      if (holder != null && !batch.contains(holder)) {
+        return false;
+      }
+    }
+    if (current.isEmpty()) {
+      return true;
+    }
+
+    for (StoredEvent stored : current) {
+      unindex(stored);
+    }
+    long from = Long.MAX_VALUE;
+    long to = Long.MIN_VALUE;
+    for (int i = 0; i < current.size(); i++) {
+      StoredEvent stored = current.get(i);
+      StoredEvent replacement = replacements.get(i);
+      EventInterface canonical = replacement.canonical();
+      byId.put(canonical.getId(), replacement);
+      index(replacement);
+      if (stored.startSecond() == replacement.startSecond()
+          && stored.endSecond() == replacement.endSecond()) {
+        List<StoredEvent> bucket = byStart.get(stored.startSecond());
+        bucket.set(bucket.indexOf(stored), replacement);
+      } else {
+        removeByStart(stored);
+        insertByStart(replacement);
+        longestDuration = Math.max(longestDuration,
+            replacement.endSecond() - replacement.startSecond());
+        busy.remove(stored.startSecond(), stored.endSecond(), byStart);
+        busy.add(replacement.startSecond(), replacement.endSecond());
+      }
+      indexText(stored, false);
+      indexText(replacement, true);
+      revise(canonical.getId(), null);
+      from = Math.min(from, Math.min(stored.startSecond(), replacement.startSecond()));
+      to = Math.max(to, Math.max(stored.endSecond(), replacement.endSecond()));
+    }
+    cache.invalidate(from, to);
+    return true;
+  }
+
+  /**
+   * Adds an event to the key and series indexes, or to its rule's occurrences if it
+   * follows a rule.
+   *
+   * @param stored the event
+   */
+  private void index(StoredEvent stored) {
+    if (stored.rule() != null) {
+      stored.rule().occurrences().put(stored.date(), stored);
+      followers++;
+      return;
+    }
+    byKey.put(stored.canonical(), stored);
+    stored.canonical().getSeriesId().ifPresent(
+        seriesId -> bySeries.computeIfAbsent(seriesId, k -> new LinkedHashSet<>()).add(stored));
+  }
+
+  private void unindex(StoredEvent stored) {
+    if (stored.rule() != null) {
+      stored.rule().occurrences().remove(stored.date());
+      followers--;
+      return;
+    }
+    byKey.remove(stored.canonical());
+    stored.canonical().getSeriesId().ifPresent(seriesId -> {
+      Set<StoredEvent> members = bySeries.get(seriesId);
+      if (members != null) {
+        members.remove(stored);
+        if (members.isEmpty()) {
+          bySeries.remove(seriesId);
+        }
+      }
+    });
+  }
+
+  /**
+   * Gets the shared rule of a series, made to follow a version of the rule. The
+   * stored occurrences that follow it take their fields from that version from now
+   * on, so the cached query results are dropped if it changes.
+   *
+   * @param series the version of the rule
+   * @return the shared rule
+   */
+  SeriesRule rule(EventSeries series) {
+    SeriesRule rule = rules.computeIfAbsent(series.getSeriesId(), k -> new SeriesRule(series));
+    if (rule.rule() != series) {
+      rule.setRule(series);
+      if (!rule.occurrences().isEmpty()) {
+        cache.clear();
+      }
+    }
+    return rule;
+  }
+
+  /**
+   * Gets the stored occurrences of a series that follow its rule, on dates in a
+   * range.
+   *
+   * @param seriesId the series ID
+   * @param from     the first date, or null for no bound
+   * @param until    the first date not included, or null for no bound
+   * @return the occurrences by date
+   */
+  List<StoredEvent> following(UUID seriesId, LocalDate from, LocalDate until) {
+    SeriesRule rule = rules.get(seriesId);
+    if (rule == null) {
+      return new ArrayList<>();
+    }
+    NavigableMap<LocalDate, StoredEvent> occurrences = rule.occurrences();
+    if (from != null) {
+      occurrences = occurrences.tailMap(from, true);
+    }
+    if (until != null) {
+      occurrences = occurrences.headMap(until, false);
+    }
+    return new ArrayList<>(occurrences.values());
+  }
+
+  /**
+   * Checks whether revising a series rule would give one of the stored occurrences
+   * that follow it the business key of another stored event. Only the occurrences
+   * whose subject changes can collide, and only with events of their new subject,
+   * which the text index finds without a scan.
+   *
+   * @param revised      the revised rule
+   * @param from         the first date it revises, or null for every date
+   * @param current      the events about to be replaced along with the revision
+   * @param replacements their new versions
+   * @return true if a key would be taken twice
+   */
+  boolean reviseCollides(EventSeries revised, LocalDate from, List<StoredEvent> current,
+                         List<StoredEvent> replacements) {
+    SeriesRule rule = rules.get(revised.getSeriesId());
+    if (rule == null || rule.occurrences().isEmpty()) {
+      return false;
+    }
+    // The revised rule has a template wherever the revision starts or ends.
+    Set<String> subjects = new HashSet<>();
+    NavigableMap<LocalDate, EventInterface> templates = revised.getTemplates();
+    if (from != null) {
+      templates = templates.tailMap(from, true);
+    }
+    for (Map.Entry<LocalDate, EventInterface> entry : templates.entrySet()) {
+      String subject = entry.getValue().getSubject();
+      if (!subject.equals(rule.rule().getTemplateOn(entry.getKey()).getSubject())) {
+        subjects.add(subject);
+      }
+    }
+    if (subjects.isEmpty()) {
+      return false;
+    }
+    Set<StoredEvent> replaced = Collections.newSetFromMap(new IdentityHashMap<>());
+    replaced.addAll(current);
+    List<StoredEvent> others = new ArrayList<>(replacements);
+    for (String subject : subjects) {
+      for (StoredEvent stored : withSubject(subject)) {
+        if (!replaced.contains(stored)) {
+          others.add(stored);
+        }
+      }
+    }
+    for (StoredEvent other : others) {
+      EventInterface key = other.rule() == rule ? other.under(revised) : other.canonical();
+      if (!subjects.contains(key.getSubject())) {
+        continue;
+      }
+      for (StoredEvent stored : byStart.getOrDefault(other.startSecond(),
+          Collections.emptyList())) {
+        if (stored != other && stored.rule() == rule && !replaced.contains(stored)
+            && stored.endSecond() == other.endSecond()
+            && stored.under(revised).equals(key)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Finds the stored events whose subject may be a given one: the indexed events
+   * with its words, or every indexed event if it has none, and the followers of the
+   * rules whose templates have it.
+   *
+   * @param subject the subject
+   * @return the candidates, in no order
+   */
+  private List<StoredEvent> withSubject(String subject) {
+    applyPendingText();
+    Set<String> terms = TextIndex.terms(subject);
+    List<StoredEvent> result = new ArrayList<>(terms.isEmpty()
+        ? byKey.values() : text.search(String.join(" ", terms)));
+    for (SeriesRule rule : rules.values()) {
+      for (EventInterface template : rule.rule().getTemplates().values()) {
+        if (template.getSubject().equals(subject)) {
+          result.addAll(rule.occurrences().values());
+          break;
+        }
+      }
+    }
+    return result;
+  }
+
+  private void insertByStart(StoredEvent stored) {
+    List<StoredEvent> bucket = byStart.computeIfAbsent(stored.startSecond(),
+        k -> new ArrayList<>(1));
+    int pos = bucket.size();
+    while (pos > 0 && bucket.get(pos - 1).endSecond() > stored.endSecond()) {
+      pos--;
+    }
+    bucket.add(pos, stored);
+  }
+
+  private void removeByStart(StoredEvent stored) {
+    List<StoredEvent> bucket = byStart.get(stored.startSecond());
+    if (bucket != null) {
+      bucket.remove(stored);
+      if (bucket.isEmpty()) {
+        byStart.remove(stored.startSecond());
+      }
+    }
+  }
+
+  /**
+   * Gives an event ID the next sequence number, dropping the oldest removal if
+   * more than {@link #KEPT_CHANGES} are kept.
+   *
+   * @param eventId   the ID of the event that was added or removed
+   * @param tombstone the removed version, or null if the event was added
+   */
+  private void revise(UUID eventId, StoredEvent tombstone) {
+    long number = ++sequence;
+    Revision previous = revisions.get(eventId);
+    if (previous != null) {
+      byRevision.remove(previous.latest);
+      if (previous.tombstone != null) {
+        removals.remove(previous.latest);
+      }
+    }
+    revisions.put(eventId, new Revision(previous == null ? number : previous.first, number,
+        tombstone));
+    byRevision.put(number, eventId);
+    if (tombstone != null) {
+      removals.put(number, eventId);
+      if (removals.size() > KEPT_CHANGES) {
+        Map.Entry<Long, UUID> oldest = removals.pollFirstEntry();
+        revisions.remove(oldest.getValue());
+        byRevision.remove(oldest.getKey());
+        floor = Math.max(floor, oldest.getKey());
+      }
+    }
+  }
+
+  /**
+   * Gives a change to a series rule the next sequence number: its registration, a
+   * revision, or its removal. Drops the oldest series change if more than
+   * {@link #KEPT_CHANGES} are kept.
+   *
+   * @param seriesId the series ID
+   * @param from     the first date whose occurrences may have changed, or null for
+   *                 every occurrence
+   * @param removed  the rule, if it was removed; null otherwise
+   * @param zone     the zone the removed rule's occurrences were generated in, or
+   *                 null if it generated none of its own
+   */
+  void reviseSeries(UUID seriesId, LocalDate from, EventSeries removed, ZoneId zone) {
+    long number = ++sequence;
+    seriesFirst.putIfAbsent(seriesId, number);
+    seriesRevisions.put(number, new SeriesRevision(seriesId, from, removed, zone));
+    if (seriesRevisions.size() > KEPT_CHANGES) {
+      floor = Math.max(floor, seriesRevisions.pollFirstEntry().getKey());
+    }
+  }
+
+  /**
+   * Gets the changes to series rules after a sequence number.
+   *
+   * @param after the sequence number
+   * @return the changes, by number
+   */
+  NavigableMap<Long, SeriesRevision> seriesRevisedAfter(long after) {
+    return new TreeMap<>(seriesRevisions.tailMap(after, false));
+  }
+
+  /**
+   * Checks whether a series rule had been registered by a sequence number, even if
+   * it was removed again later.
+   *
+   * @param seriesId the series ID
+   * @param number   the sequence number
+   * @return true if the rule was first registered at or before number
+   */
+  boolean seriesKnownAt(UUID seriesId, long number) {
+    Long first = seriesFirst.get(seriesId);
+    return first != null && first <= number;
+  }
+
+  /**
+   * Gets the number of the latest add or remove; 0 if there was none.
+   *
+   * @return the current sequence number
+   */
+  long sequence() {
+    return sequence;
+  }
+
+  /**
+   * Gets the oldest sequence number after which every change is still known; 0
+   * until a removal has been dropped.
+   *
+   * @return the floor
+   */
+  long floor() {
+    return floor;
+  }
+
+  /**
+   * Gets the IDs of the events added or removed after a sequence number.
+   *
+   * @param after the sequence number
+   * @return the IDs, by the number of their latest change
+   */
+  NavigableMap<Long, UUID> revisedAfter(long after) {
+    return new TreeMap<>(byRevision.tailMap(after, false));
+  }
+
+  /**
+   * Checks whether an event had been stored by a sequence number, even if it was
+   * removed again later.
+   *
+   * @param eventId the event ID
+   * @param number  the sequence number
+   * @return true if the event was first added at or before number
+   */
+  boolean knownAt(UUID eventId, long number) {
+    Revision revision = revisions.get(eventId);
+    return revision != null && revision.first <= number;
+  }
+
+  /**
+   * Gets the last stored version of a removed event.
+   *
+   * @param eventId the event ID
+   * @return the removed version, or null if the event is stored or unknown
+   */
+  StoredEvent tombstone(UUID eventId) {
+    Revision revision = revisions.get(eventId);
+    return revision == null ? null : revision.tombstone;
+  }
+
+  /**
+   * Checks whether an event with the same business key is stored.
+   *
+   * @param canonical the canonical event to look for
+   * @return true if present
+   */
+  boolean containsKey(EventInterface canonical) {
+    return byKey(canonical) != null;
+  }
+
+  /**
+   * Finds an event by business key, among the events with their own fields and then
+   * among the followers that start at the key's start.
+   *
+   * @param canonical an event with the key to look for
+   * @return the stored event, or null
+   */
+  StoredEvent byKey(EventInterface canonical) {
+    StoredEvent stored = byKey.get(canonical);
+    if (stored != null || followers == 0) {
+      return stored;
+    }
+    long start = canonical.getStartDateTime().toEpochSecond(ZoneOffset.UTC);
+    for (StoredEvent candidate : byStart.getOrDefault(start, Collections.emptyList())) {
+      if (candidate.rule() != null && candidate.canonical().equals(canonical)) {
+        return candidate;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finds an event by ID.
+   *
+   * @param eventId the event ID
+   * @return the stored event, or null
+   */
+  StoredEvent byId(UUID eventId) {
+    return byId.get(eventId);
+  }
+
+  /**
+   * Gets the occurrences of a series that have fields of their own, e.g. after an
+   * edit of their own.
+   *
+   * @param seriesId the series ID
+   * @return the occurrences, in insertion order (empty if none)
+   */
+  List<StoredEvent> seriesMembers(UUID seriesId) {
+    Set<StoredEvent> members = bySeries.get(seriesId);
+    return members == null ? new ArrayList<>() : new ArrayList<>(members);
+  }
+
+  /**
+   * Gets the events that may intersect the closed interval [fromSecond, toSecond]:
+   * every event with start &lt;= toSecond and end &gt;= fromSecond. Callers apply the
+   * exact (open or closed) bounds they need to the result.
+   *
+   * @param fromSecond the lower bound, in epoch seconds
+   * @param toSecond   the upper bound, in epoch seconds
+   * @return the candidate events ordered by start, then end
+   */
+  List<StoredEvent> intersecting(long fromSecond, long toSecond) {
+    List<StoredEvent> result = new ArrayList<>();
+    if (toSecond < fromSecond - longestDuration) {
+      return result;
+    }
+    NavigableMap<Long, List<StoredEvent>> window =
+        byStart.subMap(fromSecond - longestDuration, true, toSecond, true);
+    for (List<StoredEvent> bucket : window.values()) {
+      for (StoredEvent stored : bucket) {
+        if (stored.endSecond() >= fromSecond) {
+          result.add(stored);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the events whose start lies in [fromSecond, toSecond).
+   *
+   * @param fromSecond the first start to include, in epoch seconds
+   * @param toSecond   the first start to exclude, in epoch seconds
+   * @return the events ordered by start, then end
+   */
+  List<StoredEvent> startingBetween(long fromSecond, long toSecond) {
+    List<StoredEvent> result = new ArrayList<>();
+    if (toSecond <= fromSecond) {
+      return result;
+    }
+    for (List<StoredEvent> bucket : byStart.subMap(fromSecond, true, toSecond, false).values()) {
+      result.addAll(bucket);
+    }
+    return result;
+  }
+
+  /**
+   * Finds the events whose subject, description or location contain every query
+   * word (see {@link TextIndex#search(String)}).
+   *
+   * @param query the query words
+   * @return the matching events ordered by start, then end
+   */
+  List<StoredEvent> search(String query) {
+    applyPendingText();
+    List<StoredEvent> result = new ArrayList<>(text.search(query));
+    for (SeriesRule rule : rules.values()) {
+      if (rule.occurrences().isEmpty()) {
+        continue;
+      }
+      // Each template is in effect up to the next one; the first also before it.
+      NavigableMap<LocalDate, EventInterface> templates = rule.rule().getTemplates();
+      for (Map.Entry<LocalDate, EventInterface> entry : templates.entrySet()) {
+        if (TextIndex.matches(query, entry.getValue())) {
+          LocalDate next = templates.higherKey(entry.getKey());
+          NavigableMap<LocalDate, StoredEvent> occurrences = rule.occurrences();
+          if (!entry.getKey().equals(templates.firstKey())) {
+            occurrences = occurrences.tailMap(entry.getKey(), true);
+          }
+          if (next != null) {
+            occurrences = occurrences.headMap(next, false);
+          }
+          result.addAll(occurrences.values());
+        }
+      }
+    }
+    result.sort(BY_START);
+    return result;
+  }
+
+  /**
+   * Checks whether a stored event is in progress at an instant: one starts at or
+   * before it and ends after it. A binary search that allocates nothing.
+   *
+   * @param second the instant, in epoch seconds
+   * @return true if an event covers the instant
+   */
+  boolean isBusyAt(long second) {
+    return busy.covers(second);
+  }
+
+  /**
+   * Gets every stored event.
+   *
+   * @return all events ordered by start, then end
+   */
+  List<StoredEvent> all() {
+    List<StoredEvent> result = new ArrayList<>(byId.size());
+    for (List<StoredEvent> bucket : byStart.values()) {
+      result.addAll(bucket);
+    }
+    return result;
+  }
+
+  /**
+   * Gets the number of stored events.
+   *
+   * @return the event count
+   */
+  int size() {
+    return byId.size();
+  }
+
+  /**
+   * A change to a series rule: which series, from which date its occurrences may
+   * have changed, and the rule itself, with its zone, if the change removed it.
+   */
+  static final class SeriesRevision {
+    private final UUID seriesId;
+    private final LocalDate from;
+    private final EventSeries removed;
+    private final ZoneId zone;
+
+    private SeriesRevision(UUID seriesId, LocalDate from, EventSeries removed, ZoneId zone) {
+      this.seriesId = seriesId;
+      this.from = from;
+      this.removed = removed;
+      this.zone = zone;
+    }
+
+    UUID seriesId() {
+      return seriesId;
+    }
+
+    LocalDate from() {
+      return from;
+    }
+
+    EventSeries removed() {
+      return removed;
+    }
+
+    ZoneId zone() {
+      return zone;
+    }
+  }
+
+  /**
+   * The sequence numbers of an event ID and, if it was removed, its last version.
+   */
+  private static final class Revision {
+    private final long first;
+    private final long latest;
+    private final StoredEvent tombstone;
+
+    private Revision(long first, long latest, StoredEvent tombstone) {
+      this.first = first;
+      this.latest = latest;
+      this.tombstone = tombstone;
+    }
+  }
+}
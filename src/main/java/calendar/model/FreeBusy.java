@@ -0,0 +1,211 @@
+package calendar.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Free/busy information for one or more calendars over a window of time.
+ *
+ * <p>The result is available in two forms: the merged list of busy intervals, and a
+ * bitmap with one bit per slot of the requested granularity (set when any part of
+ * the slot is busy).
+ *
+ * <p>DESIGN RATIONALE:
+ * - Works on instants (epoch seconds) so calendars in different timezones can be
+ *   combined directly
+ * - Each calendar supplies its own busy intervals already sorted and merged, so the
+ *   combined list is a k-way merge in O(n log k) for n intervals over k calendars
+ * - Intervals are kept in a flat long[] of start/end pairs to avoid an object per
+ *   interval when hundreds of calendars are combined
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - busy has even length; busy[2i] &lt; busy[2i + 1] &lt;= busy[2i + 2]
+ * - every interval lies within [fromSecond, toSecond]
+ * - bit s of busySlots is set iff slot s overlaps a busy interval
+ */
+public final class FreeBusy {
+  private final long fromSecond;
+  private final long toSecond;
+  private final long granularitySeconds;
+  private final long[] busy;
+  private final BitSet busySlots;
+  private final int slotCount;
+
+  /**
+   * Creates the free/busy result for merged busy intervals.
+   *
+   * @param fromSecond         the start of the window, in epoch seconds
+   * @param toSecond           the end of the window, in epoch seconds
+   * @param granularitySeconds the slot length, in seconds
+   * @param busy               the merged busy intervals as start/end pairs
+   */
+  FreeBusy(long fromSecond, long toSecond, long granularitySeconds, long[] busy) {
+    this.fromSecond = fromSecond;
+    this.toSecond = toSecond;
+    this.granularitySeconds = granularitySeconds;
+    this.busy = busy;
+    this.slotCount = (int) ((toSecond - fromSecond + granularitySeconds - 1)
+        / granularitySeconds);
+    this.busySlots = new BitSet(slotCount);
+    for (int i = 0; i < busy.length; i += 2) {
+      int first = (int) ((busy[i] - fromSecond) / granularitySeconds);
+      int last = (int) ((busy[i + 1] - fromSecond + granularitySeconds - 1)
+          / granularitySeconds);
+      busySlots.set(first, last);
+    }
+  }
+
+  /**
+   * Merges per-calendar busy intervals into one sorted, non-overlapping list.
+   *
+   * @param sources the intervals of each calendar, each sorted and merged, as
+   *                start/end pairs
+   * @return the merged intervals as start/end pairs
+   */
+  static long[] merge(List<long[]> sources) {
+    int total = 0;
+    for (long[] source : sources) {
+      total += source.length;
+    }
+    int[] pos = new int[sources.size()];
+    PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, sources.size()),
+        Comparator.comparingLong(i -> sources.get(i)[pos[i]]));
+    for (int i = 0; i < sources.size(); i++) {
+      if (sources.get(i).length > 0) {
+        heap.add(i);
+      }
+    }
+
+    long[] merged = new long[total];
+    int n = 0;
+    while (!heap.isEmpty()) {
+      int i = heap.poll();
+      long[] source = sources.get(i);
+      long start = source[pos[i]];
+      long end = source[pos[i] + 1];
+      pos[i] += 2;
+      if (pos[i] < source.length) {
+        heap.add(i);
+      }
+
+      if (n > 0 && start <= merged[n - 1]) {
+        merged[n - 1] = Math.max(merged[n - 1], end);
+      } else {
+        merged[n++] = start;
+        merged[n++] = end;
+      }
+    }
+    return Arrays.copyOf(merged, n);
+  }
+
+  /**
+   * Gets the start of the window.
+   *
+   * @return the first instant covered
+   */
+  public Instant getFrom() {
+    return Instant.ofEpochSecond(fromSecond);
+  }
+
+  /**
+   * Gets the end of the window.
+   *
+   * @return the first instant not covered
+   */
+  public Instant getTo() {
+    return Instant.ofEpochSecond(toSecond);
+  }
+
+  /**
+   * Gets the slot length of the bitmap.
+   *
+   * @return the granularity
+   */
+  public Duration getGranularity() {
+    return Duration.ofSeconds(granularitySeconds);
+  }
+
+  /**
+   * Gets the number of merged busy intervals.
+   *
+   * @return the interval count
+   */
+  public int getIntervalCount() {
+    return busy.length / 2;
+  }
+
+  /**
+   * Gets the start of a busy interval.
+   *
+   * @param index the interval index, in chronological order
+   * @return the start instant
+   */
+  public Instant getBusyStart(int index) {
+    return Instant.ofEpochSecond(busy[2 * index]);
+  }
+
+  /**
+   * Gets the end of a busy interval.
+   *
+   * @param index the interval index, in chronological order
+   * @return the end instant (exclusive)
+   */
+  public Instant getBusyEnd(int index) {
+    return Instant.ofEpochSecond(busy[2 * index + 1]);
+  }
+
+  /**
+   * Gets the number of slots in the bitmap. The last slot may extend past the end
+   * of the window.
+   *
+   * @return the slot count
+   */
+  public int getSlotCount() {
+    return slotCount;
+  }
+
+  /**
+   * Checks whether any part of a slot is busy.
+   *
+   * @param slot the slot index
+   * @return true if busy
+   */
+  public boolean isSlotBusy(int slot) {
+    return busySlots.get(slot);
+  }
+
+  /**
+   * Gets the busy bitmap.
+   *
+   * @return a copy of the bitmap, with bit s set when slot s is busy
+   */
+  public BitSet getBusySlots() {
+    return (BitSet) busySlots.clone();
+  }
+
+  /**
+   * Checks whether an instant is busy in any of the calendars.
+   *
+   * @param instant the instant to check
+   * @return true if it lies inside a busy interval
+   */
+  public boolean isBusy(Instant instant) {
+    long second = instant.getEpochSecond();
+    int low = 0;
+    int high = busy.length / 2;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (busy[2 * mid] <= second) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low > 0 && second < busy[2 * (low - 1) + 1];
+  }
+}
@@ -0,0 +1,138 @@
+package calendar.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded least-recently-used cache of query results keyed by time window, for
+ * the repeated day and range queries of GUI refreshes and print commands.
+ *
+ * <p>DESIGN RATIONALE:
+ * - Each entry remembers its window in epoch seconds, so a change to an event
+ *   evicts only the windows that its time span touches; every other cached result
+ *   stays valid
+ * - The owning {@link EventStore} reports every add and remove, so no mutation
+ *   path (edits, undo, rollback) can leave a stale entry behind
+ * - Windows are compared as closed intervals, a superset of what any query may
+ *   return, so eviction errs on the side of dropping an entry
+ * - Cached lists are unmodifiable and shared; callers copy them before handing
+ *   them out
+ * - Methods are synchronized because lookups reorder the LRU list, and lookups
+ *   run under the calendar's shared read lock
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - entries holds at most capacity results
+ * - no entry's window intersects the span of an event added or removed since the
+ *   entry was stored
+ */
+final class QueryCache {
+
+  /**
+   * The queries whose results are cached.
+   */
+  enum Query {
+    ON_DATE,
+    IN_RANGE
+  }
+
+  private final int capacity;
+  private final LinkedHashMap<Window, List<EventInterface>> entries;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param capacity the maximum number of results kept
+   */
+  QueryCache(int capacity) {
+    this.capacity = capacity;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Window, List<EventInterface>> eldest) {
+        return size() > QueryCache.this.capacity;
+      }
+    };
+  }
+
+  /**
+   * Looks up a cached result.
+   *
+   * @param query      the query
+   * @param fromSecond the window start, in epoch seconds
+   * @param toSecond   the window end, in epoch seconds
+   * @return the unmodifiable result, or null if not cached
+   */
+  synchronized List<EventInterface> get(Query query, long fromSecond, long toSecond) {
+    return entries.get(new Window(query, fromSecond, toSecond));
+  }
+
+  /**
+   * Caches a result.
+   *
+   * @param query      the query
+   * @param fromSecond the window start, in epoch seconds
+   * @param toSecond   the window end, in epoch seconds
+   * @param result     the unmodifiable result
+   */
+  synchronized void put(Query query, long fromSecond, long toSecond,
+      List<EventInterface> result) {
+    entries.put(new Window(query, fromSecond, toSecond), result);
+  }
+
+  /**
+   * Evicts the results whose window intersects an event's time span.
+   *
+   * @param startSecond the event start, in epoch seconds
+   * @param endSecond   the event end, in epoch seconds
+   */
+  synchronized void invalidate(long startSecond, long endSecond) {
+    Iterator<Window> windows = entries.keySet().iterator();
+    while (windows.hasNext()) {
+      Window window = windows.next();
+      if (window.fromSecond <= endSecond && startSecond <= window.toSecond) {
+        windows.remove();
+      }
+    }
+  }
+
+  /**
+   * Evicts every result, e.g. when the zone that results are expressed in changes.
+   */
+  synchronized void clear() {
+    entries.clear();
+  }
+
+  /**
+   * A query and its window.
+   */
+  private static final class Window {
+    private final Query query;
+    private final long fromSecond;
+    private final long toSecond;
+
+    private Window(Query query, long fromSecond, long toSecond) {
+      this.query = query;
+      this.fromSecond = fromSecond;
+      this.toSecond = toSecond;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Window)) {
+        return false;
+      }
+      Window other = (Window) o;
+      return query == other.query && fromSecond == other.fromSecond
+          && toSecond == other.toSecond;
+    }
+
+    @Override
+    public int hashCode() {
+      return (query.hashCode() * 31 + Long.hashCode(fromSecond)) * 31 + Long.hashCode(toSecond);
+    }
+  }
+}
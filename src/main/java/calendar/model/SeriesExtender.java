@@ -0,0 +1,73 @@
+package calendar.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolls the stored series occurrences of registered models forward as time passes,
+ * so each keeps its occurrences stored one horizon ahead of the current date.
+ *
+ * <p>DESIGN RATIONALE:
+ * - One daemon thread for all models: extending is rare and cheap (an hour's worth
+ *   of occurrences), and a daemon never keeps the application alive
+ * - Models are held weakly, so a dropped calendar is not kept alive by the extender
+ * - Models extend themselves when a query reaches past their horizon, so the
+ *   extender only keeps that from happening on a user's query
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - MODELS only holds thread-safe models, e.g. {@link ConcurrentCalendarModel}
+ * - executor is null until the first model is registered
+ */
+final class SeriesExtender {
+  private static final long PERIOD_MINUTES = 60;
+
+  private static final Set<CalendarModelInterface> MODELS =
+      Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+  private static ScheduledExecutorService executor;
+
+  private SeriesExtender() {
+  }
+
+  /**
+   * Keeps a model's stored occurrences rolling forward until it is garbage collected.
+   *
+   * @param model a model safe to call from another thread
+   */
+  static synchronized void register(CalendarModelInterface model) {
+    MODELS.add(model);
+    if (executor == null) {
+      executor = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "series-extender");
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor.scheduleAtFixedRate(SeriesExtender::extendAll, PERIOD_MINUTES, PERIOD_MINUTES,
+          TimeUnit.MINUTES);
+    }
+  }
+
+  /**
+   * Stores the occurrences of every registered model through one horizon from now.
+   */
+  static void extendAll() {
+    List<CalendarModelInterface> snapshot;
+    synchronized (MODELS) {
+      snapshot = new ArrayList<>(MODELS);
+    }
+    for (CalendarModelInterface model : snapshot) {
+      try {
+        model.materializeThrough(
+            LocalDateTime.now(model.getZone()).plus(model.getSeriesHorizon()));
+      } catch (RuntimeException e) {
+        // A failing model must not stop the others, nor the schedule.
+      }
+    }
+  }
+}
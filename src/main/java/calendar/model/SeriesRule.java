@@ -0,0 +1,57 @@
+package calendar.model;
+
+import java.time.LocalDate;
+import java.util.TreeMap;
+
+/**
+ * The rule of one series as its stored occurrences see it. The occurrences without
+ * edits of their own share it and take their subject, description, location,
+ * privacy and series link from it, so a revised rule reaches them all at once.
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - rule is never null and has this series' ID; after the series is removed it is
+ *   the last rule, which its occurrences keep until they are removed too
+ * - occurrences maps the date of each stored occurrence that follows the rule to
+ *   that occurrence, in the zone the rule's local times are in
+ */
+final class SeriesRule {
+  private EventSeries rule;
+  private final TreeMap<LocalDate, StoredEvent> occurrences;
+
+  /**
+   * Creates the shared rule of a series with no stored occurrences yet.
+   *
+   * @param rule the series rule
+   */
+  SeriesRule(EventSeries rule) {
+    this.rule = rule;
+    this.occurrences = new TreeMap<>();
+  }
+
+  /**
+   * Gets the rule the occurrences follow.
+   *
+   * @return the rule
+   */
+  EventSeries rule() {
+    return rule;
+  }
+
+  /**
+   * Replaces the rule the occurrences follow.
+   *
+   * @param rule the rule, with the same series ID
+   */
+  void setRule(EventSeries rule) {
+    this.rule = rule;
+  }
+
+  /**
+   * Gets the stored occurrences that follow the rule.
+   *
+   * @return the occurrences by date, live
+   */
+  TreeMap<LocalDate, StoredEvent> occurrences() {
+    return occurrences;
+  }
+}
@@ -0,0 +1,256 @@
+package calendar.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Specifies a search for free time shared by several calendars, using the Builder
+ * pattern. Run it with {@link CalendarManager#findFreeSlots(SlotSearch)}.
+ *
+ * <p>DESIGN RATIONALE:
+ * - Builder keeps the optional parts (working hours, count) out of a long
+ *   parameter list, as in {@link EditSpec}
+ * - The search is a single sweep over the calendars' merged busy intervals: each
+ *   gap between busy intervals is cut into back-to-back slots of the requested
+ *   duration, clipped to working hours when they are given, until enough slots are
+ *   found. No instant is probed individually
+ * - Working hours are wall-clock times in a given zone, so they follow DST
+ *
+ * <p>Example usage:
+ *
+ * <pre>
+ * SlotSearch search = SlotSearch.builder()
+ *     .calendars(manager.getAllCalendars())
+ *     .duration(Duration.ofMinutes(30))
+ *     .window(from, to)
+ *     .workingHours(LocalTime.of(9, 0), LocalTime.of(17, 0), zone)
+ *     .count(3)
+ *     .build();
+ * </pre>
+ */
+public final class SlotSearch {
+  private final List<CalendarInterface> calendars;
+  private final Duration duration;
+  private final Instant from;
+  private final Instant to;
+  private final LocalTime workStart;
+  private final LocalTime workEnd;
+  private final ZoneId workZone;
+  private final int count;
+
+  /**
+   * Private constructor - use Builder to create instances.
+   *
+   * @param builder the builder containing the values
+   */
+  private SlotSearch(Builder builder) {
+    this.calendars = Collections.unmodifiableList(new ArrayList<>(builder.calendars));
+    this.duration = builder.duration;
+    this.from = builder.from;
+    this.to = builder.to;
+    this.workStart = builder.workStart;
+    this.workEnd = builder.workEnd;
+    this.workZone = builder.workZone;
+    this.count = builder.count;
+  }
+
+  /**
+   * Creates a new Builder for constructing SlotSearch instances.
+   *
+   * @return a new Builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public List<CalendarInterface> getCalendars() {
+    return calendars;
+  }
+
+  public Duration getDuration() {
+    return duration;
+  }
+
+  public Instant getFrom() {
+    return from;
+  }
+
+  public Instant getTo() {
+    return to;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Finds the first free slots given the merged busy intervals of the calendars.
+   *
+   * @param busy the busy intervals within the window as sorted, non-overlapping
+   *             start/end pairs of epoch seconds
+   * @return the start instants of up to count slots, in chronological order
+   */
+  List<Instant> sweep(long[] busy) {
+    List<Instant> slots = new ArrayList<>(count);
+    long cursor = from.getEpochSecond();
+    for (int i = 0; i <= busy.length && slots.size() < count; i += 2) {
+      long gapEnd = i < busy.length ? busy[i] : to.getEpochSecond();
+      if (gapEnd > cursor) {
+        fillGap(cursor, gapEnd, slots);
+      }
+      if (i < busy.length) {
+        cursor = Math.max(cursor, busy[i + 1]);
+      }
+    }
+    return slots;
+  }
+
+  /**
+   * Adds back-to-back slots within a free gap, clipped to working hours.
+   *
+   * @param gapStart the start of the gap, in epoch seconds
+   * @param gapEnd   the end of the gap, in epoch seconds
+   * @param slots    the slots found so far
+   */
+  private void fillGap(long gapStart, long gapEnd, List<Instant> slots) {
+    if (workZone == null) {
+      addSlots(gapStart, gapEnd, slots);
+      return;
+    }
+    LocalDate date = Instant.ofEpochSecond(gapStart).atZone(workZone).toLocalDate();
+    while (slots.size() < count) {
+      long dayStart = date.atTime(workStart).atZone(workZone).toEpochSecond();
+      if (dayStart >= gapEnd) {
+        return;
+      }
+      long dayEnd = date.atTime(workEnd).atZone(workZone).toEpochSecond();
+      addSlots(Math.max(gapStart, dayStart), Math.min(gapEnd, dayEnd), slots);
+      date = date.plusDays(1);
+    }
+  }
+
+  private void addSlots(long start, long end, List<Instant> slots) {
+    long length = duration.getSeconds();
+    for (long s = start; s + length <= end && slots.size() < count; s += length) {
+      slots.add(Instant.ofEpochSecond(s));
+    }
+  }
+
+  /**
+   * Builder for SlotSearch.
+   */
+  public static class Builder {
+    private List<CalendarInterface> calendars;
+    private Duration duration;
+    private Instant from;
+    private Instant to;
+    private LocalTime workStart;
+    private LocalTime workEnd;
+    private ZoneId workZone;
+    private int count = 1;
+
+    /**
+     * Creates an empty Builder that looks for one slot at any time of day.
+     */
+    Builder() {
+
+    }
+
+    /**
+     * Sets the calendars that must all be free.
+     *
+     * @param calendars the calendars to search
+     * @return this Builder for chaining
+     */
+    public Builder calendars(List<CalendarInterface> calendars) {
+      this.calendars = calendars;
+      return this;
+    }
+
+    /**
+     * Sets the length of each slot.
+     *
+     * @param duration the slot length (whole seconds, at least one second)
+     * @return this Builder for chaining
+     */
+    public Builder duration(Duration duration) {
+      this.duration = duration;
+      return this;
+    }
+
+    /**
+     * Sets the window to search in.
+     *
+     * @param from the earliest slot start
+     * @param to   the latest slot end
+     * @return this Builder for chaining
+     */
+    public Builder window(Instant from, Instant to) {
+      this.from = from;
+      this.to = to;
+      return this;
+    }
+
+    /**
+     * Restricts slots to working hours on every day.
+     *
+     * @param start the start of the working day
+     * @param end   the end of the working day (after start)
+     * @param zone  the zone the working hours are in
+     * @return this Builder for chaining
+     */
+    public Builder workingHours(LocalTime start, LocalTime end, ZoneId zone) {
+      this.workStart = start;
+      this.workEnd = end;
+      this.workZone = zone;
+      return this;
+    }
+
+    /**
+     * Sets how many slots to return.
+     *
+     * @param count the maximum number of slots
+     * @return this Builder for chaining
+     */
+    public Builder count(int count) {
+      this.count = count;
+      return this;
+    }
+
+    /**
+     * Builds and returns the SlotSearch instance.
+     *
+     * @return a new SlotSearch with the configured values
+     * @throws IllegalArgumentException if a required value is missing or a value is
+     *                                  out of range
+     */
+    public SlotSearch build() {
+      if (calendars == null || calendars.isEmpty()) {
+        throw new IllegalArgumentException("At least one calendar is required");
+      }
+      if (duration == null || duration.getSeconds() < 1) {
+        throw new IllegalArgumentException("Slot duration must be at least one second");
+      }
+      if (from == null || to == null || !to.isAfter(from)) {
+        throw new IllegalArgumentException("Search window end must be after its start");
+      }
+      if (workZone != null || workStart != null || workEnd != null) {
+        if (workZone == null || workStart == null || workEnd == null
+            || !workEnd.isAfter(workStart)) {
+          throw new IllegalArgumentException(
+              "Working hours need a zone and an end after the start");
+        }
+      }
+      if (count < 1) {
+        throw new IllegalArgumentException("Slot count must be at least 1");
+      }
+      return new SlotSearch(this);
+    }
+  }
+}
@@ -0,0 +1,247 @@
+package calendar.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * An event as it is held inside a {@link CalendarModel}.
+ *
+ * <p>The canonical form of the event has its start and end expressed in UTC, so the
+ * stored data does not depend on the timezone of the calendar. The event seen by
+ * callers (the "view") carries local date-times in the model's current zone; it is
+ * derived on first read and cached until the zone changes. The cache is a single
+ * immutable holder, so concurrent readers of a shared model see either no view or
+ * a complete one.
+ *
+ * <p>A series occurrence without edits of its own follows its series' rule
+ * ({@link SeriesRule}): only its ID, date and span are its own, and the rest of its
+ * canonical form is derived from the rule in effect, again on first read. Its
+ * canonical form therefore changes when the rule does, while its span does not.
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - canonical() is never null and its date-times are UTC
+ * - startSecond/endSecond are the epoch seconds of canonical()'s start/end
+ * - exactly one of canonical and rule is set; date is set with rule
+ */
+final class StoredEvent {
+  private final EventInterface canonical;
+  private final SeriesRule rule;
+  private final LocalDate date;
+  private final UUID id;
+  private final long startSecond;
+  private final long endSecond;
+
+  private Derived derived;
+  private View view;
+
+  /**
+   * Wraps a canonical (UTC) event.
+   *
+   * @param canonical the event with UTC date-times
+   */
+  StoredEvent(EventInterface canonical) {
+    this.canonical = canonical;
+    this.rule = null;
+    this.date = null;
+    this.id = canonical.getId();
+    this.startSecond = canonical.getStartDateTime().toEpochSecond(ZoneOffset.UTC);
+    this.endSecond = canonical.getEndDateTime().toEpochSecond(ZoneOffset.UTC);
+  }
+
+  /**
+   * Wraps a series occurrence that follows its series' rule.
+   *
+   * @param rule      the shared rule of its series
+   * @param date      the occurrence date, in the zone the rule's times are in
+   * @param canonical the occurrence with UTC date-times, as the rule the shared one
+   *                  holds or is about to hold makes it
+   */
+  StoredEvent(SeriesRule rule, LocalDate date, EventInterface canonical) {
+    this.canonical = null;
+    this.rule = rule;
+    this.date = date;
+    this.id = canonical.getId();
+    this.startSecond = canonical.getStartDateTime().toEpochSecond(ZoneOffset.UTC);
+    this.endSecond = canonical.getEndDateTime().toEpochSecond(ZoneOffset.UTC);
+    this.derived = new Derived(rule.rule(), canonical);
+  }
+
+  /**
+   * Gets the canonical form of the event.
+   *
+   * @return the event with UTC date-times
+   */
+  EventInterface canonical() {
+    if (rule == null) {
+      return canonical;
+    }
+    EventSeries current = rule.rule();
+    Derived cached = derived;
+    if (cached != null && cached.rule == current) {
+      return cached.event;
+    }
+    EventInterface result = under(current);
+    derived = new Derived(current, result);
+    return result;
+  }
+
+  /**
+   * Gets the canonical form an occurrence that follows its series' rule has under a
+   * version of that rule.
+   *
+   * @param series a version of the rule
+   * @return the event with UTC date-times
+   */
+  EventInterface under(EventSeries series) {
+    EventInterface template = series.getTemplateOn(date);
+    LocalDate detached = series.getDetachedFrom();
+    return new Event(template.getSubject(), utc(startSecond), utc(endSecond),
+        template.getDescription().orElse(null), template.getLocation().orElse(null),
+        template.isPrivate(), id,
+        detached != null && !date.isBefore(detached) ? null : series.getSeriesId());
+  }
+
+  /**
+   * Gets the shared rule this occurrence follows.
+   *
+   * @return the rule, or null if the event has its own fields
+   */
+  SeriesRule rule() {
+    return rule;
+  }
+
+  /**
+   * Gets the date of an occurrence that follows its series' rule.
+   *
+   * @return the date in the zone the rule's times are in, or null if the event has
+   *         its own fields
+   */
+  LocalDate date() {
+    return date;
+  }
+
+  /**
+   * Gets a version of this event that no longer changes with its rule, e.g. to keep
+   * once it is removed.
+   *
+   * @return this event if it has its own fields, or a copy of its current form
+   */
+  StoredEvent snapshot() {
+    return rule == null ? this : new StoredEvent(canonical());
+  }
+
+  /**
+   * Gets a version of an occurrence that follows its series' rule with a new span,
+   * or of any other event with new fields.
+   *
+   * @param moved the new canonical form, with the same ID
+   * @return the new version
+   */
+  StoredEvent with(EventInterface moved) {
+    return rule == null ? new StoredEvent(moved) : new StoredEvent(rule, date, moved);
+  }
+
+  /**
+   * Gets the start instant.
+   *
+   * @return the start in epoch seconds
+   */
+  long startSecond() {
+    return startSecond;
+  }
+
+  /**
+   * Gets the end instant.
+   *
+   * @return the end in epoch seconds
+   */
+  long endSecond() {
+    return endSecond;
+  }
+
+  /**
+   * Gets the event as seen in the given zone.
+   *
+   * @param zone the zone for local date-times
+   * @return the event with local date-times in zone
+   */
+  EventInterface view(ZoneId zone) {
+    EventInterface current = canonical();
+    View cached = view;
+    if (cached != null && zone.equals(cached.zone) && cached.canonical == current) {
+      return cached.event;
+    }
+    EventInterface result;
+    if (ZoneOffset.UTC.equals(zone)) {
+      result = current;
+    } else {
+      result = current.withModifications(null, fromUtc(current.getStartDateTime(), zone),
+          fromUtc(current.getEndDateTime(), zone), null, null, null, null);
+    }
+    view = new View(zone, current, result);
+    return result;
+  }
+
+  private static LocalDateTime utc(long second) {
+    return LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC);
+  }
+
+  /**
+   * Converts a UTC date-time to the local date-time in zone.
+   *
+   * @param utc  the UTC date-time
+   * @param zone the target zone
+   * @return the local date-time
+   */
+  static LocalDateTime fromUtc(LocalDateTime utc, ZoneId zone) {
+    if (ZoneOffset.UTC.equals(zone)) {
+      return utc;
+    }
+    return utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDateTime();
+  }
+
+  /**
+   * Converts a local date-time in zone to UTC.
+   *
+   * @param local the local date-time
+   * @param zone  the zone of local
+   * @return the UTC date-time
+   */
+  static LocalDateTime toUtc(LocalDateTime local, ZoneId zone) {
+    if (ZoneOffset.UTC.equals(zone)) {
+      return local;
+    }
+    return local.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+  }
+
+  /**
+   * A cached view and the zone and canonical form it was derived from.
+   */
+  private static final class View {
+    private final ZoneId zone;
+    private final EventInterface canonical;
+    private final EventInterface event;
+
+    private View(ZoneId zone, EventInterface canonical, EventInterface event) {
+      this.zone = zone;
+      this.canonical = canonical;
+      this.event = event;
+    }
+  }
+
+  /**
+   * A canonical form derived from a rule, and the rule.
+   */
+  private static final class Derived {
+    private final EventSeries rule;
+    private final EventInterface event;
+
+    private Derived(EventSeries rule, EventInterface event) {
+      this.rule = rule;
+      this.event = event;
+    }
+  }
+}
@@ -0,0 +1,195 @@
+package calendar.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from the words of each event's subject, description and location
+ * to the events that contain them.
+ *
+ * <p>DESIGN RATIONALE:
+ * - Terms are kept in a TreeMap, so a prefix query is a range scan over the terms
+ *   that start with the prefix instead of a scan over events
+ * - Postings hold the stored events themselves, so results need no second lookup
+ * - Words are lower-cased (Locale.ROOT) runs of letters and digits; everything else
+ *   separates words
+ * - Maintained incrementally by {@link EventStore} on every add and remove, which
+ *   covers creation and edits
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - an event appears in the postings of a term iff the term is one of its words
+ * - no term maps to an empty posting set
+ */
+final class TextIndex {
+  private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private final TreeMap<String, Set<StoredEvent>> postings;
+
+  /**
+   * Creates an empty index.
+   */
+  TextIndex() {
+    this.postings = new TreeMap<>();
+  }
+
+  /**
+   * Splits text into index terms.
+   *
+   * @param text the text, may be null
+   * @return the distinct terms, in order of first appearance
+   */
+  static Set<String> terms(String text) {
+    Set<String> terms = new LinkedHashSet<>();
+    if (text == null) {
+      return terms;
+    }
+    for (String word : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+      if (!word.isEmpty()) {
+        terms.add(word);
+      }
+    }
+    return terms;
+  }
+
+  private static Set<String> terms(EventInterface event) {
+    Set<String> terms = terms(event.getSubject());
+    terms.addAll(terms(event.getDescription().orElse(null)));
+    terms.addAll(terms(event.getLocation().orElse(null)));
+    return terms;
+  }
+
+  /**
+   * Indexes an event.
+   *
+   * @param stored the event to index
+   */
+  void add(StoredEvent stored) {
+    for (String term : terms(stored.canonical())) {
+      postings.computeIfAbsent(term, k -> new HashSet<>()).add(stored);
+    }
+  }
+
+  /**
+   * Removes an event from the index.
+   *
+   * @param stored the event to remove
+   */
+  void remove(StoredEvent stored) {
+    for (String term : terms(stored.canonical())) {
+      Set<StoredEvent> events = postings.get(term);
+      if (events != null) {
+        events.remove(stored);
+        if (events.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    }
+  }
+
+  /**
+   * Finds the events that match every query word. A word ending in '*' matches any
+   * term starting with it; other words must match a term exactly.
+   *
+   * @param query the query words, separated by whitespace
+   * @return the matching events, unordered (empty for a query with no words)
+   */
+  Collection<StoredEvent> search(String query) {
+    List<List<Set<StoredEvent>>> words = new ArrayList<>();
+    for (String word : query.trim().split("\\s+")) {
+      boolean prefix = word.endsWith("*");
+      List<String> terms = new ArrayList<>(terms(word));
+      for (int i = 0; i < terms.size(); i++) {
+        words.add(prefix && i == terms.size() - 1
+            ? new ArrayList<>(postings.subMap(terms.get(i), true,
+                terms.get(i) + Character.MAX_VALUE, false).values())
+            : Collections.singletonList(
+                postings.getOrDefault(terms.get(i), Collections.emptySet())));
+      }
+    }
+    if (words.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    // Drive the intersection from the word with the fewest postings; the other
+    // words are only probed, so their prefix alternatives are never merged.
+    List<Set<StoredEvent>> driver = words.get(0);
+    for (List<Set<StoredEvent>> word : words) {
+      if (size(word) < size(driver)) {
+        driver = word;
+      }
+    }
+    Set<StoredEvent> result = new HashSet<>();
+    for (Set<StoredEvent> alternative : driver) {
+      for (StoredEvent stored : alternative) {
+        if (matchesAll(stored, words, driver)) {
+          result.add(stored);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Checks whether an event that is not indexed matches every query word, as
+   * {@link #search} would find it if it were.
+   *
+   * @param query the query words, separated by whitespace
+   * @param event the event
+   * @return true if it matches (false for a query with no words)
+   */
+  static boolean matches(String query, EventInterface event) {
+    Set<String> eventTerms = terms(event);
+    boolean anyWord = false;
+    for (String word : query.trim().split("\\s+")) {
+      boolean prefix = word.endsWith("*");
+      List<String> terms = new ArrayList<>(terms(word));
+      for (int i = 0; i < terms.size(); i++) {
+        String term = terms.get(i);
+        boolean found = prefix && i == terms.size() - 1
+            ? eventTerms.stream().anyMatch(t -> t.startsWith(term))
+            : eventTerms.contains(term);
+        if (!found) {
+          return false;
+        }
+        anyWord = true;
+      }
+    }
+    return anyWord;
+  }
+
+  private static long size(List<Set<StoredEvent>> alternatives) {
+    long size = 0;
+    for (Set<StoredEvent> alternative : alternatives) {
+      size += alternative.size();
+    }
+    return size;
+  }
+
+  private static boolean matchesAll(StoredEvent stored, List<List<Set<StoredEvent>>> words,
+                                    List<Set<StoredEvent>> skip) {
+    for (List<Set<StoredEvent>> word : words) {
+      if (word == skip) {
+        continue;
+      }
+      boolean found = false;
+      for (Set<StoredEvent> alternative : word) {
+        if (alternative.contains(stored)) {
+          found = true;
+          break;
+        }
+      }
+      if (!found) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
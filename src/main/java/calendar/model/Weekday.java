@@ -1,11 +1,22 @@
 package calendar.model;
 
 import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Enum representing days of the week single-character abbreviations.
  * Uses standard abbreviations: M, T, W, R, F, S, U
  * (R for Thursday to avoid conflict with Tuesday).
+ *
+ * <p>A set of weekdays can also be held as a 7-bit mask, Monday in bit 0 through
+ * Sunday in bit 6 ({@link #toMask}). Recurrence code uses the mask to jump from a
+ * date straight to the next matching one ({@link #daysUntilNext}) instead of
+ * testing every day, and to count or find matching dates in closed form
+ * ({@link #countBetween}, {@link #nthOnOrAfter}).
  */
 public enum Weekday {
   MONDAY('M', DayOfWeek.MONDAY), TUESDAY('T', DayOfWeek.TUESDAY),
@@ -86,14 +97,91 @@ public enum Weekday {
    * @param weekdays array of weekdays
    * @return set of DayOfWeek values
    */
-  public static java.util.Set<DayOfWeek> toDayOfWeekSet(Weekday[] weekdays) {
-    java.util.Set<DayOfWeek> result = new java.util.HashSet<>();
+  public static Set<DayOfWeek> toDayOfWeekSet(Weekday[] weekdays) {
+    Set<DayOfWeek> result = EnumSet.noneOf(DayOfWeek.class);
     for (Weekday weekday : weekdays) {
       result.add(weekday.getDayOfWeek());
     }
     return result;
   }
 
+  /**
+   * Converts a set of days to a weekday mask.
+   *
+   * @param days the days, may be null
+   * @return the mask, with bit {@code day.getValue() - 1} set for each day
+   */
+  public static int toMask(Collection<DayOfWeek> days) {
+    int mask = 0;
+    if (days != null) {
+      for (DayOfWeek day : days) {
+        mask |= 1 << (day.getValue() - 1);
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Counts the days from a day of the week to the next day in a mask.
+   *
+   * @param mask the weekday mask
+   * @param day  the day to start from, which counts if it is in the mask
+   * @return 0 to 6, or -1 if the mask is empty
+   */
+  public static int daysUntilNext(int mask, DayOfWeek day) {
+    int rotated = rotate(mask, day);
+    return rotated == 0 ? -1 : Integer.numberOfTrailingZeros(rotated);
+  }
+
+  /**
+   * Counts the dates in a range that fall on a day in a mask, without visiting
+   * them: whole weeks contribute the mask's population count each, and the
+   * remaining days are read off the mask rotated to the first date.
+   *
+   * @param mask the weekday mask
+   * @param from the first date of the range
+   * @param to   the last date of the range, inclusive
+   * @return the number of matching dates, 0 if to is before from
+   */
+  public static long countBetween(int mask, LocalDate from, LocalDate to) {
+    long days = ChronoUnit.DAYS.between(from, to) + 1;
+    if (days <= 0) {
+      return 0;
+    }
+    int rest = (int) (days % 7);
+    return days / 7 * Integer.bitCount(mask)
+        + Integer.bitCount(rotate(mask, from.getDayOfWeek()) & ((1 << rest) - 1));
+  }
+
+  /**
+   * Finds the n-th date on or after a date that falls on a day in a mask, skipping
+   * whole weeks at once.
+   *
+   * @param mask the weekday mask
+   * @param from the first date to consider
+   * @param n    which matching date to find, from 1
+   * @return the date, or null if the mask is empty
+   */
+  public static LocalDate nthOnOrAfter(int mask, LocalDate from, long n) {
+    int perWeek = Integer.bitCount(mask);
+    if (perWeek == 0 || n < 1) {
+      return null;
+    }
+    int rotated = rotate(mask, from.getDayOfWeek());
+    for (long skip = (n - 1) % perWeek; skip > 0; skip--) {
+      rotated &= rotated - 1;
+    }
+    return from.plusWeeks((n - 1) / perWeek).plusDays(Integer.numberOfTrailingZeros(rotated));
+  }
+
+  /**
+   * Rotates a mask so that bit 0 stands for the given day.
+   */
+  private static int rotate(int mask, DayOfWeek day) {
+    int shift = day.getValue() - 1;
+    return ((mask >>> shift) | (mask << (7 - shift))) & 0x7F;
+  }
+
   /**
    * Gets the single-character abbreviation.
    *
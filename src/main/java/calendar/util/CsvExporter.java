@@ -1,6 +1,9 @@
 package calendar.util;
 
+import calendar.model.EventDelta;
 import calendar.model.EventInterface;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
@@ -9,6 +12,12 @@ import java.util.Locale;
  * CSV export utility for Google Calendar format.
  */
 public final class CsvExporter {
+  private static final String HEADER = "Subject,Start Date,Start Time,End Date,End Time,"
+      + "All Day Event,Description,Location,Private\n";
+  private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+  private static final DateTimeFormatter TIME =
+      DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH);
+
   private CsvExporter() {
   }
 
@@ -20,24 +29,84 @@ public final class CsvExporter {
    */
   public static String toCsv(List<EventInterface> events) {
     StringBuilder csv = new StringBuilder();
-    csv.append("Subject,Start Date,Start Time,End Date,End Time,");
-    csv.append("All Day Event,Description,Location,Private\n");
-    DateTimeFormatter date = DateTimeFormatter.ofPattern("yyyy/MM/dd");
-    DateTimeFormatter time = DateTimeFormatter.ofPattern("h:mm a", Locale.ENGLISH);
+    try {
+      writeCsv(events, csv);
+    } catch (IOException e) {
+      // A StringBuilder does not fail.
+      throw new UncheckedIOException(e);
+    }
+    return csv.toString();
+  }
+
+  /**
+   * Writes events in Google Calendar CSV format as they are converted, so large
+   * exports need not be held in memory as one string.
+   *
+   * @param events the events to export
+   * @param out    where to write the CSV text
+   * @throws IOException if writing fails
+   */
+  public static void writeCsv(List<EventInterface> events, Appendable out)
+      throws IOException {
+    out.append(HEADER);
     for (EventInterface e : events) {
-      csv.append(escape(e.getSubject())).append(',')
-          .append(e.getStartDateTime().toLocalDate().format(date)).append(',')
-          .append(e.getStartDateTime().toLocalTime().format(time)).append(',')
-          .append(e.getEndDateTime().toLocalDate().format(date)).append(',')
-          .append(e.getEndDateTime().toLocalTime().format(time)).append(',')
-          .append(e.isAllDayEvent() ? "True" : "False").append(',')
-          .append(escape(e.getDescription().orElse(""))).append(',')
-          .append(escape(e.getLocation().orElse(""))).append(',')
-          .append(e.isPrivate() ? "True" : "False").append('\n');
+      appendRow(out, e);
+    }
+  }
+
+  /**
+   * Converts the changes since a checkpoint to CSV: the Google Calendar columns,
+   * preceded by the kind of change (added, changed or removed) and the event ID.
+   * Removed events are written in their last version.
+   *
+   * @param delta the changes to export
+   * @return CSV string representation
+   */
+  public static String toCsvDelta(EventDelta delta) {
+    StringBuilder csv = new StringBuilder();
+    try {
+      writeCsvDelta(delta, csv);
+    } catch (IOException e) {
+      // A StringBuilder does not fail.
+      throw new UncheckedIOException(e);
     }
     return csv.toString();
   }
 
+  /**
+   * Writes the changes since a checkpoint as {@link #toCsvDelta} formats them.
+   *
+   * @param delta the changes to export
+   * @param out   where to write the CSV text
+   * @throws IOException if writing fails
+   */
+  public static void writeCsvDelta(EventDelta delta, Appendable out) throws IOException {
+    out.append("Change,Id,").append(HEADER);
+    appendChanges(out, "added", delta.getAdded());
+    appendChanges(out, "changed", delta.getChanged());
+    appendChanges(out, "removed", delta.getRemoved());
+  }
+
+  private static void appendChanges(Appendable csv, String change,
+      List<EventInterface> events) throws IOException {
+    for (EventInterface e : events) {
+      csv.append(change).append(',').append(e.getId().toString()).append(',');
+      appendRow(csv, e);
+    }
+  }
+
+  private static void appendRow(Appendable csv, EventInterface e) throws IOException {
+    csv.append(escape(e.getSubject())).append(',')
+        .append(e.getStartDateTime().toLocalDate().format(DATE)).append(',')
+        .append(e.getStartDateTime().toLocalTime().format(TIME)).append(',')
+        .append(e.getEndDateTime().toLocalDate().format(DATE)).append(',')
+        .append(e.getEndDateTime().toLocalTime().format(TIME)).append(',')
+        .append(e.isAllDayEvent() ? "True" : "False").append(',')
+        .append(escape(e.getDescription().orElse(""))).append(',')
+        .append(escape(e.getLocation().orElse(""))).append(',')
+        .append(e.isPrivate() ? "True" : "False").append('\n');
+  }
+
   /**
    * Escapes a CSV field.
    *
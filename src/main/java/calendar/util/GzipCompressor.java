@@ -0,0 +1,202 @@
+package calendar.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A stream that writes gzip data, compressing large contents in blocks on several
+ * cores as they are written.
+ *
+ * <p>DESIGN RATIONALE:
+ * - Each block becomes a gzip member of its own. A gzip file may hold several
+ *   members back to back, and gzip readers (GZIPInputStream, gunzip) read them as
+ *   one stream, so the output is an ordinary .gz file
+ * - Full blocks are compressed on the common fork-join pool while the writer fills
+ *   the next one, and written in order, so the output does not depend on
+ *   scheduling
+ * - At most one block per pool thread, plus one, is in flight; the writer waits for
+ *   the oldest before starting another. Memory is therefore bounded by the pool
+ *   size, not by the size of the content
+ * - Deflate only looks 32 KiB back, so splitting into 1 MiB blocks costs little
+ *   ratio: only the start of each block compresses worse than it would in one
+ *   stream
+ * - Content of at most one block is written as a single member, exactly as
+ *   GZIPOutputStream would write it; empty content as one empty member
+ *
+ * <p>REPRESENTATION INVARIANTS:
+ * - pending holds the blocks handed to the pool and not yet written, oldest first,
+ *   and never more than maxInFlight of them
+ * - bytesIn counts every byte written to this stream, bytesOut every byte written
+ *   to out
+ */
+public final class GzipCompressor extends OutputStream {
+  private static final int BLOCK_BYTES = 1 << 20;
+
+  private final OutputStream out;
+  private final int maxInFlight;
+  private final Deque<CompletableFuture<byte[]>> pending;
+  private byte[] block;
+  private int filled;
+  private boolean anyMember;
+  private long bytesIn;
+  private long bytesOut;
+  private boolean closed;
+
+  /**
+   * Creates a stream that compresses into another.
+   *
+   * @param out the stream to write the gzip data to; closed with this one
+   */
+  public GzipCompressor(OutputStream out) {
+    this.out = out;
+    this.maxInFlight = ForkJoinPool.getCommonPoolParallelism() + 1;
+    this.pending = new ArrayDeque<>();
+    this.block = new byte[BLOCK_BYTES];
+  }
+
+  /**
+   * Compresses content into a gzip file, replacing the file if it exists.
+   *
+   * @param content the bytes to compress
+   * @param file    the file to write
+   * @return the size of the compressed file in bytes
+   * @throws IOException if the file cannot be written
+   */
+  public static long write(byte[] content, Path file) throws IOException {
+    GzipCompressor gzip = new GzipCompressor(Files.newOutputStream(file));
+    try (gzip) {
+      gzip.write(content);
+    }
+    return gzip.getBytesOut();
+  }
+
+  /**
+   * Gets the number of bytes written to this stream so far.
+   *
+   * @return the uncompressed size
+   */
+  public long getBytesIn() {
+    return bytesIn;
+  }
+
+  /**
+   * Gets the number of compressed bytes written so far; the compressed size once
+   * the stream is closed.
+   *
+   * @return the compressed size
+   */
+  public long getBytesOut() {
+    return bytesOut;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+    while (length > 0) {
+      int n = Math.min(length, BLOCK_BYTES - filled);
+      System.arraycopy(bytes, offset, block, filled, n);
+      filled += n;
+      offset += n;
+      length -= n;
+      bytesIn += n;
+      if (filled == BLOCK_BYTES) {
+        submit();
+      }
+    }
+  }
+
+  /**
+   * Hands the filled part of the current block to the pool, first writing the
+   * oldest member if too many are in flight.
+   *
+   * @throws IOException if a member cannot be written
+   */
+  private void submit() throws IOException {
+    if (pending.size() >= maxInFlight) {
+      writeOldest();
+    }
+    byte[] full = block;
+    int length = filled;
+    pending.add(CompletableFuture.supplyAsync(() -> compress(full, length)));
+    anyMember = true;
+    block = new byte[BLOCK_BYTES];
+    filled = 0;
+  }
+
+  private void writeOldest() throws IOException {
+    byte[] member = pending.removeFirst().join();
+    out.write(member);
+    bytesOut += member.length;
+  }
+
+  /**
+   * Writes the members still to be written. The last, partial block is only
+   * compressed on close, so it can still grow.
+   *
+   * @throws IOException if a member cannot be written
+   */
+  @Override
+  public void flush() throws IOException {
+    while (!pending.isEmpty()) {
+      writeOldest();
+    }
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try (out) {
+      if (filled > 0 || !anyMember) {
+        byte[] member = compress(block, filled);
+        while (!pending.isEmpty()) {
+          writeOldest();
+        }
+        out.write(member);
+        bytesOut += member.length;
+      } else {
+        flush();
+      }
+    } finally {
+      block = null;
+      pending.clear();
+    }
+  }
+
+  /**
+   * Compresses the start of a block into one gzip member.
+   *
+   * @param content the block
+   * @param length  the number of bytes to compress
+   * @return the gzip member
+   */
+  private static byte[] compress(byte[] content, int length) {
+    ByteArrayOutputStream member = new ByteArrayOutputStream(length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(member)) {
+      gzip.write(content, 0, length);
+    } catch (IOException e) {
+      // A byte array stream does not fail.
+      throw new UncheckedIOException(e);
+    }
+    return member.toByteArray();
+  }
+}
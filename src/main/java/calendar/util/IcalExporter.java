@@ -1,11 +1,19 @@
 package calendar.util;
 
+import calendar.model.EventDelta;
 import calendar.model.EventInterface;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Utility class for exporting events to iCal (RFC 5545) format.
@@ -20,6 +28,8 @@ import java.util.List;
  * - Handles optional fields (description, location)
  * - Escapes special characters in text fields
  * - Line folding at 75 characters as per RFC 5545
+ * - Writes each series' occurrences together, where its first occurrence falls, so
+ *   {@link IcalImporter} holds one series at a time when rebuilding them
  *
  * <p>Example output:
  *
@@ -67,43 +77,152 @@ public class IcalExporter {
    */
   public static String toIcal(List<EventInterface> events, String calendarName, ZoneId timezone) {
     StringBuilder ical = new StringBuilder();
+    try {
+      writeIcal(events, calendarName, timezone, ical);
+    } catch (IOException e) {
+      // A StringBuilder does not fail.
+      throw new UncheckedIOException(e);
+    }
+    return ical.toString();
+  }
 
-    ical.append("BEGIN:VCALENDAR\r\n");
-    ical.append("VERSION:2.0\r\n");
-    ical.append("PRODID:-//Calendar//EN\r\n");
-    ical.append("CALSCALE:GREGORIAN\r\n");
-    ical.append("METHOD:PUBLISH\r\n");
+  /**
+   * Writes a list of events in iCal format one event at a time, so large exports
+   * need not be held in memory as one string.
+   *
+   * @param events       the list of events to export
+   * @param calendarName the name of the calendar (used in PRODID)
+   * @param timezone     the timezone of the calendar
+   * @param out          where to write the iCal text
+   * @throws IOException if writing fails
+   */
+  public static void writeIcal(List<EventInterface> events, String calendarName,
+                               ZoneId timezone, Appendable out) throws IOException {
+    appendHeader(out);
+
+    ZoneConverter toUtc = ZoneConverter.of(timezone, ZoneOffset.UTC);
+    String dtstamp = ZonedDateTime.now(ZoneOffset.UTC).format(ICAL_DATETIME_FORMATTER);
+    for (EventInterface event : seriesTogether(events)) {
+      out.append(formatEvent(event, toUtc, dtstamp, null));
+    }
+
+    out.append("END:VCALENDAR\r\n");
+  }
 
+  /**
+   * Orders events so that the occurrences of each series follow each other, at the
+   * place of the series' first occurrence; other events keep their places.
+   *
+   * @param events the events
+   * @return the events in writing order
+   */
+  private static List<EventInterface> seriesTogether(List<EventInterface> events) {
+    Map<UUID, List<EventInterface>> bySeries = new HashMap<>();
     for (EventInterface event : events) {
-      ical.append(formatEvent(event, timezone));
+      if (event.getSeriesId().isPresent()) {
+        bySeries.computeIfAbsent(event.getSeriesId().get(), k -> new ArrayList<>()).add(event);
+      }
+    }
+    if (bySeries.isEmpty()) {
+      return events;
     }
 
-    ical.append("END:VCALENDAR\r\n");
+    List<EventInterface> ordered = new ArrayList<>(events.size());
+    for (EventInterface event : events) {
+      if (!event.getSeriesId().isPresent()) {
+        ordered.add(event);
+      } else {
+        List<EventInterface> occurrences = bySeries.remove(event.getSeriesId().get());
+        if (occurrences != null) {
+          ordered.addAll(occurrences);
+        }
+      }
+    }
+    return ordered;
+  }
 
+  /**
+   * Exports the changes since a checkpoint to iCal format. Added and changed events
+   * are written as for {@link #toIcal}, so importers can replace events by UID;
+   * removed events are written in their last version with STATUS:CANCELLED. The
+   * X-CHECKPOINT property holds the checkpoint for the next incremental export.
+   *
+   * @param delta        the changes to export
+   * @param calendarName the name of the calendar
+   * @param timezone     the timezone of the calendar
+   * @return the iCal formatted string
+   */
+  public static String toIcalDelta(EventDelta delta, String calendarName, ZoneId timezone) {
+    StringBuilder ical = new StringBuilder();
+    try {
+      writeIcalDelta(delta, calendarName, timezone, ical);
+    } catch (IOException e) {
+      // A StringBuilder does not fail.
+      throw new UncheckedIOException(e);
+    }
     return ical.toString();
   }
 
+  /**
+   * Writes the changes since a checkpoint as {@link #toIcalDelta} formats them.
+   *
+   * @param delta        the changes to export
+   * @param calendarName the name of the calendar
+   * @param timezone     the timezone of the calendar
+   * @param out          where to write the iCal text
+   * @throws IOException if writing fails
+   */
+  public static void writeIcalDelta(EventDelta delta, String calendarName, ZoneId timezone,
+                                    Appendable out) throws IOException {
+    appendHeader(out);
+    out.append("X-CHECKPOINT:").append(Long.toString(delta.getCheckpoint())).append("\r\n");
+
+    ZoneConverter toUtc = ZoneConverter.of(timezone, ZoneOffset.UTC);
+    String dtstamp = ZonedDateTime.now(ZoneOffset.UTC).format(ICAL_DATETIME_FORMATTER);
+    for (EventInterface event : delta.getAdded()) {
+      out.append(formatEvent(event, toUtc, dtstamp, null));
+    }
+    for (EventInterface event : delta.getChanged()) {
+      out.append(formatEvent(event, toUtc, dtstamp, null));
+    }
+    for (EventInterface event : delta.getRemoved()) {
+      out.append(formatEvent(event, toUtc, dtstamp, "CANCELLED"));
+    }
+
+    out.append("END:VCALENDAR\r\n");
+  }
+
+  private static void appendHeader(Appendable ical) throws IOException {
+    ical.append("BEGIN:VCALENDAR\r\n");
+    ical.append("VERSION:2.0\r\n");
+    ical.append("PRODID:-//Calendar//EN\r\n");
+    ical.append("CALSCALE:GREGORIAN\r\n");
+    ical.append("METHOD:PUBLISH\r\n");
+  }
+
   /**
    * Formats a single event in iCal format.
    *
-   * @param event    the event to format
-   * @param timezone the timezone of the calendar
+   * @param event   the event to format
+   * @param toUtc   the converter from the calendar's timezone to UTC
+   * @param dtstamp the DTSTAMP value shared by every event of the export
+   * @param status  the STATUS value, or null to leave it out
    * @return the formatted VEVENT component
    */
-  private static String formatEvent(EventInterface event, ZoneId timezone) {
+  private static String formatEvent(EventInterface event, ZoneConverter toUtc,
+                                    String dtstamp, String status) {
     StringBuilder vevent = new StringBuilder();
 
     vevent.append("BEGIN:VEVENT\r\n");
 
     vevent.append("UID:").append(event.getId().toString()).append("@calendar.app\r\n");
 
-    String dtstamp = ZonedDateTime.now(ZoneId.of("UTC")).format(ICAL_DATETIME_FORMATTER);
     vevent.append("DTSTAMP:").append(dtstamp).append("\r\n");
 
-    String dtstart = convertToUtc(event.getStartDateTime(), timezone);
+    String dtstart = convertToUtc(event.getStartDateTime(), toUtc);
     vevent.append("DTSTART:").append(dtstart).append("\r\n");
 
-    String dtend = convertToUtc(event.getEndDateTime(), timezone);
+    String dtend = convertToUtc(event.getEndDateTime(), toUtc);
     vevent.append("DTEND:").append(dtend).append("\r\n");
 
     vevent.append(foldLineWithPrefix("SUMMARY:", escapeText(event.getSubject()))).append("\r\n");
@@ -128,6 +247,10 @@ public class IcalExporter {
       vevent.append("X-SERIES-ID:").append(event.getSeriesId().get()).append("\r\n");
     }
 
+    if (status != null) {
+      vevent.append("STATUS:").append(status).append("\r\n");
+    }
+
     vevent.append("END:VEVENT\r\n");
 
     return vevent.toString();
@@ -137,13 +260,11 @@ public class IcalExporter {
    * Converts LocalDateTime to UTC format for iCal.
    *
    * @param dateTime the local date-time
-   * @param timezone the timezone of the date-time
+   * @param toUtc    the converter from the date-time's timezone to UTC
    * @return the UTC formatted string (yyyyMMddTHHmmssZ)
    */
-  private static String convertToUtc(LocalDateTime dateTime, ZoneId timezone) {
-    ZonedDateTime zoned = dateTime.atZone(timezone);
-    ZonedDateTime utc = zoned.withZoneSameInstant(ZoneId.of("UTC"));
-    return utc.format(ICAL_DATETIME_FORMATTER);
+  private static String convertToUtc(LocalDateTime dateTime, ZoneConverter toUtc) {
+    return toUtc.convert(dateTime).format(ICAL_DATETIME_FORMATTER);
   }
 
   /**
@@ -0,0 +1,718 @@
+package calendar.util;
+
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.zone.ZoneRulesException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Streaming importer for iCalendar (RFC 5545) feeds.
+ *
+ * <p>The feed is read one physical line at a time; folded lines are unfolded
+ * with a single line of look-ahead, so memory use is bounded by the size of one
+ * VEVENT plus the occurrences of one exported series, rather than by the size of
+ * the feed. Each completed VEVENT is handed to a {@link Listener} as soon as its END
+ * line is read, except series occurrences, which are handed over when their run
+ * ends.
+ *
+ * <p>DESIGN RATIONALE:
+ * - RRULEs with FREQ=DAILY or FREQ=WEEKLY (BYDAY, UNTIL, COUNT) become a single
+ *   {@link EventSeries}, so a long-running rule stays one compact object until the
+ *   model generates its occurrences
+ * - A series has no exceptions, so EXDATEs split the rule: the occurrences between
+ *   two excluded dates become a series of their own. The first part keeps the
+ *   series ID
+ * - Date-times in UTC ('Z') or with a TZID are converted into the target zone;
+ *   floating date-times are taken as already being in the target zone
+ * - All-day (VALUE=DATE) events map to the 8am-5pm convention used by {@link Event}
+ * - VEVENTs carrying the X-SERIES-ID written by {@link IcalExporter} are grouped and,
+ *   when the occurrences form an unbroken weekly pattern, rebuilt as one series
+ *   with the original series ID so our own exports round-trip. The exporter writes
+ *   each series' occurrences together, so only the current run is held; a later
+ *   run of a series already reported is passed through as separate events
+ * - Anything the model cannot represent is reported through the listener instead
+ *   of aborting the whole import
+ */
+public class IcalImporter {
+
+  private static final DateTimeFormatter ICAL_DATE_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyyMMdd");
+
+  private static final DateTimeFormatter ICAL_DATETIME_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+  private static final String UID_SUFFIX = "@calendar.app";
+
+  private final ZoneId targetZone;
+
+  /**
+   * Receives the calendar components produced while a feed is parsed.
+   */
+  public interface Listener {
+
+    /**
+     * Called for each standalone event.
+     *
+     * @param event the imported event, in the target timezone
+     */
+    void onEvent(EventInterface event);
+
+    /**
+     * Called for each recurring series.
+     *
+     * @param series the imported series, in the target timezone
+     */
+    void onSeries(EventSeries series);
+
+    /**
+     * Called when a component could not be imported.
+     *
+     * @param message a human-readable description of the problem
+     */
+    void onWarning(String message);
+
+    /**
+     * Called when a component was imported only partially, such as the first
+     * occurrence of a rule the model cannot represent. The imported part is reported
+     * as well.
+     *
+     * @param message a human-readable description of what was left out
+     */
+    void onPartial(String message);
+  }
+
+  /**
+   * Creates an importer that converts all date-times into the given zone.
+   *
+   * @param targetZone the timezone of the calendar being imported into
+   * @throws IllegalArgumentException if targetZone is null
+   */
+  public IcalImporter(ZoneId targetZone) {
+    if (targetZone == null) {
+      throw new IllegalArgumentException("Target timezone cannot be null");
+    }
+    this.targetZone = targetZone;
+  }
+
+  /**
+   * Parses an iCalendar feed, reporting every VEVENT to the listener.
+   *
+   * @param reader   the source of the feed
+   * @param listener the receiver of imported events and series
+   * @throws IOException if reading fails
+   */
+  public void parse(Reader reader, Listener listener) throws IOException {
+    Objects.requireNonNull(reader, "Reader cannot be null");
+    Objects.requireNonNull(listener, "Listener cannot be null");
+
+    BufferedReader in = (reader instanceof BufferedReader)
+        ? (BufferedReader) reader
+        : new BufferedReader(reader);
+
+    SeriesRun run = new SeriesRun();
+    Map<String, Property> current = null;
+    List<Property> exdates = new ArrayList<>();
+    int nestedDepth = 0;
+
+    String pending = in.readLine();
+    while (pending != null) {
+      StringBuilder logical = new StringBuilder(pending);
+      String next = in.readLine();
+      while (next != null && !next.isEmpty()
+          && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+        logical.append(next, 1, next.length());
+        next = in.readLine();
+      }
+      pending = next;
+
+      Property property = Property.parse(logical.toString());
+      if (property == null) {
+        continue;
+      }
+
+      if ("BEGIN".equals(property.name)) {
+        if (current != null) {
+          nestedDepth++;
+        } else if ("VEVENT".equalsIgnoreCase(property.value)) {
+          current = new HashMap<>();
+          exdates.clear();
+        }
+      } else if ("END".equals(property.name)) {
+        if (current != null && nestedDepth > 0) {
+          nestedDepth--;
+        } else if (current != null && "VEVENT".equalsIgnoreCase(property.value)) {
+          handleEvent(current, exdates, listener, run);
+          current = null;
+        }
+      } else if (current != null && nestedDepth == 0) {
+        if ("EXDATE".equals(property.name)) {
+          exdates.add(property);
+        } else {
+          current.putIfAbsent(property.name, property);
+        }
+      }
+    }
+
+    endRun(run, listener);
+  }
+
+  /**
+   * The run of occurrences of one exported series being read.
+   */
+  private static final class SeriesRun {
+    private final Set<UUID> reported = new HashSet<>();
+    private final List<EventInterface> occurrences = new ArrayList<>();
+    private UUID seriesId;
+  }
+
+  /**
+   * Adds an occurrence of an exported series to the current run, first ending the
+   * run if it belongs to another series.
+   *
+   * @param run        the current run
+   * @param occurrence the occurrence
+   * @param listener   the receiver
+   */
+  private void addToRun(SeriesRun run, EventInterface occurrence, Listener listener) {
+    UUID seriesId = occurrence.getSeriesId().get();
+    if (!seriesId.equals(run.seriesId)) {
+      endRun(run, listener);
+      run.seriesId = seriesId;
+    }
+    run.occurrences.add(occurrence);
+  }
+
+  /**
+   * Reports the current run, if any, and starts an empty one.
+   *
+   * @param run      the current run
+   * @param listener the receiver
+   */
+  private void endRun(SeriesRun run, Listener listener) {
+    if (run.occurrences.isEmpty()) {
+      return;
+    }
+    if (run.reported.add(run.seriesId)) {
+      emitSeriesGroup(run.seriesId, run.occurrences, listener);
+    } else {
+      for (EventInterface occurrence : run.occurrences) {
+        listener.onEvent(occurrence);
+      }
+    }
+    run.occurrences.clear();
+    run.seriesId = null;
+  }
+
+  /**
+   * Maps one VEVENT to an event or series and reports it.
+   *
+   * @param props    the properties of the VEVENT
+   * @param exdates  its EXDATE properties
+   * @param listener the receiver
+   * @param run      the run of exported series occurrences being read
+   */
+  private void handleEvent(Map<String, Property> props, List<Property> exdates,
+      Listener listener, SeriesRun run) {
+    String uid = props.containsKey("UID") ? props.get("UID").value : "(no UID)";
+
+    try {
+      if (props.containsKey("RECURRENCE-ID")) {
+        listener.onWarning("Skipped " + uid + ": recurrence overrides are not supported");
+        return;
+      }
+
+      EventInterface event = buildEvent(props);
+      if (event == null) {
+        listener.onWarning("Skipped " + uid + ": missing SUMMARY, DTSTART or end time");
+        return;
+      }
+
+      if (event.getSeriesId().isPresent() && !props.containsKey("RRULE")) {
+        addToRun(run, event, listener);
+        return;
+      }
+
+      endRun(run, listener);
+      if (props.containsKey("RRULE")) {
+        EventSeries series = buildSeries(event, props.get("RRULE").value, listener, uid);
+        if (series == null) {
+          listener.onEvent(event);
+          return;
+        }
+        List<EventSeries> parts = splitAround(series, excludedDates(exdates));
+        if (parts.isEmpty()) {
+          listener.onWarning("Skipped " + uid + ": every occurrence is excluded");
+        }
+        for (EventSeries part : parts) {
+          listener.onSeries(part);
+        }
+        return;
+      }
+
+      listener.onEvent(event);
+    } catch (DateTimeParseException | IllegalArgumentException e) {
+      listener.onWarning("Skipped " + uid + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Builds the event described by a VEVENT (its first occurrence, for recurring ones).
+   *
+   * @param props the properties of the VEVENT
+   * @return the event, or null if required properties are missing
+   */
+  private EventInterface buildEvent(Map<String, Property> props) {
+    Property summary = props.get("SUMMARY");
+    Property dtstart = props.get("DTSTART");
+    if (summary == null || dtstart == null || unescapeText(summary.value).trim().isEmpty()) {
+      return null;
+    }
+
+    LocalDateTime start;
+    LocalDateTime end;
+    if (dtstart.isDateValue()) {
+      LocalDate startDate = LocalDate.parse(dtstart.value, ICAL_DATE_FORMATTER);
+      LocalDate lastDate = startDate;
+      Property dtend = props.get("DTEND");
+      if (dtend != null && dtend.isDateValue()) {
+        LocalDate exclusiveEnd = LocalDate.parse(dtend.value, ICAL_DATE_FORMATTER);
+        if (exclusiveEnd.isAfter(startDate)) {
+          lastDate = exclusiveEnd.minusDays(1);
+        }
+      }
+      start = LocalDateTime.of(startDate, LocalTime.of(Event.ALL_DAY_EVENT_START_HOUR, 0));
+      end = LocalDateTime.of(lastDate, LocalTime.of(Event.ALL_DAY_EVENT_END_HOUR, 0));
+    } else {
+      start = toTargetZone(dtstart);
+      if (props.containsKey("DTEND")) {
+        end = toTargetZone(props.get("DTEND"));
+      } else if (props.containsKey("DURATION")) {
+        end = start.plus(java.time.Duration.parse(props.get("DURATION").value));
+      } else {
+        return null;
+      }
+    }
+
+    String description = props.containsKey("DESCRIPTION")
+        ? unescapeText(props.get("DESCRIPTION").value)
+        : null;
+    String location = props.containsKey("LOCATION")
+        ? unescapeText(props.get("LOCATION").value)
+        : null;
+    boolean isPrivate = props.containsKey("CLASS")
+        && !"PUBLIC".equalsIgnoreCase(props.get("CLASS").value);
+    UUID seriesId = props.containsKey("X-SERIES-ID")
+        ? UUID.fromString(props.get("X-SERIES-ID").value.trim())
+        : null;
+
+    return new Event(unescapeText(summary.value), start, end, description, location,
+        isPrivate, toEventId(props.get("UID")), seriesId);
+  }
+
+  /**
+   * Converts an RRULE into a series using the event as its template.
+   *
+   * @param first    the first occurrence
+   * @param rule     the RRULE value
+   * @param listener the receiver for warnings
+   * @param uid      the UID, for warning messages
+   * @return the series, or null if the rule cannot be represented (the first
+   *         occurrence is then imported on its own)
+   */
+  private EventSeries buildSeries(EventInterface first, String rule, Listener listener,
+      String uid) {
+    Map<String, String> parts = new HashMap<>();
+    for (String part : rule.split(";")) {
+      int eq = part.indexOf('=');
+      if (eq > 0) {
+        parts.put(part.substring(0, eq).trim().toUpperCase(Locale.ROOT),
+            part.substring(eq + 1).trim());
+      }
+    }
+
+    String freq = parts.getOrDefault("FREQ", "").toUpperCase(Locale.ROOT);
+    String interval = parts.getOrDefault("INTERVAL", "1");
+    if (!("WEEKLY".equals(freq) || "DAILY".equals(freq)) || !"1".equals(interval)) {
+      listener.onPartial("Imported only the first occurrence of " + uid
+          + ": unsupported RRULE " + rule);
+      return null;
+    }
+    if (!first.getStartDateTime().toLocalDate().equals(first.getEndDateTime().toLocalDate())) {
+      listener.onPartial("Imported only the first occurrence of " + uid
+          + ": recurring events must start and end on the same day");
+      return null;
+    }
+
+    Set<DayOfWeek> weekdays;
+    if (parts.containsKey("BYDAY")) {
+      weekdays = EnumSet.noneOf(DayOfWeek.class);
+      for (String day : parts.get("BYDAY").split(",")) {
+        DayOfWeek dayOfWeek = parseByDay(day.trim());
+        if (dayOfWeek == null) {
+          listener.onPartial("Imported only the first occurrence of " + uid
+              + ": unsupported BYDAY value " + day);
+          return null;
+        }
+        weekdays.add(dayOfWeek);
+      }
+    } else if ("DAILY".equals(freq)) {
+      weekdays = EnumSet.allOf(DayOfWeek.class);
+    } else {
+      weekdays = EnumSet.of(first.getStartDateTime().getDayOfWeek());
+    }
+
+    UUID seriesId = first.getSeriesId().orElse(UUID.randomUUID());
+    EventInterface template = first.withModifications(
+        null, null, null, null, null, null, seriesId);
+
+    if (parts.containsKey("COUNT")) {
+      int count = Integer.parseInt(parts.get("COUNT"));
+      return new EventSeries(seriesId, template, weekdays, null, count, false);
+    }
+    if (parts.containsKey("UNTIL")) {
+      return new EventSeries(seriesId, template, weekdays, parseUntil(parts.get("UNTIL")),
+          null, true);
+    }
+    return new EventSeries(seriesId, template, weekdays, null, null, false);
+  }
+
+  /**
+   * Parses the dates excluded by EXDATE properties, each a date or date-time list.
+   *
+   * @param exdates the EXDATE properties
+   * @return the excluded dates, in the target zone
+   */
+  private Set<LocalDate> excludedDates(List<Property> exdates) {
+    Set<LocalDate> dates = new HashSet<>();
+    for (Property exdate : exdates) {
+      for (String value : exdate.value.split(",")) {
+        Property single = new Property(exdate.name, exdate.params, value.trim());
+        dates.add(single.isDateValue()
+            ? LocalDate.parse(single.value, ICAL_DATE_FORMATTER)
+            : toTargetZone(single).toLocalDate());
+      }
+    }
+    return dates;
+  }
+
+  /**
+   * Splits a series at the dates of the occurrences it must not have.
+   *
+   * @param series   the series built from the RRULE
+   * @param excluded the excluded dates
+   * @return the series itself if none of its occurrences is excluded; otherwise the
+   *         parts between the excluded occurrences, in date order (none if every
+   *         occurrence is excluded)
+   */
+  private static List<EventSeries> splitAround(EventSeries series, Set<LocalDate> excluded) {
+    LocalDate last = series.getLastOccurrenceDate();
+    LocalDate partStart = series.nextWeekdayOnOrAfter(
+        series.getTemplate().getStartDateTime().toLocalDate());
+    List<LocalDate> cuts = new ArrayList<>();
+    for (LocalDate date : excluded) {
+      if (last != null && !date.isBefore(partStart) && !date.isAfter(last)
+          && series.getWeekdays().contains(date.getDayOfWeek())) {
+        cuts.add(date);
+      }
+    }
+    if (cuts.isEmpty()) {
+      return List.of(series);
+    }
+    cuts.sort(null);
+
+    boolean bounded = series.usesEndDate() || series.getOccurrences() != null;
+    List<EventSeries> parts = new ArrayList<>();
+    UUID partId = series.getSeriesId();
+    for (LocalDate cut : cuts) {
+      if (cut.isAfter(partStart)) {
+        parts.add(part(series, partId, partStart, cut.minusDays(1)));
+        partId = UUID.randomUUID();
+      }
+      partStart = series.nextWeekdayOnOrAfter(cut.plusDays(1));
+    }
+    if (!partStart.isAfter(last)) {
+      parts.add(part(series, partId, partStart, bounded ? last : null));
+    }
+    return parts;
+  }
+
+  /**
+   * Builds the part of a series that runs over a range of its dates.
+   *
+   * @param series   the whole series
+   * @param seriesId the ID of the part
+   * @param from     the date of the part's first occurrence
+   * @param through  the date of its last occurrence, or null for no end date
+   * @return the part
+   */
+  private static EventSeries part(EventSeries series, UUID seriesId, LocalDate from,
+      LocalDate through) {
+    EventInterface template = series.getTemplate();
+    EventInterface first = template.withModifications(null,
+        LocalDateTime.of(from, template.getStartDateTime().toLocalTime()),
+        LocalDateTime.of(from, template.getEndDateTime().toLocalTime()),
+        null, null, null, seriesId);
+    return new EventSeries(seriesId, first, series.getWeekdays(), through, null,
+        through != null);
+  }
+
+  /**
+   * Reports the occurrences of one exported series, rebuilding the series when
+   * the occurrences form an unbroken pattern and passing them through otherwise.
+   *
+   * @param seriesId    the X-SERIES-ID shared by the occurrences
+   * @param occurrences the occurrences in feed order
+   * @param listener    the receiver
+   */
+  private void emitSeriesGroup(UUID seriesId, List<EventInterface> occurrences,
+      Listener listener) {
+    occurrences.sort((a, b) -> a.getStartDateTime().compareTo(b.getStartDateTime()));
+    EventInterface first = occurrences.get(0);
+
+    Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+    boolean uniform = true;
+    for (EventInterface occurrence : occurrences) {
+      weekdays.add(occurrence.getStartDateTime().getDayOfWeek());
+      uniform = uniform && sameShape(first, occurrence);
+    }
+
+    if (uniform && isUnbroken(occurrences, weekdays)) {
+      listener.onSeries(new EventSeries(seriesId, first, weekdays, null,
+          occurrences.size(), false));
+      return;
+    }
+
+    for (EventInterface occurrence : occurrences) {
+      listener.onEvent(occurrence);
+    }
+  }
+
+  /**
+   * Checks whether two occurrences could have come from the same series template.
+   *
+   * @param a the first occurrence
+   * @param b the second occurrence
+   * @return true if all properties other than the date match
+   */
+  private static boolean sameShape(EventInterface a, EventInterface b) {
+    return a.getSubject().equals(b.getSubject())
+        && a.getStartDateTime().toLocalTime().equals(b.getStartDateTime().toLocalTime())
+        && a.getEndDateTime().toLocalTime().equals(b.getEndDateTime().toLocalTime())
+        && b.getStartDateTime().toLocalDate().equals(b.getEndDateTime().toLocalDate())
+        && a.getDescription().equals(b.getDescription())
+        && a.getLocation().equals(b.getLocation())
+        && a.isPrivate() == b.isPrivate();
+  }
+
+  /**
+   * Checks that the occurrences cover every matching weekday from the first to the
+   * last occurrence, i.e. that regenerating the series would give the same dates.
+   *
+   * @param sorted   the occurrences sorted by start
+   * @param weekdays the weekdays the series repeats on
+   * @return true if there are no gaps or repeated dates
+   */
+  private static boolean isUnbroken(List<EventInterface> sorted, Set<DayOfWeek> weekdays) {
+    LocalDate expected = sorted.get(0).getStartDateTime().toLocalDate();
+    for (EventInterface occurrence : sorted) {
+      while (!weekdays.contains(expected.getDayOfWeek())) {
+        expected = expected.plusDays(1);
+      }
+      if (!occurrence.getStartDateTime().toLocalDate().equals(expected)) {
+        return false;
+      }
+      expected = expected.plusDays(1);
+    }
+    return true;
+  }
+
+  /**
+   * Converts a DTSTART/DTEND date-time property into the target zone.
+   *
+   * @param property the property
+   * @return the local date-time in the target zone
+   */
+  private LocalDateTime toTargetZone(Property property) {
+    String value = property.value.trim();
+    if (value.endsWith("Z") || value.endsWith("z")) {
+      LocalDateTime utc = LocalDateTime.parse(value.substring(0, value.length() - 1),
+          ICAL_DATETIME_FORMATTER);
+      return TimezoneUtils.convertTimezone(utc, ZoneOffset.UTC, targetZone);
+    }
+
+    LocalDateTime local = LocalDateTime.parse(value, ICAL_DATETIME_FORMATTER);
+    String tzid = property.params.get("TZID");
+    if (tzid == null) {
+      return local;
+    }
+    try {
+      return TimezoneUtils.convertTimezone(local, ZoneId.of(tzid), targetZone);
+    } catch (ZoneRulesException e) {
+      return local;
+    }
+  }
+
+  /**
+   * Parses an RRULE UNTIL value (a date or a date-time) into a date in the target zone.
+   *
+   * @param value the UNTIL value
+   * @return the last date on which occurrences may start
+   */
+  private LocalDate parseUntil(String value) {
+    if (value.length() == 8) {
+      return LocalDate.parse(value, ICAL_DATE_FORMATTER);
+    }
+    Property until = new Property("UNTIL", new HashMap<>(), value);
+    return toTargetZone(until).toLocalDate();
+  }
+
+  /**
+   * Parses a BYDAY entry such as "MO".
+   *
+   * @param day the entry
+   * @return the day of week, or null for entries with an ordinal (e.g. "1MO")
+   */
+  private static DayOfWeek parseByDay(String day) {
+    switch (day.toUpperCase(Locale.ROOT)) {
+      case "MO":
+        return DayOfWeek.MONDAY;
+      case "TU":
+        return DayOfWeek.TUESDAY;
+      case "WE":
+        return DayOfWeek.WEDNESDAY;
+      case "TH":
+        return DayOfWeek.THURSDAY;
+      case "FR":
+        return DayOfWeek.FRIDAY;
+      case "SA":
+        return DayOfWeek.SATURDAY;
+      case "SU":
+        return DayOfWeek.SUNDAY;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Derives an event ID from a UID, reusing the UUID written by {@link IcalExporter}.
+   *
+   * @param uid the UID property, may be null
+   * @return the event ID
+   */
+  private static UUID toEventId(Property uid) {
+    if (uid == null) {
+      return UUID.randomUUID();
+    }
+    String value = uid.value.trim();
+    if (value.endsWith(UID_SUFFIX)) {
+      try {
+        return UUID.fromString(value.substring(0, value.length() - UID_SUFFIX.length()));
+      } catch (IllegalArgumentException e) {
+        // Not one of ours; fall through to a name-based ID.
+      }
+    }
+    return UUID.nameUUIDFromBytes(value.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Reverses the text escaping applied by RFC 5545 writers.
+   *
+   * @param text the escaped text
+   * @return the unescaped text
+   */
+  private static String unescapeText(String text) {
+    if (text.indexOf('\\') < 0) {
+      return text;
+    }
+    StringBuilder out = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\\' && i + 1 < text.length()) {
+        char escaped = text.charAt(++i);
+        out.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+      } else {
+        out.append(c);
+      }
+    }
+    return out.toString();
+  }
+
+  /**
+   * One unfolded content line: NAME;PARAM=VALUE:value.
+   */
+  private static final class Property {
+    private final String name;
+    private final Map<String, String> params;
+    private final String value;
+
+    private Property(String name, Map<String, String> params, String value) {
+      this.name = name;
+      this.params = params;
+      this.value = value;
+    }
+
+    /**
+     * Parses a content line.
+     *
+     * @param line the unfolded line
+     * @return the property, or null if the line is blank or malformed
+     */
+    private static Property parse(String line) {
+      int colon = -1;
+      boolean quoted = false;
+      for (int i = 0; i < line.length(); i++) {
+        char c = line.charAt(i);
+        if (c == '"') {
+          quoted = !quoted;
+        } else if (c == ':' && !quoted) {
+          colon = i;
+          break;
+        }
+      }
+      if (colon <= 0) {
+        return null;
+      }
+
+      String[] head = line.substring(0, colon).split(";");
+      Map<String, String> params = new HashMap<>();
+      for (int i = 1; i < head.length; i++) {
+        int eq = head[i].indexOf('=');
+        if (eq > 0) {
+          String paramValue = head[i].substring(eq + 1);
+          if (paramValue.length() >= 2 && paramValue.startsWith("\"")
+              && paramValue.endsWith("\"")) {
+            paramValue = paramValue.substring(1, paramValue.length() - 1);
+          }
+          params.put(head[i].substring(0, eq).toUpperCase(Locale.ROOT), paramValue);
+        }
+      }
+      return new Property(head[0].trim().toUpperCase(Locale.ROOT), params,
+          line.substring(colon + 1));
+    }
+
+    private boolean isDateValue() {
+      return "DATE".equalsIgnoreCase(params.get("VALUE")) || value.trim().length() == 8;
+    }
+  }
+}
@@ -2,14 +2,14 @@ package calendar.util;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 
 /**
  * Utility class for timezone conversions.
  * Implements Interpretation B: preserve absolute time when converting between timezones.
  *
  * <p>DESIGN RATIONALE:
- * - Uses ZonedDateTime for accurate timezone conversions
+ * - Delegates to {@link ZoneConverter}, whose cached offset tables avoid building
+ *   ZonedDateTime objects on every call
  * - Follows "Interpretation B" from requirements: preserve absolute time
  * - Example: 2:00 PM EST -> 11:00 AM PST (same moment, different local time)
  * - Handles daylight saving time (DST) transitions automatically
@@ -57,10 +57,6 @@ public class TimezoneUtils {
       return dateTime;
     }
 
-    ZonedDateTime sourceZoned = dateTime.atZone(fromZone);
-
-    ZonedDateTime targetZoned = sourceZoned.withZoneSameInstant(toZone);
-
-    return targetZoned.toLocalDateTime();
+    return ZoneConverter.of(fromZone, toZone).convert(dateTime);
   }
 }
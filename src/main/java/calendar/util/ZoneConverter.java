@@ -0,0 +1,204 @@
+package calendar.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts local date-times between two timezones using precomputed offset tables.
+ *
+ * <p>DESIGN RATIONALE:
+ * - Each zone's offset transitions between 1900 and 2100 are read from its ZoneRules
+ *   once and kept in flat arrays, so a conversion is two binary searches and two
+ *   additions instead of building two ZonedDateTime objects
+ * - Conversions on epoch seconds allocate nothing; seconds rather than minutes are
+ *   used because historic (LMT) offsets are not whole minutes
+ * - Local times in a DST gap or overlap resolve exactly like
+ *   {@link LocalDateTime#atZone(ZoneId)}: a gap shifts forward by its length and an
+ *   overlap takes the earlier offset
+ * - Tables and converters are cached per zone and per zone pair, and are immutable,
+ *   so they can be shared between threads
+ * - Values outside the table window fall back to ZoneRules
+ *
+ * <p>REPRESENTATION INVARIANTS (per zone table):
+ * - utcTransitions and localBoundaries are strictly increasing and of equal length n
+ * - offsets has length n + 1; offsets[i] applies from transition i - 1 up to
+ *   transition i
+ */
+public final class ZoneConverter {
+
+  private static final long WINDOW_START =
+      LocalDateTime.of(1900, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+  private static final long WINDOW_END =
+      LocalDateTime.of(2100, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+  private static final long MAX_OFFSET_SECONDS = 18 * 3600;
+
+  private static final Map<ZoneId, OffsetTable> TABLES = new ConcurrentHashMap<>();
+  private static final Map<ZoneId, Map<ZoneId, ZoneConverter>> CONVERTERS =
+      new ConcurrentHashMap<>();
+
+  private final OffsetTable from;
+  private final OffsetTable to;
+
+  private ZoneConverter(OffsetTable from, OffsetTable to) {
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * Gets the (cached) converter for a pair of zones.
+   *
+   * @param fromZone the zone local date-times are given in
+   * @param toZone   the zone to convert them to
+   * @return the converter
+   * @throws IllegalArgumentException if either zone is null
+   */
+  public static ZoneConverter of(ZoneId fromZone, ZoneId toZone) {
+    if (fromZone == null || toZone == null) {
+      throw new IllegalArgumentException("Timezones cannot be null");
+    }
+    return CONVERTERS.computeIfAbsent(fromZone, k -> new ConcurrentHashMap<>())
+        .computeIfAbsent(toZone, k -> new ZoneConverter(table(fromZone), table(toZone)));
+  }
+
+  private static OffsetTable table(ZoneId zone) {
+    return TABLES.computeIfAbsent(zone, OffsetTable::new);
+  }
+
+  /**
+   * Converts a local date-time, preserving the instant it denotes. When both zones
+   * are the same the date-time is returned unchanged, as TimezoneUtils always did.
+   *
+   * @param dateTime the local date-time in the source zone
+   * @return the local date-time in the target zone
+   */
+  public LocalDateTime convert(LocalDateTime dateTime) {
+    if (from == to) {
+      return dateTime;
+    }
+    long local = convertEpochSecond(dateTime.toEpochSecond(ZoneOffset.UTC));
+    return LocalDateTime.ofEpochSecond(local, dateTime.getNano(), ZoneOffset.UTC);
+  }
+
+  /**
+   * Converts a local date-time expressed as seconds since 1970-01-01T00:00 on the
+   * source zone's wall clock to the same measure on the target zone's wall clock.
+   *
+   * @param localSecond the source wall-clock time in epoch seconds
+   * @return the target wall-clock time in epoch seconds
+   */
+  public long convertEpochSecond(long localSecond) {
+    return to.toLocal(from.toUtc(localSecond));
+  }
+
+  /**
+   * Converts a local wall-clock time to an instant.
+   *
+   * @param localSecond the source wall-clock time in epoch seconds
+   * @return the instant in epoch seconds
+   */
+  public long toUtcSecond(long localSecond) {
+    return from.toUtc(localSecond);
+  }
+
+  /**
+   * Precomputed offsets of one zone.
+   */
+  private static final class OffsetTable {
+    private final ZoneId zone;
+    private final boolean fixed;
+    private final long[] utcTransitions;
+    private final long[] localBoundaries;
+    private final int[] offsets;
+
+    OffsetTable(ZoneId zone) {
+      this.zone = zone;
+      ZoneRules rules = zone.getRules();
+      this.fixed = rules.isFixedOffset();
+      if (fixed) {
+        this.utcTransitions = new long[0];
+        this.localBoundaries = new long[0];
+        this.offsets = new int[] {rules.getOffset(Instant.EPOCH).getTotalSeconds()};
+        return;
+      }
+
+      Instant start = Instant.ofEpochSecond(WINDOW_START);
+      int count = 0;
+      for (ZoneOffsetTransition t = rules.nextTransition(start);
+           t != null && t.toEpochSecond() < WINDOW_END;
+           t = rules.nextTransition(t.getInstant())) {
+        count++;
+      }
+
+      long[] utc = new long[count];
+      long[] local = new long[count];
+      int[] offs = new int[count + 1];
+      offs[0] = rules.getOffset(start).getTotalSeconds();
+      boolean increasing = true;
+      ZoneOffsetTransition t = rules.nextTransition(start);
+      for (int i = 0; i < count; i++) {
+        int before = t.getOffsetBefore().getTotalSeconds();
+        int after = t.getOffsetAfter().getTotalSeconds();
+        utc[i] = t.toEpochSecond();
+        local[i] = utc[i] + Math.max(before, after);
+        offs[i + 1] = after;
+        if (i > 0 && local[i] <= local[i - 1]) {
+          increasing = false;
+        }
+        t = rules.nextTransition(t.getInstant());
+      }
+
+      // Transitions closer together than the offset change would make the local
+      // boundaries overlap; such zones use ZoneRules directly for local times.
+      this.utcTransitions = utc;
+      this.localBoundaries = increasing ? local : null;
+      this.offsets = offs;
+    }
+
+    long toUtc(long localSecond) {
+      if (fixed) {
+        return localSecond - offsets[0];
+      }
+      if (localBoundaries == null
+          || localSecond < WINDOW_START + MAX_OFFSET_SECONDS
+          || localSecond >= WINDOW_END - MAX_OFFSET_SECONDS) {
+        return LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC)
+            .atZone(zone).toEpochSecond();
+      }
+      return localSecond - offsets[upperBound(localBoundaries, localSecond)];
+    }
+
+    long toLocal(long utcSecond) {
+      if (fixed) {
+        return utcSecond + offsets[0];
+      }
+      if (utcSecond < WINDOW_START || utcSecond >= WINDOW_END) {
+        return utcSecond
+            + zone.getRules().getOffset(Instant.ofEpochSecond(utcSecond)).getTotalSeconds();
+      }
+      return utcSecond + offsets[upperBound(utcTransitions, utcSecond)];
+    }
+
+    /**
+     * Counts the entries of a sorted array that are less than or equal to key.
+     */
+    private static int upperBound(long[] sorted, long key) {
+      int low = 0;
+      int high = sorted.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (sorted[mid] <= key) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+}
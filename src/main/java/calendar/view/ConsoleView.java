@@ -1,5 +1,6 @@
 package calendar.view;
 
+import calendar.model.CalendarEvent;
 import calendar.model.EventInterface;
 import java.io.IOException;
 import java.util.List;
@@ -37,23 +38,43 @@ public class ConsoleView implements ViewInterface {
     }
 
     for (EventInterface e : events) {
-      
-      
-      out.append("- ").append(e.getSubject()).append(" starting on ")
-          .append(formatDate(e.getStartDateTime().toLocalDate())).append(" at ")
-          .append(formatTime(e.getStartDateTime().toLocalTime())).append(", ending on ")
-          .append(formatDate(e.getEndDateTime().toLocalDate())).append(" at ")
-          .append(formatTime(e.getEndDateTime().toLocalTime()));
+      appendEvent("", e);
+    }
+  }
 
-      
-      if (e.getLocation().isPresent()) {
-        out.append(", location: ").append(e.getLocation().get());
-      }
+  @Override
+  public void displayCalendarEvents(List<CalendarEvent> events) throws IOException {
+    if (events.isEmpty()) {
+      out.append("No events found.").append(System.lineSeparator());
+      return;
+    }
 
-      out.append(System.lineSeparator());
+    for (CalendarEvent e : events) {
+      appendEvent("[" + e.getCalendarName() + "] ", e.getEvent());
     }
   }
 
+  /**
+   * Writes one event line.
+   *
+   * @param prefix text written before the subject
+   * @param e      the event
+   * @throws IOException if I/O fails
+   */
+  private void appendEvent(String prefix, EventInterface e) throws IOException {
+    out.append("- ").append(prefix).append(e.getSubject()).append(" starting on ")
+        .append(formatDate(e.getStartDateTime().toLocalDate())).append(" at ")
+        .append(formatTime(e.getStartDateTime().toLocalTime())).append(", ending on ")
+        .append(formatDate(e.getEndDateTime().toLocalDate())).append(" at ")
+        .append(formatTime(e.getEndDateTime().toLocalTime()));
+
+    if (e.getLocation().isPresent()) {
+      out.append(", location: ").append(e.getLocation().get());
+    }
+
+    out.append(System.lineSeparator());
+  }
+
   /**
    * Formats a date as YYYY-MM-DD.
    *
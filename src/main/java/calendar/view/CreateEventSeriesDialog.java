@@ -1,5 +1,7 @@
 package calendar.view;
 
+import calendar.model.EventSeries;
+import calendar.model.Weekday;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
@@ -15,7 +17,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Set;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -32,9 +34,15 @@ import javax.swing.JRadioButton;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 /**
  * Dialog for creating a recurring event series.
+ *
+ * <p>A preview line shows how many events the series will create and the date of
+ * the last one as the recurrence is edited. It is computed in closed form from the
+ * recurrence, so no events are generated until the series is created.
  */
 public class CreateEventSeriesDialog extends JDialog {
   private static final DateTimeFormatter DATE_FORMAT = 
@@ -62,6 +70,7 @@ public class CreateEventSeriesDialog extends JDialog {
   private JRadioButton occurrencesRadio;
   private JTextField endDateField;
   private JTextField occurrencesField;
+  private JLabel previewLabel;
 
   private boolean confirmed;
   private String subject;
@@ -332,6 +341,41 @@ public class CreateEventSeriesDialog extends JDialog {
     });
     occurrencesField.setEnabled(false);
 
+    // Preview of the series size
+    gbc.gridx = 0;
+    gbc.gridy = row;
+    gbc.gridwidth = 3;
+    previewLabel = new JLabel(" ");
+    previewLabel.setFont(new Font("SansSerif", Font.ITALIC, 12));
+    contentPanel.add(previewLabel, gbc);
+    gbc.gridwidth = 1;
+
+    DocumentListener previewUpdater = new DocumentListener() {
+      @Override
+      public void insertUpdate(DocumentEvent e) {
+        updatePreview();
+      }
+
+      @Override
+      public void removeUpdate(DocumentEvent e) {
+        updatePreview();
+      }
+
+      @Override
+      public void changedUpdate(DocumentEvent e) {
+        updatePreview();
+      }
+    };
+    startDateField.getDocument().addDocumentListener(previewUpdater);
+    endDateField.getDocument().addDocumentListener(previewUpdater);
+    occurrencesField.getDocument().addDocumentListener(previewUpdater);
+    for (JCheckBox box : new JCheckBox[] {sunCheckbox, monCheckbox, tueCheckbox, wedCheckbox,
+        thuCheckbox, friCheckbox, satCheckbox}) {
+      box.addItemListener(e -> updatePreview());
+    }
+    endDateRadio.addItemListener(e -> updatePreview());
+    updatePreview();
+
     mainPanel.add(contentPanel, BorderLayout.CENTER);
 
     
@@ -425,28 +469,7 @@ public class CreateEventSeriesDialog extends JDialog {
 
       this.isPrivate = privateCheckbox.isSelected();
 
-      this.weekdays = new HashSet<>();
-      if (sunCheckbox.isSelected()) {
-        weekdays.add(DayOfWeek.SUNDAY);
-      }
-      if (monCheckbox.isSelected()) {
-        weekdays.add(DayOfWeek.MONDAY);
-      }
-      if (tueCheckbox.isSelected()) {
-        weekdays.add(DayOfWeek.TUESDAY);
-      }
-      if (wedCheckbox.isSelected()) {
-        weekdays.add(DayOfWeek.WEDNESDAY);
-      }
-      if (thuCheckbox.isSelected()) {
-        weekdays.add(DayOfWeek.THURSDAY);
-      }
-      if (friCheckbox.isSelected()) {
-        weekdays.add(DayOfWeek.FRIDAY);
-      }
-      if (satCheckbox.isSelected()) {
-        weekdays.add(DayOfWeek.SATURDAY);
-      }
+      this.weekdays = selectedWeekdays();
 
       if (weekdays.isEmpty()) {
         showError("Please select at least one weekday");
@@ -469,6 +492,12 @@ public class CreateEventSeriesDialog extends JDialog {
         }
       }
 
+      if (EventSeries.countOccurrences(startDate, Weekday.toMask(weekdays), seriesEndDate,
+          occurrences) == 0) {
+        showError("The series would not create any events");
+        return;
+      }
+
       this.confirmed = true;
       dispose();
 
@@ -479,6 +508,61 @@ public class CreateEventSeriesDialog extends JDialog {
     }
   }
 
+  private Set<DayOfWeek> selectedWeekdays() {
+    Set<DayOfWeek> selected = EnumSet.noneOf(DayOfWeek.class);
+    if (sunCheckbox.isSelected()) {
+      selected.add(DayOfWeek.SUNDAY);
+    }
+    if (monCheckbox.isSelected()) {
+      selected.add(DayOfWeek.MONDAY);
+    }
+    if (tueCheckbox.isSelected()) {
+      selected.add(DayOfWeek.TUESDAY);
+    }
+    if (wedCheckbox.isSelected()) {
+      selected.add(DayOfWeek.WEDNESDAY);
+    }
+    if (thuCheckbox.isSelected()) {
+      selected.add(DayOfWeek.THURSDAY);
+    }
+    if (friCheckbox.isSelected()) {
+      selected.add(DayOfWeek.FRIDAY);
+    }
+    if (satCheckbox.isSelected()) {
+      selected.add(DayOfWeek.SATURDAY);
+    }
+    return selected;
+  }
+
+  /**
+   * Shows how many events the recurrence entered so far creates, or clears the
+   * preview while the entry is incomplete.
+   */
+  private void updatePreview() {
+    int mask = Weekday.toMask(selectedWeekdays());
+    String text = " ";
+    try {
+      LocalDate startDate = LocalDate.parse(startDateField.getText().trim(), DATE_FORMAT);
+      LocalDate until = null;
+      Integer count = null;
+      if (endDateRadio.isSelected()) {
+        until = LocalDate.parse(endDateField.getText().trim(), DATE_FORMAT);
+      } else {
+        count = Integer.parseInt(occurrencesField.getText().trim());
+      }
+      if (mask != 0 && (count == null || count > 0)) {
+        int total = EventSeries.countOccurrences(startDate, mask, until, count);
+        text = total == 0 ? "No events: no selected day falls before the end date"
+            : "Creates " + total + (total == 1 ? " event" : " events") + ", the last on "
+                + EventSeries.lastOccurrenceDate(startDate, mask, until, count)
+                    .format(DATE_FORMAT);
+      }
+    } catch (DateTimeParseException | NumberFormatException e) {
+      // Incomplete entry: leave the preview blank.
+    }
+    previewLabel.setText(text);
+  }
+
   private void showError(String message) {
     JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
   }
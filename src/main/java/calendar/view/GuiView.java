@@ -75,6 +75,10 @@ public class GuiView extends JFrame implements GuiViewInterface {
         java.awt.event.KeyEvent.VK_RIGHT, 0);
     javax.swing.KeyStroke keyT = javax.swing.KeyStroke.getKeyStroke(
         java.awt.event.KeyEvent.VK_T, 0);
+    javax.swing.KeyStroke ctrlZ = javax.swing.KeyStroke.getKeyStroke(
+        java.awt.event.KeyEvent.VK_Z, java.awt.event.InputEvent.CTRL_DOWN_MASK);
+    javax.swing.KeyStroke ctrlY = javax.swing.KeyStroke.getKeyStroke(
+        java.awt.event.KeyEvent.VK_Y, java.awt.event.InputEvent.CTRL_DOWN_MASK);
 
     getRootPane().getInputMap(javax.swing.JComponent.WHEN_IN_FOCUSED_WINDOW)
         .put(ctrlN, "createEvent");
@@ -88,6 +92,10 @@ public class GuiView extends JFrame implements GuiViewInterface {
         .put(rightArrow, "nextMonth");
     getRootPane().getInputMap(javax.swing.JComponent.WHEN_IN_FOCUSED_WINDOW)
         .put(keyT, "today");
+    getRootPane().getInputMap(javax.swing.JComponent.WHEN_IN_FOCUSED_WINDOW)
+        .put(ctrlZ, "undo");
+    getRootPane().getInputMap(javax.swing.JComponent.WHEN_IN_FOCUSED_WINDOW)
+        .put(ctrlY, "redo");
 
     getRootPane().getActionMap().put("createEvent", new javax.swing.AbstractAction() {
       @Override
@@ -142,6 +150,24 @@ public class GuiView extends JFrame implements GuiViewInterface {
         }
       }
     });
+
+    getRootPane().getActionMap().put("undo", new javax.swing.AbstractAction() {
+      @Override
+      public void actionPerformed(java.awt.event.ActionEvent e) {
+        if (features != null) {
+          features.undo();
+        }
+      }
+    });
+
+    getRootPane().getActionMap().put("redo", new javax.swing.AbstractAction() {
+      @Override
+      public void actionPerformed(java.awt.event.ActionEvent e) {
+        if (features != null) {
+          features.redo();
+        }
+      }
+    });
   }
 
   private void initializeComponents() {
@@ -65,6 +65,7 @@ public final class UIMessages {
   public static final String ERROR_EDIT_FAILED = "Failed to edit event: %s";
   public static final String ERROR_EDIT_SERIES_FAILED = "Failed to edit series: %s";
   public static final String ERROR_EDIT_SERIES_GENERAL = "Failed to update series.";
+  public static final String ERROR_HISTORY_FAILED = "Failed to %s: %s";
 
   
 
@@ -84,6 +85,8 @@ public final class UIMessages {
   public static final String INFO_SELECT_EVENT = "Select event to edit:";
   public static final String INFO_NO_EVENTS_TO_EDIT =
       "No events to edit on the selected day.\nPlease select a day with events first.";
+  public static final String INFO_NOTHING_TO_UNDO = "Nothing to undo.";
+  public static final String INFO_NOTHING_TO_REDO = "Nothing to redo.";
 
   
 
@@ -195,6 +198,17 @@ public final class UIMessages {
     return String.format(ERROR_EDIT_SERIES_FAILED, reason);
   }
 
+  /**
+   * Formats the undo or redo failed error message.
+   *
+   * @param action "undo" or "redo"
+   * @param reason the reason for failure
+   * @return formatted message
+   */
+  public static String formatHistoryFailed(String action, String reason) {
+    return String.format(ERROR_HISTORY_FAILED, action, reason);
+  }
+
   private UIMessages() {
     
   }
@@ -1,8 +1,10 @@
 package calendar.view;
 
+import calendar.model.CalendarEvent;
 import calendar.model.EventInterface;
 import java.io.IOException;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * View abstraction for displaying output.
@@ -32,5 +34,15 @@ public interface ViewInterface {
    * @throws IOException if I/O fails
    */
   void displayEvents(List<EventInterface> events) throws IOException;
-}
 
+  /**
+   * Displays events gathered from several calendars, each tagged with its calendar.
+   * Views that cannot show the calendar names display the events alone.
+   *
+   * @param events the events to display, in display order
+   * @throws IOException if I/O fails
+   */
+  default void displayCalendarEvents(List<CalendarEvent> events) throws IOException {
+    displayEvents(events.stream().map(CalendarEvent::getEvent).collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,207 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.CommandParser;
+import calendar.command.ExportCommand;
+import calendar.model.ArchivedCalendarModel;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the binary calendar archive and the read-only model over it, by comparing
+ * its answers with those of the model it was written from.
+ */
+public class ArchivedCalendarModelTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+  private static final String[] SUBJECTS = {"Standup", "Design review", "Lunch with Ana",
+      "Planning session", "Gym"};
+
+  private CalendarModelInterface source;
+  private ArchivedCalendarModel archive;
+  private Path file;
+
+  /**
+   * Fills a model with two thousand events, a series and one month-long event, and
+   * archives it.
+   */
+  @Before
+  public void setUp() throws IOException {
+    source = new CalendarModel(NEW_YORK);
+    Random random = new Random(42);
+    Set<String> windows = new HashSet<>();
+    while (windows.size() < 2000) {
+      LocalDateTime start = BASE.plusMinutes(5L * random.nextInt(12 * 24 * 365));
+      LocalDateTime end = start.plusMinutes(15 + 5L * random.nextInt(120));
+      boolean inGap = NEW_YORK.getRules().getValidOffsets(start).isEmpty()
+          || NEW_YORK.getRules().getValidOffsets(end).isEmpty();
+      if (!inGap && windows.add(start + "/" + end)) {
+        int kind = random.nextInt(SUBJECTS.length);
+        source.createEvent(new Event(SUBJECTS[kind], start, end,
+            kind == 1 ? "Slides for the quarterly review" : null,
+            kind == 2 ? "Cafe Rio" : null, kind == 4, UUID.randomUUID(), null));
+      }
+    }
+    source.createEvent(new Event("Sabbatical", BASE.plusMonths(3), BASE.plusMonths(4),
+        null, null, false, UUID.randomUUID(), null));
+    UUID seriesId = UUID.randomUUID();
+    LocalDateTime first = LocalDateTime.of(2025, 6, 2, 7, 3);
+    source.createEventSeries(new EventSeries(seriesId, new Event("Yoga", first,
+        first.plusHours(1), null, null, false, UUID.randomUUID(), seriesId),
+        EnumSet.of(DayOfWeek.MONDAY), null, 20, false));
+
+    file = Files.createTempFile("archive", ".calarc");
+    ArchivedCalendarModel.write(source.getAllEvents(), NEW_YORK, file);
+    archive = ArchivedCalendarModel.open(file);
+  }
+
+  /**
+   * Deletes the archive file.
+   */
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private static List<String> describe(List<EventInterface> events) {
+    List<String> described = new ArrayList<>();
+    for (EventInterface e : events) {
+      described.add(e.getSubject() + "|" + e.getStartDateTime() + "|" + e.getEndDateTime()
+          + "|" + e.getDescription() + "|" + e.getLocation() + "|" + e.isPrivate() + "|"
+          + e.getId() + "|" + e.getSeriesId());
+    }
+    return described;
+  }
+
+  @Test
+  public void testArchiveHoldsEveryEvent() {
+    assertEquals(source.getAllEvents().size(), archive.size());
+    assertEquals(NEW_YORK, archive.getZone());
+    assertEquals(describe(source.getAllEvents()), describe(archive.getAllEvents()));
+  }
+
+  @Test
+  public void testRangeQueriesMatchTheSourceModel() {
+    Random random = new Random(7);
+    for (int i = 0; i < 300; i++) {
+      LocalDateTime from = BASE.plusMinutes(random.nextInt(60 * 24 * 365));
+      LocalDateTime to = from.plusMinutes(random.nextInt(60 * 24 * 3));
+      LocalDate date = from.toLocalDate();
+      assertEquals(describe(source.getEventsInRange(from, to)),
+          describe(archive.getEventsInRange(from, to)));
+      assertEquals(describe(source.getEventsOnDate(date)),
+          describe(archive.getEventsOnDate(date)));
+      assertEquals(describe(source.getEventsStartingIn(from, to)),
+          describe(archive.getEventsStartingIn(from, to)));
+      assertEquals(describe(source.search("review", from, to.plusDays(20))),
+          describe(archive.search("review", from, to.plusDays(20))));
+      assertArrayEquals(source.getBusyIntervals(from.atZone(NEW_YORK).toInstant(),
+              to.atZone(NEW_YORK).toInstant()),
+          archive.getBusyIntervals(from.atZone(NEW_YORK).toInstant(),
+              to.atZone(NEW_YORK).toInstant()));
+      assertEquals(source.isBusy(from), archive.isBusy(from));
+    }
+  }
+
+  @Test
+  public void testSearchConflictsAndLookupsMatchTheSourceModel() {
+    for (String query : new String[] {"review", "lunch ana", "plan*", "cafe rio", "yoga",
+        "gym lunch", "  "}) {
+      assertEquals(query, describe(source.search(query)), describe(archive.search(query)));
+    }
+    assertEquals(source.findConflicts().size(), archive.findConflicts().size());
+    assertEquals(describe(source.findConflicts().get(0)),
+        describe(archive.findConflicts().get(0)));
+
+    EventInterface event = source.getAllEvents().get(1234);
+    assertEquals(describe(List.of(event)),
+        describe(List.of(archive.findEventById(event.getId()))));
+    assertEquals(event.getId(), archive.findEventByProperties(event.getSubject(),
+        event.getStartDateTime(), event.getEndDateTime()).getId());
+    assertNull(archive.findEventById(UUID.randomUUID()));
+    assertNull(archive.findEventByProperties("Nothing", event.getStartDateTime(),
+        event.getEndDateTime()));
+  }
+
+  @Test
+  public void testZoneChangeMovesLocalTimes() {
+    ZoneId london = ZoneId.of("Europe/London");
+    source.setZone(london);
+    archive.setZone(london);
+    LocalDate date = LocalDate.of(2025, 6, 2);
+    assertEquals(describe(source.getEventsOnDate(date)),
+        describe(archive.getEventsOnDate(date)));
+  }
+
+  @Test
+  public void testArchiveIsReadOnly() {
+    EventInterface event = new Event("New", BASE, BASE.plusHours(1), null, null, false,
+        UUID.randomUUID(), null);
+    assertThrows(IllegalArgumentException.class, () -> archive.createEvent(event));
+    assertThrows(IllegalArgumentException.class, () -> archive.beginTransaction());
+    assertFalse(archive.undo());
+    assertNull(archive.getSeries(event.getId()));
+    assertEquals(archive.size(), archive.getChangesSince(0).getAdded().size());
+    assertTrue(archive.getChangesSince(archive.getCheckpoint()).isEmpty());
+  }
+
+  @Test
+  public void testOtherFilesAreRejected() throws IOException {
+    Files.writeString(file, "BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n");
+    IOException e = assertThrows(IOException.class, () -> ArchivedCalendarModel.open(file));
+    assertEquals("Not a calendar archive", e.getMessage());
+  }
+
+  @Test
+  public void testExportAndOpenArchiveCommands() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", NEW_YORK);
+    manager.setCurrentCalendar("Work");
+    CalendarModelInterface work = manager.getCalendar("Work").getModel();
+    work.createEvents(source.getAllEvents(), new ArrayList<>());
+    String name = "archive-command-test.calarc";
+    TestView view = new TestView();
+    try {
+      assertTrue(new ExportCommand(name).execute(manager, view));
+      assertTrue(view.getMessages().get(0).startsWith("Calendar archived to: "));
+      assertFalse(new ExportCommand(name, "0").execute(manager, view));
+
+      CommandParser parser = new CommandParser();
+      assertTrue(parser.parse("create calendar --name Old --archive " + name)
+          .execute(manager, view));
+      CalendarModelInterface old = manager.getCalendar("Old").getModel();
+      assertEquals(describe(work.getAllEvents()), describe(old.getAllEvents()));
+      assertFalse(parser.parse("create calendar --name old --archive " + name)
+          .execute(manager, view));
+    } finally {
+      Files.deleteIfExists(Paths.get(name));
+    }
+  }
+}
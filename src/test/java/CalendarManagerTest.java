@@ -11,8 +11,14 @@ import calendar.model.Event;
 import calendar.model.EventInterface;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -81,6 +87,52 @@ public class CalendarManagerTest {
         ZoneId.of("America/New_York"), cal.getTimezone());
   }
 
+  @Test
+  public void testGetCalendarIgnoresCase() {
+    manager.createCalendar("Work", ZoneId.of("America/New_York"));
+
+    assertNotNull(manager.getCalendar("WORK"));
+    assertTrue(manager.setCurrentCalendar("work"));
+    assertEquals("Work", manager.getCurrentCalendar().getName());
+  }
+
+  @Test
+  public void testRenameChangingOnlyCase() {
+    manager.createCalendar("Work", ZoneId.of("America/New_York"));
+    manager.createCalendar("Home", ZoneId.of("America/New_York"));
+
+    assertTrue(manager.editCalendarName("work", "WORK"));
+    assertEquals("WORK", manager.getCalendar("Work").getName());
+    assertFalse(manager.editCalendarName("Work", "HOME"));
+    assertEquals(2, manager.getAllCalendars().size());
+  }
+
+  @Test
+  public void testConcurrentCreatesClaimEachNameOnce() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    AtomicInteger created = new AtomicInteger();
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (int i = 0; i < 400; i++) {
+        String name = (i % 2 == 0 ? "cal" : "CAL") + (i % 100);
+        tasks.add(pool.submit(() -> {
+          if (manager.createCalendar(name, ZoneId.of("UTC"))) {
+            created.incrementAndGet();
+          }
+        }));
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+    } finally {
+      pool.shutdown();
+      pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    assertEquals(100, created.get());
+    assertEquals(100, manager.getAllCalendars().size());
+  }
+
   @Test
   public void testGetNonExistentCalendar() {
     assertNull("Should return null for non-existent calendar",
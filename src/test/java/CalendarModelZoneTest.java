@@ -0,0 +1,135 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.Calendar;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EditSpec;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Test;
+
+/**
+ * Tests that the model stores events by instant and treats the zone as a view.
+ */
+public class CalendarModelZoneTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+
+  private static EventInterface event(String subject, LocalDateTime start, int hours) {
+    return new Event(subject, start, start.plusHours(hours), null, null, false,
+        UUID.randomUUID(), null);
+  }
+
+  @Test
+  public void testZoneChangeKeepsInstantsAndIds() {
+    CalendarModelInterface model = new CalendarModel(NEW_YORK);
+    EventInterface meeting = event("Meeting", LocalDateTime.of(2025, 6, 1, 10, 0), 1);
+    model.createEvent(meeting);
+
+    model.setZone(PARIS);
+
+    EventInterface moved = model.findEventById(meeting.getId());
+    assertEquals(LocalDateTime.of(2025, 6, 1, 16, 0), moved.getStartDateTime());
+    assertEquals(meeting.getId(), moved.getId());
+    assertNotNull(model.findEventByProperties("Meeting",
+        LocalDateTime.of(2025, 6, 1, 16, 0), LocalDateTime.of(2025, 6, 1, 17, 0)));
+    assertTrue(model.isBusy(LocalDateTime.of(2025, 6, 1, 16, 30)));
+    assertFalse(model.isBusy(LocalDateTime.of(2025, 6, 1, 10, 30)));
+  }
+
+  @Test
+  public void testSeriesAcrossDstKeepsLocalTimeInOriginalZone() {
+    CalendarModelInterface model = new CalendarModel(NEW_YORK);
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Standup", LocalDateTime.of(2025, 3, 3, 9, 0),
+        LocalDateTime.of(2025, 3, 3, 9, 30), null, null, false, UUID.randomUUID(), seriesId);
+    assertTrue(model.createEventSeries(new EventSeries(seriesId, template,
+        EnumSet.of(DayOfWeek.MONDAY), null, 3, false)));
+
+    model.setZone(ZoneId.of("UTC"));
+    List<EventInterface> utc = model.getAllEvents();
+    assertEquals(14, utc.get(0).getStartDateTime().getHour());
+    assertEquals(13, utc.get(2).getStartDateTime().getHour());
+
+    model.setZone(NEW_YORK);
+    for (EventInterface e : model.getAllEvents()) {
+      assertEquals(9, e.getStartDateTime().getHour());
+    }
+  }
+
+  @Test
+  public void testDateQueriesFollowCurrentZone() {
+    CalendarModelInterface model = new CalendarModel(NEW_YORK);
+    model.createEvent(event("Late call", LocalDateTime.of(2025, 6, 1, 21, 0), 1));
+
+    assertEquals(1, model.getEventsOnDate(LocalDate.of(2025, 6, 1)).size());
+    model.setZone(PARIS);
+    assertEquals(0, model.getEventsOnDate(LocalDate.of(2025, 6, 1)).size());
+    assertEquals(1, model.getEventsOnDate(LocalDate.of(2025, 6, 2)).size());
+    assertEquals(1, model.getEventsInRange(LocalDateTime.of(2025, 6, 2, 2, 0),
+        LocalDateTime.of(2025, 6, 2, 4, 0)).size());
+  }
+
+  @Test
+  public void testEditsAfterZoneChangeUseNewZone() {
+    Calendar calendar = new Calendar("Work", NEW_YORK, new CalendarModel());
+    EventInterface meeting = event("Meeting", LocalDateTime.of(2025, 6, 1, 10, 0), 1);
+    calendar.getModel().createEvent(meeting);
+
+    calendar.setTimezone(PARIS);
+    assertTrue(calendar.getModel().editEvent(meeting.getId(),
+        EditSpec.builder().start(LocalDateTime.of(2025, 6, 1, 18, 0)).build()));
+
+    calendar.setTimezone(NEW_YORK);
+    EventInterface edited = calendar.getModel().findEventById(meeting.getId());
+    assertEquals(LocalDateTime.of(2025, 6, 1, 12, 0), edited.getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 6, 1, 13, 0), edited.getEndDateTime());
+  }
+
+  @Test
+  public void testTimesInTheSpringForwardGapAreRejected() {
+    CalendarModelInterface model = new CalendarModel(NEW_YORK);
+    LocalDateTime gap = LocalDateTime.of(2025, 3, 9, 2, 30);
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> model.createEvent(event("Night shift", gap, 2)));
+    assertTrue(e.getMessage().contains("2025-03-09T02:30"));
+
+    EventInterface early = event("Night shift", LocalDateTime.of(2025, 3, 9, 0, 30), 1);
+    assertTrue(model.createEvent(early));
+    assertThrows(IllegalArgumentException.class, () -> model.editEvent(early.getId(),
+        EditSpec.builder().end(gap).build()));
+    assertEquals(LocalDateTime.of(2025, 3, 9, 1, 30),
+        model.findEventById(early.getId()).getEndDateTime());
+    assertTrue(model.undo());
+    assertTrue(model.getAllEvents().isEmpty());
+  }
+
+  @Test
+  public void testSeriesOccurrencesInTheGapMoveForward() {
+    CalendarModelInterface model = new CalendarModel(NEW_YORK);
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Backup", LocalDateTime.of(2025, 3, 8, 2, 30),
+        LocalDateTime.of(2025, 3, 8, 2, 45), null, null, false, UUID.randomUUID(), seriesId);
+    assertTrue(model.createEventSeries(new EventSeries(seriesId, template,
+        EnumSet.allOf(DayOfWeek.class), null, 3, false)));
+
+    List<EventInterface> events = model.getAllEvents();
+    assertEquals(LocalDateTime.of(2025, 3, 8, 2, 30), events.get(0).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 3, 9, 3, 30), events.get(1).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 3, 9, 3, 45), events.get(1).getEndDateTime());
+    assertEquals(LocalDateTime.of(2025, 3, 10, 2, 30), events.get(2).getStartDateTime());
+  }
+}
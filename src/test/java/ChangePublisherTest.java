@@ -0,0 +1,159 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.CalendarChange;
+import calendar.model.CalendarChange.Kind;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EditSpec;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the change streams published by models and the manager.
+ */
+public class ChangePublisherTest {
+
+  private CalendarModelInterface model;
+
+  /**
+   * Creates an empty model.
+   */
+  @Before
+  public void setUp() {
+    model = new CalendarModel(ZoneId.of("America/New_York"));
+  }
+
+  /**
+   * Collects a fixed number of changes, requesting them one at a time.
+   */
+  private static final class Collector implements Flow.Subscriber<CalendarChange> {
+    private final List<CalendarChange> changes = new CopyOnWriteArrayList<>();
+    private final CountDownLatch done;
+    private Flow.Subscription subscription;
+
+    Collector(int expected) {
+      this.done = new CountDownLatch(expected);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(1);
+    }
+
+    @Override
+    public void onNext(CalendarChange change) {
+      changes.add(change);
+      done.countDown();
+      subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    List<CalendarChange> await() throws InterruptedException {
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      return changes;
+    }
+  }
+
+  private static EventInterface event(String subject, int day) {
+    LocalDateTime start = LocalDateTime.of(2025, 6, day, 9, 0);
+    return new Event(subject, start, start.plusHours(1), null, null, false,
+        UUID.randomUUID(), null);
+  }
+
+  @Test
+  public void testModelPublishesTypedChangesWithCheckpoints() throws InterruptedException {
+    Collector collector = new Collector(5);
+    model.getChangePublisher().subscribe(collector);
+
+    EventInterface planning = event("Planning", 2);
+    model.createEvent(planning);
+    assertFalse(model.createEvent(planning));
+    model.editEvent(planning.getId(), EditSpec.builder().subject("Kickoff").build());
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Yoga", LocalDateTime.of(2025, 6, 2, 18, 0),
+        LocalDateTime.of(2025, 6, 2, 19, 0), null, null, false, UUID.randomUUID(), seriesId);
+    model.createEventSeries(new EventSeries(seriesId, template, EnumSet.of(DayOfWeek.MONDAY),
+        null, 2, false));
+    model.editSeriesFrom(seriesId, LocalDate.of(2025, 6, 9),
+        EditSpec.builder().location("Gym").build());
+    model.undo();
+
+    List<CalendarChange> changes = collector.await();
+    assertEquals(Kind.CREATED, changes.get(0).getKind());
+    assertEquals(Kind.EDITED, changes.get(1).getKind());
+    assertEquals("Kickoff", changes.get(1).getEvents().get(0).getSubject());
+    assertEquals(2, changes.get(2).getEvents().size());
+    assertEquals(Kind.SERIES_EDITED, changes.get(3).getKind());
+    assertEquals("Gym", changes.get(3).getEvents().get(0).getLocation().orElse(null));
+    assertEquals(Kind.RESTORED, changes.get(4).getKind());
+    for (int i = 1; i < changes.size(); i++) {
+      assertEquals(changes.get(i - 1).getCheckpoint(), changes.get(i).getPreviousCheckpoint());
+    }
+    assertEquals(model.getCheckpoint(), changes.get(4).getCheckpoint());
+  }
+
+  @Test
+  public void testTransactionIsPublishedOnCommitOnly() throws InterruptedException {
+    Collector collector = new Collector(2);
+    model.getChangePublisher().subscribe(collector);
+
+    model.beginTransaction();
+    model.createEvent(event("Draft", 2));
+    model.rollbackTransaction();
+    model.beginTransaction();
+    model.createEvent(event("Final", 3));
+    model.commitTransaction();
+
+    List<CalendarChange> changes = collector.await();
+    assertEquals(Kind.RESTORED, changes.get(0).getKind());
+    assertEquals(Kind.CREATED, changes.get(1).getKind());
+    assertEquals("Final", changes.get(1).getEvents().get(0).getSubject());
+  }
+
+  @Test
+  public void testManagerPublishesRenamesAndTimezoneChangesFromAnySession()
+      throws InterruptedException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", ZoneId.of("America/New_York"));
+    Collector collector = new Collector(3);
+    manager.getChangePublisher().subscribe(collector);
+
+    CalendarManager session = manager.openSession();
+    session.editCalendarName("Work", "Office");
+    session.editCalendarTimezone("Office", ZoneId.of("Europe/London"));
+    manager.getCalendar("Office").getModel().undo();
+
+    List<CalendarChange> changes = collector.await();
+    assertEquals(Kind.CALENDAR_RENAMED, changes.get(0).getKind());
+    assertEquals("Work", changes.get(0).getPreviousValue());
+    assertEquals("Office", changes.get(0).getCalendarName());
+    assertEquals(Kind.CALENDAR_RETIMEZONED, changes.get(1).getKind());
+    assertEquals("Europe/London", changes.get(1).getNewValue());
+    assertEquals("America/New_York", changes.get(2).getNewValue());
+  }
+}
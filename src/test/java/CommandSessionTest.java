@@ -0,0 +1,103 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.CommandMetrics;
+import calendar.command.CommandParser;
+import calendar.command.CommandSession;
+import calendar.model.CalendarManager;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests running commands in per-client sessions over one shared manager.
+ */
+public class CommandSessionTest {
+
+  private CalendarManager shared;
+  private CommandParser parser;
+
+  /**
+   * Creates a shared manager with two calendars.
+   */
+  @Before
+  public void setUp() {
+    shared = new CalendarManager();
+    shared.createCalendar("Work", ZoneId.of("America/New_York"));
+    shared.createCalendar("Home", ZoneId.of("Europe/Paris"));
+    parser = new CommandParser();
+  }
+
+  @Test
+  public void testSessionsKeepTheirOwnCurrentCalendar() throws IOException {
+    CommandSession alice = CommandSession.open(shared, new TestView());
+    CommandSession bob = CommandSession.open(shared, new TestView());
+
+    assertTrue(parser.parse("use calendar --name Work").execute(alice));
+    assertTrue(parser.parse("use calendar --name Home").execute(bob));
+    assertTrue(parser.parse("create event Gym from 2025-06-02T07:00 to 2025-06-02T08:00")
+        .execute(bob));
+
+    assertEquals("Work", alice.getCurrentCalendar().getName());
+    assertEquals("Home", bob.getCurrentCalendar().getName());
+    assertNull(shared.getCurrentCalendar());
+    assertEquals(0, shared.getCalendar("Work").getModel().getAllEvents().size());
+    assertEquals(1, shared.getCalendar("Home").getModel().getAllEvents().size());
+  }
+
+  @Test
+  public void testMetricsCountCommands() throws IOException {
+    CommandSession session = CommandSession.open(shared, new TestView());
+
+    parser.parse("use calendar --name Work").execute(session);
+    parser.parse("print events on 2025-06-02").execute(session);
+    assertFalse(parser.parse("use calendar --name Nope").execute(session));
+
+    CommandMetrics metrics = session.getMetrics();
+    assertEquals(3, metrics.getExecutedCount());
+    assertEquals(1, metrics.getUnsuccessfulCount());
+    assertEquals(Long.valueOf(2), metrics.getCountsByCommand().get("UseCalendarCommand"));
+    assertFalse(metrics.getTotalTime().isNegative());
+  }
+
+  @Test
+  public void testParallelSessionsOnSharedManager() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        String calendar = t % 2 == 0 ? "Work" : "Home";
+        String hour = String.format("%02d", 8 + t);
+        results.add(pool.submit(() -> {
+          CommandSession session = CommandSession.open(shared, new TestView());
+          boolean ok = parser.parse("use calendar --name " + calendar).execute(session);
+          for (int day = 1; day <= 28; day++) {
+            String date = LocalDate.of(2025, 6, day).toString();
+            ok &= parser.parse("create event Slot from " + date + "T" + hour + ":00 to "
+                + date + "T" + hour + ":30").execute(session);
+            ok &= calendar.equals(session.getCurrentCalendar().getName());
+          }
+          return ok;
+        }));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get(30, TimeUnit.SECONDS));
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertEquals(56, shared.getCalendar("Work").getModel().getAllEvents().size());
+    assertEquals(56, shared.getCalendar("Home").getModel().getAllEvents().size());
+  }
+}
@@ -0,0 +1,154 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.ExportCommand;
+import calendar.command.ImportCommand;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModelInterface;
+import calendar.model.Event;
+import calendar.util.CsvExporter;
+import calendar.util.GzipCompressor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests gzip-compressed export and import.
+ */
+public class CompressedExportTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final String CSV = "compressed-export-test.csv.gz";
+  private static final String ICS = "compressed-export-test.ics.gz";
+
+  private CalendarManager manager;
+  private CalendarModelInterface work;
+  private TestView view;
+
+  /**
+   * Creates a current calendar with five hundred events.
+   */
+  @Before
+  public void setUp() {
+    manager = new CalendarManager();
+    manager.createCalendar("Work", NEW_YORK);
+    manager.setCurrentCalendar("Work");
+    work = manager.getCalendar("Work").getModel();
+    LocalDateTime start = LocalDateTime.of(2025, 6, 2, 9, 0);
+    for (int i = 0; i < 500; i++) {
+      work.createEvent(new Event("Standup " + i, start.plusHours(i), start.plusHours(i)
+          .plusMinutes(15), "Daily sync", "Room " + i % 7, false, UUID.randomUUID(), null));
+    }
+    view = new TestView();
+  }
+
+  /**
+   * Deletes the exported files.
+   */
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(Paths.get(CSV));
+    Files.deleteIfExists(Paths.get(ICS));
+  }
+
+  private static byte[] gunzip(Path file) throws IOException {
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+      return in.readAllBytes();
+    }
+  }
+
+  @Test
+  public void testCompressedCsvExport() throws IOException {
+    assertTrue(new ExportCommand(CSV).execute(manager, view));
+
+    assertEquals(CsvExporter.toCsv(work.getAllEvents()),
+        new String(gunzip(Paths.get(CSV)), StandardCharsets.UTF_8));
+    String message = view.getMessages().get(0);
+    assertTrue(message, message.matches(
+        "Calendar exported to: .* \\(checkpoint \\d+; \\d+ bytes compressed to \\d+, "
+            + "ratio \\d+\\.\\d:1, \\d+\\.\\d MB/s\\)"));
+  }
+
+  @Test
+  public void testCompressedIcalRoundTrip() throws IOException {
+    assertTrue(new ExportCommand(ICS).execute(manager, view));
+    manager.createCalendar("Copy", NEW_YORK);
+    manager.setCurrentCalendar("Copy");
+
+    assertTrue(new ImportCommand(ICS).execute(manager, view));
+    assertEquals(work.getAllEvents(), manager.getCalendar("Copy").getModel().getAllEvents());
+  }
+
+  @Test
+  public void testCompressedDeltaExport() throws IOException {
+    assertTrue(new ExportCommand(CSV, "0").execute(manager, view));
+    assertTrue(view.getMessages().get(0).contains(" removed; checkpoint 500; "));
+  }
+
+  @Test
+  public void testArchiveCannotBeCompressed() throws IOException {
+    assertFalse(new ExportCommand("compressed-export-test.calarc.gz").execute(manager, view));
+  }
+
+  @Test
+  public void testLargeContentIsCompressedInBlocks() throws IOException {
+    Random random = new Random(1);
+    StringBuilder text = new StringBuilder();
+    while (text.length() < 3 * (1 << 20) + 12345) {
+      text.append("Event ").append(random.nextInt(10_000)).append(",2025/06/02\n");
+    }
+    byte[] content = text.toString().getBytes(StandardCharsets.UTF_8);
+    Path file = Files.createTempFile("blocks", ".gz");
+    try {
+      long size = GzipCompressor.write(content, file);
+      assertEquals(Files.size(file), size);
+      assertTrue(size < content.length / 3);
+      assertArrayEquals(content, gunzip(file));
+
+      assertEquals(20, GzipCompressor.write(new byte[0], file));
+      assertEquals(0, gunzip(file).length);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testStreamedContentIsCompressedInOrder() throws IOException {
+    Random random = new Random(2);
+    byte[] content = new byte[5 * (1 << 20) + 777];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) ('a' + random.nextInt(4));
+    }
+    Path file = Files.createTempFile("streamed", ".gz");
+    try {
+      GzipCompressor gzip = new GzipCompressor(Files.newOutputStream(file));
+      try (gzip) {
+        for (int from = 0; from < content.length; from += 1000) {
+          gzip.write(content, from, Math.min(1000, content.length - from));
+        }
+        gzip.write('!');
+      }
+      assertEquals(content.length + 1, gzip.getBytesIn());
+      assertEquals(Files.size(file), gzip.getBytesOut());
+      byte[] read = gunzip(file);
+      assertEquals('!', read[content.length]);
+      assertArrayEquals(content, Arrays.copyOf(read, content.length));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,188 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.CopyEventsRangeCommand;
+import calendar.command.UseCalendarCommand;
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.model.Event;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests sessions, per-calendar locking and ordered locking across calendars.
+ */
+public class ConcurrentManagerTest {
+
+  private CalendarManager manager;
+
+  /**
+   * Creates two calendars.
+   */
+  @Before
+  public void setUp() {
+    manager = new CalendarManager();
+    manager.createCalendar("Work", ZoneId.of("America/New_York"));
+    manager.createCalendar("Team", ZoneId.of("Europe/London"));
+  }
+
+  private static Event event(String subject, LocalDateTime start) {
+    return new Event(subject, start, start.plusMinutes(30), null, null, false,
+        UUID.randomUUID(), null);
+  }
+
+  private static void runAll(int threads, List<Runnable> tasks) throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (Runnable task : tasks) {
+        futures.add(pool.submit(task));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testSessionsShareCalendarsButNotCurrentCalendar() throws Exception {
+    CalendarManager alice = manager.openSession();
+    CalendarManager bob = manager.openSession();
+    TestView view = new TestView();
+
+    assertTrue(new UseCalendarCommand("Work").execute(alice, view));
+    assertTrue(new UseCalendarCommand("Team").execute(bob, view));
+    assertEquals("Work", alice.getCurrentCalendar().getName());
+    assertEquals("Team", bob.getCurrentCalendar().getName());
+    assertNull(manager.getCurrentCalendar());
+
+    alice.createCalendar("Shared", ZoneId.of("UTC"));
+    assertSame(alice.getCalendar("Shared"), bob.getCalendar("shared"));
+  }
+
+  @Test
+  public void testConcurrentWritesToOneCalendar() throws Exception {
+    CalendarInterface work = manager.getCalendar("Work");
+    List<Runnable> tasks = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      int day = t + 1;
+      tasks.add(() -> {
+        for (int i = 0; i < 200; i++) {
+          work.getModel().createEvent(event("E" + i,
+              LocalDateTime.of(2025, 6, day, 0, 0).plusMinutes(5L * i)));
+          work.getModel().getEventsOnDate(LocalDateTime.of(2025, 6, day, 0, 0).toLocalDate());
+        }
+      });
+    }
+    runAll(8, tasks);
+
+    assertEquals(1600, work.getModel().getAllEvents().size());
+  }
+
+  @Test
+  public void testOpposingCopiesDoNotDeadlock() throws Exception {
+    manager.getCalendar("Work").getModel().createEvent(
+        event("A", LocalDateTime.of(2025, 6, 2, 9, 0)));
+    manager.getCalendar("Team").getModel().createEvent(
+        event("B", LocalDateTime.of(2025, 6, 2, 9, 0)));
+
+    List<Runnable> tasks = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      boolean forward = t % 2 == 0;
+      tasks.add(() -> {
+        CalendarManager session = manager.openSession();
+        session.setCurrentCalendar(forward ? "Work" : "Team");
+        for (int i = 0; i < 50; i++) {
+          try {
+            new CopyEventsRangeCommand("2025-06-02", "2025-06-02", forward ? "Team" : "Work",
+                "2025-07-" + String.format("%02d", i % 28 + 1)).execute(session, new TestView());
+          } catch (IOException e) {
+            throw new IllegalStateException(e);
+          }
+        }
+      });
+    }
+    runAll(8, tasks);
+
+    assertTrue(manager.getCalendar("Team").getModel().getAllEvents().size() > 1);
+  }
+
+  @Test
+  public void testCopiesBetweenTwoOpenTransactionsFailInsteadOfDeadlocking()
+      throws Exception {
+    manager.getCalendar("Work").getModel().createEvent(
+        event("A", LocalDateTime.of(2025, 6, 2, 9, 0)));
+    manager.getCalendar("Team").getModel().createEvent(
+        event("B", LocalDateTime.of(2025, 6, 2, 9, 0)));
+    CyclicBarrier bothOpen = new CyclicBarrier(2);
+
+    List<Runnable> tasks = new ArrayList<>();
+    for (int t = 0; t < 2; t++) {
+      int index = t;
+      tasks.add(() -> {
+        CalendarManager session = manager.openSession();
+        session.setCurrentCalendar(index == 0 ? "Work" : "Team");
+        session.beginTransaction();
+        try {
+          bothOpen.await(10, TimeUnit.SECONDS);
+          assertThrows(IllegalArgumentException.class, () -> new CopyEventsRangeCommand(
+              "2025-06-02", "2025-06-02", index == 0 ? "Team" : "Work", "2025-07-01")
+              .execute(session, new TestView()));
+          bothOpen.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        } finally {
+          session.commitTransaction();
+        }
+      });
+    }
+    runAll(2, tasks);
+
+    assertEquals(1, manager.getCalendar("Work").getModel().getAllEvents().size());
+    assertEquals(1, manager.getCalendar("Team").getModel().getAllEvents().size());
+    CalendarManager session = manager.openSession();
+    session.setCurrentCalendar("Work");
+    session.beginTransaction();
+    assertThrows(IllegalArgumentException.class, () -> session.withCalendars(
+        Collections.singletonList(manager.getCalendar("Work")),
+        Collections.singletonList(manager.getCalendar("Team")), () -> null));
+    assertEquals(1, session.getEventsInRange(
+        Collections.singletonList(manager.getCalendar("Work")),
+        Instant.parse("2025-06-01T00:00:00Z"), Instant.parse("2025-06-03T00:00:00Z")).size());
+    session.commitTransaction();
+    assertTrue(new CopyEventsRangeCommand("2025-06-02", "2025-06-02", "Team", "2025-07-01")
+        .execute(session, new TestView()));
+  }
+
+  @Test
+  public void testWithCalendarsSeesAConsistentSnapshot() {
+    CalendarInterface work = manager.getCalendar("Work");
+    CalendarInterface team = manager.getCalendar("Team");
+
+    int total = manager.withCalendars(Arrays.asList(work, team), Collections.emptyList(),
+        () -> work.getModel().getAllEvents().size() + team.getModel().getAllEvents().size());
+    assertEquals(0, total);
+    assertTrue(manager.withCalendars(Collections.singletonList(work),
+        Collections.singletonList(work),
+        () -> work.getModel().createEvent(event("X", LocalDateTime.of(2025, 6, 2, 9, 0)))));
+  }
+}
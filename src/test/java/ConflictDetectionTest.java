@@ -0,0 +1,127 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.EditCalendarCommand;
+import calendar.command.ShowConflictsCommand;
+import calendar.model.BulkInsertResult;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests conflict detection and the reject-overlaps mode.
+ */
+public class ConflictDetectionTest {
+
+  private CalendarModelInterface model;
+
+  /**
+   * Creates an empty model.
+   */
+  @Before
+  public void setUp() {
+    model = new CalendarModel(ZoneId.of("America/New_York"));
+  }
+
+  private static EventInterface event(String subject, int hour, int minute, int minutes) {
+    LocalDateTime start = LocalDateTime.of(2025, 6, 2, hour, minute);
+    return new Event(subject, start, start.plusMinutes(minutes), null, null, false,
+        UUID.randomUUID(), null);
+  }
+
+  @Test
+  public void testClustersIncludeTransitiveOverlaps() {
+    model.createEvent(event("A", 9, 0, 60));
+    model.createEvent(event("B", 9, 30, 60));
+    model.createEvent(event("C", 10, 15, 30));
+    model.createEvent(event("D", 11, 0, 30));
+    model.createEvent(event("E", 13, 0, 120));
+    model.createEvent(event("F", 14, 0, 30));
+
+    List<List<EventInterface>> conflicts = model.findConflicts();
+
+    assertEquals(2, conflicts.size());
+    assertEquals(3, conflicts.get(0).size());
+    assertEquals("A", conflicts.get(0).get(0).getSubject());
+    assertEquals("C", conflicts.get(0).get(2).getSubject());
+    assertEquals(2, conflicts.get(1).size());
+  }
+
+  @Test
+  public void testWindowLimitsConflicts() {
+    model.createEvent(event("A", 9, 0, 60));
+    model.createEvent(event("B", 9, 30, 60));
+    model.createEvent(event("E", 13, 0, 120));
+    model.createEvent(event("F", 14, 0, 30));
+
+    assertEquals(1, model.findConflicts(LocalDateTime.of(2025, 6, 2, 12, 0),
+        LocalDateTime.of(2025, 6, 2, 18, 0)).size());
+    assertEquals(0, model.findConflicts(LocalDateTime.of(2025, 6, 2, 11, 0),
+        LocalDateTime.of(2025, 6, 2, 13, 0)).size());
+  }
+
+  @Test
+  public void testRejectModeRefusesOverlapsButNotTouching() {
+    model.setRejectOverlaps(true);
+
+    assertTrue(model.createEvent(event("A", 9, 0, 60)));
+    assertFalse(model.createEvent(event("B", 9, 59, 30)));
+    assertFalse(model.createEvent(event("Inside", 9, 15, 15)));
+    assertTrue(model.createEvent(event("C", 10, 0, 30)));
+    assertTrue(model.createEvent(event("D", 8, 0, 60)));
+    assertTrue(model.findConflicts().isEmpty());
+  }
+
+  @Test
+  public void testRejectModeChecksSeriesAndBatches() {
+    model.setRejectOverlaps(true);
+    model.createEvent(event("Busy", 9, 0, 60));
+
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Standup", LocalDateTime.of(2025, 5, 26, 9, 30),
+        LocalDateTime.of(2025, 5, 26, 9, 45), null, null, false, UUID.randomUUID(), seriesId);
+    assertFalse(model.createEventSeries(new EventSeries(seriesId, template,
+        EnumSet.of(DayOfWeek.MONDAY), null, 3, false)));
+    assertEquals(1, model.getAllEvents().size());
+
+    BulkInsertResult result = model.createEvents(
+        Arrays.asList(event("Overlap", 9, 30, 60), event("Free", 11, 0, 30)),
+        Collections.emptyList());
+    assertEquals(1, result.getInserted().size());
+    assertEquals("Overlap", result.getConflicts().get(0).getSubject());
+  }
+
+  @Test
+  public void testCommandsShowConflictsAndSetPolicy() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", ZoneId.of("America/New_York"));
+    manager.setCurrentCalendar("Work");
+    CalendarModelInterface work = manager.getCurrentCalendar().getModel();
+    work.createEvent(event("A", 9, 0, 60));
+    work.createEvent(event("B", 9, 30, 60));
+    TestView view = new TestView();
+
+    assertTrue(new ShowConflictsCommand(null, null).execute(manager, view));
+    assertTrue(view.hasMessage("Conflict 1: 2 overlapping events"));
+    assertEquals(1, view.getDisplayedEvents().size());
+
+    assertTrue(new EditCalendarCommand("Work", "overlaps", "reject").execute(manager, view));
+    assertTrue(work.isRejectingOverlaps());
+    assertFalse(new EditCalendarCommand("Work", "overlaps", "maybe").execute(manager, view));
+  }
+}
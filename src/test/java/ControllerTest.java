@@ -86,6 +86,15 @@ public class ControllerTest {
   private static class MockCalendarModel implements calendar.model.CalendarModelInterface {
     boolean createEventCalled = false;
 
+    @Override
+    public java.time.ZoneId getZone() {
+      return java.time.ZoneOffset.UTC;
+    }
+
+    @Override
+    public void setZone(java.time.ZoneId zone) {
+    }
+
     @Override
     public boolean createEvent(calendar.model.EventInterface event) {
       createEventCalled = true;
@@ -124,11 +133,140 @@ public class ControllerTest {
       return java.util.Collections.emptyList();
     }
 
+    @Override
+    public java.util.List<calendar.model.EventInterface> getEventsStartingIn(
+        java.time.LocalDateTime from, java.time.LocalDateTime to) {
+      return java.util.Collections.emptyList();
+    }
+
+    @Override
+    public calendar.model.EventSeries getSeries(java.util.UUID seriesId) {
+      return null;
+    }
+
+    @Override
+    public calendar.model.BulkInsertResult createEventSeriesBatch(
+        java.util.List<calendar.model.EventSeries> batch) {
+      return new calendar.model.BulkInsertResult(java.util.Collections.emptyList(),
+          java.util.Collections.emptyList());
+    }
+
+    @Override
+    public calendar.model.BulkInsertResult createEvents(
+        java.util.List<calendar.model.EventInterface> events,
+        java.util.List<calendar.model.EventSeries> series) {
+      return new calendar.model.BulkInsertResult(java.util.Collections.emptyList(),
+          java.util.Collections.emptyList());
+    }
+
+    @Override
+    public long[] getBusyIntervals(java.time.Instant from, java.time.Instant to) {
+      return new long[0];
+    }
+
+    @Override
+    public boolean isRejectingOverlaps() {
+      return false;
+    }
+
+    @Override
+    public void beginTransaction() {
+    }
+
+    @Override
+    public void commitTransaction() {
+    }
+
+    @Override
+    public void rollbackTransaction() {
+    }
+
+    @Override
+    public boolean isInTransaction() {
+      return false;
+    }
+
+    @Override
+    public boolean undo() {
+      return false;
+    }
+
+    @Override
+    public boolean redo() {
+      return false;
+    }
+
+    @Override
+    public void recordUndoable(Runnable undo, Runnable redo) {
+    }
+
+    @Override
+    public java.util.concurrent.Flow.Publisher<calendar.model.CalendarChange>
+        getChangePublisher() {
+      return new java.util.concurrent.SubmissionPublisher<>();
+    }
+
+    @Override
+    public void setRejectOverlaps(boolean reject) {
+    }
+
+    @Override
+    public java.time.Period getSeriesHorizon() {
+      return java.time.Period.ofYears(1);
+    }
+
+    @Override
+    public void setSeriesHorizon(java.time.Period horizon) {
+    }
+
+    @Override
+    public boolean isMaterializedThrough(java.time.LocalDateTime dateTime) {
+      return true;
+    }
+
+    @Override
+    public void materializeThrough(java.time.LocalDateTime dateTime) {
+    }
+
+    @Override
+    public java.util.List<java.util.List<calendar.model.EventInterface>> findConflicts() {
+      return java.util.Collections.emptyList();
+    }
+
+    @Override
+    public java.util.List<java.util.List<calendar.model.EventInterface>> findConflicts(
+        java.time.LocalDateTime from, java.time.LocalDateTime to) {
+      return java.util.Collections.emptyList();
+    }
+
+    @Override
+    public java.util.List<calendar.model.EventInterface> search(String query) {
+      return java.util.Collections.emptyList();
+    }
+
+    @Override
+    public java.util.List<calendar.model.EventInterface> search(String query,
+        java.time.LocalDateTime from, java.time.LocalDateTime to) {
+      return java.util.Collections.emptyList();
+    }
+
     @Override
     public java.util.List<calendar.model.EventInterface> getAllEvents() {
       return java.util.Collections.emptyList();
     }
 
+    @Override
+    public long getCheckpoint() {
+      return 0;
+    }
+
+    @Override
+    public calendar.model.EventDelta getChangesSince(long checkpoint) {
+      return new calendar.model.EventDelta(checkpoint, checkpoint,
+          java.util.Collections.emptyList(), java.util.Collections.emptyList(),
+          java.util.Collections.emptyList());
+    }
+
     @Override
     public boolean isBusy(java.time.LocalDateTime dateTime) {
       return false;
@@ -0,0 +1,160 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.BulkInsertResult;
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.model.CopyEngine;
+import calendar.model.EditSpec;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the model-level copy engine.
+ */
+public class CopyEngineTest {
+
+  private CalendarInterface source;
+  private CalendarInterface target;
+
+  /**
+   * Creates a New York source and a Los Angeles target calendar.
+   */
+  @Before
+  public void setUp() {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Source", ZoneId.of("America/New_York"));
+    manager.createCalendar("Target", ZoneId.of("America/Los_Angeles"));
+    source = manager.getCalendar("Source");
+    target = manager.getCalendar("Target");
+  }
+
+  private static LocalDateTime day(int dayOfMonth) {
+    return LocalDate.of(2025, 6, dayOfMonth).atStartOfDay();
+  }
+
+  @Test
+  public void testCopiesWindowConvertedAndShifted() {
+    source.getModel().createEvent(new Event("Inside", LocalDateTime.of(2025, 6, 2, 14, 0),
+        LocalDateTime.of(2025, 6, 2, 15, 0), null, null, false, UUID.randomUUID(), null));
+    source.getModel().createEvent(new Event("Outside", LocalDateTime.of(2025, 6, 3, 9, 0),
+        LocalDateTime.of(2025, 6, 3, 10, 0), null, null, false, UUID.randomUUID(), null));
+
+    BulkInsertResult result = CopyEngine.copy(source, day(2), day(3), target, 7, true);
+
+    assertEquals(1, result.getInserted().size());
+    List<EventInterface> copied = target.getModel().getAllEvents();
+    assertEquals(1, copied.size());
+    assertEquals(LocalDateTime.of(2025, 6, 9, 11, 0), copied.get(0).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 6, 9, 12, 0), copied.get(0).getEndDateTime());
+  }
+
+  @Test
+  public void testConflictsAreReportedAndRestInserted() {
+    source.getModel().createEvent(new Event("A", LocalDateTime.of(2025, 6, 2, 12, 0),
+        LocalDateTime.of(2025, 6, 2, 13, 0), null, null, false, UUID.randomUUID(), null));
+    source.getModel().createEvent(new Event("B", LocalDateTime.of(2025, 6, 2, 14, 0),
+        LocalDateTime.of(2025, 6, 2, 15, 0), null, null, false, UUID.randomUUID(), null));
+    target.getModel().createEvent(new Event("A", LocalDateTime.of(2025, 6, 2, 9, 0),
+        LocalDateTime.of(2025, 6, 2, 10, 0), null, null, false, UUID.randomUUID(), null));
+
+    BulkInsertResult result = CopyEngine.copy(source, day(2), day(3), target, 0, true);
+
+    assertEquals(1, result.getInserted().size());
+    assertEquals("B", result.getInserted().get(0).getSubject());
+    assertEquals(1, result.getConflicts().size());
+    assertEquals("A", result.getConflicts().get(0).getSubject());
+    assertEquals(2, target.getModel().getAllEvents().size());
+  }
+
+  @Test
+  public void testSeriesIsRecreatedAsEditableSeries() {
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Standup", LocalDateTime.of(2025, 6, 2, 12, 0),
+        LocalDateTime.of(2025, 6, 2, 12, 30), null, null, false, UUID.randomUUID(), seriesId);
+    assertTrue(source.getModel().createEventSeries(new EventSeries(seriesId, template,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), null, 6, false)));
+
+    BulkInsertResult result = CopyEngine.copy(source, day(4), day(12), target, 0, true);
+
+    assertEquals(3, result.getInserted().size());
+    UUID copiedSeries = result.getInserted().get(0).getSeriesId().get();
+    assertNotEquals(seriesId, copiedSeries);
+    EventSeries config = target.getModel().getSeries(copiedSeries);
+    assertNotNull(config);
+    assertEquals(Integer.valueOf(3), config.getOccurrences());
+    assertEquals(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), config.getWeekdays());
+
+    assertTrue(target.getModel().editEntireSeries(copiedSeries,
+        EditSpec.builder().location("Room 2").build()));
+    for (EventInterface e : target.getModel().getAllEvents()) {
+      assertEquals("Room 2", e.getLocation().get());
+    }
+  }
+
+  @Test
+  public void testPartialWeekOfSeriesGetsRuleOnlyIfItMatchesTheCopies() {
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Standup", LocalDateTime.of(2025, 6, 2, 12, 0),
+        LocalDateTime.of(2025, 6, 2, 12, 30), null, null, false, UUID.randomUUID(), seriesId);
+    assertTrue(source.getModel().createEventSeries(new EventSeries(seriesId, template,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY), null, 9, false)));
+
+    BulkInsertResult result = CopyEngine.copy(source, day(4), day(10), target, 0, true);
+    assertEquals(3, result.getInserted().size());
+    EventSeries config = target.getModel().getSeries(
+        result.getInserted().get(0).getSeriesId().get());
+    assertEquals(LocalDate.of(2025, 6, 4), config.getTemplate().getStartDateTime().toLocalDate());
+    assertEquals(3, config.getOccurrenceCount());
+    assertEquals(LocalDate.of(2025, 6, 9), config.getLastOccurrenceDate());
+
+    UUID wednesday = source.getModel().getEventsOnDate(LocalDate.of(2025, 6, 11)).get(0).getId();
+    assertTrue(source.getModel().editEvent(wednesday,
+        EditSpec.builder().subject("Planning").build()));
+    result = CopyEngine.copy(source, day(9), day(19), target, 14, true);
+    assertEquals(5, result.getInserted().size());
+    UUID copiedSeries = result.getInserted().get(0).getSeriesId().get();
+    assertEquals(copiedSeries, result.getInserted().get(4).getSeriesId().get());
+    assertNull(target.getModel().getSeries(copiedSeries));
+    target.getModel().materializeThrough(LocalDateTime.MAX);
+    assertEquals(8, target.getModel().getAllEvents().size());
+  }
+
+  @Test
+  public void testWithoutSeriesCopiesAreStandalone() {
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Gym", LocalDateTime.of(2025, 6, 2, 7, 0),
+        LocalDateTime.of(2025, 6, 2, 8, 0), null, null, false, UUID.randomUUID(), seriesId);
+    source.getModel().createEventSeries(new EventSeries(seriesId, template,
+        EnumSet.of(DayOfWeek.MONDAY), null, 2, false));
+
+    BulkInsertResult result = CopyEngine.copy(source, day(2), day(3), target, 1, false);
+
+    assertEquals(1, result.getInserted().size());
+    assertFalse(result.getInserted().get(0).getSeriesId().isPresent());
+  }
+
+  @Test
+  public void testStartingInUsesHalfOpenWindow() {
+    source.getModel().createEvent(new Event("Midnight", day(3), day(3).plusHours(1),
+        null, null, false, UUID.randomUUID(), null));
+
+    assertEquals(0, source.getModel().getEventsStartingIn(day(2), day(3)).size());
+    assertEquals(1, source.getModel().getEventsStartingIn(day(3), day(4)).size());
+    assertEquals(0, source.getModel().getEventsStartingIn(day(4), day(3)).size());
+  }
+}
@@ -1,3 +1,5 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import calendar.command.CreateAllDayEventSeriesCommand;
@@ -74,5 +76,22 @@ public class CreateEventSeriesCommandTest {
         "Meeting", "2025-06-01", "M", null, "2025-06-30", true);
     assertTrue(cmd.execute(manager, view));
   }
-}
 
+  @Test
+  public void testCreateEventSeriesReportsSize() throws IOException {
+    CreateEventSeriesFromToCommand cmd = new CreateEventSeriesFromToCommand(
+        "Standup", "2025-06-02T09:00", "2025-06-02T09:30", "MWF", null, "2025-06-30", true);
+    assertTrue(cmd.execute(manager, view));
+    assertTrue(outContent.toString().contains("(13 occurrences, last on 2025-06-30)"));
+    assertEquals(13, model.getAllEvents().size());
+  }
+
+  @Test
+  public void testCreateEventSeriesWithoutOccurrencesFails() throws IOException {
+    CreateAllDayEventSeriesCommand cmd = new CreateAllDayEventSeriesCommand(
+        "Holiday", "2025-06-03", "M", null, "2025-06-05", true);
+    assertFalse(cmd.execute(manager, view));
+    assertTrue(outContent.toString().contains("the series has no occurrences"));
+    assertTrue(model.getAllEvents().isEmpty());
+  }
+}
@@ -4,13 +4,17 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import calendar.model.CalendarModel;
 import calendar.model.Event;
 import calendar.model.EventInterface;
 import calendar.model.EventSeries;
+import calendar.model.Weekday;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import org.junit.Test;
@@ -133,4 +137,71 @@ public class EventSeriesTest {
     assertNull(series.getOccurrences());
     assertTrue(series.usesEndDate());
   }
+
+  @Test
+  public void testNextWeekdayOnOrAfter() {
+    EventInterface template = new Event("Gym",
+        LocalDateTime.of(2025, 6, 16, 7, 0),
+        LocalDateTime.of(2025, 6, 16, 8, 0),
+        null, null, false, UUID.randomUUID(), null);
+    EventSeries series = new EventSeries(UUID.randomUUID(), template,
+        Weekday.toDayOfWeekSet(Weekday.parseString("TR")), null, 4, false);
+
+    assertEquals(0b1010, series.getWeekdayMask());
+    LocalDate tuesday = LocalDate.of(2025, 6, 17);
+    assertEquals(tuesday, series.nextWeekdayOnOrAfter(tuesday.minusDays(1)));
+    assertEquals(tuesday, series.nextWeekdayOnOrAfter(tuesday));
+    assertEquals(tuesday.plusDays(2), series.nextWeekdayOnOrAfter(tuesday.plusDays(1)));
+    assertEquals(tuesday.plusWeeks(1), series.nextWeekdayOnOrAfter(tuesday.plusDays(3)));
+    assertNull(new EventSeries(UUID.randomUUID(), template, new HashSet<>(), null, 4, false)
+        .nextWeekdayOnOrAfter(LocalDate.of(2025, 6, 16)));
+  }
+
+  @Test
+  public void testGeneratedOccurrencesFollowMaskAndEndDate() {
+    EventInterface template = new Event("Gym",
+        LocalDateTime.of(2025, 6, 16, 7, 0),
+        LocalDateTime.of(2025, 6, 16, 8, 0),
+        null, null, false, UUID.randomUUID(), null);
+    CalendarModel model = new CalendarModel();
+    model.createEventSeries(new EventSeries(UUID.randomUUID(), template,
+        Weekday.toDayOfWeekSet(Weekday.parseString("MTU")), LocalDate.of(2025, 6, 30), null,
+        true));
+
+    List<EventInterface> events = model.getAllEvents();
+    assertEquals(7, events.size());
+    assertEquals(LocalDateTime.of(2025, 6, 16, 7, 0), events.get(0).getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 6, 30, 7, 0), events.get(6).getStartDateTime());
+    for (EventInterface event : events) {
+      assertTrue(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.SUNDAY)
+          .contains(event.getStartDateTime().getDayOfWeek()));
+    }
+  }
+
+  @Test
+  public void testOccurrenceCountMatchesGeneratedEvents() {
+    EventInterface template = new Event("Gym",
+        LocalDateTime.of(2025, 6, 18, 7, 0),
+        LocalDateTime.of(2025, 6, 18, 8, 0),
+        null, null, false, UUID.randomUUID(), null);
+    Set<DayOfWeek> days = Weekday.toDayOfWeekSet(Weekday.parseString("MWF"));
+    EventSeries byDate = new EventSeries(UUID.randomUUID(), template, days,
+        LocalDate.of(2025, 8, 1), null, true);
+    EventSeries byCount = new EventSeries(UUID.randomUUID(), template, days, null, 11, false);
+
+    for (EventSeries series : List.of(byDate, byCount)) {
+      CalendarModel model = new CalendarModel();
+      model.createEventSeries(series);
+      List<EventInterface> events = model.getAllEvents();
+      assertEquals(events.size(), series.getOccurrenceCount());
+      assertEquals(events.get(events.size() - 1).getStartDateTime().toLocalDate(),
+          series.getLastOccurrenceDate());
+    }
+    assertEquals(LocalDate.of(2025, 7, 11), byCount.getLastOccurrenceDate());
+
+    EventSeries empty = new EventSeries(UUID.randomUUID(), template,
+        EnumSet.of(DayOfWeek.TUESDAY), LocalDate.of(2025, 6, 20), null, true);
+    assertEquals(0, empty.getOccurrenceCount());
+    assertNull(empty.getLastOccurrenceDate());
+  }
 }
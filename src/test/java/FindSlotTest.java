@@ -0,0 +1,127 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.FindSlotCommand;
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.model.Event;
+import calendar.model.SlotSearch;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the free-slot search across calendars.
+ */
+public class FindSlotTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+  private CalendarManager manager;
+
+  /**
+   * Creates a New York and a London calendar.
+   */
+  @Before
+  public void setUp() {
+    manager = new CalendarManager();
+    manager.createCalendar("Work", NEW_YORK);
+    manager.createCalendar("Team", LONDON);
+    manager.setCurrentCalendar("Work");
+  }
+
+  private void add(String calendar, LocalDateTime start, int minutes) {
+    manager.getCalendar(calendar).getModel().createEvent(new Event("Busy", start,
+        start.plusMinutes(minutes), null, null, false, UUID.randomUUID(), null));
+  }
+
+  private static Instant ny(int day, int hour, int minute) {
+    return LocalDateTime.of(2025, 6, day, hour, minute).atZone(NEW_YORK).toInstant();
+  }
+
+  private List<CalendarInterface> both() {
+    return Arrays.asList(manager.getCalendar("Work"), manager.getCalendar("Team"));
+  }
+
+  @Test
+  public void testFirstSlotsSkipBusyTimeInAllCalendars() {
+    add("Work", LocalDateTime.of(2025, 6, 2, 9, 0), 60);
+    add("Team", LocalDateTime.of(2025, 6, 2, 15, 0), 45);
+
+    List<Instant> slots = manager.findFreeSlots(SlotSearch.builder()
+        .calendars(both())
+        .duration(Duration.ofMinutes(30))
+        .window(ny(2, 9, 0), ny(2, 12, 0))
+        .count(3)
+        .build());
+
+    assertEquals(Arrays.asList(ny(2, 10, 45), ny(2, 11, 15)), slots);
+  }
+
+  @Test
+  public void testWorkingHoursSpanDays() {
+    add("Work", LocalDateTime.of(2025, 6, 2, 9, 0), 7 * 60 + 30);
+
+    List<Instant> slots = manager.findFreeSlots(SlotSearch.builder()
+        .calendars(both())
+        .duration(Duration.ofHours(1))
+        .window(ny(2, 0, 0), ny(5, 0, 0))
+        .workingHours(LocalTime.of(9, 0), LocalTime.of(17, 0), NEW_YORK)
+        .count(2)
+        .build());
+
+    assertEquals(Arrays.asList(ny(3, 9, 0), ny(3, 10, 0)), slots);
+  }
+
+  @Test
+  public void testNoSlotWhenWindowIsFull() {
+    add("Work", LocalDateTime.of(2025, 6, 2, 9, 0), 120);
+
+    assertTrue(manager.findFreeSlots(SlotSearch.builder()
+        .calendars(both())
+        .duration(Duration.ofMinutes(30))
+        .window(ny(2, 9, 0), ny(2, 11, 0))
+        .build()).isEmpty());
+  }
+
+  @Test
+  public void testBuilderValidates() {
+    assertThrows(IllegalArgumentException.class, () -> SlotSearch.builder()
+        .duration(Duration.ofMinutes(30)).window(ny(2, 9, 0), ny(2, 11, 0)).build());
+    assertThrows(IllegalArgumentException.class, () -> SlotSearch.builder()
+        .calendars(both()).duration(Duration.ofMinutes(30)).window(ny(2, 9, 0), ny(2, 11, 0))
+        .workingHours(LocalTime.of(17, 0), LocalTime.of(9, 0), NEW_YORK).build());
+  }
+
+  @Test
+  public void testCommandPrintsSlotsInCurrentZone() throws IOException {
+    add("Team", LocalDateTime.of(2025, 6, 2, 14, 0), 60);
+    TestView view = new TestView();
+
+    assertTrue(new FindSlotCommand("60", "2025-06-02T09:00", "2025-06-02T12:00",
+        "Work,Team", "09:00-17:00", "2").execute(manager, view));
+
+    assertEquals(Arrays.asList("2025-06-02T10:00 to 2025-06-02T11:00",
+        "2025-06-02T11:00 to 2025-06-02T12:00"), view.getMessages());
+  }
+
+  @Test
+  public void testCommandReportsUnknownCalendar() throws IOException {
+    TestView view = new TestView();
+
+    assertFalse(new FindSlotCommand("30", "2025-06-02T09:00", "2025-06-02T12:00",
+        "Nope", null, null).execute(manager, view));
+    assertEquals(1, view.getErrors().size());
+  }
+}
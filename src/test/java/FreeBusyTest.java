@@ -0,0 +1,132 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.model.Event;
+import calendar.model.FreeBusy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests free/busy aggregation across calendars.
+ */
+public class FreeBusyTest {
+
+  private static final Instant NINE_UTC = Instant.parse("2025-06-02T09:00:00Z");
+
+  private CalendarManager manager;
+
+  /**
+   * Creates a UTC calendar and a New York calendar.
+   */
+  @Before
+  public void setUp() {
+    manager = new CalendarManager();
+    manager.createCalendar("London", ZoneOffset.UTC);
+    manager.createCalendar("NewYork", ZoneId.of("America/New_York"));
+  }
+
+  private void add(String calendar, String subject, LocalDateTime start, int minutes) {
+    manager.getCalendar(calendar).getModel().createEvent(new Event(subject, start,
+        start.plusMinutes(minutes), null, null, false, UUID.randomUUID(), null));
+  }
+
+  private List<CalendarInterface> both() {
+    List<CalendarInterface> selected = new ArrayList<>();
+    selected.add(manager.getCalendar("London"));
+    selected.add(manager.getCalendar("NewYork"));
+    return selected;
+  }
+
+  @Test
+  public void testModelMergesOverlappingAndTouchingEvents() {
+    add("London", "A", LocalDateTime.of(2025, 6, 2, 9, 0), 60);
+    add("London", "B", LocalDateTime.of(2025, 6, 2, 9, 30), 60);
+    add("London", "C", LocalDateTime.of(2025, 6, 2, 10, 30), 30);
+    add("London", "D", LocalDateTime.of(2025, 6, 2, 13, 0), 30);
+
+    long[] busy = manager.getCalendar("London").getModel().getBusyIntervals(
+        NINE_UTC.plusSeconds(600), NINE_UTC.plusSeconds(5 * 3600));
+
+    long nine = NINE_UTC.getEpochSecond();
+    assertArrayEquals(new long[] {nine + 600, nine + 7200, nine + 4 * 3600,
+        nine + 4 * 3600 + 1800}, busy);
+  }
+
+  @Test
+  public void testCombinesCalendarsInDifferentZones() {
+    add("London", "Standup", LocalDateTime.of(2025, 6, 2, 9, 0), 30);
+    add("NewYork", "Sync", LocalDateTime.of(2025, 6, 2, 5, 15), 45);
+    add("NewYork", "Lunch", LocalDateTime.of(2025, 6, 2, 8, 0), 60);
+
+    FreeBusy result = manager.freeBusy(both(), NINE_UTC,
+        NINE_UTC.plus(Duration.ofHours(4)), Duration.ofMinutes(15));
+
+    assertEquals(2, result.getIntervalCount());
+    assertEquals(NINE_UTC, result.getBusyStart(0));
+    assertEquals(NINE_UTC.plus(Duration.ofHours(1)), result.getBusyEnd(0));
+    assertEquals(NINE_UTC.plus(Duration.ofHours(3)), result.getBusyStart(1));
+
+    assertEquals(16, result.getSlotCount());
+    BitSet expected = new BitSet();
+    expected.set(0, 4);
+    expected.set(12, 16);
+    assertEquals(expected, result.getBusySlots());
+    assertTrue(result.isBusy(NINE_UTC.plusSeconds(1800)));
+    assertFalse(result.isBusy(NINE_UTC.plus(Duration.ofHours(1))));
+    assertFalse(result.isBusy(NINE_UTC.minusSeconds(1)));
+  }
+
+  @Test
+  public void testPartialSlotsAreBusy() {
+    add("London", "Short", LocalDateTime.of(2025, 6, 2, 9, 20), 5);
+
+    FreeBusy result = manager.freeBusy(both(), NINE_UTC,
+        NINE_UTC.plus(Duration.ofMinutes(50)), Duration.ofMinutes(15));
+
+    assertEquals(4, result.getSlotCount());
+    assertFalse(result.isSlotBusy(0));
+    assertTrue(result.isSlotBusy(1));
+    assertFalse(result.isSlotBusy(2));
+  }
+
+  @Test
+  public void testManyCalendarsMerge() {
+    List<CalendarInterface> selected = new ArrayList<>();
+    for (int c = 0; c < 200; c++) {
+      String name = "Cal" + c;
+      manager.createCalendar(name, ZoneOffset.UTC);
+      for (int d = 0; d < 90; d++) {
+        add(name, "E" + d, LocalDateTime.of(2025, 6, 2, 9, 0).plusDays(d).plusMinutes(c), 30);
+      }
+      selected.add(manager.getCalendar(name));
+    }
+
+    FreeBusy result = manager.freeBusy(selected, NINE_UTC, NINE_UTC.plus(Duration.ofDays(90)),
+        Duration.ofMinutes(15));
+
+    assertEquals(90, result.getIntervalCount());
+    assertEquals(NINE_UTC.plusSeconds(199 * 60 + 1800), result.getBusyEnd(0));
+  }
+
+  @Test
+  public void testRejectsInvalidWindow() {
+    assertThrows(IllegalArgumentException.class,
+        () -> manager.freeBusy(both(), NINE_UTC, NINE_UTC, Duration.ofMinutes(15)));
+    assertThrows(IllegalArgumentException.class,
+        () -> manager.freeBusy(both(), NINE_UTC, NINE_UTC.plusSeconds(60), Duration.ZERO));
+  }
+}
@@ -0,0 +1,335 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.ImportCommand;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import calendar.util.IcalExporter;
+import calendar.util.IcalImporter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Test;
+
+/**
+ * Tests for the streaming iCalendar importer.
+ */
+public class IcalImporterTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  /**
+   * Collects everything the importer reports.
+   */
+  private static class Collector implements IcalImporter.Listener {
+    private final List<EventInterface> events = new ArrayList<>();
+    private final List<EventSeries> series = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+    private final List<String> partials = new ArrayList<>();
+
+    @Override
+    public void onEvent(EventInterface event) {
+      events.add(event);
+    }
+
+    @Override
+    public void onSeries(EventSeries eventSeries) {
+      series.add(eventSeries);
+    }
+
+    @Override
+    public void onWarning(String message) {
+      warnings.add(message);
+    }
+
+    @Override
+    public void onPartial(String message) {
+      partials.add(message);
+    }
+  }
+
+  private Collector parse(String ics, ZoneId zone) throws IOException {
+    Collector collector = new Collector();
+    new IcalImporter(zone).parse(new StringReader(ics), collector);
+    return collector;
+  }
+
+  private static String wrap(String... lines) {
+    StringBuilder sb = new StringBuilder("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n");
+    for (String line : lines) {
+      sb.append(line).append("\r\n");
+    }
+    return sb.append("END:VCALENDAR\r\n").toString();
+  }
+
+  @Test
+  public void testUtcEventConvertedToTargetZone() throws IOException {
+    Collector c = parse(wrap("BEGIN:VEVENT", "UID:abc", "DTSTART:20250601T140000Z",
+        "DTEND:20250601T150000Z", "SUMMARY:Standup", "END:VEVENT"), NEW_YORK);
+
+    assertEquals(1, c.events.size());
+    EventInterface e = c.events.get(0);
+    assertEquals("Standup", e.getSubject());
+    assertEquals(LocalDateTime.of(2025, 6, 1, 10, 0), e.getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 6, 1, 11, 0), e.getEndDateTime());
+  }
+
+  @Test
+  public void testTzidAndFoldedEscapedText() throws IOException {
+    Collector c = parse(wrap("BEGIN:VEVENT",
+        "DTSTART;TZID=Europe/Paris:20250601T160000",
+        "DTEND;TZID=Europe/Paris:20250601T170000",
+        "SUMMARY:Long\\, folded",
+        "  summary",
+        "DESCRIPTION:line one\\nline two",
+        "LOCATION:Room\\; 5",
+        "CLASS:PRIVATE",
+        "BEGIN:VALARM", "SUMMARY:ignored", "END:VALARM",
+        "END:VEVENT"), NEW_YORK);
+
+    EventInterface e = c.events.get(0);
+    assertEquals("Long, folded summary", e.getSubject());
+    assertEquals("line one\nline two", e.getDescription().get());
+    assertEquals("Room; 5", e.getLocation().get());
+    assertTrue(e.isPrivate());
+    assertEquals(LocalDateTime.of(2025, 6, 1, 10, 0), e.getStartDateTime());
+  }
+
+  @Test
+  public void testAllDayEventUsesDefaultHours() throws IOException {
+    Collector c = parse(wrap("BEGIN:VEVENT", "DTSTART;VALUE=DATE:20250704",
+        "DTEND;VALUE=DATE:20250705", "SUMMARY:Holiday", "END:VEVENT"), NEW_YORK);
+
+    assertTrue(c.events.get(0).isAllDayEvent());
+    assertEquals(LocalDate.of(2025, 7, 4), c.events.get(0).getStartDateTime().toLocalDate());
+  }
+
+  @Test
+  public void testWeeklyRruleBecomesCompactSeries() throws IOException {
+    Collector c = parse(wrap("BEGIN:VEVENT", "DTSTART:20250602T090000",
+        "DTEND:20250602T100000", "SUMMARY:Class", "RRULE:FREQ=WEEKLY;BYDAY=MO,WE;COUNT=6",
+        "END:VEVENT"), NEW_YORK);
+
+    assertEquals(0, c.events.size());
+    assertEquals(1, c.series.size());
+    EventSeries s = c.series.get(0);
+    assertEquals(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), s.getWeekdays());
+    assertEquals(Integer.valueOf(6), s.getOccurrences());
+    assertFalse(s.usesEndDate());
+
+    CalendarModelInterface model = new CalendarModel();
+    assertTrue(model.createEventSeries(s));
+    assertEquals(6, model.getAllEvents().size());
+  }
+
+  @Test
+  public void testRruleUntilAndDaily() throws IOException {
+    Collector c = parse(wrap("BEGIN:VEVENT", "DTSTART:20250602T090000",
+        "DTEND:20250602T093000", "SUMMARY:Daily", "RRULE:FREQ=DAILY;UNTIL=20250606",
+        "END:VEVENT"), NEW_YORK);
+
+    EventSeries s = c.series.get(0);
+    assertTrue(s.usesEndDate());
+    assertEquals(LocalDate.of(2025, 6, 6), s.getEndDate());
+    assertEquals(7, s.getWeekdays().size());
+  }
+
+  @Test
+  public void testUnsupportedRuleImportsFirstOccurrence() throws IOException {
+    Collector c = parse(wrap("BEGIN:VEVENT", "DTSTART:20250602T090000",
+        "DTEND:20250602T100000", "SUMMARY:Monthly", "RRULE:FREQ=MONTHLY;COUNT=3",
+        "END:VEVENT"), NEW_YORK);
+
+    assertEquals(1, c.events.size());
+    assertEquals(1, c.partials.size());
+    assertTrue(c.partials.get(0).contains("FREQ=MONTHLY"));
+    assertTrue(c.warnings.isEmpty());
+  }
+
+  @Test
+  public void testDailyRuleKeepsItsWeekdays() throws IOException {
+    Collector c = parse(wrap("BEGIN:VEVENT", "DTSTART:20250602T090000",
+        "DTEND:20250602T093000", "SUMMARY:Gym", "RRULE:FREQ=DAILY;BYDAY=MO,WE;COUNT=4",
+        "END:VEVENT"), NEW_YORK);
+
+    assertEquals(1, c.series.size());
+    assertEquals(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY),
+        c.series.get(0).getWeekdays());
+    CalendarModelInterface model = new CalendarModel();
+    assertTrue(model.createEventSeries(c.series.get(0)));
+    assertEquals(LocalDate.of(2025, 6, 11),
+        model.getAllEvents().get(3).getStartDateTime().toLocalDate());
+  }
+
+  @Test
+  public void testExcludedDatesSplitTheSeries() throws IOException {
+    Collector c = parse(wrap("BEGIN:VEVENT", "DTSTART;TZID=America/New_York:20250602T090000",
+        "DTEND;TZID=America/New_York:20250602T100000", "SUMMARY:Class",
+        "RRULE:FREQ=WEEKLY;BYDAY=MO,WE;COUNT=6",
+        "EXDATE;TZID=America/New_York:20250604T090000,20250611T090000",
+        "EXDATE;VALUE=DATE:20250602", "EXDATE:20250801T130000Z", "END:VEVENT"), NEW_YORK);
+
+    assertTrue(c.warnings.isEmpty());
+    assertEquals(2, c.series.size());
+    CalendarModelInterface model = new CalendarModel();
+    for (EventSeries part : c.series) {
+      assertTrue(model.createEventSeries(part));
+    }
+    List<LocalDate> dates = new ArrayList<>();
+    for (EventInterface e : model.getAllEvents()) {
+      dates.add(e.getStartDateTime().toLocalDate());
+      assertEquals("Class", e.getSubject());
+    }
+    assertEquals(List.of(LocalDate.of(2025, 6, 9), LocalDate.of(2025, 6, 16),
+        LocalDate.of(2025, 6, 18)), dates);
+  }
+
+  @Test
+  public void testUnboundedSeriesStaysOpenAfterItsLastExclusion() throws IOException {
+    Collector c = parse(wrap("BEGIN:VEVENT", "DTSTART:20250602T090000",
+        "DTEND:20250602T100000", "SUMMARY:Standup", "RRULE:FREQ=DAILY",
+        "EXDATE:20250603T090000", "END:VEVENT"), NEW_YORK);
+
+    assertEquals(2, c.series.size());
+    assertEquals(LocalDate.of(2025, 6, 2), c.series.get(0).getLastOccurrenceDate());
+    assertEquals(LocalDate.of(2025, 6, 4),
+        c.series.get(1).getTemplate().getStartDateTime().toLocalDate());
+    assertEquals(null, c.series.get(1).getEndDate());
+    assertEquals(null, c.series.get(1).getOccurrences());
+  }
+
+  @Test
+  public void testSeriesWithEveryOccurrenceExcludedIsSkipped() throws IOException {
+    Collector c = parse(wrap("BEGIN:VEVENT", "DTSTART:20250602T090000",
+        "DTEND:20250602T100000", "SUMMARY:Once", "RRULE:FREQ=DAILY;COUNT=1",
+        "EXDATE:20250602T090000", "END:VEVENT"), NEW_YORK);
+
+    assertTrue(c.series.isEmpty());
+    assertEquals(1, c.warnings.size());
+  }
+
+  @Test
+  public void testMalformedEventIsSkippedWithWarning() throws IOException {
+    Collector c = parse(wrap("BEGIN:VEVENT", "DTSTART:20250602T090000",
+        "SUMMARY:No end", "END:VEVENT",
+        "BEGIN:VEVENT", "DTSTART:2025-06-02", "DTEND:20250602T100000",
+        "SUMMARY:Bad date", "END:VEVENT"), NEW_YORK);
+
+    assertEquals(0, c.events.size());
+    assertEquals(2, c.warnings.size());
+  }
+
+  @Test
+  public void testExportedSeriesRoundTrips() throws IOException {
+    CalendarModelInterface source = new CalendarModel();
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Gym", LocalDateTime.of(2025, 6, 2, 7, 0),
+        LocalDateTime.of(2025, 6, 2, 8, 0), "Legs", null, false, UUID.randomUUID(), seriesId);
+    source.createEventSeries(new EventSeries(seriesId, template,
+        EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), null, 5, false));
+    EventInterface single = new Event("Dentist", LocalDateTime.of(2025, 6, 3, 15, 0),
+        LocalDateTime.of(2025, 6, 3, 16, 0), null, null, true, UUID.randomUUID(), null);
+    source.createEvent(single);
+
+    String ics = IcalExporter.toIcal(source.getAllEvents(), "Personal", NEW_YORK);
+    Collector c = parse(ics, NEW_YORK);
+
+    assertEquals(1, c.events.size());
+    assertEquals(single.getId(), c.events.get(0).getId());
+    assertEquals(1, c.series.size());
+    assertEquals(seriesId, c.series.get(0).getSeriesId());
+    assertEquals(Integer.valueOf(5), c.series.get(0).getOccurrences());
+
+    CalendarModelInterface target = new CalendarModel();
+    assertTrue(target.createEventSeries(c.series.get(0)));
+    assertTrue(target.createEvent(c.events.get(0)));
+    assertEquals(source.getAllEvents(), target.getAllEvents());
+  }
+
+  @Test
+  public void testInterleavedSeriesAreExportedAndImportedOneAtATime() throws IOException {
+    CalendarModelInterface source = new CalendarModel();
+    List<UUID> seriesIds = new ArrayList<>();
+    for (String subject : new String[] {"Gym", "Swim"}) {
+      UUID seriesId = UUID.randomUUID();
+      seriesIds.add(seriesId);
+      LocalDateTime start = LocalDateTime.of(2025, 6, "Gym".equals(subject) ? 2 : 3, 7, 0);
+      source.createEventSeries(new EventSeries(seriesId, new Event(subject, start,
+          start.plusHours(1), null, null, false, UUID.randomUUID(), seriesId),
+          EnumSet.of(start.getDayOfWeek()), null, 4, false));
+    }
+
+    String ics = IcalExporter.toIcal(source.getAllEvents(), "Personal", NEW_YORK);
+    int lastGym = ics.lastIndexOf("SUMMARY:Gym");
+    assertTrue(lastGym < ics.indexOf("SUMMARY:Swim"));
+    Collector c = parse(ics, NEW_YORK);
+
+    assertEquals(0, c.events.size());
+    assertEquals(2, c.series.size());
+    assertEquals(seriesIds.get(0), c.series.get(0).getSeriesId());
+    assertEquals(seriesIds.get(1), c.series.get(1).getSeriesId());
+
+    String gym = ics.substring(ics.indexOf("BEGIN:VEVENT"), ics.indexOf("BEGIN:VEVENT",
+        lastGym));
+    Collector interleaved = parse(ics.replace("END:VCALENDAR", gym + "END:VCALENDAR"),
+        NEW_YORK);
+    assertEquals(2, interleaved.series.size());
+    assertEquals(4, interleaved.events.size());
+  }
+
+  @Test
+  public void testBrokenSeriesKeepsSeparateOccurrences() throws IOException {
+    UUID seriesId = UUID.randomUUID();
+    Collector c = parse(wrap(
+        "BEGIN:VEVENT", "DTSTART:20250602T090000", "DTEND:20250602T100000",
+        "SUMMARY:Sync", "X-SERIES-ID:" + seriesId, "END:VEVENT",
+        "BEGIN:VEVENT", "DTSTART:20250616T090000", "DTEND:20250616T100000",
+        "SUMMARY:Sync", "X-SERIES-ID:" + seriesId, "END:VEVENT"), NEW_YORK);
+
+    assertEquals(0, c.series.size());
+    assertEquals(2, c.events.size());
+    assertEquals(seriesId, c.events.get(0).getSeriesId().get());
+  }
+
+  @Test
+  public void testImportCommandReportsWarningsAndPartialImports() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", NEW_YORK);
+    manager.setCurrentCalendar("Work");
+    Path file = Files.createTempFile("import-warnings", ".ics");
+    try {
+      Files.writeString(file, wrap(
+          "BEGIN:VEVENT", "DTSTART:20250602T090000", "DTEND:20250602T100000",
+          "SUMMARY:Monthly", "RRULE:FREQ=MONTHLY;COUNT=3", "END:VEVENT",
+          "BEGIN:VEVENT", "UID:no-end", "DTSTART:20250603T090000", "SUMMARY:No end",
+          "END:VEVENT",
+          "BEGIN:VEVENT", "DTSTART:20250604T090000", "DTEND:20250604T100000",
+          "SUMMARY:Review", "END:VEVENT"));
+      TestView view = new TestView();
+      assertTrue(new ImportCommand(file.toString()).execute(manager, view));
+
+      List<String> messages = view.getMessages();
+      assertEquals(3, messages.size());
+      assertTrue(messages.get(0).contains("unsupported RRULE FREQ=MONTHLY;COUNT=3"));
+      assertTrue(messages.get(1).contains("Skipped no-end: missing SUMMARY"));
+      assertTrue(messages.get(2).startsWith("Imported 2 event(s) and 0 series"));
+      assertTrue(messages.get(2).endsWith("(1 imported partially, 1 skipped)"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
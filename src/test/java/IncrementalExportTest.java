@@ -0,0 +1,149 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.ExportCommand;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EditSpec;
+import calendar.model.Event;
+import calendar.model.EventDelta;
+import calendar.model.EventInterface;
+import calendar.util.CsvExporter;
+import calendar.util.IcalExporter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests checkpoints, change deltas and incremental export.
+ */
+public class IncrementalExportTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  private CalendarModelInterface model;
+
+  /**
+   * Creates an empty model.
+   */
+  @Before
+  public void setUp() {
+    model = new CalendarModel(NEW_YORK);
+  }
+
+  private static EventInterface event(String subject, int day) {
+    LocalDateTime start = LocalDateTime.of(2025, 6, day, 9, 0);
+    return new Event(subject, start, start.plusHours(1), null, null, false,
+        UUID.randomUUID(), null);
+  }
+
+  @Test
+  public void testDeltaClassifiesChangesSinceCheckpoint() {
+    EventInterface kept = event("Kept", 2);
+    EventInterface edited = event("Planning", 3);
+    model.createEvent(kept);
+    model.createEvent(edited);
+    long checkpoint = model.getCheckpoint();
+
+    model.editEvent(edited.getId(), EditSpec.builder().location("Room 4").build());
+    model.createEvent(event("Retro", 5));
+    model.undo();
+    model.redo();
+    model.createEvent(event("Transient", 6));
+    model.undo();
+    model.beginTransaction();
+    model.createEvent(event("Draft", 7));
+    model.rollbackTransaction();
+
+    EventDelta delta = model.getChangesSince(checkpoint);
+    assertEquals(1, delta.getAdded().size());
+    assertEquals("Retro", delta.getAdded().get(0).getSubject());
+    assertEquals(1, delta.getChanged().size());
+    assertEquals("Room 4", delta.getChanged().get(0).getLocation().orElse(null));
+    assertTrue(delta.getRemoved().isEmpty());
+    assertTrue(model.getChangesSince(delta.getCheckpoint()).isEmpty());
+    assertThrows(IllegalArgumentException.class,
+        () -> model.getChangesSince(model.getCheckpoint() + 1));
+  }
+
+  @Test
+  public void testRemovedEventsKeepTheirLastVersion() {
+    EventInterface meeting = event("Meeting", 2);
+    model.createEvent(meeting);
+    long checkpoint = model.getCheckpoint();
+    model.undo();
+
+    EventDelta delta = model.getChangesSince(checkpoint);
+    assertEquals(1, delta.getRemoved().size());
+    assertEquals(meeting.getId(), delta.getRemoved().get(0).getId());
+    assertEquals(meeting.getStartDateTime(), delta.getRemoved().get(0).getStartDateTime());
+
+    String csv = CsvExporter.toCsvDelta(delta);
+    assertTrue(csv.startsWith("Change,Id,Subject,"));
+    assertTrue(csv.contains("removed," + meeting.getId() + ",Meeting,2025/06/02,9:00 AM"));
+    String ical = IcalExporter.toIcalDelta(delta, "Work", NEW_YORK);
+    assertTrue(ical.contains("X-CHECKPOINT:" + delta.getCheckpoint() + "\r\n"));
+    assertTrue(ical.contains("DTSTART:20250602T130000Z\r\n"));
+    assertTrue(ical.contains("STATUS:CANCELLED\r\n"));
+  }
+
+  @Test
+  public void testCheckpointsBehindTheKeptRemovalsAreRejected() {
+    model.createEvent(event("Kept", 1));
+    long old = model.getCheckpoint();
+    model.beginTransaction();
+    for (int i = 0; i < 10_100; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 6, 2, 9, 0).plusMinutes(i);
+      model.createEvent(new Event("Draft " + i, start, start.plusMinutes(1), null, null,
+          false, UUID.randomUUID(), null));
+    }
+    long beforeRollback = model.getCheckpoint();
+    model.rollbackTransaction();
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> model.getChangesSince(old));
+    assertTrue(e.getMessage().contains("older than the oldest"));
+    assertThrows(IllegalArgumentException.class,
+        () -> model.getChangesSince(beforeRollback));
+    long current = model.getCheckpoint();
+    assertTrue(model.getChangesSince(current).isEmpty());
+    model.createEvent(event("Added", 9));
+    EventDelta delta = model.getChangesSince(current);
+    assertEquals(1, delta.getAdded().size());
+    assertEquals("Added", delta.getAdded().get(0).getSubject());
+  }
+
+  @Test
+  public void testExportSinceWritesOnlyTheDelta() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", NEW_YORK);
+    manager.setCurrentCalendar("Work");
+    CalendarModelInterface work = manager.getCalendar("Work").getModel();
+    work.createEvent(event("Standup", 2));
+    TestView view = new TestView();
+    Path file = Path.of("test-delta-" + System.currentTimeMillis() + ".csv");
+    try {
+      assertTrue(new ExportCommand(file.toString()).execute(manager, view));
+      long checkpoint = work.getCheckpoint();
+      assertTrue(view.getMessages().get(0).endsWith("(checkpoint " + checkpoint + ")"));
+
+      work.createEvent(event("Review", 3));
+      assertTrue(new ExportCommand(file.toString(), String.valueOf(checkpoint))
+          .execute(manager, view));
+      String csv = Files.readString(file);
+      assertEquals(2, csv.split("\n").length);
+      assertTrue(csv.contains("added,"));
+      assertTrue(view.getMessages().get(1).contains("(1 added, 0 changed, 0 removed; checkpoint "
+          + work.getCheckpoint() + ")"));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
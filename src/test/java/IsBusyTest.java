@@ -0,0 +1,183 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EditSpec;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the merged busy-interval lookup behind isBusy, including that it does not
+ * allocate once the intervals are built.
+ */
+public class IsBusyTest {
+
+  private static final LocalDate DAY = LocalDate.of(2025, 6, 2);
+
+  /** Keeps query results live so the measured loop cannot be optimized away. */
+  private static boolean sink;
+
+  private CalendarModelInterface model;
+
+  /**
+   * Creates a model with two touching events, 9-10 and 10-11, and an overlapping
+   * pair, 14-16 and 15-17.
+   */
+  @Before
+  public void setUp() {
+    model = new CalendarModel(ZoneId.of("America/New_York"));
+    model.createEvent(event("Standup", DAY.atTime(9, 0), DAY.atTime(10, 0)));
+    model.createEvent(event("Review", DAY.atTime(10, 0), DAY.atTime(11, 0)));
+    model.createEvent(event("Workshop", DAY.atTime(14, 0), DAY.atTime(16, 0)));
+    model.createEvent(event("Offsite", DAY.atTime(15, 0), DAY.atTime(17, 0)));
+  }
+
+  private static EventInterface event(String subject, LocalDateTime start,
+      LocalDateTime end) {
+    return new Event(subject, start, end, null, null, false, UUID.randomUUID(), null);
+  }
+
+  @Test
+  public void testStartsAreBusyAndEndsAreFree() {
+    assertFalse(model.isBusy(DAY.atTime(8, 59)));
+    assertTrue(model.isBusy(DAY.atTime(9, 0)));
+    assertTrue(model.isBusy(DAY.atTime(10, 0)));
+    assertTrue(model.isBusy(DAY.atTime(10, 59)));
+    assertFalse(model.isBusy(DAY.atTime(11, 0)));
+    assertTrue(model.isBusy(DAY.atTime(15, 30)));
+    assertTrue(model.isBusy(DAY.atTime(16, 30)));
+    assertFalse(model.isBusy(DAY.atTime(17, 0)));
+  }
+
+  @Test
+  public void testChangesAreSeenByTheNextQuery() {
+    assertFalse(model.isBusy(DAY.atTime(12, 0)));
+    model.createEvent(event("Lunch", DAY.atTime(12, 0), DAY.atTime(13, 0)));
+    assertTrue(model.isBusy(DAY.atTime(12, 0)));
+
+    EventInterface offsite = model.findEventByProperties("Offsite", DAY.atTime(15, 0),
+        DAY.atTime(17, 0));
+    model.editEvent(offsite.getId(), EditSpec.builder()
+        .start(DAY.atTime(18, 0)).end(DAY.atTime(19, 0)).build());
+    assertFalse(model.isBusy(DAY.atTime(16, 30)));
+    assertTrue(model.isBusy(DAY.atTime(18, 30)));
+
+    model.undo();
+    assertTrue(model.isBusy(DAY.atTime(16, 30)));
+    assertFalse(model.isBusy(DAY.atTime(18, 30)));
+  }
+
+  @Test
+  public void testInterleavedChangesMatchTheEvents() {
+    Random random = new Random(7);
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 4000; i++) {
+      int action = random.nextInt(10);
+      if (action < 6 || ids.isEmpty()) {
+        LocalDateTime start = DAY.atStartOfDay().plusMinutes(5L * random.nextInt(8000));
+        EventInterface created = event("E" + i, start,
+            start.plusMinutes(5L * (1 + random.nextInt(12))));
+        if (model.createEvent(created)) {
+          ids.add(created.getId());
+        }
+      } else if (action < 8) {
+        LocalDateTime start = DAY.atStartOfDay().plusMinutes(5L * random.nextInt(8000));
+        model.editEvent(ids.get(random.nextInt(ids.size())), EditSpec.builder()
+            .start(start).end(start.plusMinutes(5L * (1 + random.nextInt(12)))).build());
+      } else {
+        model.undo();
+      }
+      if (i % 500 == 0) {
+        assertBusyMatchesEvents();
+      }
+    }
+    assertBusyMatchesEvents();
+  }
+
+  private void assertBusyMatchesEvents() {
+    boolean[] busy = new boolean[8100];
+    for (EventInterface e : model.getAllEvents()) {
+      long from = Duration.between(DAY.atStartOfDay(), e.getStartDateTime()).toMinutes() / 5;
+      long to = Duration.between(DAY.atStartOfDay(), e.getEndDateTime()).toMinutes() / 5;
+      for (long slot = Math.max(0, from); slot < Math.min(to, busy.length); slot++) {
+        busy[(int) slot] = true;
+      }
+    }
+    for (int slot = 0; slot < busy.length; slot++) {
+      LocalDateTime at = DAY.atStartOfDay().plusMinutes(5L * slot);
+      assertEquals(at.toString(), busy[slot], model.isBusy(at));
+    }
+  }
+
+  @Test
+  public void testZoneChangeMovesBusyTimes() {
+    model.setZone(ZoneId.of("Europe/London"));
+    assertFalse(model.isBusy(DAY.atTime(9, 30)));
+    assertTrue(model.isBusy(DAY.atTime(14, 30)));
+  }
+
+  @Test
+  public void testEventsAcrossDaylightSavingChange() {
+    LocalDate springForward = LocalDate.of(2025, 3, 9);
+    model.createEvent(event("Night shift", springForward.atTime(1, 0),
+        springForward.atTime(4, 0)));
+    assertTrue(model.isBusy(springForward.atTime(1, 30)));
+    assertTrue(model.isBusy(springForward.atTime(3, 30)));
+    assertFalse(model.isBusy(springForward.atTime(4, 0)));
+  }
+
+  @Test
+  public void testQueriesDoNotAllocate() {
+    assertEquals(0, bytesAllocatedByQueries(model));
+  }
+
+  @Test
+  public void testManagedCalendarQueriesDoNotAllocate() {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", ZoneId.of("America/New_York"));
+    CalendarModelInterface managed = manager.getCalendar("Work").getModel();
+    managed.createEvent(event("Standup", DAY.atTime(9, 0), DAY.atTime(10, 0)));
+
+    assertEquals(0, bytesAllocatedByQueries(managed));
+  }
+
+  /**
+   * Measures the heap allocated by many isBusy calls on this thread, after warming up
+   * so the intervals are built and the calls are compiled.
+   */
+  private static long bytesAllocatedByQueries(CalendarModelInterface model) {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    LocalDateTime[] times = new LocalDateTime[48];
+    for (int i = 0; i < times.length; i++) {
+      times[i] = DAY.atStartOfDay().plusMinutes(30L * i);
+    }
+
+    for (int i = 0; i < 200_000; i++) {
+      sink ^= model.isBusy(times[i % times.length]);
+    }
+    // The allocation counter may itself allocate; measure that and subtract it.
+    long start = threads.getThreadAllocatedBytes(threadId);
+    long before = threads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < 10_000; i++) {
+      sink ^= model.isBusy(times[i % times.length]);
+    }
+    long after = threads.getThreadAllocatedBytes(threadId);
+    return Math.max(0, after - before - (before - start));
+  }
+}
@@ -20,10 +20,16 @@ import calendar.command.matchers.EditEventsCommandMatcher;
 import calendar.command.matchers.EditSeriesCommandMatcher;
 import calendar.command.matchers.ExitCommandMatcher;
 import calendar.command.matchers.ExportCommandMatcher;
+import calendar.command.matchers.FindSlotCommandMatcher;
+import calendar.command.matchers.HistoryCommandMatcher;
+import calendar.command.matchers.ImportCommandMatcher;
 import calendar.command.matchers.PrintAllEventsCommandMatcher;
 import calendar.command.matchers.PrintEventsOnCommandMatcher;
 import calendar.command.matchers.PrintEventsRangeCommandMatcher;
+import calendar.command.matchers.SearchCommandMatcher;
+import calendar.command.matchers.ShowConflictsCommandMatcher;
 import calendar.command.matchers.ShowStatusCommandMatcher;
+import calendar.command.matchers.TransactionCommandMatcher;
 import calendar.command.matchers.UseCalendarCommandMatcher;
 import calendar.model.CalendarManager;
 import java.io.IOException;
@@ -219,11 +225,74 @@ public class MatcherTest {
 
     CommandInterface cmd = matcher.tryMatch("export cal calendar.csv");
     assertNotNull("Should return non-null command", cmd);
+    assertNotNull(matcher.tryMatch("export cal changes.ics --since 42"));
 
     CommandInterface noMatch = matcher.tryMatch("import something");
     assertNull("Should return null for invalid input", noMatch);
   }
 
+  @Test
+  public void testImportCommandMatcher() {
+    ImportCommandMatcher matcher = new ImportCommandMatcher();
+
+    CommandInterface cmd = matcher.tryMatch("import cal feed.ics");
+    assertNotNull("Should return non-null command", cmd);
+
+    CommandInterface noMatch = matcher.tryMatch("export cal feed.ics");
+    assertNull("Should return null for invalid input", noMatch);
+  }
+
+  @Test
+  public void testFindSlotCommandMatcher() {
+    FindSlotCommandMatcher matcher = new FindSlotCommandMatcher();
+
+    assertNotNull(matcher.tryMatch(
+        "find slot --duration 30 between 2025-06-02T00:00 and 2025-06-03T00:00"));
+    assertNotNull(matcher.tryMatch("find slot --duration 60 between 2025-06-02T00:00 and "
+        + "2025-06-30T00:00 --calendars Work,Home --hours 09:00-17:00 --count 3"));
+    assertNull(matcher.tryMatch("find slot between 2025-06-02T00:00 and 2025-06-03T00:00"));
+  }
+
+  @Test
+  public void testSearchCommandMatcher() {
+    SearchCommandMatcher matcher = new SearchCommandMatcher();
+
+    assertNotNull(matcher.tryMatch("search standup"));
+    assertNotNull(matcher.tryMatch(
+        "search \"room 4*\" between 2025-06-01T00:00 and 2025-07-01T00:00"));
+    assertNotNull(matcher.tryMatch("search standup --calendars Work,Team"));
+    assertNull(matcher.tryMatch("search"));
+  }
+
+  @Test
+  public void testTransactionCommandMatcher() {
+    TransactionCommandMatcher matcher = new TransactionCommandMatcher();
+
+    assertNotNull(matcher.tryMatch("begin"));
+    assertNotNull(matcher.tryMatch("COMMIT"));
+    assertNotNull(matcher.tryMatch(" rollback "));
+    assertNull(matcher.tryMatch("begin transaction"));
+  }
+
+  @Test
+  public void testHistoryCommandMatcher() {
+    HistoryCommandMatcher matcher = new HistoryCommandMatcher();
+
+    assertNotNull(matcher.tryMatch("undo"));
+    assertNotNull(matcher.tryMatch(" REDO "));
+    assertNull(matcher.tryMatch("undo 2"));
+  }
+
+  @Test
+  public void testShowConflictsCommandMatcher() {
+    ShowConflictsCommandMatcher matcher = new ShowConflictsCommandMatcher();
+
+    assertNotNull(matcher.tryMatch("show conflicts"));
+    assertNotNull(matcher.tryMatch(
+        "show conflicts between 2025-06-02T00:00 and 2025-06-03T00:00"));
+    assertNull(matcher.tryMatch("show conflicts on 2025-06-02"));
+  }
+
   @Test
   public void testPrintAllEventsCommandMatcher() {
     PrintAllEventsCommandMatcher matcher = new PrintAllEventsCommandMatcher();
@@ -253,6 +322,8 @@ public class MatcherTest {
     CommandInterface cmd = matcher.tryMatch(
         "print events from 2025-06-01T00:00 to 2025-06-30T23:59");
     assertNotNull("Should return non-null command", cmd);
+    assertNotNull(matcher.tryMatch(
+        "print events from 2025-06-01T00:00 to 2025-06-30T23:59 --calendars all"));
 
     CommandInterface noMatch = matcher.tryMatch("print events on date");
     assertNull("Should return null for invalid input", noMatch);
@@ -264,6 +335,7 @@ public class MatcherTest {
 
     CommandInterface cmd = matcher.tryMatch("show status on 2025-06-01T10:00");
     assertNotNull("Should return non-null command", cmd);
+    assertNotNull(matcher.tryMatch("show status on 2025-06-01T10:00 --calendars all"));
 
     CommandInterface noMatch = matcher.tryMatch("show something else");
     assertNull("Should return null for invalid input", noMatch);
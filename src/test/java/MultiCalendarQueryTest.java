@@ -0,0 +1,121 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.PrintEventsRangeCommand;
+import calendar.command.SearchCommand;
+import calendar.command.ShowStatusCommand;
+import calendar.model.CalendarEvent;
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.model.Event;
+import calendar.view.ConsoleView;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests range listing, search and busy checks across several calendars.
+ */
+public class MultiCalendarQueryTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+  private CalendarManager manager;
+
+  /**
+   * Creates a New York and a London calendar with interleaved events.
+   */
+  @Before
+  public void setUp() {
+    manager = new CalendarManager();
+    manager.createCalendar("Work", NEW_YORK);
+    manager.createCalendar("Team", LONDON);
+    manager.createCalendar("Empty", LONDON);
+    manager.setCurrentCalendar("Work");
+
+    add("Work", "Standup", LocalDateTime.of(2025, 6, 2, 9, 0));
+    add("Work", "Review", LocalDateTime.of(2025, 6, 2, 11, 0));
+    // 15:00 London is 10:00 New York, between the two Work events.
+    add("Team", "Team standup", LocalDateTime.of(2025, 6, 2, 15, 0));
+    add("Team", "Retro", LocalDateTime.of(2025, 6, 3, 15, 0));
+  }
+
+  private void add(String calendar, String subject, LocalDateTime start) {
+    manager.getCalendar(calendar).getModel().createEvent(new Event(subject, start,
+        start.plusMinutes(30), null, null, false, UUID.randomUUID(), null));
+  }
+
+  private static Instant ny(int day, int hour) {
+    return LocalDateTime.of(2025, 6, day, hour, 0).atZone(NEW_YORK).toInstant();
+  }
+
+  private static String subjects(List<CalendarEvent> events) {
+    StringBuilder result = new StringBuilder();
+    for (CalendarEvent e : events) {
+      result.append(e.getCalendarName()).append(':').append(e.getEvent().getSubject())
+          .append(' ');
+    }
+    return result.toString().trim();
+  }
+
+  @Test
+  public void testRangeMergesCalendarsByInstant() {
+    List<CalendarEvent> events = manager.getEventsInRange(manager.getAllCalendars(),
+        ny(2, 0), ny(3, 0));
+
+    assertEquals("Work:Standup Team:Team standup Work:Review", subjects(events));
+    assertEquals(LocalDateTime.of(2025, 6, 2, 15, 0),
+        events.get(1).getEvent().getStartDateTime());
+    assertEquals(LocalDateTime.of(2025, 6, 2, 10, 0),
+        events.get(1).inZone(NEW_YORK).getEvent().getStartDateTime());
+    assertEquals(events.get(1).getStart(), events.get(1).inZone(NEW_YORK).getStart());
+  }
+
+  @Test
+  public void testSearchAcrossSelectedCalendars() {
+    List<CalendarInterface> both = Arrays.asList(manager.getCalendar("Work"),
+        manager.getCalendar("Team"));
+
+    assertEquals("Work:Standup Team:Team standup",
+        subjects(manager.search(both, "standup")));
+    assertEquals("Team:Retro", subjects(manager.search(both, "retro")));
+    assertEquals("Team:Team standup",
+        subjects(manager.search(Collections.singletonList(manager.getCalendar("Team")),
+            "standup")));
+    assertTrue(manager.search(both, "standup", ny(3, 0), ny(4, 0)).isEmpty());
+  }
+
+  @Test
+  public void testBusyCalendars() {
+    assertEquals(Collections.singletonList("Team"),
+        manager.getBusyCalendars(manager.getAllCalendars(), ny(2, 10)));
+    assertTrue(manager.getBusyCalendars(manager.getAllCalendars(), ny(2, 12)).isEmpty());
+  }
+
+  @Test
+  public void testCommandsWithCalendarsOption() throws IOException {
+    TestView view = new TestView();
+    assertTrue(new ShowStatusCommand("2025-06-02T10:10", "all").execute(manager, view));
+    assertTrue(new ShowStatusCommand("2025-06-02T12:00", "Work,Team").execute(manager, view));
+    assertEquals(Arrays.asList("busy: Team", "available"), view.getMessages());
+
+    assertTrue(new SearchCommand("standup", null, null, "all").execute(manager, view));
+    assertEquals(2, view.getDisplayedEvents().get(0).size());
+    assertFalse(new SearchCommand("standup", null, null, "Nope").execute(manager, view));
+
+    StringBuilder out = new StringBuilder();
+    assertTrue(new PrintEventsRangeCommand("2025-06-02T00:00", "2025-06-03T00:00", "Team")
+        .execute(manager, new ConsoleView(out)));
+    assertEquals("- [Team] Team standup starting on 2025-06-02 at 10:00, ending on "
+        + "2025-06-02 at 10:30" + System.lineSeparator(), out.toString());
+  }
+}
@@ -0,0 +1,93 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EditSpec;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that cached day and range queries stay correct across every kind of change.
+ */
+public class QueryCacheTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2025, 6, 2);
+  private static final LocalDate TUESDAY = LocalDate.of(2025, 6, 3);
+
+  private CalendarModelInterface model;
+  private EventInterface standup;
+
+  /**
+   * Creates a model with one event on Monday and one on Tuesday.
+   */
+  @Before
+  public void setUp() {
+    model = new CalendarModel(ZoneId.of("America/New_York"));
+    standup = event("Standup", MONDAY.atTime(9, 0));
+    model.createEvent(standup);
+    model.createEvent(event("Retro", TUESDAY.atTime(15, 0)));
+  }
+
+  private static EventInterface event(String subject, LocalDateTime start) {
+    return new Event(subject, start, start.plusHours(1), null, null, false,
+        UUID.randomUUID(), null);
+  }
+
+  private List<EventInterface> week() {
+    return model.getEventsInRange(MONDAY.atStartOfDay(), MONDAY.plusDays(7).atStartOfDay());
+  }
+
+  @Test
+  public void testCallersCannotCorruptCachedResults() {
+    model.getEventsOnDate(MONDAY).clear();
+    week().clear();
+
+    assertEquals(1, model.getEventsOnDate(MONDAY).size());
+    assertEquals(2, week().size());
+  }
+
+  @Test
+  public void testChangesRefreshOnlyAffectedQueries() {
+    assertEquals(1, model.getEventsOnDate(TUESDAY).size());
+    assertEquals(2, week().size());
+
+    model.editEvent(standup.getId(), EditSpec.builder().start(TUESDAY.atTime(9, 0)).build());
+    assertTrue(model.getEventsOnDate(MONDAY).isEmpty());
+    assertEquals(2, model.getEventsOnDate(TUESDAY).size());
+    assertEquals(2, week().size());
+
+    model.createEvent(event("Late", MONDAY.atTime(23, 30)));
+    assertEquals(1, model.getEventsOnDate(MONDAY).size());
+    assertEquals(3, model.getEventsOnDate(TUESDAY).size());
+    assertEquals(3, week().size());
+  }
+
+  @Test
+  public void testUndoRollbackAndZoneChangeRefreshResults() {
+    assertEquals(1, model.getEventsOnDate(MONDAY).size());
+
+    model.undo();
+    model.undo();
+    assertTrue(model.getEventsOnDate(MONDAY).isEmpty());
+    model.redo();
+    assertEquals(1, model.getEventsOnDate(MONDAY).size());
+
+    model.beginTransaction();
+    model.createEvent(event("Draft", MONDAY.atTime(11, 0)));
+    assertEquals(2, model.getEventsOnDate(MONDAY).size());
+    model.rollbackTransaction();
+    assertEquals(1, model.getEventsOnDate(MONDAY).size());
+
+    model.setZone(ZoneId.of("Asia/Tokyo"));
+    assertEquals(LocalDateTime.of(2025, 6, 2, 22, 0),
+        model.getEventsOnDate(MONDAY).get(0).getStartDateTime());
+  }
+}
@@ -0,0 +1,139 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.ImportCommand;
+import calendar.model.BulkInsertResult;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests creating many series in one batch.
+ */
+public class SeriesBatchTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final LocalDate MONDAY = LocalDate.of(2025, 6, 2);
+
+  private CalendarModelInterface model;
+
+  /**
+   * Creates an empty model.
+   */
+  @Before
+  public void setUp() {
+    model = new CalendarModel(NEW_YORK);
+  }
+
+  private static EventSeries series(String subject, int hour, int count) {
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event(subject, MONDAY.atTime(hour, 0),
+        MONDAY.atTime(hour + 1, 0), null, null, false, UUID.randomUUID(), seriesId);
+    return new EventSeries(seriesId, template, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY),
+        null, count, false);
+  }
+
+  @Test
+  public void testConflictingSeriesAreSkippedWhole() {
+    LocalDateTime thursday = MONDAY.plusDays(3).atTime(12, 0);
+    model.createEvent(new Event("Lunch", thursday, thursday.plusHours(1), null, null, false,
+        UUID.randomUUID(), null));
+    EventSeries yoga = series("Yoga", 8, 4);
+    EventSeries lunch = series("Lunch", 12, 4);
+    EventSeries yogaAgain = series("Yoga", 8, 2);
+    EventSeries retro = series("Retro", 15, 3);
+
+    BulkInsertResult result = model.createEventSeriesBatch(
+        Arrays.asList(yoga, lunch, yogaAgain, retro));
+
+    assertEquals(7, result.getInserted().size());
+    assertEquals(6, result.getConflicts().size());
+    assertNotNull(model.getSeries(yoga.getSeriesId()));
+    assertNull(model.getSeries(lunch.getSeriesId()));
+    assertNull(model.getSeries(yogaAgain.getSeriesId()));
+    assertNotNull(model.getSeries(retro.getSeriesId()));
+    assertEquals(8, model.getAllEvents().size());
+
+    assertTrue(model.undo());
+    assertEquals(1, model.getAllEvents().size());
+    assertNull(model.getSeries(yoga.getSeriesId()));
+  }
+
+  @Test
+  public void testOverlapsAcrossBatchAreRejected() {
+    model.setRejectOverlaps(true);
+    EventSeries morning = series("Morning", 8, 4);
+    EventSeries clash = new EventSeries(UUID.randomUUID(), new Event("Clash",
+        MONDAY.atTime(8, 30), MONDAY.atTime(9, 30), null, null, false, UUID.randomUUID(),
+        null), EnumSet.of(DayOfWeek.THURSDAY), null, 1, false);
+
+    BulkInsertResult result = model.createEventSeriesBatch(Arrays.asList(morning, clash));
+
+    assertEquals(4, result.getInserted().size());
+    assertEquals(1, result.getConflicts().size());
+  }
+
+  @Test
+  public void testLargeBatchMatchesSerialCreation() {
+    List<EventSeries> batch = new ArrayList<>();
+    CalendarModelInterface serial = new CalendarModel(NEW_YORK);
+    for (int i = 0; i < 200; i++) {
+      EventSeries each = series("Series " + i, 6 + i % 12, 50);
+      batch.add(each);
+      serial.createEventSeries(each);
+    }
+
+    BulkInsertResult result = model.createEventSeriesBatch(batch);
+
+    assertEquals(serial.getAllEvents().size(), result.getInserted().size());
+    assertEquals(serial.getAllEvents(), model.getAllEvents());
+    assertEquals(batch.get(0).getTemplate().getSubject(),
+        result.getInserted().get(0).getSubject());
+  }
+
+  @Test
+  public void testImportCreatesSeriesInBatches() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", NEW_YORK);
+    manager.setCurrentCalendar("Work");
+    StringBuilder ics = new StringBuilder("BEGIN:VCALENDAR\r\n");
+    for (int i = 0; i < 300; i++) {
+      String hour = String.format("%02d", i % 290 % 24);
+      ics.append("BEGIN:VEVENT\r\nDTSTART:20250602T").append(hour)
+          .append("0000\r\nDTEND:20250602T").append(hour)
+          .append("3000\r\nSUMMARY:Class ").append(i % 290)
+          .append("\r\nRRULE:FREQ=WEEKLY;BYDAY=MO;COUNT=3\r\nEND:VEVENT\r\n");
+    }
+    ics.append("END:VCALENDAR\r\n");
+    Path file = Files.createTempFile("series-batch", ".ics");
+    try {
+      Files.writeString(file, ics);
+      TestView view = new TestView();
+      assertTrue(new ImportCommand(file.toString()).execute(manager, view));
+      assertTrue(view.getMessages().get(0).startsWith("Imported 0 event(s) and 290 series"));
+      assertTrue(view.getMessages().get(0).endsWith("(10 skipped)"));
+      assertEquals(870, manager.getCalendar("Work").getModel().getAllEvents().size());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
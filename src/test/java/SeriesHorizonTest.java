@@ -0,0 +1,287 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.EditCalendarCommand;
+import calendar.model.CalendarInterface;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EditSpec;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import calendar.model.EventDelta;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that series occurrences are stored through a rolling horizon and the rest
+ * when first reached.
+ */
+public class SeriesHorizonTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+  private static final LocalDate FIRST =
+      LocalDate.now(NEW_YORK).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+  private static final int COUNT = 200;
+
+  private CalendarModelInterface model;
+  private UUID seriesId;
+
+  /**
+   * Creates a model with a weekly Monday series running almost four years.
+   */
+  @Before
+  public void setUp() {
+    model = new CalendarModel(NEW_YORK);
+    seriesId = createSeries(model);
+  }
+
+  private static UUID createSeries(CalendarModelInterface target) {
+    UUID id = UUID.randomUUID();
+    EventInterface template = new Event("Yoga", FIRST.atTime(18, 0), FIRST.atTime(19, 0),
+        null, null, false, UUID.randomUUID(), id);
+    assertTrue(target.createEventSeries(new EventSeries(id, template,
+        EnumSet.of(DayOfWeek.MONDAY), null, COUNT, false)));
+    return id;
+  }
+
+  private int stored() {
+    // The interface does not tell stored occurrences from generated ones.
+    try {
+      Field field = CalendarModel.class.getDeclaredField("events");
+      field.setAccessible(true);
+      Object events = field.get(model);
+      Method size = events.getClass().getDeclaredMethod("size");
+      size.setAccessible(true);
+      return (int) size.invoke(events);
+    } catch (ReflectiveOperationException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private EventInterface occurrenceInWeek(int week) {
+    return model.getEventsOnDate(FIRST.plusWeeks(week)).get(0);
+  }
+
+  @Test
+  public void testOccurrencesPastHorizonAreStoredWhenReached() {
+    assertTrue(stored() <= 54);
+    assertFalse(model.isMaterializedThrough(FIRST.plusWeeks(150).atTime(18, 0)));
+
+    assertEquals(FIRST.plusWeeks(150).atTime(18, 0), occurrenceInWeek(150).getStartDateTime());
+    assertTrue(model.isMaterializedThrough(FIRST.plusWeeks(150).atTime(18, 0)));
+    assertEquals(151, stored());
+    assertTrue(model.isBusy(FIRST.plusWeeks(160).atTime(18, 30)));
+
+    assertEquals(COUNT, model.getAllEvents().size());
+    assertFalse(model.isMaterializedThrough(LocalDateTime.MAX));
+    assertEquals(161, stored());
+
+    model.materializeThrough(LocalDateTime.MAX);
+    assertTrue(model.isMaterializedThrough(LocalDateTime.MAX));
+    assertEquals(model.getSeries(seriesId).getOccurrenceCount(), stored());
+  }
+
+  @Test
+  public void testUnboundedQueriesDoNotStorePastHorizon() {
+    List<EventInterface> all = model.getAllEvents();
+    assertEquals(COUNT, all.size());
+    assertEquals(FIRST.plusWeeks(COUNT - 1).atTime(18, 0),
+        all.get(COUNT - 1).getStartDateTime());
+    assertEquals(all, model.search("yoga"));
+    assertEquals(all, model.search("YO*"));
+    assertTrue(model.search("yoga pilates").isEmpty());
+    assertTrue(model.findConflicts().isEmpty());
+    assertTrue(stored() <= 54);
+
+    EventInterface last = all.get(COUNT - 1);
+    assertEquals(last, model.findEventById(last.getId()));
+    assertTrue(stored() <= 54);
+    assertTrue(model.editEvent(last.getId(), EditSpec.builder().subject("Pilates").build()));
+    assertEquals(COUNT, stored());
+    assertEquals(1, model.search("pilates").size());
+    assertEquals(COUNT - 1, model.search("yoga").size());
+  }
+
+  @Test
+  public void testDeltasCoverOccurrencesNotStored() {
+    assertEquals(COUNT, model.getChangesSince(0).getAdded().size());
+    long checkpoint = model.getCheckpoint();
+    assertTrue(model.editEntireSeries(seriesId, EditSpec.builder().subject("Pilates").build()));
+    EventDelta renamed = model.getChangesSince(checkpoint);
+    assertEquals(COUNT, renamed.getChanged().size());
+    assertTrue(renamed.getAdded().isEmpty());
+    assertEquals("Pilates", renamed.getChanged().get(COUNT - 1).getSubject());
+
+    // Storing occurrences as the horizon moves is no change.
+    long afterRename = model.getCheckpoint();
+    model.materializeThrough(LocalDateTime.MAX);
+    assertEquals(afterRename, model.getCheckpoint());
+    assertTrue(model.getChangesSince(afterRename).isEmpty());
+
+    assertTrue(model.editSeriesFrom(seriesId, FIRST.plusWeeks(150),
+        EditSpec.builder().location("Studio B").build()));
+    assertEquals(COUNT - 150, model.getChangesSince(afterRename).getChanged().size());
+    assertTrue(model.undo());
+    assertTrue(model.undo());
+    assertTrue(model.undo());
+    EventDelta removed = model.getChangesSince(checkpoint);
+    assertEquals(COUNT, removed.getRemoved().size());
+    assertEquals("Yoga", removed.getRemoved().get(COUNT - 1).getSubject());
+    assertTrue(model.getChangesSince(0).isEmpty());
+  }
+
+  @Test
+  public void testRuleEditsReachLaterOccurrences() {
+    assertTrue(model.editEntireSeries(seriesId, EditSpec.builder().subject("Pilates").build()));
+    assertTrue(model.editSeriesFrom(seriesId, FIRST.plusWeeks(100),
+        EditSpec.builder().location("Studio B").build()));
+
+    assertEquals("Pilates", occurrenceInWeek(150).getSubject());
+    assertEquals("Studio B", occurrenceInWeek(150).getLocation().get());
+    assertFalse(occurrenceInWeek(90).getLocation().isPresent());
+    assertEquals(seriesId, occurrenceInWeek(150).getSeriesId().get());
+  }
+
+  @Test
+  public void testStartEditDetachesOccurrencesNotStoredYet() {
+    assertTrue(model.editSeriesFrom(seriesId, FIRST.plusWeeks(100),
+        EditSpec.builder().start(FIRST.plusWeeks(100).atTime(7, 0)).build()));
+
+    EventInterface detached = occurrenceInWeek(150);
+    assertEquals(FIRST.plusWeeks(150).atTime(7, 0), detached.getStartDateTime());
+    assertFalse(detached.getSeriesId().isPresent());
+    assertEquals(COUNT, model.getAllEvents().size());
+
+    assertTrue(model.undo());
+    assertEquals(FIRST.plusWeeks(150).atTime(18, 0), occurrenceInWeek(150).getStartDateTime());
+    assertEquals(COUNT, model.getAllEvents().size());
+  }
+
+  @Test
+  public void testSplitOffOccurrencesAreGeneratedWhenReached() {
+    assertTrue(model.editSeriesFrom(seriesId, FIRST.plusWeeks(100),
+        EditSpec.builder().start(FIRST.plusWeeks(100).atTime(7, 0)).build()));
+    assertEquals(101, stored());
+    assertEquals(FIRST.plusWeeks(100), model.getSeries(seriesId).getDetachedFrom());
+
+    assertTrue(model.editEntireSeries(seriesId, EditSpec.builder().subject("Pilates").build()));
+    EventInterface splitOff = occurrenceInWeek(150);
+    assertEquals("Yoga", splitOff.getSubject());
+    assertEquals(FIRST.plusWeeks(150).atTime(7, 0), splitOff.getStartDateTime());
+    assertEquals(FIRST.plusWeeks(150).atTime(8, 0), splitOff.getEndDateTime());
+    assertFalse(splitOff.getSeriesId().isPresent());
+    assertEquals("Pilates", occurrenceInWeek(90).getSubject());
+
+    assertTrue(model.editSeriesFrom(seriesId, FIRST.plusWeeks(50),
+        EditSpec.builder().start(FIRST.plusWeeks(50).atTime(8, 0)).build()));
+    assertEquals(151, stored());
+    assertEquals(FIRST.plusWeeks(90).atTime(8, 0), occurrenceInWeek(90).getStartDateTime());
+    assertEquals(FIRST.plusWeeks(160).atTime(7, 0), occurrenceInWeek(160).getStartDateTime());
+    assertEquals(50, model.getAllEvents().stream()
+        .filter(e -> e.getSeriesId().isPresent()).count());
+  }
+
+  @Test
+  public void testUndoAndRedoAfterExpansion() {
+    UUID occurrenceId = occurrenceInWeek(150).getId();
+    LocalDateTime lunch = FIRST.plusWeeks(150).atTime(12, 0);
+    assertTrue(model.createEvent(new Event("Lunch", lunch, lunch.plusHours(1), null, null,
+        false, UUID.randomUUID(), null)));
+
+    assertTrue(model.undo());
+    assertEquals(1, model.getEventsOnDate(FIRST.plusWeeks(150)).size());
+    assertEquals(occurrenceId, occurrenceInWeek(150).getId());
+    assertTrue(model.redo());
+    assertEquals(2, model.getEventsOnDate(FIRST.plusWeeks(150)).size());
+    assertEquals(COUNT + 1, model.getAllEvents().size());
+
+    assertTrue(model.undo());
+    assertTrue(model.undo());
+    assertTrue(model.getAllEvents().isEmpty());
+    assertFalse(model.undo());
+  }
+
+  @Test
+  public void testOccurrencesKeepTheZoneTheSeriesWasCreatedIn() {
+    ZoneId london = ZoneId.of("Europe/London");
+    model.setZone(london);
+
+    LocalDate date = FIRST.plusWeeks(150);
+    LocalDateTime expected = date.atTime(18, 0).atZone(NEW_YORK)
+        .withZoneSameInstant(london).toLocalDateTime();
+    assertEquals(1, model.getEventsInRange(expected, expected.plusHours(1)).size());
+  }
+
+  @Test
+  public void testHorizonMustBePositive() {
+    assertEquals(Period.ofYears(1), model.getSeriesHorizon());
+    model.setSeriesHorizon(Period.ofYears(3));
+    assertEquals(Period.ofYears(3), model.getSeriesHorizon());
+    assertTrue(stored() >= 150);
+
+    assertThrows(Period.ZERO);
+    assertThrows(Period.ofMonths(-1));
+  }
+
+  private void assertThrows(Period horizon) {
+    try {
+      model.setSeriesHorizon(horizon);
+      throw new AssertionError("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Series horizon must be positive", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testManagedCalendarStoresOccurrencesWhenReached() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", NEW_YORK);
+    CalendarModelInterface managed = manager.getCalendar("Work").getModel();
+    createSeries(managed);
+
+    assertTrue(managed.isBusy(FIRST.plusWeeks(150).atTime(18, 30)));
+    assertEquals(1, managed.getEventsOnDate(FIRST.plusWeeks(160)).size());
+    assertEquals(COUNT, managed.getAllEvents().size());
+
+    // A read-locked calendar cannot store what a query reaches, so the query
+    // generates it instead.
+    CalendarInterface work = manager.getCalendar("Work");
+    assertEquals(COUNT, (int) manager.withCalendars(Collections.singletonList(work),
+        Collections.emptyList(), () -> managed.search("yoga").size()));
+    List<EventInterface> reached = manager.withCalendars(Collections.singletonList(work),
+        Collections.emptyList(), () -> managed.getEventsOnDate(FIRST.plusWeeks(180)));
+    assertEquals(FIRST.plusWeeks(180).atTime(18, 0), reached.get(0).getStartDateTime());
+    assertFalse(managed.isMaterializedThrough(FIRST.plusWeeks(180).atTime(18, 0)));
+    assertTrue(manager.withCalendars(Collections.singletonList(work),
+        Collections.emptyList(), () -> managed.isBusy(FIRST.plusWeeks(190).atTime(18, 30))));
+    assertEquals(2, (int) manager.withCalendars(Collections.singletonList(work),
+        Collections.emptyList(), () -> managed.getEventsInRange(
+            FIRST.plusWeeks(185).atStartOfDay(), FIRST.plusWeeks(187).atStartOfDay()).size()));
+    managed.materializeThrough(FIRST.plusWeeks(181).atStartOfDay());
+    assertEquals(1, manager.withCalendars(Collections.singletonList(work),
+        Collections.emptyList(), () -> managed.getEventsOnDate(FIRST.plusWeeks(180))).size());
+
+    TestView view = new TestView();
+    assertTrue(new EditCalendarCommand("Work", "horizon", "6").execute(manager, view));
+    assertEquals(Period.ofMonths(6), managed.getSeriesHorizon());
+    assertFalse(new EditCalendarCommand("Work", "horizon", "0").execute(manager, view));
+    assertFalse(new EditCalendarCommand("Work", "horizon", "soon").execute(manager, view));
+    assertEquals(Period.ofMonths(6), managed.getSeriesHorizon());
+  }
+}
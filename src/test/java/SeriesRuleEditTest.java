@@ -0,0 +1,165 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EditSpec;
+import calendar.model.Event;
+import calendar.model.EventDelta;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that series edits are recorded on the series rule and applied to the
+ * occurrences in one batch.
+ */
+public class SeriesRuleEditTest {
+
+  private static final LocalDate FIRST = LocalDate.of(2025, 6, 2);
+
+  private CalendarModelInterface model;
+  private UUID seriesId;
+
+  /**
+   * Creates a model with a weekly Monday series of six occurrences.
+   */
+  @Before
+  public void setUp() {
+    model = new CalendarModel(ZoneId.of("America/New_York"));
+    seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Yoga", FIRST.atTime(18, 0), FIRST.atTime(19, 0),
+        null, null, false, UUID.randomUUID(), seriesId);
+    model.createEventSeries(new EventSeries(seriesId, template, EnumSet.of(DayOfWeek.MONDAY),
+        null, 6, false));
+  }
+
+  private long count(String subject) {
+    return model.getAllEvents().stream().filter(e -> e.getSubject().equals(subject)).count();
+  }
+
+  @Test
+  public void testEntireSeriesEditRevisesRule() {
+    long checkpoint = model.getCheckpoint();
+    assertTrue(model.editEntireSeries(seriesId, EditSpec.builder().subject("Pilates").build()));
+
+    EventSeries rule = model.getSeries(seriesId);
+    assertEquals("Pilates", rule.getTemplate().getSubject());
+    assertEquals("Pilates", rule.getTemplateOn(FIRST.plusWeeks(20)).getSubject());
+    assertEquals(6, count("Pilates"));
+    assertEquals(6, model.search("pilates").size());
+    assertEquals(0, model.search("yoga").size());
+    EventDelta delta = model.getChangesSince(checkpoint);
+    assertEquals(6, delta.getChanged().size());
+    assertTrue(delta.getAdded().isEmpty());
+    assertTrue(delta.getRemoved().isEmpty());
+  }
+
+  @Test
+  public void testEditFromDateSplitsRule() {
+    LocalDate from = FIRST.plusWeeks(3).minusDays(2);
+    assertTrue(model.editSeriesFrom(seriesId, from,
+        EditSpec.builder().location("Studio B").build()));
+
+    EventSeries rule = model.getSeries(seriesId);
+    assertFalse(rule.getTemplateOn(FIRST.plusWeeks(2)).getLocation().isPresent());
+    EventInterface revised = rule.getTemplateOn(from);
+    assertEquals("Studio B", revised.getLocation().get());
+    assertEquals(from.atTime(18, 0), revised.getStartDateTime());
+    assertEquals(from.atTime(19, 0), revised.getEndDateTime());
+    assertEquals(3, model.search("studio").size());
+
+    assertTrue(model.editEntireSeries(seriesId, EditSpec.builder().subject("Pilates").build()));
+    rule = model.getSeries(seriesId);
+    assertEquals("Pilates", rule.getTemplateOn(FIRST).getSubject());
+    assertEquals("Pilates", rule.getTemplateOn(from).getSubject());
+    assertEquals("Studio B", rule.getTemplateOn(from).getLocation().get());
+  }
+
+  @Test
+  public void testStartTimeEditDetachesRule() {
+    LocalDate from = FIRST.plusWeeks(4);
+    assertTrue(model.editSeriesFrom(seriesId, from,
+        EditSpec.builder().start(from.atTime(7, 0)).build()));
+
+    assertEquals(from, model.getSeries(seriesId).getDetachedFrom());
+    assertFalse(model.getEventsOnDate(from).get(0).getSeriesId().isPresent());
+    assertEquals(4, model.getAllEvents().stream()
+        .filter(e -> e.getSeriesId().isPresent()).count());
+  }
+
+  @Test
+  public void testConflictingEditChangesNothing() {
+    LocalDateTime third = FIRST.plusWeeks(2).atTime(18, 0);
+    model.createEvent(new Event("Pilates", third, third.plusHours(1), null, null, false,
+        UUID.randomUUID(), null));
+    long checkpoint = model.getCheckpoint();
+
+    assertFalse(model.editEntireSeries(seriesId, EditSpec.builder().subject("Pilates").build()));
+    assertEquals("Yoga", model.getSeries(seriesId).getTemplate().getSubject());
+    assertEquals(6, count("Yoga"));
+    assertEquals(checkpoint, model.getCheckpoint());
+  }
+
+  @Test
+  public void testEditRewritesOnlyOccurrencesWithEditsOfTheirOwn() {
+    UUID second = model.getEventsOnDate(FIRST.plusWeeks(1)).get(0).getId();
+    assertTrue(model.editEvent(second, EditSpec.builder().location("Studio B").build()));
+    long checkpoint = model.getCheckpoint();
+
+    assertTrue(model.editEntireSeries(seriesId, EditSpec.builder().subject("Pilates").build()));
+    // One number for the rule, one for the occurrence edited on its own.
+    assertEquals(checkpoint + 2, model.getCheckpoint());
+    assertEquals(6, count("Pilates"));
+    EventInterface edited = model.getEventsOnDate(FIRST.plusWeeks(1)).get(0);
+    assertEquals("Pilates", edited.getSubject());
+    assertEquals("Studio B", edited.getLocation().get());
+    assertEquals(6, model.getChangesSince(checkpoint).getChanged().size());
+  }
+
+  @Test
+  public void testRenameOntoAnotherSeriesChangesNothing() {
+    UUID otherId = UUID.randomUUID();
+    EventInterface template = new Event("Pilates", FIRST.plusWeeks(3).atTime(18, 0),
+        FIRST.plusWeeks(3).atTime(19, 0), null, null, false, UUID.randomUUID(), otherId);
+    assertTrue(model.createEventSeries(new EventSeries(otherId, template,
+        EnumSet.of(DayOfWeek.MONDAY), null, 2, false)));
+
+    assertFalse(model.editEntireSeries(seriesId, EditSpec.builder().subject("Pilates").build()));
+    assertEquals(6, count("Yoga"));
+    assertTrue(model.editSeriesFrom(seriesId, FIRST.plusWeeks(5),
+        EditSpec.builder().subject("Pilates").build()));
+    assertEquals(3, count("Pilates"));
+    assertEquals(3, model.search("pilates").size());
+  }
+
+  @Test
+  public void testUndoRestoresRuleAndOccurrences() {
+    EventSeries original = model.getSeries(seriesId);
+    model.editEntireSeries(seriesId, EditSpec.builder().subject("Pilates").build());
+    model.editEntireSeries(seriesId, EditSpec.builder().start(FIRST.atTime(7, 0)).build());
+    assertNull(model.getSeries(seriesId));
+
+    assertTrue(model.undo());
+    assertEquals("Pilates", model.getSeries(seriesId).getTemplate().getSubject());
+    assertEquals(6, model.getEventsInRange(FIRST.atTime(18, 0), FIRST.plusWeeks(6).atTime(19, 0))
+        .size());
+    assertTrue(model.undo());
+    assertSame(original, model.getSeries(seriesId));
+    assertEquals(6, count("Yoga"));
+    assertEquals(6, model.search("yoga").size());
+
+    assertTrue(model.redo());
+    assertEquals(6, count("Pilates"));
+  }
+}
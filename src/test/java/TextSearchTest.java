@@ -0,0 +1,110 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.SearchCommand;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EditSpec;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the full-text index over subject, description and location.
+ */
+public class TextSearchTest {
+
+  private CalendarModelInterface model;
+
+  /**
+   * Creates an empty model.
+   */
+  @Before
+  public void setUp() {
+    model = new CalendarModel(ZoneId.of("Europe/Paris"));
+  }
+
+  private EventInterface add(String subject, String description, String location,
+                             LocalDateTime start) {
+    EventInterface event = new Event(subject, start, start.plusHours(1), description,
+        location, false, UUID.randomUUID(), null);
+    model.createEvent(event);
+    return event;
+  }
+
+  @Test
+  public void testTermsMatchAllFieldsIgnoringCase() {
+    add("Budget review", "Q3 numbers", "Room 4B", LocalDateTime.of(2025, 6, 3, 10, 0));
+    add("Lunch", "with the BUDGET team", null, LocalDateTime.of(2025, 6, 2, 12, 0));
+    add("Gym", null, "Downtown", LocalDateTime.of(2025, 6, 4, 7, 0));
+
+    List<EventInterface> budget = model.search("budget");
+    assertEquals(2, budget.size());
+    assertEquals("Lunch", budget.get(0).getSubject());
+    assertEquals(1, model.search("room").size());
+    assertEquals(1, model.search("4b").size());
+    assertEquals(1, model.search("budget q3").size());
+    assertEquals(0, model.search("budge").size());
+  }
+
+  @Test
+  public void testPrefixQueries() {
+    add("Standup", null, null, LocalDateTime.of(2025, 6, 2, 9, 0));
+    add("Stand-in meeting", null, null, LocalDateTime.of(2025, 6, 2, 11, 0));
+    add("Statistics class", null, null, LocalDateTime.of(2025, 6, 2, 13, 0));
+
+    assertEquals(2, model.search("stand*").size());
+    assertEquals(3, model.search("sta*").size());
+    assertEquals(1, model.search("sta* meet*").size());
+    assertEquals(0, model.search("*").size());
+  }
+
+  @Test
+  public void testIndexFollowsEditsAndSeries() {
+    EventInterface event = add("Planning", null, null, LocalDateTime.of(2025, 6, 2, 9, 0));
+    model.editEvent(event.getId(), EditSpec.builder().subject("Retro").location("Cafe")
+        .build());
+
+    assertEquals(0, model.search("planning").size());
+    assertEquals(1, model.search("retro cafe").size());
+
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Yoga", LocalDateTime.of(2025, 6, 2, 18, 0),
+        LocalDateTime.of(2025, 6, 2, 19, 0), null, null, false, UUID.randomUUID(), seriesId);
+    model.createEventSeries(new EventSeries(seriesId, template, EnumSet.of(DayOfWeek.MONDAY),
+        null, 4, false));
+    assertEquals(4, model.search("yoga").size());
+
+    model.editEntireSeries(seriesId, EditSpec.builder().subject("Pilates").build());
+    assertEquals(0, model.search("yoga").size());
+    assertEquals(4, model.search("pilates").size());
+  }
+
+  @Test
+  public void testWindowAndCommand() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", ZoneId.of("Europe/Paris"));
+    manager.setCurrentCalendar("Work");
+    model = manager.getCurrentCalendar().getModel();
+    add("Sprint demo", null, null, LocalDateTime.of(2025, 6, 2, 15, 0));
+    add("Sprint demo", null, null, LocalDateTime.of(2025, 6, 16, 15, 0));
+
+    assertEquals(1, model.search("demo", LocalDateTime.of(2025, 6, 10, 0, 0),
+        LocalDateTime.of(2025, 6, 20, 0, 0)).size());
+
+    TestView view = new TestView();
+    assertTrue(new SearchCommand("sprint", "2025-06-01T00:00", "2025-06-03T00:00")
+        .execute(manager, view));
+    assertEquals(1, view.getDisplayedEvents().get(0).size());
+  }
+}
@@ -0,0 +1,192 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.CommandParser;
+import calendar.command.TransactionCommand;
+import calendar.controller.Controller;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EditSpec;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import calendar.view.ConsoleView;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests model transactions and the begin/commit/rollback commands.
+ */
+public class TransactionTest {
+
+  private CalendarModelInterface model;
+
+  /**
+   * Creates an empty model.
+   */
+  @Before
+  public void setUp() {
+    model = new CalendarModel(ZoneId.of("America/New_York"));
+  }
+
+  private static EventInterface event(String subject, int day) {
+    LocalDateTime start = LocalDateTime.of(2025, 6, day, 9, 0);
+    return new Event(subject, start, start.plusHours(1), null, null, false,
+        UUID.randomUUID(), null);
+  }
+
+  @Test
+  public void testRollbackUndoesCreatesEditsAndSeries() {
+    EventInterface kept = event("Kept", 2);
+    model.createEvent(kept);
+
+    model.beginTransaction();
+    model.createEvent(event("Temp", 3));
+    model.editEvent(kept.getId(), EditSpec.builder().subject("Renamed").build());
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Yoga", LocalDateTime.of(2025, 6, 2, 18, 0),
+        LocalDateTime.of(2025, 6, 2, 19, 0), null, null, false, UUID.randomUUID(), seriesId);
+    model.createEventSeries(new EventSeries(seriesId, template, EnumSet.of(DayOfWeek.MONDAY),
+        null, 3, false));
+    model.editSeriesFrom(seriesId, LocalDate.of(2025, 6, 9),
+        EditSpec.builder().location("Gym").build());
+    assertEquals(5, model.getAllEvents().size());
+    assertEquals(1, model.search("renamed").size());
+    model.rollbackTransaction();
+
+    assertFalse(model.isInTransaction());
+    assertEquals(1, model.getAllEvents().size());
+    assertEquals("Kept", model.getAllEvents().get(0).getSubject());
+    assertNull(model.getSeries(seriesId));
+    assertEquals(1, model.search("kept").size());
+    assertEquals(0, model.search("renamed").size());
+    assertEquals(0, model.search("yoga").size());
+  }
+
+  @Test
+  public void testCommitKeepsChangesAndIndexes() {
+    model.beginTransaction();
+    model.createEvent(event("Planning", 2));
+    model.createEvent(event("Retro", 3));
+    model.commitTransaction();
+
+    assertEquals(2, model.getAllEvents().size());
+    assertEquals(1, model.search("retro").size());
+    assertThrows(IllegalStateException.class, () -> model.commitTransaction());
+  }
+
+  @Test
+  public void testCommandsUseTheCalendarTheTransactionBeganOn() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", ZoneId.of("America/New_York"));
+    manager.createCalendar("Home", ZoneId.of("America/New_York"));
+    manager.setCurrentCalendar("Work");
+    TestView view = new TestView();
+    CommandParser parser = new CommandParser();
+
+    assertTrue(new TransactionCommand("begin").execute(manager, view));
+    assertFalse(new TransactionCommand("begin").execute(manager, view));
+    parser.parse("create event Draft from 2025-06-02T09:00 to 2025-06-02T10:00")
+        .execute(manager, view);
+    manager.setCurrentCalendar("Home");
+    assertTrue(new TransactionCommand("rollback").execute(manager, view));
+
+    assertTrue(manager.getCalendar("Work").getModel().getAllEvents().isEmpty());
+    assertNull(manager.getTransactionCalendar());
+    assertFalse(new TransactionCommand("commit").execute(manager, view));
+    assertTrue(view.hasMessage("Transaction started on calendar 'Work'."));
+  }
+
+  @Test
+  public void testTransactionEndsOnlyOnTheThreadThatBeganIt() throws Exception {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", ZoneId.of("America/New_York"));
+    CalendarManager session = manager.openSession();
+    session.setCurrentCalendar("Work");
+    CalendarModelInterface work = manager.getCalendar("Work").getModel();
+    session.beginTransaction();
+    work.createEvent(event("Draft", 2));
+
+    ExecutorService other = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> commit = other.submit(session::commitTransaction);
+      ExecutionException e = assertThrows(ExecutionException.class,
+          () -> commit.get(10, TimeUnit.SECONDS));
+      assertTrue(e.getCause() instanceof IllegalStateException);
+      assertEquals("Work", session.getTransactionCalendar().getName());
+
+      session.commitTransaction();
+      assertNull(session.getTransactionCalendar());
+      assertTrue(other.submit(() -> work.createEvent(event("Review", 3)))
+          .get(10, TimeUnit.SECONDS));
+      assertEquals(2, work.getAllEvents().size());
+      assertTrue(work.undo());
+      assertTrue(work.undo());
+      assertTrue(work.getAllEvents().isEmpty());
+    } finally {
+      other.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCalendarChangesArePartOfTheTransaction() {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", ZoneId.of("America/New_York"));
+    manager.setCurrentCalendar("Work");
+    CalendarModelInterface work = manager.getCalendar("Work").getModel();
+
+    manager.beginTransaction();
+    assertTrue(manager.editCalendarName("Work", "Office"));
+    assertTrue(manager.editCalendarTimezone("Office", ZoneId.of("Europe/London")));
+    manager.rollbackTransaction();
+    assertEquals("Work", manager.getCurrentCalendar().getName());
+    assertEquals(ZoneId.of("America/New_York"), work.getZone());
+    assertNull(manager.getCalendar("Office"));
+    assertFalse(work.undo());
+
+    manager.beginTransaction();
+    assertTrue(manager.editCalendarName("Work", "Office"));
+    work.createEvent(event("Draft", 2));
+    manager.commitTransaction();
+    assertTrue(work.undo());
+    assertEquals("Work", manager.getCurrentCalendar().getName());
+    assertTrue(work.getAllEvents().isEmpty());
+    assertTrue(work.redo());
+    assertEquals("Office", manager.getCurrentCalendar().getName());
+  }
+
+  @Test
+  public void testScriptStoppingMidTransactionIsRolledBack() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    StringBuilder out = new StringBuilder();
+    new Controller(manager, new ConsoleView(out), new CommandParser(), new StringReader(
+        "create calendar --name Work --timezone America/New_York\n"
+            + "use calendar --name Work\n"
+            + "begin\n"
+            + "create event A from 2025-06-02T09:00 to 2025-06-02T10:00\n"
+            + "use calendar --name Missing\n"
+            + "create event B from 2025-06-02T11:00 to 2025-06-02T12:00\n"
+            + "commit\n"
+            + "exit\n"), false).run();
+
+    assertTrue(manager.getCalendar("Work").getModel().getAllEvents().isEmpty());
+    assertTrue(out.toString().contains("Uncommitted transaction rolled back."));
+  }
+}
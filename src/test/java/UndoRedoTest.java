@@ -0,0 +1,140 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import calendar.command.CommandParser;
+import calendar.command.HistoryCommand;
+import calendar.model.CalendarManager;
+import calendar.model.CalendarModel;
+import calendar.model.CalendarModelInterface;
+import calendar.model.EditSpec;
+import calendar.model.Event;
+import calendar.model.EventInterface;
+import calendar.model.EventSeries;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the per-calendar undo/redo history and the undo and redo commands.
+ */
+public class UndoRedoTest {
+
+  private CalendarModelInterface model;
+
+  /**
+   * Creates an empty model.
+   */
+  @Before
+  public void setUp() {
+    model = new CalendarModel(ZoneId.of("America/New_York"));
+  }
+
+  private static EventInterface event(String subject, int day) {
+    LocalDateTime start = LocalDateTime.of(2025, 6, day, 9, 0);
+    return new Event(subject, start, start.plusHours(1), null, null, false,
+        UUID.randomUUID(), null);
+  }
+
+  @Test
+  public void testUndoAndRedoEventAndSeriesEdits() {
+    EventInterface planning = event("Planning", 2);
+    model.createEvent(planning);
+    model.editEvent(planning.getId(), EditSpec.builder().subject("Kickoff").build());
+    UUID seriesId = UUID.randomUUID();
+    EventInterface template = new Event("Yoga", LocalDateTime.of(2025, 6, 2, 18, 0),
+        LocalDateTime.of(2025, 6, 2, 19, 0), null, null, false, UUID.randomUUID(), seriesId);
+    model.createEventSeries(new EventSeries(seriesId, template, EnumSet.of(DayOfWeek.MONDAY),
+        null, 3, false));
+    model.editEntireSeries(seriesId, EditSpec.builder().location("Gym").build());
+
+    assertTrue(model.undo());
+    assertEquals(0, model.search("gym").size());
+    assertTrue(model.undo());
+    assertNull(model.getSeries(seriesId));
+    assertEquals(1, model.getAllEvents().size());
+    assertTrue(model.undo());
+    assertEquals("Planning", model.getAllEvents().get(0).getSubject());
+    assertEquals(0, model.search("kickoff").size());
+
+    assertTrue(model.redo());
+    assertEquals(1, model.search("kickoff").size());
+    assertTrue(model.redo());
+    assertNotNull(model.getSeries(seriesId));
+    assertEquals(4, model.getAllEvents().size());
+
+    model.createEvent(event("Retro", 5));
+    assertFalse(model.redo());
+  }
+
+  @Test
+  public void testFailedOperationsAreNotRecorded() {
+    EventInterface first = event("Standup", 2);
+    model.createEvent(first);
+    assertFalse(model.createEvent(event("Standup", 2)));
+
+    assertTrue(model.undo());
+    assertTrue(model.getAllEvents().isEmpty());
+    assertFalse(model.undo());
+  }
+
+  @Test
+  public void testCommittedTransactionIsOneStepAndHistoryIsBounded() {
+    model.beginTransaction();
+    model.createEvent(event("A", 2));
+    model.createEvent(event("B", 3));
+    assertThrows(IllegalStateException.class, () -> model.undo());
+    model.commitTransaction();
+
+    assertTrue(model.undo());
+    assertTrue(model.getAllEvents().isEmpty());
+    assertTrue(model.redo());
+
+    for (int i = 0; i < 150; i++) {
+      model.createEvent(event("E" + i, 1 + i % 28));
+    }
+    int undone = 0;
+    while (model.undo()) {
+      undone++;
+    }
+    assertEquals(100, undone);
+    assertEquals(52, model.getAllEvents().size());
+  }
+
+  @Test
+  public void testCalendarEditsAndCommands() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("Work", ZoneId.of("America/New_York"));
+    manager.setCurrentCalendar("Work");
+    TestView view = new TestView();
+    new CommandParser().parse("create event Sync from 2025-06-02T09:00 to 2025-06-02T10:00")
+        .execute(manager, view);
+    manager.editCalendarName("Work", "Office");
+    manager.editCalendarTimezone("Office", ZoneId.of("Europe/London"));
+
+    assertTrue(new HistoryCommand("undo").execute(manager, view));
+    assertEquals(ZoneId.of("America/New_York"), manager.getCalendar("Office").getTimezone());
+    assertTrue(new HistoryCommand("undo").execute(manager, view));
+    assertNull(manager.getCalendar("Office"));
+    assertEquals("Work", manager.getCurrentCalendar().getName());
+    assertTrue(new HistoryCommand("undo").execute(manager, view));
+    assertTrue(manager.getCalendar("Work").getModel().getAllEvents().isEmpty());
+    assertTrue(new HistoryCommand("undo").execute(manager, view));
+    assertTrue(view.hasMessage("Undid last change in calendar 'Work'."));
+    assertTrue(view.hasMessage("Nothing to undo."));
+
+    assertTrue(new HistoryCommand("redo").execute(manager, view));
+    assertEquals(1, manager.getCalendar("Work").getModel().getAllEvents().size());
+    manager.createCalendar("Office", ZoneId.of("UTC"));
+    assertFalse(new HistoryCommand("redo").execute(manager, view));
+    assertEquals("Work", manager.getCurrentCalendar().getName());
+  }
+}
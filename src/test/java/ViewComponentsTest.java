@@ -397,5 +397,13 @@ public class ViewComponentsTest {
         String newLocation, String newDescription,
         Boolean newIsPrivate) {
     }
+
+    @Override
+    public void undo() {
+    }
+
+    @Override
+    public void redo() {
+    }
   }
 }
@@ -3,6 +3,8 @@ import static org.junit.Assert.assertTrue;
 
 import calendar.model.Weekday;
 import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.Set;
 import org.junit.Test;
 
@@ -137,5 +139,55 @@ public class WeekdayTest {
     assertEquals("S", Weekday.SATURDAY.toString());
     assertEquals("U", Weekday.SUNDAY.toString());
   }
-}
 
+  @Test
+  public void testToMask() {
+    assertEquals(0, Weekday.toMask(null));
+    assertEquals(0b1, Weekday.toMask(EnumSet.of(DayOfWeek.MONDAY)));
+    assertEquals(0b1000000, Weekday.toMask(EnumSet.of(DayOfWeek.SUNDAY)));
+    assertEquals(0b10101, Weekday.toMask(Weekday.toDayOfWeekSet(Weekday.parseString("MWF"))));
+    assertEquals(0x7F, Weekday.toMask(EnumSet.allOf(DayOfWeek.class)));
+  }
+
+  @Test
+  public void testDaysUntilNext() {
+    int mwf = Weekday.toMask(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY,
+        DayOfWeek.FRIDAY));
+    assertEquals(0, Weekday.daysUntilNext(mwf, DayOfWeek.MONDAY));
+    assertEquals(1, Weekday.daysUntilNext(mwf, DayOfWeek.TUESDAY));
+    assertEquals(2, Weekday.daysUntilNext(mwf, DayOfWeek.SATURDAY));
+    assertEquals(1, Weekday.daysUntilNext(mwf, DayOfWeek.SUNDAY));
+    int sunday = Weekday.toMask(EnumSet.of(DayOfWeek.SUNDAY));
+    assertEquals(6, Weekday.daysUntilNext(sunday, DayOfWeek.MONDAY));
+    assertEquals(-1, Weekday.daysUntilNext(0, DayOfWeek.MONDAY));
+
+    for (DayOfWeek from : DayOfWeek.values()) {
+      for (int mask = 1; mask < 0x80; mask++) {
+        int days = Weekday.daysUntilNext(mask, from);
+        assertTrue((mask & Weekday.toMask(EnumSet.of(from.plus(days)))) != 0);
+        for (int skipped = 0; skipped < days; skipped++) {
+          assertEquals(0, mask & Weekday.toMask(EnumSet.of(from.plus(skipped))));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCountBetweenMatchesWalkingTheDays() {
+    LocalDate from = LocalDate.of(2025, 6, 4);
+    for (int mask = 0; mask < 0x80; mask++) {
+      int walked = 0;
+      for (int length = 0; length < 30; length++) {
+        LocalDate to = from.plusDays(length);
+        if ((mask & Weekday.toMask(EnumSet.of(to.getDayOfWeek()))) != 0) {
+          walked++;
+          assertEquals(to, Weekday.nthOnOrAfter(mask, from, walked));
+        }
+        assertEquals(walked, Weekday.countBetween(mask, from, to));
+      }
+    }
+    assertEquals(0, Weekday.countBetween(0x7F, from, from.minusDays(1)));
+    assertEquals(null, Weekday.nthOnOrAfter(0, from, 1));
+    assertEquals(null, Weekday.nthOnOrAfter(0x7F, from, 0));
+  }
+}
@@ -0,0 +1,83 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import calendar.util.ZoneConverter;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.Test;
+
+/**
+ * Tests the precomputed offset-table converter against ZonedDateTime.
+ */
+public class ZoneConverterTest {
+
+  private static final String[] ZONES = {
+      "America/New_York", "America/Los_Angeles", "Europe/London", "Europe/Paris",
+      "Asia/Kolkata", "Asia/Tokyo", "Australia/Lord_Howe", "Pacific/Apia",
+      "America/Sao_Paulo", "UTC"
+  };
+
+  private static LocalDateTime expected(LocalDateTime local, ZoneId from, ZoneId to) {
+    return local.atZone(from).withZoneSameInstant(to).toLocalDateTime();
+  }
+
+  @Test
+  public void testMatchesZonedDateTimeAcrossYears() {
+    for (String fromName : ZONES) {
+      for (String toName : ZONES) {
+        if (fromName.equals(toName)) {
+          continue;
+        }
+        ZoneId from = ZoneId.of(fromName);
+        ZoneId to = ZoneId.of(toName);
+        ZoneConverter converter = ZoneConverter.of(from, to);
+        for (LocalDateTime t = LocalDateTime.of(1995, 1, 1, 0, 17, 5);
+             t.getYear() < 2030; t = t.plusMinutes(2897)) {
+          assertEquals(fromName + " -> " + toName + " at " + t,
+              expected(t, from, to), converter.convert(t));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testGapAndOverlapResolveLikeAtZone() {
+    ZoneId newYork = ZoneId.of("America/New_York");
+    ZoneConverter converter = ZoneConverter.of(newYork, ZoneOffset.UTC);
+
+    LocalDateTime start = LocalDateTime.of(2025, 3, 9, 1, 0);
+    for (LocalDateTime t = start; t.isBefore(start.plusHours(3)); t = t.plusMinutes(1)) {
+      assertEquals(expected(t, newYork, ZoneOffset.UTC), converter.convert(t));
+    }
+    start = LocalDateTime.of(2025, 11, 2, 0, 0);
+    for (LocalDateTime t = start; t.isBefore(start.plusHours(3)); t = t.plusSeconds(37)) {
+      assertEquals(expected(t, newYork, ZoneOffset.UTC), converter.convert(t));
+    }
+  }
+
+  @Test
+  public void testOutsideTableWindowFallsBack() {
+    ZoneId paris = ZoneId.of("Europe/Paris");
+    ZoneId tokyo = ZoneId.of("Asia/Tokyo");
+    ZoneConverter converter = ZoneConverter.of(paris, tokyo);
+    LocalDateTime old = LocalDateTime.of(1850, 6, 1, 12, 0);
+    LocalDateTime future = LocalDateTime.of(2150, 7, 1, 12, 0);
+
+    assertEquals(expected(old, paris, tokyo), converter.convert(old));
+    assertEquals(expected(future, paris, tokyo), converter.convert(future));
+  }
+
+  @Test
+  public void testKeepsNanosAndCachesConverters() {
+    ZoneId from = ZoneId.of("Asia/Kolkata");
+    ZoneId to = ZoneId.of("Europe/London");
+    LocalDateTime t = LocalDateTime.of(2025, 6, 1, 9, 30, 15, 123456789);
+
+    assertEquals(expected(t, from, to), ZoneConverter.of(from, to).convert(t));
+    assertSame(ZoneConverter.of(from, to), ZoneConverter.of(from, to));
+    assertSame(t, ZoneConverter.of(from, from).convert(t));
+    assertThrows(IllegalArgumentException.class, () -> ZoneConverter.of(null, to));
+  }
+}